@@ -0,0 +1,150 @@
+package benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bancada de medição no estilo do JMH: iterações de aquecimento, iterações de medição
+ * de tempo fixo, resultado consumido por um sumidouro volátil para o JIT não eliminar
+ * o trabalho, e o equivalente a "-prof gc": bytes alocados por operação (contador de
+ * alocação da thread) e coletas de lixo durante a medição.
+ */
+public class Bancada {
+
+    /**
+     * Uma operação medida. O valor retornado é consumido para não ser eliminado pelo JIT.
+     */
+    public interface Operacao {
+        long executar();
+    }
+
+    public static class Resultado {
+        public final String nome;
+        public final double operacoesPorSegundo;
+        public final double desvioPadrao;
+        public final double bytesPorOperacao;
+        public final long coletas;
+        public final long tempoColetasMs;
+
+        Resultado(String nome, double operacoesPorSegundo, double desvioPadrao, double bytesPorOperacao,
+                  long coletas, long tempoColetasMs) {
+            this.nome = nome;
+            this.operacoesPorSegundo = operacoesPorSegundo;
+            this.desvioPadrao = desvioPadrao;
+            this.bytesPorOperacao = bytesPorOperacao;
+            this.coletas = coletas;
+            this.tempoColetasMs = tempoColetasMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-58s %14.0f ± %-12.0f %10.1f %8d %8d",
+                nome, operacoesPorSegundo, desvioPadrao, bytesPorOperacao, coletas, tempoColetasMs);
+        }
+    }
+
+    public static final String CABECALHO = String.format("%-58s %14s   %-12s %10s %8s %8s",
+        "Benchmark", "ops/s", "erro", "B/op", "gc.count", "gc.ms");
+
+    private static volatile long sumidouro;
+
+    private final int iteracoesAquecimento;
+    private final int iteracoesMedicao;
+    private final long nanosPorIteracao;
+    private final List<Resultado> resultados = new ArrayList<>();
+
+    public Bancada(int iteracoesAquecimento, int iteracoesMedicao, long milisPorIteracao) {
+        this.iteracoesAquecimento = iteracoesAquecimento;
+        this.iteracoesMedicao = iteracoesMedicao;
+        this.nanosPorIteracao = milisPorIteracao * 1_000_000L;
+    }
+
+    public Resultado medir(String nome, Operacao operacao) {
+        for (int i = 0; i < iteracoesAquecimento; i++) {
+            iteracao(operacao);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long idThread = Thread.currentThread().threadId();
+        long coletasAntes = totalColetas();
+        long tempoColetasAntes = tempoColetas();
+        long bytesAntes = threads.getThreadAllocatedBytes(idThread);
+
+        double[] taxas = new double[iteracoesMedicao];
+        long operacoes = 0;
+        for (int i = 0; i < iteracoesMedicao; i++) {
+            long inicio = System.nanoTime();
+            long feitas = iteracao(operacao);
+            taxas[i] = feitas * 1e9 / (System.nanoTime() - inicio);
+            operacoes += feitas;
+        }
+
+        long bytes = threads.getThreadAllocatedBytes(idThread) - bytesAntes;
+        Resultado resultado = new Resultado(nome, media(taxas), desvio(taxas), (double) bytes / operacoes,
+            totalColetas() - coletasAntes, tempoColetas() - tempoColetasAntes);
+        resultados.add(resultado);
+        System.out.println(resultado);
+        return resultado;
+    }
+
+    public List<Resultado> getResultados() {
+        return resultados;
+    }
+
+    /**
+     * Executa a operação em lotes até esgotar o tempo da iteração.
+     *
+     * @return O número de operações executadas.
+     */
+    private long iteracao(Operacao operacao) {
+        long fim = System.nanoTime() + nanosPorIteracao;
+        long operacoes = 0;
+        long acumulado = 0;
+        do {
+            for (int i = 0; i < 256; i++) {
+                acumulado ^= operacao.executar();
+            }
+            operacoes += 256;
+        } while (System.nanoTime() < fim);
+        sumidouro = acumulado;
+        return operacoes;
+    }
+
+    private static long totalColetas() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long tempoColetas() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static double media(double[] valores) {
+        double soma = 0;
+        for (double v : valores) {
+            soma += v;
+        }
+        return soma / valores.length;
+    }
+
+    private static double desvio(double[] valores) {
+        if (valores.length < 2) {
+            return 0;
+        }
+        double media = media(valores);
+        double soma = 0;
+        for (double v : valores) {
+            soma += (v - media) * (v - media);
+        }
+        return Math.sqrt(soma / (valores.length - 1));
+    }
+}
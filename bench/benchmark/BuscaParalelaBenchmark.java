@@ -0,0 +1,72 @@
+package benchmark;
+
+import modelo.TabuleiroBits;
+import motor.AvaliacaoMaterial;
+import motor.BuscaParalela;
+import motor.ResultadoBusca;
+import motor.TabelaTransposicao;
+
+/**
+ * Escalabilidade da BuscaParalela: tempo até a profundidade com 1, 2, 4, 8 e 16 threads.
+ *
+ * Uso: BuscaParalelaBenchmark [profundidade threadsMaximas repeticoes tabelaMb]
+ * Para cada número de threads mostra o tempo médio até completar a profundidade
+ * (soma das posições do corpus e da posição inicial), os nós por segundo somados de
+ * todas as threads e o ganho em relação a uma thread. Cada medição começa com a
+ * tabela vazia.
+ */
+public class BuscaParalelaBenchmark {
+
+    public static void main(String[] args) {
+        int profundidade = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        int threadsMaximas = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int repeticoes = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        int tabelaMb = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+
+        TabuleiroBits[] posicoes = new TabuleiroBits[Corpus.NOMES.length + 1];
+        posicoes[0] = TabuleiroBits.inicial();
+        for (int i = 0; i < Corpus.NOMES.length; i++) {
+            posicoes[i + 1] = Corpus.posicao(Corpus.NOMES[i]);
+        }
+
+        System.out.printf("Profundidade %d, %d processadores disponíveis%n", profundidade,
+            Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %14s %14s %8s%n", "threads", "tempo (ms)", "nós/s", "ganho");
+
+        // Aquecimento do JIT com uma thread
+        medir(posicoes, profundidade - 2, 1, tabelaMb);
+
+        double tempoUmaThread = 0;
+        for (int threads = 1; threads <= threadsMaximas; threads *= 2) {
+            double tempoTotal = 0;
+            double nosTotal = 0;
+            for (int r = 0; r < repeticoes; r++) {
+                double[] medicao = medir(posicoes, profundidade, threads, tabelaMb);
+                tempoTotal += medicao[0];
+                nosTotal += medicao[1];
+            }
+            double tempoMedio = tempoTotal / repeticoes;
+            if (threads == 1) {
+                tempoUmaThread = tempoMedio;
+            }
+            System.out.printf("%8d %14.1f %14.0f %7.2fx%n", threads, tempoMedio / 1e6,
+                nosTotal * 1e9 / tempoTotal, tempoUmaThread / tempoMedio);
+        }
+    }
+
+    // {nanossegundos, nós} para buscar todas as posições
+    private static double[] medir(TabuleiroBits[] posicoes, int profundidade, int threads, int tabelaMb) {
+        long nanos = 0;
+        long nos = 0;
+        try (BuscaParalela busca = new BuscaParalela(AvaliacaoMaterial::new, new TabelaTransposicao(tabelaMb), threads)) {
+            for (TabuleiroBits posicao : posicoes) {
+                busca.getTabela().limpar();
+                long inicio = System.nanoTime();
+                ResultadoBusca resultado = busca.buscar(posicao, profundidade, 0);
+                nanos += System.nanoTime() - inicio;
+                nos += resultado.getNos();
+            }
+        }
+        return new double[] {nanos, nos};
+    }
+}
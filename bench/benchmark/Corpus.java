@@ -0,0 +1,82 @@
+package benchmark;
+
+import modelo.Peca;
+import modelo.Tabuleiro;
+import modelo.TabuleiroBits;
+
+/**
+ * Posições usadas pelos benchmarks: abertura, meio-jogo e final com muitas damas.
+ *
+ * Cada linha do texto é uma linha do tabuleiro, de cima (linha 0) para baixo:
+ * 'b' peça branca, 'B' dama branca, 'p' peça preta, 'P' dama preta, '.' casa vazia.
+ */
+public final class Corpus {
+
+    public static final String[] NOMES = {"abertura", "meio-jogo", "final-damas"};
+
+    private Corpus() {
+    }
+
+    public static TabuleiroBits posicao(String nome) {
+        switch (nome) {
+            case "abertura":
+                return deTexto(true,
+                    ".p.p.p.p",
+                    "p.p.p.p.",
+                    ".p...p.p",
+                    "..p.....",
+                    ".b......",
+                    "..b.b.b.",
+                    ".b.b.b.b",
+                    "b.b.b.b.");
+            case "meio-jogo":
+                return deTexto(true,
+                    "...p....",
+                    "p...p...",
+                    ".p...p..",
+                    "..b...p.",
+                    ".....b..",
+                    "b...b...",
+                    ".B.b...b",
+                    "........");
+            case "final-damas":
+                return deTexto(false,
+                    "........",
+                    "..B.....",
+                    "........",
+                    "....P...",
+                    ".b......",
+                    "......P.",
+                    "...B....",
+                    "P.......");
+            default:
+                throw new IllegalArgumentException("Posição desconhecida: " + nome);
+        }
+    }
+
+    public static Tabuleiro tabuleiro(String nome) {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.carregar(posicao(nome));
+        return tabuleiro;
+    }
+
+    static TabuleiroBits deTexto(boolean vezDasBrancas, String... linhas) {
+        TabuleiroBits posicao = new TabuleiroBits();
+        for (int linha = 0; linha < linhas.length; linha++) {
+            for (int coluna = 0; coluna < linhas[linha].length(); coluna++) {
+                char simbolo = linhas[linha].charAt(coluna);
+                if (simbolo == '.') {
+                    continue;
+                }
+                int casa = TabuleiroBits.indice(linha, coluna);
+                if (casa < 0) {
+                    throw new IllegalArgumentException("Peça em casa clara: " + linha + "," + coluna);
+                }
+                Peca.Cor cor = Character.toLowerCase(simbolo) == 'b' ? Peca.Cor.BRANCA : Peca.Cor.PRETA;
+                posicao.colocar(casa, cor, Character.isUpperCase(simbolo));
+            }
+        }
+        posicao.setVezDasBrancas(vezDasBrancas);
+        return posicao;
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark;
+
+import modelo.TabuleiroBits;
+import motor.Busca;
+import motor.BuscaBenchmark;
+
+/**
+ * Efeito da ordenação de movimentos (capturas pelo ganho, killers e histórico) no
+ * tamanho da árvore, sem tabela de transposição.
+ *
+ * Uso: OrdenacaoBenchmark [profundidadeMaxima]
+ * Para cada profundidade mostra os nós do aprofundamento iterativo até ela, somados
+ * nas posições do corpus e na posição inicial, com e sem as heurísticas, e o fator de
+ * ramificação efetivo: nós(d) / nós(d - 1).
+ */
+public class OrdenacaoBenchmark {
+
+    public static void main(String[] args) {
+        int profundidadeMaxima = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        TabuleiroBits[] posicoes = new TabuleiroBits[Corpus.NOMES.length + 1];
+        posicoes[0] = TabuleiroBits.inicial();
+        for (int i = 0; i < Corpus.NOMES.length; i++) {
+            posicoes[i + 1] = Corpus.posicao(Corpus.NOMES[i]);
+        }
+        Busca semHeuristicas = BuscaBenchmark.busca(false);
+        Busca comHeuristicas = BuscaBenchmark.busca(true);
+
+        System.out.printf("%5s %14s %14s %8s %8s %8s%n", "prof.", "nós sem", "nós com", "FRE sem", "FRE com", "redução");
+        long anteriorSem = 0;
+        long anteriorCom = 0;
+        double somaSem = 0;
+        double somaCom = 0;
+        int medidas = 0;
+        for (int profundidade = 1; profundidade <= profundidadeMaxima; profundidade++) {
+            long nosSem = nos(semHeuristicas, posicoes, profundidade);
+            long nosCom = nos(comHeuristicas, posicoes, profundidade);
+            if (anteriorSem == 0) {
+                System.out.printf("%5d %14d %14d %8s %8s %7.1f%%%n", profundidade, nosSem, nosCom, "-", "-",
+                    100.0 * (nosSem - nosCom) / nosSem);
+            } else {
+                double freSem = nosSem / (double) anteriorSem;
+                double freCom = nosCom / (double) anteriorCom;
+                somaSem += freSem;
+                somaCom += freCom;
+                medidas++;
+                System.out.printf("%5d %14d %14d %8.2f %8.2f %7.1f%%%n", profundidade, nosSem, nosCom, freSem, freCom,
+                    100.0 * (nosSem - nosCom) / nosSem);
+            }
+            anteriorSem = nosSem;
+            anteriorCom = nosCom;
+        }
+        if (medidas > 0) {
+            System.out.printf("FRE médio: %.2f sem, %.2f com%n", somaSem / medidas, somaCom / medidas);
+        }
+    }
+
+    private static long nos(Busca busca, TabuleiroBits[] posicoes, int profundidade) {
+        long nos = 0;
+        for (TabuleiroBits posicao : posicoes) {
+            nos += busca.buscar(posicao, profundidade, 0).getNos();
+        }
+        return nos;
+    }
+}
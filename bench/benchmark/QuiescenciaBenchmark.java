@@ -0,0 +1,70 @@
+package benchmark;
+
+import modelo.TabuleiroBits;
+import motor.Busca;
+import motor.BuscaBenchmark;
+import motor.ResultadoBusca;
+
+/**
+ * Custo e efeito da quiescência (extensão pelas capturas obrigatórias na profundidade
+ * zero), sem tabela de transposição.
+ *
+ * Uso: QuiescenciaBenchmark [profundidadeMaxima]
+ * Para cada profundidade mostra os nós somados nas posições do corpus e na posição
+ * inicial, sem e com quiescência (e quantos deles na quiescência), e a oscilação: a
+ * diferença média da pontuação em relação à profundidade anterior. Parar no meio de
+ * uma troca faz a pontuação pular de uma profundidade para a outra (efeito horizonte).
+ */
+public class QuiescenciaBenchmark {
+
+    public static void main(String[] args) {
+        int profundidadeMaxima = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        TabuleiroBits[] posicoes = new TabuleiroBits[Corpus.NOMES.length + 1];
+        posicoes[0] = TabuleiroBits.inicial();
+        for (int i = 0; i < Corpus.NOMES.length; i++) {
+            posicoes[i + 1] = Corpus.posicao(Corpus.NOMES[i]);
+        }
+        Busca semQuiescencia = BuscaBenchmark.busca(true, false);
+        Busca comQuiescencia = BuscaBenchmark.busca(true, true);
+
+        System.out.printf("%5s %14s %14s %14s %10s %10s%n", "prof.", "nós sem", "nós com", "quiescência",
+            "osc. sem", "osc. com");
+        int[] anterioresSem = new int[posicoes.length];
+        int[] anterioresCom = new int[posicoes.length];
+        double somaSem = 0;
+        double somaCom = 0;
+        for (int profundidade = 1; profundidade <= profundidadeMaxima; profundidade++) {
+            long nosSem = 0;
+            long nosCom = 0;
+            long nosQuiescencia = 0;
+            double oscilacaoSem = 0;
+            double oscilacaoCom = 0;
+            for (int i = 0; i < posicoes.length; i++) {
+                ResultadoBusca sem = semQuiescencia.buscar(posicoes[i], profundidade, 0);
+                ResultadoBusca com = comQuiescencia.buscar(posicoes[i], profundidade, 0);
+                nosSem += sem.getNos();
+                nosCom += com.getNos();
+                nosQuiescencia += comQuiescencia.getNosQuiescencia();
+                oscilacaoSem += Math.abs(sem.getPontuacao() - anterioresSem[i]);
+                oscilacaoCom += Math.abs(com.getPontuacao() - anterioresCom[i]);
+                anterioresSem[i] = sem.getPontuacao();
+                anterioresCom[i] = com.getPontuacao();
+            }
+            if (profundidade == 1) {
+                System.out.printf("%5d %14d %14d %14d %10s %10s%n", profundidade, nosSem, nosCom, nosQuiescencia, "-", "-");
+                continue;
+            }
+            oscilacaoSem /= posicoes.length;
+            oscilacaoCom /= posicoes.length;
+            somaSem += oscilacaoSem;
+            somaCom += oscilacaoCom;
+            System.out.printf("%5d %14d %14d %14d %10.1f %10.1f%n", profundidade, nosSem, nosCom, nosQuiescencia,
+                oscilacaoSem, oscilacaoCom);
+        }
+        if (profundidadeMaxima > 1) {
+            System.out.printf("Oscilação média: %.1f sem, %.1f com%n", somaSem / (profundidadeMaxima - 1),
+                somaCom / (profundidadeMaxima - 1));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package benchmark;
+
+import controle.JogoBenchmark;
+import modelo.Casa;
+import modelo.Dama;
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.Peca;
+import modelo.Tabuleiro;
+import modelo.TabuleiroBits;
+import util.MovimentoInvalidoException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks dos caminhos quentes das regras sobre o corpus de posições.
+ *
+ * Uso: RegrasBenchmark [iteracoesAquecimento iteracoesMedicao milisPorIteracao]
+ * Cada linha mostra vazão (ops/s), erro (desvio padrão entre iterações), bytes
+ * alocados por operação e coletas de lixo durante a medição.
+ */
+public class RegrasBenchmark {
+
+    public static void main(String[] args) throws MovimentoInvalidoException {
+        int aquecimento = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int medicao = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int milis = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        Bancada bancada = new Bancada(aquecimento, medicao, milis);
+        System.out.println(Bancada.CABECALHO);
+        for (String nome : Corpus.NOMES) {
+            medirPosicao(bancada, nome);
+        }
+    }
+
+    private static void medirPosicao(Bancada bancada, String nome) throws MovimentoInvalidoException {
+        TabuleiroBits posicao = Corpus.posicao(nome);
+        Peca.Cor vez = posicao.getVez();
+        Tabuleiro tabuleiro = Corpus.tabuleiro(nome);
+
+        List<Casa> pecas = new ArrayList<>();
+        List<Casa[]> movimentos = new ArrayList<>();
+        List<Casa[]> capturas = new ArrayList<>();
+        for (int linha = 0; linha < Tabuleiro.TAMANHO; linha++) {
+            for (int coluna = 0; coluna < Tabuleiro.TAMANHO; coluna++) {
+                Casa origem = tabuleiro.getCasa(linha, coluna);
+                if (origem.estaVazia()) {
+                    continue;
+                }
+                pecas.add(origem);
+                coletarDiagonais(tabuleiro, origem, movimentos, capturas);
+            }
+        }
+
+        String prefixo = nome + " ";
+
+        Casa[] simples = primeiroMovimentoSimples(tabuleiro, vez);
+        if (simples != null) {
+            // Peças regulares também andam para trás, então ida e volta devolve a posição
+            bancada.medir(prefixo + "Tabuleiro.moverPeca (simples, ida e volta)", () -> {
+                try {
+                    tabuleiro.moverPeca(simples[0], simples[1]);
+                    tabuleiro.moverPeca(simples[1], simples[0]);
+                } catch (MovimentoInvalidoException e) {
+                    throw new IllegalStateException(e);
+                }
+                return simples[0].getLinha();
+            });
+        }
+
+        Casa[] captura = primeiraCaptura(tabuleiro, vez);
+        if (captura != null) {
+            Peca movendo = captura[0].getPeca();
+            Peca capturada = captura[2].getPeca();
+            bancada.medir(prefixo + "Tabuleiro.moverPeca (captura + restauração)", () -> {
+                try {
+                    tabuleiro.moverPeca(captura[0], captura[1]);
+                } catch (MovimentoInvalidoException e) {
+                    throw new IllegalStateException(e);
+                }
+                captura[1].setPeca(null);
+                captura[0].setPeca(movendo);
+                captura[2].setPeca(capturada);
+                return captura[1].getLinha();
+            });
+        }
+
+        Casa[][] pares = movimentos.toArray(new Casa[0][]);
+        int[] indicePar = {0};
+        bancada.medir(prefixo + "Tabuleiro.isMovimentoValido", () -> {
+            Casa[] par = pares[indicePar[0]++ % pares.length];
+            return tabuleiro.isMovimentoValido(par[0], par[1]) ? 1 : 0;
+        });
+
+        Casa[][] trios = capturas.toArray(new Casa[0][]);
+        int[] indiceTrio = {0};
+        bancada.medir(prefixo + "Tabuleiro.isCapturaValida", () -> {
+            Casa[] trio = trios[indiceTrio[0]++ % trios.length];
+            return tabuleiro.isCapturaValida(trio[0], trio[1], trio[2]) ? 1 : 0;
+        });
+
+        Casa[] origens = pecas.toArray(new Casa[0]);
+        int[] indiceOrigem = {0};
+        bancada.medir(prefixo + "Tabuleiro.getPossiveisCapturas", () ->
+            tabuleiro.getPossiveisCapturas(origens[indiceOrigem[0]++ % origens.length]).size());
+
+        int[] alternar = {0};
+        bancada.medir(prefixo + "Tabuleiro.verificarVitoria", () ->
+            tabuleiro.verificarVitoria((alternar[0]++ & 1) == 0 ? Peca.Cor.BRANCA : Peca.Cor.PRETA) ? 1 : 0);
+
+        bancada.medir(prefixo + "Jogo.encontrarCapturasObrigatorias",
+            JogoBenchmark.encontrarCapturasObrigatorias(tabuleiro, vez));
+
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        ListaMovimentos lista = new ListaMovimentos();
+        bancada.medir(prefixo + "GeradorMovimentos.gerar", () -> gerador.gerar(posicao, lista));
+    }
+
+    /**
+     * Pares (origem, destino) e trios (origem, capturada, destino) ao longo das diagonais de uma peça.
+     */
+    private static void coletarDiagonais(Tabuleiro tabuleiro, Casa origem, List<Casa[]> movimentos, List<Casa[]> capturas) {
+        int[] dl = {-1, -1, 1, 1};
+        int[] dc = {-1, 1, -1, 1};
+        for (int d = 0; d < 4; d++) {
+            for (int i = 1; i < Tabuleiro.TAMANHO; i++) {
+                Casa destino = tabuleiro.getCasa(origem.getLinha() + i * dl[d], origem.getColuna() + i * dc[d]);
+                if (destino == null) {
+                    break;
+                }
+                movimentos.add(new Casa[] {origem, destino});
+                for (int j = 1; j < i; j++) {
+                    Casa meio = tabuleiro.getCasa(origem.getLinha() + j * dl[d], origem.getColuna() + j * dc[d]);
+                    capturas.add(new Casa[] {origem, meio, destino});
+                }
+            }
+        }
+    }
+
+    private static Casa[] primeiroMovimentoSimples(Tabuleiro tabuleiro, Peca.Cor vez) {
+        for (int o = 0; o < TabuleiroBits.CASAS; o++) {
+            Casa origem = tabuleiro.getCasa(TabuleiroBits.linha(o), TabuleiroBits.coluna(o));
+            if (origem.estaVazia() || origem.getPeca().getCor() != vez) {
+                continue;
+            }
+            for (int d = 0; d < TabuleiroBits.CASAS; d++) {
+                Casa destino = tabuleiro.getCasa(TabuleiroBits.linha(d), TabuleiroBits.coluna(d));
+                boolean promove = !(origem.getPeca() instanceof Dama)
+                    && (destino.getLinha() == 0 || destino.getLinha() == Tabuleiro.TAMANHO - 1);
+                if (!promove && tabuleiro.isMovimentoValido(origem, destino)) {
+                    return new Casa[] {origem, destino};
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Casa[] primeiraCaptura(Tabuleiro tabuleiro, Peca.Cor vez) {
+        for (int o = 0; o < TabuleiroBits.CASAS; o++) {
+            Casa origem = tabuleiro.getCasa(TabuleiroBits.linha(o), TabuleiroBits.coluna(o));
+            if (origem.estaVazia() || origem.getPeca().getCor() != vez) {
+                continue;
+            }
+            for (Casa destino : tabuleiro.getPossiveisCapturas(origem)) {
+                boolean promove = !(origem.getPeca() instanceof Dama)
+                    && (destino.getLinha() == 0 || destino.getLinha() == Tabuleiro.TAMANHO - 1);
+                if (promove) {
+                    continue;
+                }
+                int passoLinha = Integer.signum(destino.getLinha() - origem.getLinha());
+                int passoColuna = Integer.signum(destino.getColuna() - origem.getColuna());
+                for (int i = 1; ; i++) {
+                    Casa meio = tabuleiro.getCasa(origem.getLinha() + i * passoLinha, origem.getColuna() + i * passoColuna);
+                    if (!meio.estaVazia()) {
+                        return new Casa[] {origem, destino, meio};
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,168 @@
+package benchmark;
+
+import controle.ServidorJogos;
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga para o ServidorJogos: muitas conexões jogando partidas aleatórias.
+ *
+ * Uso: ServidorBenchmark [conexoes segundos host porta]
+ * Sem host, sobe um servidor no próprio processo. Cada conexão (uma virtual thread)
+ * acompanha a partida em um TabuleiroBits, sorteia um movimento legal e manda todos os
+ * saltos dele de uma vez, lendo as respostas em seguida. Mostra os saltos aceitos por
+ * segundo, as partidas completadas e as jogadas recusadas (que devem ser zero).
+ */
+public class ServidorBenchmark {
+
+    // Partidas de damas contra damas podem não terminar; recomeça depois de tantos lances
+    private static final int LANCES_MAXIMOS = 200;
+
+    private static final LongAdder jogadas = new LongAdder();
+    private static final LongAdder partidas = new LongAdder();
+    private static final LongAdder recusadas = new LongAdder();
+    private static volatile boolean parar;
+
+    public static void main(String[] args) throws Exception {
+        int conexoes = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String host = args.length > 2 ? args[2] : null;
+
+        ServidorJogos servidor = null;
+        int porta;
+        if (host == null) {
+            servidor = new ServidorJogos(0);
+            servidor.iniciar();
+            host = "localhost";
+            porta = servidor.getPorta();
+        } else {
+            porta = args.length > 3 ? Integer.parseInt(args[3]) : 7070;
+        }
+
+        ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < conexoes; i++) {
+            long semente = i;
+            String destino = host;
+            clientes.execute(() -> jogar(destino, porta, semente));
+        }
+
+        // Aquecimento, depois a janela de medição
+        Thread.sleep(3000);
+        long jogadasInicio = jogadas.sum();
+        long partidasInicio = partidas.sum();
+        long inicio = System.nanoTime();
+        Thread.sleep(segundos * 1000L);
+        double decorrido = (System.nanoTime() - inicio) / 1e9;
+        long jogadasMedidas = jogadas.sum() - jogadasInicio;
+        long partidasMedidas = partidas.sum() - partidasInicio;
+
+        parar = true;
+        clientes.shutdown();
+        clientes.awaitTermination(10, TimeUnit.SECONDS);
+        if (servidor != null) {
+            servidor.close();
+        }
+
+        System.out.printf("%d conexões, %d processadores disponíveis%n", conexoes,
+            Runtime.getRuntime().availableProcessors());
+        System.out.printf("%.0f jogadas/s, %.1f partidas/s, %d jogadas recusadas%n",
+            jogadasMedidas / decorrido, partidasMedidas / decorrido, recusadas.sum());
+    }
+
+    private static void jogar(String host, int porta, long semente) {
+        Random aleatorio = new Random(semente);
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        ListaMovimentos lista = new ListaMovimentos();
+        TabuleiroBits posicao = TabuleiroBits.inicial();
+        int lances = 0;
+        try (Socket conexao = new Socket(host, porta);
+             BufferedReader entrada = new BufferedReader(
+                 new InputStreamReader(conexao.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter saida = new BufferedWriter(
+                 new OutputStreamWriter(conexao.getOutputStream(), StandardCharsets.UTF_8))) {
+            conexao.setTcpNoDelay(true);
+            while (!parar) {
+                gerador.gerar(posicao, lista);
+                if (lista.estaVazia() || lances == LANCES_MAXIMOS) {
+                    comando(saida, entrada, "NOVO");
+                    posicao = TabuleiroBits.inicial();
+                    lances = 0;
+                    partidas.increment();
+                    continue;
+                }
+
+                int escolhido = aleatorio.nextInt(lista.tamanho());
+                long caminho = lista.getCaminho(escolhido);
+                int saltos = Movimento.saltos(caminho);
+                int casa = Movimento.origem(lista.get(escolhido));
+                for (int s = 0; s < saltos; s++) {
+                    int proxima = Movimento.casaDoCaminho(caminho, s);
+                    saida.write("JOGAR " + TabuleiroBits.linha(casa) + " " + TabuleiroBits.coluna(casa) + " "
+                        + TabuleiroBits.linha(proxima) + " " + TabuleiroBits.coluna(proxima) + "\n");
+                    casa = proxima;
+                }
+                saida.flush();
+
+                boolean aceita = true;
+                boolean empate = false;
+                for (int s = 0; s < saltos; s++) {
+                    String resposta = entrada.readLine();
+                    if (resposta == null) {
+                        return;
+                    }
+                    if (!resposta.startsWith("OK")) {
+                        if (recusadas.sum() == 0) {
+                            System.err.println(Movimento.paraTexto(lista.get(escolhido)) + ": " + resposta);
+                        }
+                        recusadas.increment();
+                        aceita = false;
+                    }
+                    empate = resposta.equals("OK EMPATE");
+                }
+                if (aceita) {
+                    jogadas.add(saltos);
+                    posicao.aplicar(lista.get(escolhido));
+                    lances++;
+                    if (empate) {
+                        // O servidor encerrou a partida por repetição ou lances de damas
+                        comando(saida, entrada, "NOVO");
+                        posicao = TabuleiroBits.inicial();
+                        lances = 0;
+                        partidas.increment();
+                    }
+                } else {
+                    // Cliente e servidor divergiram: recomeça os dois
+                    comando(saida, entrada, "NOVO");
+                    posicao = TabuleiroBits.inicial();
+                    lances = 0;
+                }
+            }
+            comando(saida, entrada, "SAIR");
+        } catch (IOException e) {
+            if (!parar) {
+                System.err.println("Conexão perdida: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String comando(BufferedWriter saida, BufferedReader entrada, String comando) throws IOException {
+        saida.write(comando);
+        saida.write('\n');
+        saida.flush();
+        return entrada.readLine();
+    }
+}
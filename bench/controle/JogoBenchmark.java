@@ -0,0 +1,21 @@
+package controle;
+
+import benchmark.Bancada;
+import modelo.Jogador;
+import modelo.Peca;
+import modelo.Tabuleiro;
+
+/**
+ * Acesso do benchmark aos métodos internos de Jogo (mesmo pacote).
+ */
+public final class JogoBenchmark {
+
+    private JogoBenchmark() {
+    }
+
+    public static Bancada.Operacao encontrarCapturasObrigatorias(Tabuleiro tabuleiro, Peca.Cor cor) {
+        Jogo jogo = new Jogo(tabuleiro);
+        Jogador jogador = new Jogador("Benchmark", cor);
+        return () -> jogo.encontrarCapturasObrigatorias(jogador).size();
+    }
+}
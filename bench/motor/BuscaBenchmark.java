@@ -0,0 +1,29 @@
+package motor;
+
+/**
+ * Acesso do benchmark aos ajustes internos da Busca (mesmo pacote).
+ */
+public final class BuscaBenchmark {
+
+    private BuscaBenchmark() {
+    }
+
+    /**
+     * Busca sem tabela; sem as heurísticas, a ordem é só a variante principal anterior
+     * e depois a ordem gerada.
+     */
+    public static Busca busca(boolean heuristicasOrdenacao) {
+        return busca(heuristicasOrdenacao, true);
+    }
+
+    /**
+     * Busca sem tabela; sem quiescência, a profundidade zero avalia direto, mesmo no
+     * meio de uma troca de capturas.
+     */
+    public static Busca busca(boolean heuristicasOrdenacao, boolean quiescencia) {
+        Busca busca = new Busca(new AvaliacaoMaterial());
+        busca.heuristicasOrdenacao = heuristicasOrdenacao;
+        busca.quiescencia = quiescencia;
+        return busca;
+    }
+}
@@ -1,10 +1,52 @@
 package app;
 
 import controle.Jogo;
+import modelo.Jogador;
+import modelo.Peca;
+import motor.BaseFinais;
+import motor.JogadorComputador;
+import java.nio.file.Paths;
 
+/**
+ * Uso: Main [--brancas=computador] [--pretas=computador] [--tempo=milissegundosPorJogada] [--threads=n] [--base=diretorioBaseFinais]
+ * Sem argumentos, os dois lados são humanos.
+ */
 public class Main {
     public static void main(String[] args) {
-        Jogo jogo = new Jogo();
+        boolean brancasComputador = false;
+        boolean pretasComputador = false;
+        long tempo = 2000;
+        int threads = 1;
+        BaseFinais baseFinais = null;
+        for (String arg : args) {
+            if (arg.equals("--brancas=computador")) {
+                brancasComputador = true;
+            } else if (arg.equals("--pretas=computador")) {
+                pretasComputador = true;
+            } else if (arg.startsWith("--tempo=")) {
+                tempo = Long.parseLong(arg.substring("--tempo=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--base=")) {
+                baseFinais = new BaseFinais(Paths.get(arg.substring("--base=".length())));
+            }
+        }
+
+        Jogador brancas = brancasComputador
+            ? new JogadorComputador("Computador (Brancas)", Peca.Cor.BRANCA, tempo, threads)
+            : new Jogador("Jogador 1 (Brancas)", Peca.Cor.BRANCA);
+        Jogador pretas = pretasComputador
+            ? new JogadorComputador("Computador (Pretas)", Peca.Cor.PRETA, tempo, threads)
+            : new Jogador("Jogador 2 (Pretas)", Peca.Cor.PRETA);
+
+        for (Jogador jogador : new Jogador[] {brancas, pretas}) {
+            if (jogador instanceof JogadorComputador) {
+                ((JogadorComputador) jogador).setBaseFinais(baseFinais);
+            }
+        }
+
+        Jogo jogo = new Jogo(brancas, pretas);
+        jogo.setBaseFinais(baseFinais);
         jogo.iniciar();
     }
 }
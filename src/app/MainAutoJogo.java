@@ -0,0 +1,39 @@
+package app;
+
+import motor.AutoJogo;
+import motor.AvaliacaoPosicional;
+import motor.EstatisticasAutoJogo;
+import motor.PesosAvaliacao;
+import java.nio.file.Path;
+
+/**
+ * Joga um lote de partidas do computador contra ele mesmo e mostra as estatísticas.
+ * Uso: MainAutoJogo partidas [threads] [profundidade] [semente] [pesos.properties]
+ * Profundidade 0 (o padrão) sorteia todos os lances. Com um arquivo de pesos a busca
+ * usa a AvaliacaoPosicional com esses pesos (ver PesosAvaliacao); sem ele, a
+ * AvaliacaoMaterial.
+ */
+public class MainAutoJogo {
+    public static void main(String[] args) {
+        long partidas = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int profundidade = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        long semente = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        AutoJogo autoJogo;
+        if (args.length > 4) {
+            PesosAvaliacao pesos = PesosAvaliacao.carregar(Path.of(args[4]));
+            System.out.println("Pesos: " + pesos);
+            autoJogo = new AutoJogo(threads, profundidade, () -> new AvaliacaoPosicional(pesos));
+        } else {
+            autoJogo = new AutoJogo(threads, profundidade);
+        }
+
+        long inicio = System.nanoTime();
+        EstatisticasAutoJogo estatisticas = autoJogo.jogar(partidas, semente);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.print(estatisticas.relatorio());
+        System.out.printf("%.1f s, %.0f partidas/s, %.0f partidas/s por thread%n", segundos, partidas / segundos,
+            partidas / segundos / threads);
+    }
+}
@@ -0,0 +1,27 @@
+package app;
+
+import motor.GeradorBaseFinais;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Gera a base de finais. Assinaturas já geradas são puladas e uma assinatura
+ * interrompida continua do último arquivo .parcial, então basta rodar de novo.
+ * Uso: MainBaseFinais diretorio maximoPecas [threads]
+ */
+public class MainBaseFinais {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Uso: MainBaseFinais diretorio maximoPecas [threads]");
+            return;
+        }
+        int maximoPecas = Integer.parseInt(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        GeradorBaseFinais gerador = new GeradorBaseFinais(Paths.get(args[0]), maximoPecas, threads);
+        gerador.setProgresso(System.out::println);
+        long inicio = System.nanoTime();
+        int resolvidas = gerador.gerar();
+        System.out.printf("%d assinaturas geradas em %.1f s%n", resolvidas, (System.nanoTime() - inicio) / 1e9);
+    }
+}
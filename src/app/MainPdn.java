@@ -0,0 +1,70 @@
+package app;
+
+import arquivo.EscritorPdn;
+import arquivo.LeitorPdn;
+import arquivo.PartidaPdn;
+import modelo.TabuleiroBits;
+import motor.AutoJogo;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Lê ou gera arquivos PDN.
+ * Uso: MainPdn ler arquivo.pdn
+ *      MainPdn gerar arquivo.pdn partidas [semente]
+ * "ler" reproduz todas as partidas pelas regras e mostra quantas foram lidas, quantas têm
+ * erro e a velocidade. "gerar" grava partidas com lances sorteados (AutoJogo).
+ */
+public class MainPdn {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !(args[0].equals("ler") || args[0].equals("gerar"))) {
+            System.out.println("Uso: MainPdn ler arquivo.pdn | MainPdn gerar arquivo.pdn partidas [semente]");
+            return;
+        }
+        Path arquivo = Paths.get(args[1]);
+        long inicio = System.nanoTime();
+        long partidas = 0;
+        long lances = 0;
+        if (args[0].equals("ler")) {
+            long comErro = 0;
+            try (LeitorPdn leitor = LeitorPdn.abrir(arquivo)) {
+                PartidaPdn partida = new PartidaPdn();
+                while (leitor.proxima(partida)) {
+                    partidas++;
+                    lances += partida.getQuantidade();
+                    if (partida.getErro() != null && comErro++ < 10) {
+                        System.out.println("Partida " + partidas + ": " + partida.getErro());
+                    }
+                }
+            }
+            System.out.printf("%d partidas, %d lances, %d com erro%n", partidas, lances, comErro);
+        } else {
+            long total = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+            long semente = args.length > 3 ? Long.parseLong(args[3]) : 1;
+            AutoJogo autoJogo = new AutoJogo(1, 0);
+            try (EscritorPdn escritor = EscritorPdn.criar(arquivo)) {
+                PartidaPdn partida = new PartidaPdn();
+                for (; partidas < total; partidas++) {
+                    partida.limpar();
+                    partida.setEtiqueta("Event", "AutoJogo " + semente);
+                    partida.setEtiqueta("Round", Long.toString(partidas + 1));
+                    for (long movimento : autoJogo.reproduzir(semente, partidas)) {
+                        partida.adicionar(movimento);
+                    }
+                    TabuleiroBits fim = partida.getPosicaoFinal();
+                    partida.setResultado(fim.temMovimento() ? PartidaPdn.EMPATE
+                        : fim.isVezDasBrancas() ? PartidaPdn.VITORIA_PRETAS : PartidaPdn.VITORIA_BRANCAS);
+                    partida.setEtiqueta("Result", partida.getResultado());
+                    escritor.escrever(partida);
+                    lances += partida.getQuantidade();
+                }
+            }
+            System.out.printf("%d partidas, %d lances gravados%n", partidas, lances);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("%.2f s, %.0f partidas/s, %.1f MB/s%n", segundos, partidas / segundos,
+            Files.size(arquivo) / 1e6 / segundos);
+    }
+}
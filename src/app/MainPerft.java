@@ -0,0 +1,37 @@
+package app;
+
+import modelo.Perft;
+import modelo.Perft10;
+import modelo.TabuleiroBits;
+import modelo.TabuleiroBits10;
+import java.util.Map;
+
+/**
+ * Executa perft a partir da posição inicial.
+ * Uso: MainPerft profundidade [divide | 10x10]
+ */
+public class MainPerft {
+    public static void main(String[] args) {
+        int profundidade = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        boolean divide = args.length > 1 && args[1].equals("divide");
+
+        if (args.length > 1 && args[1].equals("10x10")) {
+            Perft10 perft = new Perft10(TabuleiroBits10.inicial());
+            perft.perft(profundidade);
+            System.out.printf("perft(%d) 10x10 = %d em %.3f s (%.0f nós/s)%n", profundidade, perft.getUltimosNos(),
+                perft.getUltimoTempoNanos() / 1e9, perft.getNosPorSegundo());
+            return;
+        }
+
+        Perft perft = new Perft(TabuleiroBits.inicial());
+        if (divide) {
+            for (Map.Entry<String, Long> entry : perft.divide(profundidade).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+            }
+        } else {
+            perft.perft(profundidade);
+        }
+        System.out.printf("perft(%d) = %d em %.3f s (%.0f nós/s)%n", profundidade, perft.getUltimosNos(),
+            perft.getUltimoTempoNanos() / 1e9, perft.getNosPorSegundo());
+    }
+}
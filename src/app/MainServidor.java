@@ -0,0 +1,32 @@
+package app;
+
+import controle.ServidorJogos;
+import util.Metricas;
+import java.io.IOException;
+
+/**
+ * Sobe o ServidorJogos e mostra, a cada intervalo, as sessões abertas, as jogadas por
+ * segundo e as Metricas (também publicadas por JMX).
+ * Uso: MainServidor [porta] [intervaloSegundos]
+ */
+public class MainServidor {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int intervalo = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        try (ServidorJogos servidor = new ServidorJogos(porta)) {
+            servidor.iniciar();
+            Metricas.registrarMBean();
+            Metricas.relatarPeriodicamente(intervalo, System.out);
+            System.out.println("Servidor de damas na porta " + servidor.getPorta());
+            long jogadasAnteriores = 0;
+            while (true) {
+                Thread.sleep(intervalo * 1000L);
+                long jogadas = servidor.getJogadas();
+                System.out.printf("%d sessões, %.0f jogadas/s%n", servidor.getSessoesAbertas(),
+                    (jogadas - jogadasAnteriores) / (double) intervalo);
+                jogadasAnteriores = jogadas;
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package arquivo;
+
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Grava partidas em PDN, uma depois da outra, por um buffer direto de tamanho fixo.
+ *
+ * Os lances são reproduzidos a partir da posição de início para escrever cada um na
+ * forma mais curta que não deixa dúvida: "22-18", "18x11" e, só quando outra captura
+ * tem a mesma origem e o mesmo destino (ou a peça volta à origem), todas as casas de
+ * pouso ("9x18x27"). A etiqueta
+ * FEN é gerada a partir da posição de início quando ela não é a inicial.
+ */
+public class EscritorPdn implements AutoCloseable {
+
+    private static final int TAMANHO_BUFFER = 1 << 22;
+    private static final int LARGURA_LINHA = 80;
+    // Maior lance (até 12 saltos) ou número escrito de uma vez
+    private static final int MAXIMO_LANCE = 64;
+
+    private static final TabuleiroBits INICIAL = TabuleiroBits.inicial();
+
+    private final WritableByteChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+    private final GeradorMovimentos gerador = new GeradorMovimentos();
+    private final ListaMovimentos lista = new ListaMovimentos();
+    private final TabuleiroBits posicao = new TabuleiroBits();
+    private final byte[] lance = new byte[MAXIMO_LANCE];
+    private final byte[] numeroLance = new byte[MAXIMO_LANCE];
+    private int coluna;
+
+    public EscritorPdn(WritableByteChannel canal) {
+        this.canal = canal;
+    }
+
+    public static EscritorPdn criar(Path arquivo) throws IOException {
+        return new EscritorPdn(FileChannel.open(arquivo, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Grava a partida: etiquetas, lances numerados e o resultado.
+     *
+     * @throws IllegalArgumentException Se algum movimento não é legal na sua posição.
+     */
+    public void escrever(PartidaPdn partida) throws IOException {
+        for (Map.Entry<String, String> etiqueta : partida.getEtiquetas().entrySet()) {
+            if (!etiqueta.getKey().equals("FEN")) {
+                escreverEtiqueta(etiqueta.getKey(), etiqueta.getValue());
+            }
+        }
+        TabuleiroBits inicio = partida.getInicio();
+        boolean comFen = !mesmaPosicao(inicio, INICIAL);
+        if (comFen) {
+            escreverEtiqueta("FEN", PartidaPdn.paraFen(inicio));
+        }
+        if (comFen || !partida.getEtiquetas().isEmpty()) {
+            escreverByte('\n');
+        }
+
+        posicao.copiarDe(inicio);
+        coluna = 0;
+        int numero = 1;
+        for (int i = 0; i < partida.getQuantidade(); i++) {
+            int tamanhoLance = textoDoLance(partida.getMovimento(i), i);
+            if (posicao.isVezDasBrancas() || i == 0) {
+                // O número fica na mesma linha do lance
+                int tamanho = escreverNumero(numeroLance, 0, numero);
+                numeroLance[tamanho++] = '.';
+                if (!posicao.isVezDasBrancas()) {
+                    numeroLance[tamanho++] = '.';
+                    numeroLance[tamanho++] = '.';
+                }
+                escreverPalavra(numeroLance, tamanho, tamanhoLance + 1);
+            }
+            escreverPalavra(lance, tamanhoLance, 0);
+            if (!posicao.isVezDasBrancas()) {
+                numero++;
+            }
+            posicao.aplicar(partida.getMovimento(i));
+        }
+        byte[] resultado = partida.getResultado().getBytes(StandardCharsets.US_ASCII);
+        escreverPalavra(resultado, resultado.length, 0);
+        escreverByte('\n');
+        escreverByte('\n');
+    }
+
+    /**
+     * Envia ao canal o que estiver no buffer.
+     */
+    public void descarregar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            descarregar();
+        } finally {
+            canal.close();
+        }
+    }
+
+    // Monta o lance em this.lance e devolve o tamanho
+    private int textoDoLance(long movimento, int indice) {
+        gerador.gerar(posicao, lista);
+        int escolhido = -1;
+        boolean ambiguo = false;
+        for (int i = 0; i < lista.tamanho(); i++) {
+            long outro = lista.get(i);
+            if (outro == movimento) {
+                escolhido = i;
+            } else if (Movimento.origem(outro) == Movimento.origem(movimento)
+                    && Movimento.destino(outro) == Movimento.destino(movimento)) {
+                ambiguo = true;
+            }
+        }
+        if (escolhido < 0) {
+            throw new IllegalArgumentException("Lance " + (indice + 1) + " ilegal: " + Movimento.paraTexto(movimento));
+        }
+
+        int tamanho = escreverNumero(lance, 0, Movimento.origem(movimento) + 1);
+        if (!Movimento.isCaptura(movimento)) {
+            lance[tamanho++] = '-';
+            return escreverNumero(lance, tamanho, Movimento.destino(movimento) + 1);
+        }
+        long caminho = lista.getCaminho(escolhido);
+        // Todas as casas de pouso se há dúvida, ou se a peça volta à casa de origem
+        boolean completo = ambiguo || Movimento.origem(movimento) == Movimento.destino(movimento);
+        for (int salto = completo ? 0 : Movimento.saltos(caminho) - 1; salto < Movimento.saltos(caminho); salto++) {
+            lance[tamanho++] = 'x';
+            tamanho = escreverNumero(lance, tamanho, Movimento.casaDoCaminho(caminho, salto) + 1);
+        }
+        return tamanho;
+    }
+
+    private static int escreverNumero(byte[] destino, int inicio, int numero) {
+        if (numero >= 10) {
+            inicio = escreverNumero(destino, inicio, numero / 10);
+        }
+        destino[inicio] = (byte) ('0' + numero % 10);
+        return inicio + 1;
+    }
+
+    // Uma palavra do texto dos lances, quebrando a linha antes de passar da largura (contando
+    // também o que precisa ficar na mesma linha depois dela)
+    private void escreverPalavra(byte[] palavra, int tamanho, int seguinte) throws IOException {
+        if (coluna > 0 && coluna + 1 + tamanho + seguinte > LARGURA_LINHA) {
+            escreverByte('\n');
+            coluna = 0;
+        } else if (coluna > 0) {
+            escreverByte(' ');
+            coluna++;
+        }
+        garantirEspaco(tamanho);
+        buffer.put(palavra, 0, tamanho);
+        coluna += tamanho;
+    }
+
+    private void escreverEtiqueta(String nome, String valor) throws IOException {
+        String escapado = valor.replace("\\", "\\\\").replace("\"", "\\\"");
+        byte[] bytes = ("[" + nome + " \"" + escapado + "\"]\n").getBytes(StandardCharsets.UTF_8);
+        for (int inicio = 0; inicio < bytes.length; inicio += TAMANHO_BUFFER) {
+            int tamanho = Math.min(TAMANHO_BUFFER, bytes.length - inicio);
+            garantirEspaco(tamanho);
+            buffer.put(bytes, inicio, tamanho);
+        }
+    }
+
+    private void escreverByte(int b) throws IOException {
+        garantirEspaco(1);
+        buffer.put((byte) b);
+    }
+
+    private void garantirEspaco(int tamanho) throws IOException {
+        if (buffer.remaining() < tamanho) {
+            descarregar();
+        }
+    }
+
+    private static boolean mesmaPosicao(TabuleiroBits a, TabuleiroBits b) {
+        return a.getBrancas() == b.getBrancas() && a.getPretas() == b.getPretas() && a.getDamas() == b.getDamas()
+            && a.isVezDasBrancas() == b.isVezDasBrancas();
+    }
+}
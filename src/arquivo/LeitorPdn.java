@@ -0,0 +1,362 @@
+package arquivo;
+
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lê arquivos PDN partida a partida, sem carregar o arquivo inteiro: os bytes passam por
+ * um buffer direto de tamanho fixo e são interpretados ali mesmo, sem criar Strings para
+ * os lances.
+ *
+ * Cada lance é conferido contra os movimentos legais da posição (GeradorMovimentos) e
+ * guardado como o Movimento correspondente. Lances podem vir como "22-18", "18x11" ou,
+ * para escolher entre capturas com a mesma origem e o mesmo destino, com as casas de
+ * pouso de cada salto ("9x18x27"). Comentários, variantes, NAGs e marcas como "!" são
+ * ignorados. Uma partida com um lance ilegal ou inválido é devolvida com getErro
+ * preenchido, e a leitura continua na partida seguinte.
+ */
+public class LeitorPdn implements AutoCloseable {
+
+    private static final int TAMANHO_BUFFER = 1 << 22;
+    private static final int MAXIMO_CASAS_LANCE = 16;
+
+    private final ReadableByteChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+    private long linha = 1;
+
+    private final GeradorMovimentos gerador = new GeradorMovimentos();
+    private final ListaMovimentos lista = new ListaMovimentos();
+    private final TabuleiroBits posicao = new TabuleiroBits();
+    private final int[] casas = new int[MAXIMO_CASAS_LANCE];
+    private byte[] texto = new byte[256];
+
+    public LeitorPdn(ReadableByteChannel canal) {
+        this.canal = canal;
+        buffer.flip();
+    }
+
+    public static LeitorPdn abrir(Path arquivo) throws IOException {
+        return new LeitorPdn(FileChannel.open(arquivo, StandardOpenOption.READ));
+    }
+
+    /**
+     * Lê a próxima partida, até o resultado (ou até a próxima etiqueta, ou o fim do arquivo).
+     *
+     * @param partida Onde a partida é montada; o conteúdo anterior é descartado.
+     * @return false se não havia mais partidas.
+     */
+    public boolean proxima(PartidaPdn partida) throws IOException {
+        partida.limpar();
+        boolean temConteudo = false;
+        boolean emLances = false;
+        int c;
+        while ((c = proximoByte()) >= 0) {
+            switch (c) {
+                case ' ': case '\t': case '\r': case '\n': case '!': case '?':
+                    break;
+                case '[':
+                    if (emLances) {
+                        // Partida sem resultado: a etiqueta já é da próxima
+                        voltar();
+                        return true;
+                    }
+                    lerEtiqueta(partida);
+                    temConteudo = true;
+                    break;
+                case '{':
+                    pularAte('}');
+                    break;
+                case ';':
+                case '%':
+                    pularAte('\n');
+                    break;
+                case '(':
+                    pularVariante();
+                    break;
+                case '$':
+                    pularNumero();
+                    break;
+                case '*':
+                    partida.setResultado(PartidaPdn.SEM_RESULTADO);
+                    return true;
+                default:
+                    if (c < '0' || c > '9') {
+                        partida.setErro("Linha " + linha + ": caractere inesperado '" + (char) c + "'");
+                        pularPalavra();
+                        break;
+                    }
+                    temConteudo = true;
+                    if (!emLances) {
+                        emLances = true;
+                        posicao.copiarDe(partida.getInicio());
+                    }
+                    if (lerLanceOuResultado(c, partida)) {
+                        return true;
+                    }
+            }
+        }
+        return temConteudo;
+    }
+
+    /**
+     * Linha do arquivo onde a leitura está.
+     */
+    public long getLinha() {
+        return linha;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // Um número de lance ("12." / "12..."), um lance ou um resultado; true se foi o resultado
+    private boolean lerLanceOuResultado(int primeiro, PartidaPdn partida) throws IOException {
+        int quantidade = 0;
+        boolean captura = false;
+        int c = primeiro;
+        while (true) {
+            int numero = 0;
+            while (c >= '0' && c <= '9') {
+                numero = Math.min(numero * 10 + (c - '0'), 1000);
+                c = proximoByte();
+            }
+            if (quantidade < MAXIMO_CASAS_LANCE) {
+                casas[quantidade] = numero;
+            }
+            quantidade++;
+
+            if (c == '.' && quantidade == 1) {
+                // Número do lance
+                while ((c = proximoByte()) == '.') {
+                }
+                if (c >= 0) {
+                    voltar();
+                }
+                return false;
+            }
+            if (c == '/') {
+                // "1/2-1/2"
+                pularPalavra();
+                partida.setResultado(PartidaPdn.EMPATE);
+                return true;
+            }
+            if (c != '-' && c != 'x' && c != ':') {
+                break;
+            }
+            captura |= c != '-';
+            c = proximoByte();
+            if (c < '0' || c > '9') {
+                partida.setErro("Linha " + linha + ": lance incompleto");
+                break;
+            }
+        }
+        if (c >= 0) {
+            voltar();
+        }
+
+        if (quantidade == 2 && !captura && (casas[0] == 0 || casas[1] == 0 || casas[0] == casas[1])) {
+            // "2-0", "0-2", "1-1" (e "1-0" / "0-1"); "7x7" é uma captura que volta à origem
+            partida.setResultado(casas[0] == casas[1] ? PartidaPdn.EMPATE
+                : casas[0] > casas[1] ? PartidaPdn.VITORIA_BRANCAS : PartidaPdn.VITORIA_PRETAS);
+            return true;
+        }
+        if (quantidade < 2 || quantidade > MAXIMO_CASAS_LANCE) {
+            partida.setErro("Linha " + linha + ": lance inválido");
+        } else if (partida.getErro() == null) {
+            aplicarLance(quantidade, captura, partida);
+        }
+        return false;
+    }
+
+    private void aplicarLance(int quantidade, boolean captura, PartidaPdn partida) {
+        for (int i = 0; i < quantidade; i++) {
+            if (casas[i] < 1 || casas[i] > TabuleiroBits.CASAS) {
+                partida.setErro("Linha " + linha + ": casa fora do tabuleiro: " + casas[i]);
+                return;
+            }
+        }
+        int origem = casas[0] - 1;
+        int destino = casas[quantidade - 1] - 1;
+        gerador.gerar(posicao, lista);
+        // Primeiro o movimento com exatamente essas casas de pouso; "axb" também é a forma
+        // curta de uma sequência, aceita se nenhum movimento tem esse caminho
+        int escolhido = -1;
+        for (int i = 0; i < lista.tamanho() && escolhido < 0; i++) {
+            if (Movimento.origem(lista.get(i)) == origem && mesmoCaminho(lista.getCaminho(i), quantidade)) {
+                escolhido = i;
+            }
+        }
+        for (int i = 0; i < lista.tamanho() && escolhido < 0 && quantidade == 2; i++) {
+            long movimento = lista.get(i);
+            if (Movimento.origem(movimento) == origem && Movimento.destino(movimento) == destino
+                    && (!captura || Movimento.isCaptura(movimento))) {
+                escolhido = i;
+            }
+        }
+        if (escolhido >= 0 && (!captura || Movimento.isCaptura(lista.get(escolhido)))) {
+            posicao.aplicar(lista.get(escolhido));
+            partida.adicionar(lista.get(escolhido));
+            return;
+        }
+        partida.setErro("Linha " + linha + ": lance " + (partida.getQuantidade() + 1) + " ilegal: "
+            + textoDoLance(quantidade, captura));
+    }
+
+    private boolean mesmoCaminho(long caminho, int quantidade) {
+        if (Movimento.saltos(caminho) != quantidade - 1) {
+            return false;
+        }
+        for (int i = 1; i < quantidade; i++) {
+            if (Movimento.casaDoCaminho(caminho, i - 1) != casas[i] - 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String textoDoLance(int quantidade, boolean captura) {
+        StringBuilder lance = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            if (i > 0) {
+                lance.append(captura ? 'x' : '-');
+            }
+            lance.append(casas[i]);
+        }
+        return lance.toString();
+    }
+
+    // [Nome "valor"], com \" e \\ dentro do valor
+    private void lerEtiqueta(PartidaPdn partida) throws IOException {
+        int c = pularEspacos();
+        int tamanho = 0;
+        while (c >= 0 && c != '"' && c != ']' && !Character.isWhitespace(c)) {
+            tamanho = guardar(tamanho, c);
+            c = proximoByte();
+        }
+        String nome = new String(texto, 0, tamanho, StandardCharsets.US_ASCII);
+        if (c != '"') {
+            c = pularEspacos();
+        }
+        if (c != '"') {
+            partida.setErro("Linha " + linha + ": etiqueta " + nome + " sem valor");
+            if (c != ']') {
+                pularAte(']');
+            }
+            return;
+        }
+        tamanho = 0;
+        while ((c = proximoByte()) >= 0 && c != '"') {
+            if (c == '\\') {
+                c = proximoByte();
+                if (c < 0) {
+                    break;
+                }
+            }
+            tamanho = guardar(tamanho, c);
+        }
+        String valor = new String(texto, 0, tamanho, StandardCharsets.UTF_8);
+        pularAte(']');
+
+        partida.setEtiqueta(nome, valor);
+        if (nome.equals("FEN")) {
+            try {
+                PartidaPdn.lerFen(valor, partida.getInicio());
+            } catch (IllegalArgumentException e) {
+                partida.setErro("Linha " + linha + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private int guardar(int tamanho, int c) {
+        if (tamanho == texto.length) {
+            texto = Arrays.copyOf(texto, tamanho * 2);
+        }
+        texto[tamanho] = (byte) c;
+        return tamanho + 1;
+    }
+
+    private int pularEspacos() throws IOException {
+        int c;
+        while ((c = proximoByte()) >= 0 && Character.isWhitespace(c)) {
+        }
+        return c;
+    }
+
+    private void pularAte(int fim) throws IOException {
+        int c;
+        while ((c = proximoByte()) >= 0 && c != fim) {
+        }
+    }
+
+    private void pularVariante() throws IOException {
+        int nivel = 1;
+        int c;
+        while (nivel > 0 && (c = proximoByte()) >= 0) {
+            if (c == '(') {
+                nivel++;
+            } else if (c == ')') {
+                nivel--;
+            } else if (c == '{') {
+                pularAte('}');
+            }
+        }
+    }
+
+    private void pularNumero() throws IOException {
+        int c;
+        while ((c = proximoByte()) >= '0' && c <= '9') {
+        }
+        if (c >= 0) {
+            voltar();
+        }
+    }
+
+    private void pularPalavra() throws IOException {
+        int c;
+        while ((c = proximoByte()) >= 0 && !Character.isWhitespace(c)) {
+        }
+        if (c >= 0) {
+            voltar();
+        }
+    }
+
+    // O próximo byte do canal, ou -1 no fim
+    private int proximoByte() throws IOException {
+        if (!buffer.hasRemaining() && !encher()) {
+            return -1;
+        }
+        int c = buffer.get() & 0xFF;
+        if (c == '\n') {
+            linha++;
+        }
+        return c;
+    }
+
+    // Devolve o último byte lido; sempre está no buffer, que só é trocado quando se esgota
+    private void voltar() {
+        buffer.position(buffer.position() - 1);
+        if (buffer.get(buffer.position()) == '\n') {
+            linha--;
+        }
+    }
+
+    private boolean encher() throws IOException {
+        buffer.clear();
+        int lidos;
+        while ((lidos = canal.read(buffer)) == 0) {
+        }
+        buffer.flip();
+        return lidos > 0;
+    }
+}
@@ -0,0 +1,183 @@
+package arquivo;
+
+import modelo.Peca;
+import modelo.TabuleiroBits;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Uma partida de um arquivo PDN: as etiquetas ([Nome "valor"]), a posição de início,
+ * os movimentos (codificados como em Movimento) e o resultado.
+ *
+ * As casas seguem a numeração do PDN para o tabuleiro 8x8: 1 a 32, linha a linha a
+ * partir do lado das pretas, ou seja, o índice do TabuleiroBits mais um. Resultados:
+ * "2-0" (brancas vencem), "0-2" (pretas vencem), "1-1" (empate) ou "*" (sem resultado).
+ *
+ * O LeitorPdn reaproveita a mesma instância para todas as partidas de um arquivo.
+ */
+public class PartidaPdn {
+
+    public static final String VITORIA_BRANCAS = "2-0";
+    public static final String VITORIA_PRETAS = "0-2";
+    public static final String EMPATE = "1-1";
+    public static final String SEM_RESULTADO = "*";
+
+    private static final TabuleiroBits INICIAL = TabuleiroBits.inicial();
+
+    private final Map<String, String> etiquetas = new LinkedHashMap<>();
+    private final TabuleiroBits inicio = TabuleiroBits.inicial();
+    private long[] movimentos = new long[128];
+    private int quantidade;
+    private String resultado = SEM_RESULTADO;
+    private String erro;
+
+    /**
+     * Volta a uma partida vazia a partir da posição inicial.
+     */
+    public void limpar() {
+        etiquetas.clear();
+        inicio.copiarDe(INICIAL);
+        quantidade = 0;
+        resultado = SEM_RESULTADO;
+        erro = null;
+    }
+
+    public Map<String, String> getEtiquetas() {
+        return etiquetas;
+    }
+
+    public String getEtiqueta(String nome) {
+        return etiquetas.get(nome);
+    }
+
+    public void setEtiqueta(String nome, String valor) {
+        etiquetas.put(nome, valor);
+    }
+
+    /**
+     * Posição antes do primeiro movimento (a inicial, ou a da etiqueta FEN).
+     */
+    public TabuleiroBits getInicio() {
+        return inicio;
+    }
+
+    public void adicionar(long movimento) {
+        if (quantidade == movimentos.length) {
+            movimentos = Arrays.copyOf(movimentos, quantidade * 2);
+        }
+        movimentos[quantidade++] = movimento;
+    }
+
+    public long getMovimento(int i) {
+        return movimentos[i];
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public long[] getMovimentos() {
+        return Arrays.copyOf(movimentos, quantidade);
+    }
+
+    public String getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(String resultado) {
+        this.resultado = resultado;
+    }
+
+    /**
+     * Motivo pelo qual a partida não pôde ser lida por inteiro (movimento ilegal ou
+     * texto inválido), ou null. Os movimentos até o erro continuam disponíveis.
+     */
+    public String getErro() {
+        return erro;
+    }
+
+    void setErro(String erro) {
+        if (this.erro == null) {
+            this.erro = erro;
+        }
+    }
+
+    /**
+     * Posição depois de todos os movimentos.
+     */
+    public TabuleiroBits getPosicaoFinal() {
+        TabuleiroBits posicao = inicio.copiar();
+        for (int i = 0; i < quantidade; i++) {
+            posicao.aplicar(movimentos[i]);
+        }
+        return posicao;
+    }
+
+    // --- FEN: "W:W21,22,K30:B1,2" (vez, casas das brancas, casas das pretas; K marca damas) ---
+
+    static String paraFen(TabuleiroBits posicao) {
+        StringBuilder fen = new StringBuilder(posicao.isVezDasBrancas() ? "W" : "B");
+        fen.append(":W");
+        casasFen(fen, posicao.getBrancas(), posicao.getDamas());
+        fen.append(":B");
+        casasFen(fen, posicao.getPretas(), posicao.getDamas());
+        return fen.toString();
+    }
+
+    private static void casasFen(StringBuilder fen, int pecas, int damas) {
+        boolean primeira = true;
+        for (; pecas != 0; pecas &= pecas - 1) {
+            int casa = Integer.numberOfTrailingZeros(pecas);
+            if (!primeira) {
+                fen.append(',');
+            }
+            primeira = false;
+            if ((damas & (1 << casa)) != 0) {
+                fen.append('K');
+            }
+            fen.append(casa + 1);
+        }
+    }
+
+    /**
+     * Monta em destino a posição do FEN (aceita intervalos como "1-12" e "K5-6").
+     *
+     * @throws IllegalArgumentException Se o texto não for um FEN válido.
+     */
+    static void lerFen(String fen, TabuleiroBits destino) {
+        destino.limpar();
+        String[] partes = fen.trim().split(":");
+        if (partes.length < 1 || !(partes[0].equals("W") || partes[0].equals("B"))) {
+            throw new IllegalArgumentException("FEN inválido: " + fen);
+        }
+        destino.setVezDasBrancas(partes[0].equals("W"));
+        for (int i = 1; i < partes.length; i++) {
+            String lado = partes[i].trim();
+            if (lado.isEmpty() || (lado.charAt(0) != 'W' && lado.charAt(0) != 'B')) {
+                throw new IllegalArgumentException("FEN inválido: " + fen);
+            }
+            Peca.Cor cor = lado.charAt(0) == 'W' ? Peca.Cor.BRANCA : Peca.Cor.PRETA;
+            if (lado.length() == 1) {
+                continue;
+            }
+            for (String item : lado.substring(1).split(",")) {
+                boolean dama = item.startsWith("K");
+                String casas = dama ? item.substring(1) : item;
+                int traco = casas.indexOf('-');
+                try {
+                    int primeira = Integer.parseInt(traco < 0 ? casas : casas.substring(0, traco));
+                    int ultima = traco < 0 ? primeira : Integer.parseInt(casas.substring(traco + 1));
+                    if (primeira < 1 || ultima > TabuleiroBits.CASAS || primeira > ultima) {
+                        throw new IllegalArgumentException("Casa fora do tabuleiro no FEN: " + item);
+                    }
+                    for (int casa = primeira; casa <= ultima; casa++) {
+                        destino.colocar(casa - 1, cor, dama);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("FEN inválido: " + fen, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package controle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de cada salto executado por Jogo.jogar, com a duração da jogada inteira
+ * (validação, movimento e verificação de vitória). Jogadas recusadas não geram este
+ * evento, e sim damas.MovimentoInvalido.
+ */
+@Name("damas.Jogada")
+@Label("Jogada")
+@Category({"Damas", "Regras"})
+@Description("Salto executado por Jogo.jogar")
+class EventoJogada extends jdk.jfr.Event {
+
+    @Label("Cor")
+    String cor;
+
+    @Label("Linha de origem")
+    int linhaOrigem;
+
+    @Label("Coluna de origem")
+    int colunaOrigem;
+
+    @Label("Linha de destino")
+    int linhaDestino;
+
+    @Label("Coluna de destino")
+    int colunaDestino;
+
+    @Label("Captura")
+    boolean captura;
+
+    @Label("Resultado")
+    String resultado;
+}
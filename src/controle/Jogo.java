@@ -4,14 +4,26 @@ import modelo.Tabuleiro;
 import modelo.Jogador;
 import modelo.Peca;
 import modelo.Casa;
+import modelo.Dama;
+import modelo.EnumeradorCapturas;
+import modelo.HistoricoPosicoes;
+import modelo.ListaMovimentos;
 import modelo.Peca; 
 import modelo.Tabuleiro; 
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+import motor.BaseFinais;
+import motor.JogadorComputador;
+import motor.ResultadoBusca;
+import util.HistogramaLatencia;
+import util.Metricas;
 import util.MovimentoInvalidoException;
 import java.util.Scanner;
 import java.util.List;
 import java.util.Map; 
 import java.util.HashMap; 
 import java.util.ArrayList; 
+import java.util.Collections;
 
 public class Jogo {
     private Tabuleiro tabuleiro;
@@ -22,6 +34,88 @@ public class Jogo {
     private boolean emSequenciaDeCaptura = false;
     private Casa pecaEmSequencia = null;
 
+    // Saltos ainda não jogados do movimento escolhido pelo computador
+    private long caminhoComputador;
+    private int saltoComputador;
+    private int casaComputador;
+
+    private BaseFinais baseFinais;
+
+    // Capturas obrigatórias do início da vez (null até serem calculadas)
+    private Map<Casa, List<Casa>> capturasObrigatorias;
+    private Jogador vencedor;
+
+    // Lei da maioria: os caminhos máximos do início da vez e os saltos já jogados nela
+    private boolean leiDaMaioria;
+    private final EnumeradorCapturas enumerador = new EnumeradorCapturas();
+    private final ListaMovimentos caminhosMaximos = new ListaMovimentos();
+    private int origemDaVez;
+    private long caminhoDaVez;
+
+    // Posições do fim de cada vez, para os empates (só no 8x8 com as peças nas casas escuras)
+    private final HistoricoPosicoes posicoes = new HistoricoPosicoes();
+    private boolean damaNoInicioDaVez;
+    private boolean empate;
+
+
+    public Jogo() {
+    }
+
+    /**
+     * Cria um jogo com os jogadores dados (humanos ou JogadorComputador).
+     *
+     * @param jogador1 Jogador das peças brancas.
+     * @param jogador2 Jogador das peças pretas.
+     */
+    public Jogo(Jogador jogador1, Jogador jogador2) {
+        this.jogador1 = jogador1;
+        this.jogador2 = jogador2;
+    }
+
+    /**
+     * Mostra, no início de cada turno com poucas peças, o resultado da base de finais.
+     *
+     * @param baseFinais A base consultada, ou null.
+     */
+    public void setBaseFinais(BaseFinais baseFinais) {
+        this.baseFinais = baseFinais;
+    }
+
+    /**
+     * Lei da maioria (regras brasileiras): entre as capturas, só valem as que capturam o
+     * maior número de peças, e cada salto da sequência deve seguir um desses caminhos.
+     * Vale no tabuleiro 8x8 com as peças nas casas escuras; os JogadorComputador da
+     * partida passam a jogar pela mesma regra. Desligada por padrão.
+     */
+    public void setLeiDaMaioria(boolean leiDaMaioria) {
+        this.leiDaMaioria = leiDaMaioria;
+        if (!emSequenciaDeCaptura) {
+            capturasObrigatorias = null;
+        }
+        for (Jogador jogador : new Jogador[] {jogador1, jogador2}) {
+            if (jogador instanceof JogadorComputador) {
+                ((JogadorComputador) jogador).setLeiDaMaioria(leiDaMaioria);
+            }
+        }
+    }
+
+    public boolean isLeiDaMaioria() {
+        return leiDaMaioria;
+    }
+
+    /**
+     * Lances seguidos (dos dois lados) só de damas, sem captura, que empatam a partida;
+     * 0 desliga a regra. O padrão é HistoricoPosicoes.LANCES_DE_DAMAS_PADRAO.
+     */
+    public void setLimiteLancesDeDamas(int limite) {
+        posicoes.setLimiteLancesDeDamas(limite);
+    }
+
+    // Usado pelos benchmarks para medir as regras sobre uma posição montada
+    Jogo(Tabuleiro tabuleiro) {
+        this.tabuleiro = tabuleiro;
+    }
+
 
     /*
 
@@ -30,10 +124,87 @@ public class Jogo {
     */
 
 
-    private Map<Casa, List<Casa>> encontrarCapturasObrigatorias(Jogador jogador) {
+    Map<Casa, List<Casa>> encontrarCapturasObrigatorias(Jogador jogador) {
+        if (!Metricas.ATIVAS) {
+            return capturasObrigatoriasDe(jogador);
+        }
+        long inicio = HistogramaLatencia.iniciar();
+        Map<Casa, List<Casa>> capturas = capturasObrigatoriasDe(jogador);
+        Metricas.CAPTURAS_OBRIGATORIAS.terminar(inicio);
+        return capturas;
+    }
+
+    private Map<Casa, List<Casa>> capturasObrigatoriasDe(Jogador jogador) {
+        if (tabuleiro.getTamanho() != Tabuleiro.TAMANHO || tabuleiro.temPecasEmCasasClaras()) {
+            return encontrarCapturasObrigatoriasEmTodasAsCasas(jogador);
+        }
+        if (leiDaMaioria) {
+            return capturasMaximasDe(jogador);
+        }
+
+        // O Tabuleiro mantém as peças com captura incrementalmente; só elas são visitadas
+        int pecasComCaptura = tabuleiro.getPecasComCaptura(jogador.getCorPecas());
+        if (pecasComCaptura == 0) {
+            return Collections.emptyMap();
+        }
+        Map<Casa, List<Casa>> capturasObrigatorias = new HashMap<>();
+        for (; pecasComCaptura != 0; pecasComCaptura &= pecasComCaptura - 1) {
+            Casa casaOrigem = tabuleiro.getCasaEscura(Integer.numberOfTrailingZeros(pecasComCaptura));
+            capturasObrigatorias.put(casaOrigem, tabuleiro.getPossiveisCapturas(casaOrigem));
+        }
+        return capturasObrigatorias;
+    }
+
+    // Origens e primeiros saltos dos caminhos que capturam mais peças; os caminhos ficam
+    // em caminhosMaximos para validar o resto da sequência
+    private Map<Casa, List<Casa>> capturasMaximasDe(Jogador jogador) {
+        TabuleiroBits posicao = tabuleiro.paraBits();
+        posicao.setVezDasBrancas(jogador.getCorPecas() == Peca.Cor.BRANCA);
+        if (enumerador.enumerar(posicao, caminhosMaximos, true) == 0) {
+            return Collections.emptyMap();
+        }
+        Map<Casa, List<Casa>> capturasObrigatorias = new HashMap<>();
+        for (int i = 0; i < caminhosMaximos.tamanho(); i++) {
+            Casa casaOrigem = tabuleiro.getCasaEscura(Movimento.origem(caminhosMaximos.get(i)));
+            Casa primeiroSalto = tabuleiro.getCasaEscura(Movimento.casaDoCaminho(caminhosMaximos.getCaminho(i), 0));
+            List<Casa> destinos = capturasObrigatorias.computeIfAbsent(casaOrigem, casa -> new ArrayList<>());
+            if (!destinos.contains(primeiroSalto)) {
+                destinos.add(primeiroSalto);
+            }
+        }
+        return capturasObrigatorias;
+    }
+
+    // Próximos saltos dos caminhos máximos que começam pelos saltos já jogados nesta vez
+    private List<Casa> saltosMaximosSeguintes() {
+        int jogados = Movimento.saltos(caminhoDaVez);
+        List<Casa> destinos = new ArrayList<>();
+        for (int i = 0; i < caminhosMaximos.tamanho(); i++) {
+            long caminho = caminhosMaximos.getCaminho(i);
+            if (Movimento.origem(caminhosMaximos.get(i)) != origemDaVez || Movimento.saltos(caminho) <= jogados) {
+                continue;
+            }
+            boolean segue = true;
+            for (int salto = 0; salto < jogados && segue; salto++) {
+                segue = Movimento.casaDoCaminho(caminho, salto) == Movimento.casaDoCaminho(caminhoDaVez, salto);
+            }
+            Casa destino = tabuleiro.getCasaEscura(Movimento.casaDoCaminho(caminho, jogados));
+            if (segue && !destinos.contains(destino)) {
+                destinos.add(destino);
+            }
+        }
+        return destinos;
+    }
+
+    private boolean usaLeiDaMaioria() {
+        return leiDaMaioria && tabuleiro.getTamanho() == Tabuleiro.TAMANHO && !tabuleiro.temPecasEmCasasClaras();
+    }
+
+    // Varredura de todas as casas, para o 10x10 e montagens com peças em casas claras
+    private Map<Casa, List<Casa>> encontrarCapturasObrigatoriasEmTodasAsCasas(Jogador jogador) {
         Map<Casa, List<Casa>> capturasObrigatorias = new HashMap<>();
-        for (int linha = 0; linha < Tabuleiro.TAMANHO; linha++) {
-            for (int coluna = 0; coluna < Tabuleiro.TAMANHO; coluna++) {
+        for (int linha = 0; linha < tabuleiro.getTamanho(); linha++) {
+            for (int coluna = 0; coluna < tabuleiro.getTamanho(); coluna++) {
                 Casa casaOrigem = tabuleiro.getCasa(linha, coluna);
                 if (casaOrigem != null && !casaOrigem.estaVazia() && casaOrigem.getPeca().getCor() == jogador.getCorPecas()) {
                     List<Casa> possiveisCapturasParaPeca = tabuleiro.getPossiveisCapturas(casaOrigem);
@@ -46,27 +217,261 @@ public class Jogo {
         return capturasObrigatorias;
     }
 
-    public void iniciar() {
-        tabuleiro = new Tabuleiro();
-        scanner = new Scanner(System.in);
+    /**
+     * Resultado de uma jogada aceita por jogar.
+     */
+    public enum ResultadoJogada {
+        /** A vez passou para o oponente. */
+        PROXIMO_JOGADOR,
+        /** A peça que capturou deve continuar capturando; a vez não muda. */
+        CONTINUA_CAPTURA,
+        /** O jogador que moveu venceu e a partida terminou. */
+        VITORIA,
+        /** A posição se repetiu pela terceira vez ou acabaram os lances de damas: a partida terminou empatada. */
+        EMPATE
+    }
 
-        // Inicia os jogadores
-        // Jogador 1 (Brancas) e Jogador 2 (Pretas)
+    /**
+     * Prepara uma partida nova, com o tabuleiro inicial e as brancas na vez, sem ler
+     * nada do teclado. Usado pelo iniciar e por quem conduz o jogo por jogar.
+     */
+    public void novaPartida() {
+        novaPartida(Tabuleiro.TAMANHO, Tabuleiro.LINHAS_INICIAIS);
+    }
 
-        jogador1 = new Jogador("Jogador 1 (Brancas)", Peca.Cor.BRANCA);
-        jogador2 = new Jogador("Jogador 2 (Pretas)", Peca.Cor.PRETA);
+    /**
+     * Como novaPartida(), num tabuleiro do tamanho dado (8 ou 10) com as linhas iniciais dadas.
+     *
+     * @throws IllegalArgumentException Se o tamanho ou as linhas não são válidos; a partida atual não muda.
+     */
+    public void novaPartida(int tamanho, int linhasIniciais) {
+        tabuleiro = new Tabuleiro(tamanho, linhasIniciais);
+        if (jogador1 == null) {
+            jogador1 = new Jogador("Jogador 1 (Brancas)", Peca.Cor.BRANCA);
+        }
+        if (jogador2 == null) {
+            jogador2 = new Jogador("Jogador 2 (Pretas)", Peca.Cor.PRETA);
+        }
         jogadorAtual = jogador1;
         emSequenciaDeCaptura = false;
         pecaEmSequencia = null;
+        capturasObrigatorias = null;
+        caminhoDaVez = 0L;
+        vencedor = null;
+        empate = false;
+        sincronizarPosicoes();
+    }
+
+    // As chaves Zobrist só cobrem as casas escuras do 8x8
+    private boolean controlaEmpates() {
+        return tabuleiro.getTamanho() == Tabuleiro.TAMANHO && !tabuleiro.temPecasEmCasasClaras();
+    }
+
+    // No início da vez: se o tabuleiro foi montado por fora (Tabuleiro.carregar), a
+    // pilha de posições recomeça da posição atual
+    private void sincronizarPosicoes() {
+        if (!controlaEmpates()) {
+            return;
+        }
+        long chave = tabuleiro.getChaveZobrist(jogadorAtual.getCorPecas());
+        if (posicoes.getTamanho() == 0 || posicoes.getChaveAtual() != chave) {
+            posicoes.iniciar(chave);
+        }
+    }
+
+    public Tabuleiro getTabuleiro() {
+        return tabuleiro;
+    }
+
+    public Jogador getJogadorAtual() {
+        return jogadorAtual;
+    }
+
+    /**
+     * @return O vencedor, ou null se a partida não terminou.
+     */
+    public Jogador getVencedor() {
+        return vencedor;
+    }
+
+    /**
+     * @return true se a partida terminou empatada (ver ResultadoJogada.EMPATE).
+     */
+    public boolean isEmpate() {
+        return empate;
+    }
+
+    /**
+     * @return A casa da peça que deve continuar capturando, ou null fora de uma sequência.
+     */
+    public Casa getPecaEmSequencia() {
+        return pecaEmSequencia;
+    }
+
+    /**
+     * Capturas obrigatórias do jogador atual no início da vez (vazio se não houver),
+     * calculadas uma vez por vez.
+     */
+    public Map<Casa, List<Casa>> getCapturasObrigatorias() {
+        if (capturasObrigatorias == null) {
+            capturasObrigatorias = encontrarCapturasObrigatorias(jogadorAtual);
+        }
+        return capturasObrigatorias;
+    }
+
+    /**
+     * Joga um salto do jogador atual: valida as regras (cor, captura obrigatória,
+     * sequência de capturas), move a peça e passa a vez ou verifica a vitória e o empate. Não lê
+     * nem escreve nada no console.
+     *
+     * @return O que acontece depois da jogada.
+     * @throws MovimentoInvalidoException Se a jogada não é permitida; nada muda.
+     */
+    public ResultadoJogada jogar(int linhaOrigem, int colunaOrigem, int linhaDestino, int colunaDestino)
+            throws MovimentoInvalidoException {
+        EventoJogada evento = new EventoJogada();
+        evento.begin();
+        if (vencedor != null || empate) {
+            throw new MovimentoInvalidoException("A partida já terminou.");
+        }
+        Casa casaOrigem = tabuleiro.getCasa(linhaOrigem, colunaOrigem);
+        Casa casaDestino = tabuleiro.getCasa(linhaDestino, colunaDestino);
+
+        if (casaOrigem == null || casaDestino == null) {
+            throw new MovimentoInvalidoException("Coordenadas fora do tabuleiro.");
+        }
+        if (casaOrigem.estaVazia()) {
+            throw new MovimentoInvalidoException("Casa de origem está vazia.");
+        }
+        if (casaOrigem.getPeca().getCor() != jogadorAtual.getCorPecas()) {
+            throw new MovimentoInvalidoException("Não é a cor da sua peça.");
+        }
+
+        Map<Casa, List<Casa>> mandatoryCapturesMap = getCapturasObrigatorias();
+        if (emSequenciaDeCaptura) {
+            if (casaOrigem != pecaEmSequencia) {
+                throw new MovimentoInvalidoException("Deve continuar a sequência com a mesma peça em " + pecaEmSequencia.getLinha() + "," + pecaEmSequencia.getColuna() + ".");
+            }
+            // Uma dama não pode encerrar a sequência deslizando: o salto deve ser uma das capturas da peça
+            if (!tabuleiro.getPossiveisCapturas(pecaEmSequencia).contains(casaDestino)) {
+                throw new MovimentoInvalidoException("Movimento inválido. A sequência deve continuar com uma captura.");
+            }
+            if (usaLeiDaMaioria() && !saltosMaximosSeguintes().contains(casaDestino)) {
+                throw new MovimentoInvalidoException("Movimento inválido. Pela lei da maioria, a sequência deve seguir a captura com mais peças.");
+            }
+        } else if (!mandatoryCapturesMap.isEmpty()) {
+            // Enforce mandatory capture
+            if (!mandatoryCapturesMap.containsKey(casaOrigem)) {
+                throw new MovimentoInvalidoException("Movimento inválido. Você deve realizar uma das capturas obrigatórias listadas com a peça correta.");
+            }
+            List<Casa> destinosPossiveisParaOrigem = mandatoryCapturesMap.get(casaOrigem);
+            if (!destinosPossiveisParaOrigem.contains(casaDestino)) {
+                throw new MovimentoInvalidoException("Movimento inválido. O destino escolhido não é uma captura válida para a peça de origem selecionada.");
+            }
+
+            // Se chegamos aqui, o movimento selecionado é uma captura obrigatória.
+            // O método moverPeca irá validar novamente, o que é aceitável.
+        }
+
+        boolean foiCaptura = false;
+
+        // Verifica se o movimento é uma captura com base na distância
+        // Esta verificação agora é mais uma validação geral; a captura obrigatória já foi validada acima.
+
+        int deltaLinhaAbs = Math.abs(linhaOrigem - linhaDestino);
+        int deltaColunaAbs = Math.abs(colunaOrigem - colunaDestino);
+
+        if (!mandatoryCapturesMap.isEmpty() && !(deltaLinhaAbs > 1 && deltaColunaAbs > 1 && deltaLinhaAbs == deltaColunaAbs) ) {
+
+             // Se existem capturas obrigatórias, apenas movimentos de captura são permitidos.
+             // Um movimento simples (delta == 1) ou qualquer movimento não diagonal/não salto é inválido.
+             throw new MovimentoInvalidoException("Movimento inválido. Uma captura é obrigatória.");
+        }
+
+        // Uma dama pode deslizar mais de uma casa sem capturar, então a distância sozinha não basta:
+        // se o deslize simples é válido, não houve captura.
+        boolean deslizeSimples = tabuleiro.isMovimentoValido(casaOrigem, casaDestino);
+        if (emSequenciaDeCaptura && deslizeSimples) {
+            throw new MovimentoInvalidoException("Movimento inválido. A sequência deve continuar com uma captura.");
+        }
+        if (!emSequenciaDeCaptura) {
+            damaNoInicioDaVez = casaOrigem.getPeca() instanceof Dama;
+            sincronizarPosicoes();
+        }
+
+        tabuleiro.moverPeca(casaOrigem, casaDestino);
+
+        // Determina se uma captura ocorreu para a lógica de sequência.
+        // Isso depende do fato de que moverPeca teria lançado um erro se não fosse um salto válido
+        // ou um movimento simples válido.
+        if (deltaLinhaAbs > 1 && !deslizeSimples) {
+            foiCaptura = true;
+        }
+        evento.cor = jogadorAtual.getCorPecas().name();
+        evento.linhaOrigem = linhaOrigem;
+        evento.colunaOrigem = colunaOrigem;
+        evento.linhaDestino = linhaDestino;
+        evento.colunaDestino = colunaDestino;
+        evento.captura = foiCaptura;
+
+        if (foiCaptura && usaLeiDaMaioria()) {
+            if (!emSequenciaDeCaptura) {
+                origemDaVez = TabuleiroBits.indice(linhaOrigem, colunaOrigem);
+                caminhoDaVez = 0L;
+            }
+            caminhoDaVez = Movimento.comCasa(caminhoDaVez, TabuleiroBits.indice(linhaDestino, colunaDestino));
+        }
+
+        // A sequência de capturas continua com a mesma peça enquanto houver o que capturar
+        if (foiCaptura && !tabuleiro.getPossiveisCapturas(casaDestino).isEmpty()) {
+            emSequenciaDeCaptura = true;
+            pecaEmSequencia = casaDestino;
+            return concluir(evento, ResultadoJogada.CONTINUA_CAPTURA);
+        }
+
+        // Fim da vez: o oponente perde se ficou sem peças ou sem movimentos
+        emSequenciaDeCaptura = false;
+        pecaEmSequencia = null;
+        capturasObrigatorias = null;
+        caminhoDaVez = 0L;
+        if (tabuleiro.verificarVitoria(jogadorAtual.getCorPecas())) {
+            vencedor = jogadorAtual;
+            return concluir(evento, ResultadoJogada.VITORIA);
+        }
+        jogadorAtual = (jogadorAtual == jogador1) ? jogador2 : jogador1;
+
+        if (controlaEmpates()) {
+            boolean promoveu = !damaNoInicioDaVez && casaDestino.getPeca() instanceof Dama;
+            posicoes.registrar(tabuleiro.getChaveZobrist(jogadorAtual.getCorPecas()), foiCaptura || promoveu,
+                damaNoInicioDaVez && !foiCaptura);
+            if (posicoes.isEmpate()) {
+                empate = true;
+                return concluir(evento, ResultadoJogada.EMPATE);
+            }
+        }
+        return concluir(evento, ResultadoJogada.PROXIMO_JOGADOR);
+    }
 
-        Map<Casa, List<Casa>> mandatoryCapturesMap = new HashMap<>();
+    private static ResultadoJogada concluir(EventoJogada evento, ResultadoJogada resultado) {
+        evento.resultado = resultado.name();
+        evento.commit();
+        return resultado;
+    }
+
+    public void iniciar() {
+        novaPartida();
+        scanner = new Scanner(System.in);
 
         while (true) {
             tabuleiro.mostrar();
             System.out.println("Turno de: " + jogadorAtual.getNome());
 
             if (!emSequenciaDeCaptura) {
-                mandatoryCapturesMap = encontrarCapturasObrigatorias(jogadorAtual);
+                mostrarBaseFinais();
+            }
+
+            if (!emSequenciaDeCaptura) {
+                Map<Casa, List<Casa>> mandatoryCapturesMap = getCapturasObrigatorias();
                 if (!mandatoryCapturesMap.isEmpty()) {
                     System.out.println("Captura obrigatória! Você deve realizar uma das seguintes capturas:");
                     for (Map.Entry<Casa, List<Casa>> entry : mandatoryCapturesMap.entrySet()) {
@@ -87,7 +492,11 @@ public class Jogo {
             } else {
                 System.out.println("Digite sua jogada no formato 'linhaOrigem colunaOrigem linhaDestino colunaDestino' (ex: 2 1 3 2):");
             }
-            String input = scanner.nextLine();
+            String input = lerJogada();
+            if (input == null) {
+                System.out.println(jogadorAtual.getNome() + " não tem movimentos.");
+                break;
+            }
             String[] parts = input.split(" ");
 
             if (parts.length != 4) {
@@ -96,120 +505,28 @@ public class Jogo {
             }
 
             try {
-                int linhaOrigem = Integer.parseInt(parts[0]);
-                int colunaOrigem = Integer.parseInt(parts[1]);
-                int linhaDestino = Integer.parseInt(parts[2]);
-                int colunaDestino = Integer.parseInt(parts[3]);
-
-                Casa casaOrigem = tabuleiro.getCasa(linhaOrigem, colunaOrigem);
-                Casa casaDestino = tabuleiro.getCasa(linhaDestino, colunaDestino);
-
-                if (casaOrigem == null || casaDestino == null) {
-                    throw new MovimentoInvalidoException("Coordenadas fora do tabuleiro.");
-                }
-
-                 if (casaOrigem.estaVazia()) {
-
-                    throw new MovimentoInvalidoException("Casa de origem está vazia.");
-                }
-                if (casaOrigem.getPeca().getCor() != jogadorAtual.getCorPecas()) {
-                    throw new MovimentoInvalidoException("Não é a cor da sua peça.");
-                }
-
-                if (emSequenciaDeCaptura) {
-                    if (casaOrigem != pecaEmSequencia) {
-                        throw new MovimentoInvalidoException("Deve continuar a sequência com a mesma peça em " + pecaEmSequencia.getLinha() + "," + pecaEmSequencia.getColuna() + ".");
-                    }
-                } else if (!mandatoryCapturesMap.isEmpty()) {
-                    // Enforce mandatory capture
-                    if (!mandatoryCapturesMap.containsKey(casaOrigem)) {
-                        throw new MovimentoInvalidoException("Movimento inválido. Você deve realizar uma das capturas obrigatórias listadas com a peça correta.");
-                    }
-                    List<Casa> destinosPossiveisParaOrigem = mandatoryCapturesMap.get(casaOrigem);
-                    if (!destinosPossiveisParaOrigem.contains(casaDestino)) {
-                        throw new MovimentoInvalidoException("Movimento inválido. O destino escolhido não é uma captura válida para a peça de origem selecionada.");
-                    }
-
-                    // Se chegamos aqui, o movimento selecionado é uma captura obrigatória.
-                    // O método moverPeca irá validar novamente, o que é aceitável.
-                }
-
-                // A lógica principal de movimentar a peça, determinar se é captura ou movimento simples,
-                // e então chamar tabuleiro.moverPeca permanece.
-                // Porém, se existirem capturas obrigatórias, um movimento simples deve ser proibido.
-
-                boolean foiCaptura = false; 
-
-                // Verifica se o movimento é uma captura com base na distância
-                // Esta verificação agora é mais uma validação geral; a captura obrigatória já foi validada acima.
-
-                int deltaLinhaAbs = Math.abs(linhaOrigem - linhaDestino);
-                int deltaColunaAbs = Math.abs(colunaOrigem - colunaDestino);
-
-                if (!mandatoryCapturesMap.isEmpty() && !(deltaLinhaAbs > 1 && deltaColunaAbs > 1 && deltaLinhaAbs == deltaColunaAbs) ) {
-
-                     // Se existem capturas obrigatórias, apenas movimentos de captura são permitidos.
-                     // Um movimento simples (delta == 1) ou qualquer movimento não diagonal/não salto é inválido.
-                     throw new MovimentoInvalidoException("Movimento inválido. Uma captura é obrigatória.");
-                }
-
-                // Neste ponto, se mandatoryCapturesMap não estava vazio, o jogador escolheu uma das capturas obrigatórias.
-                // Se mandatoryCapturesMap estava vazio, qualquer movimento válido é permitido.
-                // O método tabuleiro.moverPeca executa e valida o movimento (incluindo se é captura ou simples).
-
-                // Precisamos saber se ocorreu uma captura para tratar sequências de capturas.
-                // Uma forma é checar a distância, já que moverPeca não retorna isso.
-                // Ou, verificar se uma peça foi realmente capturada. Vamos confiar na distância por enquanto,
-                // pois moverPeca lançará exceção se for uma captura inválida.
+                ResultadoJogada resultado = jogar(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
 
-                tabuleiro.moverPeca(casaOrigem, casaDestino); 
-
-                // Determina se uma captura ocorreu para a lógica de sequência.
-                // Isso depende do fato de que moverPeca teria lançado um erro se não fosse um salto válido
-                // ou um movimento simples válido.
-                if (deltaLinhaAbs > 1) { 
-
-                    foiCaptura = true;
-                }
-
-
-                if (tabuleiro.verificarVitoria(jogadorAtual.getCorPecas())) {
+                // Se a captura continua, o jogador não troca e o loop segue com ele
+                if (resultado == ResultadoJogada.CONTINUA_CAPTURA) {
+                    System.out.println("Você realizou uma captura e pode capturar novamente com a mesma peça.");
+                } else if (resultado == ResultadoJogada.VITORIA) {
                     tabuleiro.mostrar();
                     System.out.println("O jogador " + jogadorAtual.getNome() + " venceu!");
-                    emSequenciaDeCaptura = false;
-                    pecaEmSequencia = null;
+                    break;
+                } else if (resultado == ResultadoJogada.EMPATE) {
+                    tabuleiro.mostrar();
+                    System.out.println(posicoes.isLimiteLancesDeDamas()
+                        ? "Empate: " + posicoes.getLimiteLancesDeDamas() + " lances seguidos só de damas, sem captura."
+                        : "Empate: a mesma posição se repetiu três vezes.");
                     break;
                 }
-
-                if (foiCaptura) {
-                    Casa pecaQueCapturouUltimaPosicao = casaDestino;
-
-                    // Verifica se a sequência de capturas deve continuar apenas se o jogador atual ainda for o mesmo
-                    // (o que será verdade se emSequenciaDeCaptura era false antes desta captura)
-                    // OU se ele já estava em uma sequência.
-
-                    List<Casa> novasCapturasPossiveis = tabuleiro.getPossiveisCapturas(pecaQueCapturouUltimaPosicao);
-                    if (!novasCapturasPossiveis.isEmpty()) {
-                        System.out.println("Você realizou uma captura e pode capturar novamente com a mesma peça.");
-                        emSequenciaDeCaptura = true;
-                        pecaEmSequencia = pecaQueCapturouUltimaPosicao;
-
-                    } else {
-                        emSequenciaDeCaptura = false;
-                        pecaEmSequencia = null;
-                        jogadorAtual = (jogadorAtual == jogador1) ? jogador2 : jogador1;
-                    }
-                } else {
-                    emSequenciaDeCaptura = false;
-                    pecaEmSequencia = null;
-                    jogadorAtual = (jogadorAtual == jogador1) ? jogador2 : jogador1;
-                }
-
-            // Se emSequenciaDeCaptura for verdadeiro neste ponto, o jogador não troca.
-            // O loop continua com o mesmo jogador.
-
-
             } catch (MovimentoInvalidoException | NumberFormatException e) {
+                if (jogadorAtual instanceof JogadorComputador) {
+                    // O motor segue as mesmas regras; uma jogada recusada aqui é um erro do programa
+                    throw new IllegalStateException("Jogada do computador recusada: " + e.getMessage(), e);
+                }
                 System.out.println("Erro: " + e.getMessage());
                 System.out.println("Tente novamente.");
             }
@@ -217,5 +534,65 @@ public class Jogo {
         scanner.close();
     }
 
+    /**
+     * Resultado da base de finais para o jogador da vez (BaseFinais.VITORIA, DERROTA ou
+     * EMPATE). DESCONHECIDO sem base, fora do 8x8 com as peças nas casas escuras e com a
+     * lei da maioria, porque a base é gerada com as capturas livres.
+     */
+    public int getResultadoBaseFinais() {
+        if (baseFinais == null || leiDaMaioria || tabuleiro.getTamanho() != Tabuleiro.TAMANHO
+                || tabuleiro.temPecasEmCasasClaras()) {
+            return BaseFinais.DESCONHECIDO;
+        }
+        TabuleiroBits posicao = tabuleiro.paraBits();
+        posicao.setVezDasBrancas(jogadorAtual.getCorPecas() == Peca.Cor.BRANCA);
+        return baseFinais.sondar(posicao);
+    }
+
+    private void mostrarBaseFinais() {
+        int resultado = getResultadoBaseFinais();
+        if (resultado == BaseFinais.VITORIA) {
+            System.out.println("Base de finais: vitória de " + jogadorAtual.getNome() + ".");
+        } else if (resultado == BaseFinais.DERROTA) {
+            System.out.println("Base de finais: derrota de " + jogadorAtual.getNome() + ".");
+        } else if (resultado == BaseFinais.EMPATE) {
+            System.out.println("Base de finais: empate.");
+        }
+    }
+
+    /**
+     * Lê a próxima jogada (um salto) do jogador atual: do teclado, ou do motor de busca
+     * se for um JogadorComputador.
+     *
+     * @return A jogada no formato 'linhaOrigem colunaOrigem linhaDestino colunaDestino',
+     *         ou null se o computador não tiver movimentos.
+     */
+    private String lerJogada() {
+        if (!(jogadorAtual instanceof JogadorComputador)) {
+            return scanner.nextLine();
+        }
+
+        if (!emSequenciaDeCaptura) {
+            sincronizarPosicoes();
+            ResultadoBusca resultado = ((JogadorComputador) jogadorAtual).escolherMovimento(tabuleiro,
+                controlaEmpates() ? posicoes : null);
+            if (!resultado.temMovimento()) {
+                return null;
+            }
+            System.out.println("Computador: " + resultado);
+            caminhoComputador = resultado.getCaminho();
+            saltoComputador = 0;
+            casaComputador = Movimento.origem(resultado.getMovimento());
+        }
+
+        // Um salto por vez, como um jogador humano digitaria
+        int destino = Movimento.casaDoCaminho(caminhoComputador, saltoComputador++);
+        String jogada = TabuleiroBits.linha(casaComputador) + " " + TabuleiroBits.coluna(casaComputador) + " "
+            + TabuleiroBits.linha(destino) + " " + TabuleiroBits.coluna(destino);
+        casaComputador = destino;
+        System.out.println(jogada);
+        return jogada;
+    }
+
 }
 
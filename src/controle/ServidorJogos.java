@@ -0,0 +1,255 @@
+package controle;
+
+import modelo.Casa;
+import modelo.Dama;
+import modelo.Peca;
+import modelo.Tabuleiro;
+import util.MovimentoInvalidoException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor de partidas sem console: cada conexão TCP é uma sessão com o seu próprio
+ * Jogo, atendida por uma virtual thread. O protocolo é de linhas em UTF-8, com uma
+ * resposta por comando:
+ *
+ * <pre>
+ * NOVO [t [l]]         OK                      recomeça a partida; t = 8 ou 10 (tamanho do
+ *                                              tabuleiro) e l = linhas de peças de cada lado
+ * JOGAR lo co ld cd    OK PROXIMO              um salto, como no console
+ *                      OK CONTINUA             a mesma peça deve capturar de novo
+ *                      OK VITORIA              quem jogou venceu
+ *                      OK EMPATE               repetição ou limite de lances de damas
+ * VEZ                  OK BRANCA | PRETA | FIM
+ * TABULEIRO            OK b.b.b.b./...         as linhas separadas por '/': b e p peças,
+ *                                              B e P damas, '.' vazia
+ * SAIR                 OK                      e fecha a conexão
+ * </pre>
+ *
+ * Erros de regra ou de formato respondem "ERRO mensagem" e não mudam a partida. Uma
+ * linha com mais de MAXIMO_LINHA caracteres responde ERRO e encerra a conexão: a linha é
+ * lida em um buffer de tamanho fixo, então um cliente que nunca manda a quebra de linha
+ * não faz a memória das outras sessões crescer.
+ * As respostas só são enviadas quando não há mais comandos esperando na entrada, então
+ * um cliente pode mandar vários comandos de uma vez.
+ *
+ * As sessões não compartilham estado: a jogada não toma nenhum lock e só os contadores
+ * (LongAdder) são comuns a todas.
+ */
+public class ServidorJogos implements AutoCloseable {
+
+    private static final int FILA_CONEXOES = 4096;
+
+    /** Caracteres de um comando, sem a quebra de linha; os comandos do protocolo são curtos. */
+    public static final int MAXIMO_LINHA = 256;
+
+    // Devolvido por lerLinha quando a linha não cabe no buffer
+    private static final int LINHA_LONGA = -2;
+
+    private final ServerSocket servidor;
+    private final ExecutorService sessoes = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder sessoesAbertas = new LongAdder();
+    private final LongAdder jogadas = new LongAdder();
+    private Thread aceitador;
+
+    /**
+     * @param porta Porta TCP, ou 0 para uma porta livre qualquer (ver getPorta).
+     */
+    public ServidorJogos(int porta) throws IOException {
+        servidor = new ServerSocket(porta, FILA_CONEXOES);
+    }
+
+    /**
+     * Começa a aceitar conexões em segundo plano.
+     */
+    public synchronized void iniciar() {
+        if (aceitador == null) {
+            aceitador = Thread.ofVirtual().name("servidor-jogos").start(this::aceitar);
+        }
+    }
+
+    public int getPorta() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * Conexões atendidas neste momento.
+     */
+    public long getSessoesAbertas() {
+        return sessoesAbertas.sum();
+    }
+
+    /**
+     * Saltos aceitos desde o início, somando todas as sessões.
+     */
+    public long getJogadas() {
+        return jogadas.sum();
+    }
+
+    /**
+     * Para de aceitar conexões e encerra as sessões abertas.
+     */
+    @Override
+    public void close() throws IOException {
+        servidor.close();
+        // Interromper uma virtual thread bloqueada no socket fecha a conexão dela
+        sessoes.shutdownNow();
+    }
+
+    private void aceitar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket conexao = servidor.accept();
+                sessoes.execute(() -> atender(conexao));
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    System.err.println("Falha ao aceitar conexão: " + e.getMessage());
+                }
+            } catch (RejectedExecutionException e) {
+                // Servidor encerrado entre o accept e o execute
+                return;
+            }
+        }
+    }
+
+    private void atender(Socket conexao) {
+        sessoesAbertas.increment();
+        try (conexao;
+             BufferedReader entrada = new BufferedReader(
+                 new InputStreamReader(conexao.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter saida = new BufferedWriter(
+                 new OutputStreamWriter(conexao.getOutputStream(), StandardCharsets.UTF_8))) {
+            conexao.setTcpNoDelay(true);
+            Jogo jogo = new Jogo();
+            jogo.novaPartida();
+            char[] buffer = new char[MAXIMO_LINHA];
+            int tamanho;
+            while ((tamanho = lerLinha(entrada, buffer)) >= 0) {
+                String linha = new String(buffer, 0, tamanho);
+                saida.write(responder(jogo, linha));
+                saida.write('\n');
+                if (linha.equals("SAIR")) {
+                    break;
+                }
+                if (!entrada.ready()) {
+                    saida.flush();
+                }
+            }
+            if (tamanho == LINHA_LONGA) {
+                saida.write("ERRO Linha com mais de " + MAXIMO_LINHA + " caracteres.\n");
+            }
+            saida.flush();
+        } catch (SocketException e) {
+            // O cliente desconectou ou o servidor foi encerrado: a sessão simplesmente termina
+        } catch (IOException e) {
+            System.err.println("Sessão encerrada com erro: " + e.getMessage());
+        } finally {
+            sessoesAbertas.decrement();
+        }
+    }
+
+    /**
+     * Lê uma linha no buffer, sem a quebra de linha (e sem um '\r' antes dela).
+     *
+     * @return O número de caracteres lidos, -1 no fim da entrada ou LINHA_LONGA se a
+     *         linha não cabe no buffer.
+     */
+    static int lerLinha(BufferedReader entrada, char[] buffer) throws IOException {
+        int tamanho = 0;
+        int c;
+        while ((c = entrada.read()) != -1 && c != '\n') {
+            if (tamanho == buffer.length) {
+                return LINHA_LONGA;
+            }
+            buffer[tamanho++] = (char) c;
+        }
+        if (c == -1 && tamanho == 0) {
+            return -1;
+        }
+        if (tamanho > 0 && buffer[tamanho - 1] == '\r') {
+            tamanho--;
+        }
+        return tamanho;
+    }
+
+    /**
+     * Executa um comando do protocolo na partida da sessão e devolve a resposta (sem a
+     * quebra de linha).
+     */
+    String responder(Jogo jogo, String linha) {
+        String[] partes = linha.trim().split(" +");
+        switch (partes[0]) {
+            case "JOGAR":
+                if (partes.length != 5) {
+                    return "ERRO Use: JOGAR linhaOrigem colunaOrigem linhaDestino colunaDestino";
+                }
+                try {
+                    Jogo.ResultadoJogada resultado = jogo.jogar(Integer.parseInt(partes[1]),
+                        Integer.parseInt(partes[2]), Integer.parseInt(partes[3]), Integer.parseInt(partes[4]));
+                    jogadas.increment();
+                    switch (resultado) {
+                        case CONTINUA_CAPTURA:
+                            return "OK CONTINUA";
+                        case VITORIA:
+                            return "OK VITORIA";
+                        case EMPATE:
+                            return "OK EMPATE";
+                        default:
+                            return "OK PROXIMO";
+                    }
+                } catch (MovimentoInvalidoException | NumberFormatException e) {
+                    return "ERRO " + e.getMessage();
+                }
+            case "NOVO":
+                if (partes.length > 3) {
+                    return "ERRO Use: NOVO [tamanho [linhasIniciais]]";
+                }
+                try {
+                    int tamanho = partes.length > 1 ? Integer.parseInt(partes[1]) : Tabuleiro.TAMANHO;
+                    jogo.novaPartida(tamanho, partes.length > 2 ? Integer.parseInt(partes[2]) : tamanho / 2 - 1);
+                } catch (IllegalArgumentException e) {
+                    return "ERRO " + e.getMessage();
+                }
+                return "OK";
+            case "VEZ":
+                return jogo.getVencedor() != null || jogo.isEmpate() ? "OK FIM" : "OK " + jogo.getJogadorAtual().getCorPecas();
+            case "TABULEIRO":
+                return "OK " + paraTexto(jogo.getTabuleiro());
+            case "SAIR":
+                return "OK";
+            default:
+                return "ERRO Comando desconhecido: " + partes[0];
+        }
+    }
+
+    static String paraTexto(Tabuleiro tabuleiro) {
+        int tamanho = tabuleiro.getTamanho();
+        StringBuilder texto = new StringBuilder(tamanho * (tamanho + 1));
+        for (int linha = 0; linha < tamanho; linha++) {
+            if (linha > 0) {
+                texto.append('/');
+            }
+            for (int coluna = 0; coluna < tamanho; coluna++) {
+                Casa casa = tabuleiro.getCasa(linha, coluna);
+                if (casa.estaVazia()) {
+                    texto.append('.');
+                } else {
+                    char letra = casa.getPeca().getCor() == Peca.Cor.BRANCA ? 'b' : 'p';
+                    texto.append(casa.getPeca() instanceof Dama ? Character.toUpperCase(letra) : letra);
+                }
+            }
+        }
+        return texto.toString();
+    }
+}
@@ -13,6 +13,7 @@ public class Casa {
     private int linha;
     private int coluna;
     private Peca peca;
+    private final Tabuleiro tabuleiro;
 
 
     /**
@@ -23,9 +24,20 @@ public class Casa {
      */
 
     public Casa(int linha, int coluna) {
+        this(linha, coluna, null);
+    }
+
+
+    /**
+     * Construtor usado pelo Tabuleiro: a casa avisa o tabuleiro sempre que a peça muda,
+     * para que a representação em bits continue sincronizada.
+     */
+
+    Casa(int linha, int coluna, Tabuleiro tabuleiro) {
         this.linha = linha;
         this.coluna = coluna;
         this.peca = null;
+        this.tabuleiro = tabuleiro;
     }
 
 
@@ -69,7 +81,11 @@ public class Casa {
      */
 
     public void setPeca(Peca peca) {
+        Peca anterior = this.peca;
         this.peca = peca;
+        if (tabuleiro != null) {
+            tabuleiro.casaAlterada(this, anterior);
+        }
     }
 
 
@@ -0,0 +1,156 @@
+package modelo;
+
+/**
+ * Enumera todas as sequências de captura completas do lado que tem a vez, caminho a
+ * caminho, para peças regulares e damas: cada caminho diferente é uma entrada da
+ * lista, mesmo que termine na mesma casa com as mesmas peças capturadas (o
+ * GeradorMovimentos junta esses casos num único movimento).
+ *
+ * As regras são as do GeradorMovimentos: a peça capturada sai do tabuleiro a cada
+ * salto e a peça regular promovida no meio da sequência continua como dama. Com
+ * apenasMaximas, só ficam os caminhos que capturam o maior número de peças (a lei da
+ * maioria das regras brasileiras).
+ *
+ * A busca em profundidade é iterativa, sobre pilhas de inteiros com um quadro por
+ * salto: cada quadro guarda a casa, as peças já capturadas (que dão as casas ocupadas
+ * sem alterar nenhuma máscara) e até onde a procura do próximo salto chegou. Posições
+ * com muitas capturas de dama não fazem recursão nem alocam. Uma instância guarda as
+ * pilhas, então use uma por thread.
+ */
+public class EnumeradorCapturas {
+
+    // Uma sequência captura no máximo todas as peças do oponente
+    private static final int SALTOS_MAXIMOS = TabuleiroBits.CASAS;
+
+    private final int[] casa = new int[SALTOS_MAXIMOS + 1];
+    private final int[] capturadas = new int[SALTOS_MAXIMOS + 1];
+    private final long[] caminho = new long[SALTOS_MAXIMOS + 1];
+    private final boolean[] dama = new boolean[SALTOS_MAXIMOS + 1];
+    private final boolean[] promovida = new boolean[SALTOS_MAXIMOS + 1];
+    private final boolean[] continuou = new boolean[SALTOS_MAXIMOS + 1];
+    // Direção em procura e, para a dama, a peça a capturar nela (-1 se a diagonal ainda
+    // não foi examinada) e as casas de pouso ainda não tentadas
+    private final int[] direcao = new int[SALTOS_MAXIMOS + 1];
+    private final int[] alvo = new int[SALTOS_MAXIMOS + 1];
+    private final int[] pousos = new int[SALTOS_MAXIMOS + 1];
+
+    private int maximo;
+
+    /**
+     * Preenche a lista com os caminhos de captura completos do lado que tem a vez.
+     *
+     * @param apenasMaximas Só os caminhos com o maior número de peças capturadas.
+     * @return O número de caminhos (zero se não há captura).
+     */
+    public int enumerar(TabuleiroBits posicao, ListaMovimentos lista, boolean apenasMaximas) {
+        lista.limpar();
+        maximo = 0;
+        boolean brancas = posicao.isVezDasBrancas();
+        int minhas = brancas ? posicao.getBrancas() : posicao.getPretas();
+        int inimigas = brancas ? posicao.getPretas() : posicao.getBrancas();
+        int linhaPromocao = brancas ? TabuleiroBits.LINHA_PROMOCAO_BRANCAS : TabuleiroBits.LINHA_PROMOCAO_PRETAS;
+        for (int pecas = minhas; pecas != 0; pecas &= pecas - 1) {
+            int origem = Integer.numberOfTrailingZeros(pecas);
+            // A peça sai da origem: durante a sequência a casa fica livre
+            percorrer(origem, (posicao.getDamas() & (1 << origem)) != 0, (minhas | inimigas) & ~(1 << origem),
+                inimigas, linhaPromocao, lista, apenasMaximas);
+        }
+        return lista.tamanho();
+    }
+
+    /**
+     * Maior número de peças capturadas entre os caminhos da última enumeração.
+     */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    private void percorrer(int origem, boolean damaNaOrigem, int ocupadasIniciais, int inimigasIniciais,
+            int linhaPromocao, ListaMovimentos lista, boolean apenasMaximas) {
+        int k = 0;
+        casa[0] = origem;
+        capturadas[0] = 0;
+        caminho[0] = 0L;
+        dama[0] = damaNaOrigem;
+        promovida[0] = false;
+        continuou[0] = false;
+        direcao[0] = 0;
+        alvo[0] = -1;
+
+        while (k >= 0) {
+            int ocupadas = ocupadasIniciais & ~capturadas[k];
+            int inimigas = inimigasIniciais & ~capturadas[k];
+            int destino = -1;
+            int capturada = -1;
+
+            // Próximo salto a partir do quadro k, continuando de onde a procura parou
+            while (destino < 0 && direcao[k] < 4) {
+                int d = direcao[k];
+                if (!dama[k]) {
+                    direcao[k]++;
+                    int meio = TabuleiroBits.VIZINHO[d][casa[k]];
+                    if (meio >= 0 && (inimigas & (1 << meio)) != 0) {
+                        int pouso = TabuleiroBits.VIZINHO[d][meio];
+                        if (pouso >= 0 && (ocupadas & (1 << pouso)) == 0) {
+                            destino = pouso;
+                            capturada = meio;
+                        }
+                    }
+                    continue;
+                }
+
+                if (alvo[k] < 0) {
+                    int a = TabuleiroBits.primeiraOcupada(casa[k], d, ocupadas);
+                    if (a < 0 || (inimigas & (1 << a)) == 0) {
+                        direcao[k]++;
+                        continue;
+                    }
+                    alvo[k] = a;
+                    pousos[k] = TabuleiroBits.casasLivres(a, d, ocupadas);
+                }
+                if (pousos[k] == 0) {
+                    alvo[k] = -1;
+                    direcao[k]++;
+                    continue;
+                }
+                destino = Integer.numberOfTrailingZeros(pousos[k]);
+                capturada = alvo[k];
+                pousos[k] &= pousos[k] - 1;
+            }
+
+            if (destino >= 0) {
+                continuou[k] = true;
+                boolean promove = !dama[k] && (linhaPromocao & (1 << destino)) != 0;
+                k++;
+                casa[k] = destino;
+                capturadas[k] = capturadas[k - 1] | (1 << capturada);
+                caminho[k] = Movimento.comCasa(caminho[k - 1], destino);
+                dama[k] = dama[k - 1] || promove;
+                promovida[k] = promovida[k - 1] || promove;
+                continuou[k] = false;
+                direcao[k] = 0;
+                alvo[k] = -1;
+                continue;
+            }
+
+            // Nenhum salto a partir daqui: o caminho até o quadro k está completo
+            if (!continuou[k] && k > 0) {
+                registrar(origem, k, lista, apenasMaximas);
+            }
+            k--;
+        }
+    }
+
+    private void registrar(int origem, int saltos, ListaMovimentos lista, boolean apenasMaximas) {
+        if (saltos > maximo) {
+            maximo = saltos;
+            if (apenasMaximas) {
+                lista.limpar();
+            }
+        }
+        if (!apenasMaximas || saltos == maximo) {
+            lista.adicionar(Movimento.captura(origem, casa[saltos], capturadas[saltos], promovida[saltos]),
+                caminho[saltos]);
+        }
+    }
+}
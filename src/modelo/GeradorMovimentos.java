@@ -0,0 +1,223 @@
+package modelo;
+
+/**
+ * Gera todos os movimentos legais do lado que tem a vez em um TabuleiroBits.
+ *
+ * Segue as regras de Tabuleiro e Jogo: captura obrigatória, sequências de captura
+ * completas (a peça continua enquanto puder capturar), peças capturadas saem do
+ * tabuleiro a cada salto e a peça regular promovida no meio da sequência continua
+ * capturando como dama.
+ *
+ * Com a lei da maioria (regras brasileiras, setLeiDaMaioria), só as sequências que
+ * capturam o maior número de peças são geradas.
+ *
+ * Nada é alocado por chamada: os movimentos vão para a ListaMovimentos recebida.
+ * Uma instância guarda estado durante a geração, então use uma por thread.
+ */
+public class GeradorMovimentos {
+
+    // Estado da sequência de captura em andamento
+    private ListaMovimentos lista;
+    private int inicioCapturas;
+    private int origemSequencia;
+    private boolean damaNaOrigem;
+    private int ocupadas;
+    private int inimigas;
+    private int linhaPromocao;
+
+    private boolean leiDaMaioria;
+
+    public boolean isLeiDaMaioria() {
+        return leiDaMaioria;
+    }
+
+    /**
+     * Liga a lei da maioria: entre as capturas, só as que capturam mais peças.
+     */
+    public void setLeiDaMaioria(boolean leiDaMaioria) {
+        this.leiDaMaioria = leiDaMaioria;
+    }
+
+    /**
+     * Preenche a lista com todos os movimentos legais da posição.
+     * Se houver alguma captura, apenas capturas são geradas.
+     *
+     * @return O número de movimentos gerados.
+     */
+    public int gerar(TabuleiroBits posicao, ListaMovimentos lista) {
+        lista.limpar();
+        if (!gerarCapturas(posicao, lista)) {
+            gerarMovimentosSimples(posicao, lista);
+        }
+        return lista.tamanho();
+    }
+
+    /**
+     * Preenche a lista só com as sequências de captura do lado que tem a vez.
+     *
+     * @return true se alguma captura foi encontrada.
+     */
+    public boolean gerarCapturas(TabuleiroBits posicao, ListaMovimentos lista) {
+        boolean brancas = posicao.isVezDasBrancas();
+        int minhas = brancas ? posicao.getBrancas() : posicao.getPretas();
+        int damas = posicao.getDamas();
+
+        this.lista = lista;
+        this.inicioCapturas = lista.tamanho();
+        this.inimigas = brancas ? posicao.getPretas() : posicao.getBrancas();
+        this.linhaPromocao = brancas ? TabuleiroBits.LINHA_PROMOCAO_BRANCAS : TabuleiroBits.LINHA_PROMOCAO_PRETAS;
+
+        for (int pecas = minhas; pecas != 0; pecas &= pecas - 1) {
+            int origem = Integer.numberOfTrailingZeros(pecas);
+            // A peça sai da origem: durante a sequência a casa fica livre
+            this.ocupadas = (minhas | inimigas) & ~(1 << origem);
+            this.origemSequencia = origem;
+            this.damaNaOrigem = (damas & (1 << origem)) != 0;
+            if (damaNaOrigem) {
+                capturasDama(origem, 0, false, 0L);
+            } else {
+                capturasPecaRegular(origem, 0, false, 0L);
+            }
+        }
+        this.lista = null;
+        if (leiDaMaioria) {
+            manterMaioria(lista, inicioCapturas);
+        }
+        return lista.tamanho() > inicioCapturas;
+    }
+
+    // Deixa a partir de inicio só as capturas com o maior número de peças, na mesma ordem
+    private static void manterMaioria(ListaMovimentos lista, int inicio) {
+        int maximo = 0;
+        for (int i = inicio; i < lista.tamanho(); i++) {
+            maximo = Math.max(maximo, Integer.bitCount(Movimento.capturadas(lista.get(i))));
+        }
+        int mantidos = inicio;
+        for (int i = inicio; i < lista.tamanho(); i++) {
+            if (Integer.bitCount(Movimento.capturadas(lista.get(i))) == maximo) {
+                lista.set(mantidos++, lista.get(i), lista.getCaminho(i));
+            }
+        }
+        lista.truncar(mantidos);
+    }
+
+    /**
+     * Preenche a lista com os movimentos sem captura (não verifica se há capturas obrigatórias).
+     */
+    public void gerarMovimentosSimples(TabuleiroBits posicao, ListaMovimentos lista) {
+        boolean brancas = posicao.isVezDasBrancas();
+        int minhas = brancas ? posicao.getBrancas() : posicao.getPretas();
+        int damas = minhas & posicao.getDamas();
+        int regulares = minhas & ~damas;
+        int vazias = ~posicao.ocupadas();
+        int linhaPromocao = brancas ? TabuleiroBits.LINHA_PROMOCAO_BRANCAS : TabuleiroBits.LINHA_PROMOCAO_PRETAS;
+
+        // Peças regulares: uma casa em qualquer diagonal, todas as peças de uma vez por direção
+        for (int d = 0; d < 4; d++) {
+            int voltar = TabuleiroBits.oposta(d);
+            for (int destinos = TabuleiroBits.deslocar(regulares, d) & vazias; destinos != 0; destinos &= destinos - 1) {
+                int destino = Integer.numberOfTrailingZeros(destinos);
+                int origem = TabuleiroBits.VIZINHO[voltar][destino];
+                lista.adicionar(Movimento.simples(origem, destino, (linhaPromocao & (1 << destino)) != 0),
+                    Movimento.comCasa(0L, destino));
+            }
+        }
+
+        // Damas: deslizam até a primeira casa ocupada, que vem da tabela de raios
+        int ocupadas = ~vazias;
+        for (int pecas = damas; pecas != 0; pecas &= pecas - 1) {
+            int origem = Integer.numberOfTrailingZeros(pecas);
+            for (int d = 0; d < 4; d++) {
+                for (int destinos = TabuleiroBits.casasLivres(origem, d, ocupadas); destinos != 0; destinos &= destinos - 1) {
+                    int destino = Integer.numberOfTrailingZeros(destinos);
+                    lista.adicionar(Movimento.simples(origem, destino, false), Movimento.comCasa(0L, destino));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica se o lado que tem a vez tem alguma captura disponível.
+     */
+    public boolean temCaptura(TabuleiroBits posicao) {
+        boolean brancas = posicao.isVezDasBrancas();
+        int minhas = brancas ? posicao.getBrancas() : posicao.getPretas();
+        for (int pecas = minhas; pecas != 0; pecas &= pecas - 1) {
+            if (posicao.getPossiveisCapturas(Integer.numberOfTrailingZeros(pecas)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    // --- Sequências de captura ---
+
+    private void capturasPecaRegular(int casa, int capturadas, boolean promovida, long caminho) {
+        boolean continuou = false;
+        for (int d = 0; d < 4; d++) {
+            int meio = TabuleiroBits.VIZINHO[d][casa];
+            if (meio < 0 || (inimigas & (1 << meio)) == 0) {
+                continue;
+            }
+            int destino = TabuleiroBits.VIZINHO[d][meio];
+            if (destino < 0 || (ocupadas & (1 << destino)) != 0) {
+                continue;
+            }
+            continuou = true;
+            saltar(meio, destino, capturadas, promovida, caminho);
+        }
+        if (!continuou && capturadas != 0) {
+            registrar(casa, capturadas, promovida, caminho);
+        }
+    }
+
+    private void capturasDama(int casa, int capturadas, boolean promovida, long caminho) {
+        boolean continuou = false;
+        for (int d = 0; d < 4; d++) {
+            int alvo = TabuleiroBits.primeiraOcupada(casa, d, ocupadas);
+            if (alvo < 0 || (inimigas & (1 << alvo)) == 0) {
+                continue;
+            }
+            // Os pousos são calculados antes dos saltos, que alteram ocupadas e a restauram
+            for (int pousos = TabuleiroBits.casasLivres(alvo, d, ocupadas); pousos != 0; pousos &= pousos - 1) {
+                continuou = true;
+                saltar(alvo, Integer.numberOfTrailingZeros(pousos), capturadas, promovida, caminho);
+            }
+        }
+        if (!continuou && capturadas != 0) {
+            registrar(casa, capturadas, promovida, caminho);
+        }
+    }
+
+    /**
+     * Captura a peça em alvo pousando em destino e continua a sequência a partir dali.
+     */
+    private void saltar(int alvo, int destino, int capturadas, boolean promovida, long caminho) {
+        int bitAlvo = 1 << alvo;
+        // A peça capturada sai do tabuleiro na hora, como em Tabuleiro.moverPeca
+        inimigas &= ~bitAlvo;
+        ocupadas &= ~bitAlvo;
+
+        long novoCaminho = Movimento.comCasa(caminho, destino);
+        if (damaNaOrigem || promovida) {
+            capturasDama(destino, capturadas | bitAlvo, promovida, novoCaminho);
+        } else if ((linhaPromocao & (1 << destino)) != 0) {
+            // Promovida no meio da sequência: continua capturando como dama
+            capturasDama(destino, capturadas | bitAlvo, true, novoCaminho);
+        } else {
+            capturasPecaRegular(destino, capturadas | bitAlvo, false, novoCaminho);
+        }
+
+        inimigas |= bitAlvo;
+        ocupadas |= bitAlvo;
+    }
+
+    private void registrar(int destino, int capturadas, boolean promovida, long caminho) {
+        long movimento = Movimento.captura(origemSequencia, destino, capturadas, promovida);
+        // Caminhos diferentes com o mesmo resultado contam como um único movimento
+        if (!lista.contem(movimento, inicioCapturas)) {
+            lista.adicionar(movimento, caminho);
+        }
+    }
+}
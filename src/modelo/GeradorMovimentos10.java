@@ -0,0 +1,181 @@
+package modelo;
+
+/**
+ * Gera todos os movimentos legais do lado que tem a vez em um TabuleiroBits10, com as
+ * mesmas regras de GeradorMovimentos: captura obrigatória, sequências completas, peças
+ * capturadas saem a cada salto e a peça promovida no meio da sequência continua como dama.
+ *
+ * Os movimentos vão para uma ListaMovimentos codificados como em Movimento10. O caminho
+ * das sequências não é guardado (fica 0): com 50 casas ele não cabe no formato de
+ * Movimento.comCasa.
+ *
+ * Nada é alocado por chamada. Uma instância guarda estado durante a geração, então use
+ * uma por thread.
+ */
+public class GeradorMovimentos10 {
+
+    // Estado da sequência de captura em andamento; as casas são posições das máscaras
+    private ListaMovimentos lista;
+    private int inicioCapturas;
+    private int origemSequencia;
+    private boolean damaNaOrigem;
+    private long ocupadas;
+    private long inimigas;
+    private long linhaPromocao;
+
+    /**
+     * Preenche a lista com todos os movimentos legais da posição.
+     * Se houver alguma captura, apenas capturas são geradas.
+     *
+     * @return O número de movimentos gerados.
+     */
+    public int gerar(TabuleiroBits10 posicao, ListaMovimentos lista) {
+        lista.limpar();
+        if (!gerarCapturas(posicao, lista)) {
+            gerarMovimentosSimples(posicao, lista);
+        }
+        return lista.tamanho();
+    }
+
+    /**
+     * Preenche a lista só com as sequências de captura do lado que tem a vez.
+     *
+     * @return true se alguma captura foi encontrada.
+     */
+    public boolean gerarCapturas(TabuleiroBits10 posicao, ListaMovimentos lista) {
+        boolean brancas = posicao.isVezDasBrancas();
+        long minhas = brancas ? posicao.getBrancas() : posicao.getPretas();
+        long damas = posicao.getDamas();
+
+        this.lista = lista;
+        this.inicioCapturas = lista.tamanho();
+        this.inimigas = brancas ? posicao.getPretas() : posicao.getBrancas();
+        this.linhaPromocao = brancas ? TabuleiroBits10.LINHA_PROMOCAO_BRANCAS : TabuleiroBits10.LINHA_PROMOCAO_PRETAS;
+
+        for (long pecas = minhas; pecas != 0; pecas &= pecas - 1) {
+            int origem = Long.numberOfTrailingZeros(pecas);
+            // A peça sai da origem: durante a sequência a casa fica livre
+            this.ocupadas = (minhas | inimigas) & ~(1L << origem);
+            this.origemSequencia = origem;
+            this.damaNaOrigem = (damas & (1L << origem)) != 0;
+            if (damaNaOrigem) {
+                capturasDama(origem, 0L, false);
+            } else {
+                capturasPecaRegular(origem, 0L, false);
+            }
+        }
+        this.lista = null;
+        return lista.tamanho() > inicioCapturas;
+    }
+
+    /**
+     * Preenche a lista com os movimentos sem captura (não verifica se há capturas obrigatórias).
+     */
+    public void gerarMovimentosSimples(TabuleiroBits10 posicao, ListaMovimentos lista) {
+        boolean brancas = posicao.isVezDasBrancas();
+        long minhas = brancas ? posicao.getBrancas() : posicao.getPretas();
+        long damas = minhas & posicao.getDamas();
+        long regulares = minhas & ~damas;
+        long vazias = TabuleiroBits10.TABULEIRO & ~posicao.ocupadas();
+        long linhaPromocao = brancas ? TabuleiroBits10.LINHA_PROMOCAO_BRANCAS : TabuleiroBits10.LINHA_PROMOCAO_PRETAS;
+
+        // Peças regulares: uma casa em qualquer diagonal, todas as peças de uma vez por direção
+        for (int d = 0; d < 4; d++) {
+            int deslocamento = TabuleiroBits10.DESLOCAMENTO[d];
+            for (long destinos = TabuleiroBits10.deslocar(regulares, d) & vazias; destinos != 0; destinos &= destinos - 1) {
+                int destino = Long.numberOfTrailingZeros(destinos);
+                lista.adicionar(Movimento10.simples(TabuleiroBits10.casa(destino - deslocamento),
+                    TabuleiroBits10.casa(destino), (linhaPromocao & (1L << destino)) != 0), 0L);
+            }
+        }
+
+        // Damas: deslizam até a primeira casa ocupada
+        for (long pecas = damas; pecas != 0; pecas &= pecas - 1) {
+            int origem = Long.numberOfTrailingZeros(pecas);
+            for (int d = 0; d < 4; d++) {
+                for (int destino = TabuleiroBits10.VIZINHO[d][origem];
+                     destino >= 0 && (vazias & (1L << destino)) != 0;
+                     destino = TabuleiroBits10.VIZINHO[d][destino]) {
+                    lista.adicionar(Movimento10.simples(TabuleiroBits10.casa(origem), TabuleiroBits10.casa(destino),
+                        false), 0L);
+                }
+            }
+        }
+    }
+
+
+    // --- Sequências de captura ---
+
+    private void capturasPecaRegular(int casa, long capturadas, boolean promovida) {
+        boolean continuou = false;
+        for (int d = 0; d < 4; d++) {
+            int meio = TabuleiroBits10.VIZINHO[d][casa];
+            if (meio < 0 || (inimigas & (1L << meio)) == 0) {
+                continue;
+            }
+            int destino = TabuleiroBits10.VIZINHO[d][meio];
+            if (destino < 0 || (ocupadas & (1L << destino)) != 0) {
+                continue;
+            }
+            continuou = true;
+            saltar(meio, destino, capturadas, promovida);
+        }
+        if (!continuou && capturadas != 0) {
+            registrar(casa, capturadas, promovida);
+        }
+    }
+
+    private void capturasDama(int casa, long capturadas, boolean promovida) {
+        boolean continuou = false;
+        for (int d = 0; d < 4; d++) {
+            int alvo = TabuleiroBits10.VIZINHO[d][casa];
+            while (alvo >= 0 && (ocupadas & (1L << alvo)) == 0) {
+                alvo = TabuleiroBits10.VIZINHO[d][alvo];
+            }
+            if (alvo < 0 || (inimigas & (1L << alvo)) == 0) {
+                continue;
+            }
+            for (int destino = TabuleiroBits10.VIZINHO[d][alvo];
+                 destino >= 0 && (ocupadas & (1L << destino)) == 0;
+                 destino = TabuleiroBits10.VIZINHO[d][destino]) {
+                continuou = true;
+                saltar(alvo, destino, capturadas, promovida);
+            }
+        }
+        if (!continuou && capturadas != 0) {
+            registrar(casa, capturadas, promovida);
+        }
+    }
+
+    /**
+     * Captura a peça em alvo pousando em destino e continua a sequência a partir dali.
+     * capturadas é a máscara de casas (não de posições) do movimento.
+     */
+    private void saltar(int alvo, int destino, long capturadas, boolean promovida) {
+        long bitAlvo = 1L << alvo;
+        inimigas &= ~bitAlvo;
+        ocupadas &= ~bitAlvo;
+
+        long novasCapturadas = capturadas | (1L << TabuleiroBits10.casa(alvo));
+        if (damaNaOrigem || promovida) {
+            capturasDama(destino, novasCapturadas, promovida);
+        } else if ((linhaPromocao & (1L << destino)) != 0) {
+            // Promovida no meio da sequência: continua capturando como dama
+            capturasDama(destino, novasCapturadas, true);
+        } else {
+            capturasPecaRegular(destino, novasCapturadas, false);
+        }
+
+        inimigas |= bitAlvo;
+        ocupadas |= bitAlvo;
+    }
+
+    private void registrar(int destino, long capturadas, boolean promovida) {
+        long movimento = Movimento10.captura(TabuleiroBits10.casa(origemSequencia), TabuleiroBits10.casa(destino),
+            capturadas, promovida);
+        // Caminhos diferentes com o mesmo resultado contam como um único movimento
+        if (!lista.contem(movimento, inicioCapturas)) {
+            lista.adicionar(movimento, 0L);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package modelo;
+
+import java.util.Arrays;
+
+/**
+ * Pilha das posições de uma partida (ou de um caminho da busca), pela chave Zobrist,
+ * para reconhecer os empates: a mesma posição pela terceira vez, com a mesma cor na
+ * vez, ou uma sequência de lances só de damas sem captura.
+ *
+ * Para cada posição a pilha guarda também quantos lances reversíveis levaram até ela
+ * (desde a última captura ou promoção) e quantos lances seguidos foram de dama sem
+ * captura. Captura e promoção tiram uma peça regular do tabuleiro para sempre, então
+ * nenhuma posição anterior a elas pode se repetir: a procura de repetições volta só
+ * até o último lance irreversível, de dois em dois (mesma cor na vez). Peças regulares
+ * andam para trás nestas regras, então um lance simples de peça regular é reversível,
+ * mas zera a contagem dos lances de damas.
+ *
+ * Registrar e desfazer só escrevem nos arrays, e a procura costuma ver poucas
+ * posições, então a busca pode usar a pilha em todo nó.
+ */
+public class HistoricoPosicoes {
+
+    /** Lances seguidos só de damas, sem captura, que empatam: vinte de cada lado. */
+    public static final int LANCES_DE_DAMAS_PADRAO = 40;
+
+    private long[] chaves = new long[256];
+    private int[] reversiveis = new int[256];
+    private int[] lancesDeDamas = new int[256];
+    private int tamanho;
+    private int limiteLancesDeDamas = LANCES_DE_DAMAS_PADRAO;
+
+    /**
+     * Recomeça a pilha com a posição inicial da partida.
+     */
+    public void iniciar(long chave) {
+        tamanho = 0;
+        empilhar(chave, 0, 0);
+    }
+
+    /**
+     * Empilha a posição depois de um lance.
+     *
+     * @param chave A chave da posição depois do lance (com a nova cor na vez).
+     * @param irreversivel O lance capturou ou promoveu.
+     * @param lanceDeDama O lance foi de uma dama, sem captura.
+     */
+    public void registrar(long chave, boolean irreversivel, boolean lanceDeDama) {
+        int topo = tamanho - 1;
+        empilhar(chave, irreversivel ? 0 : reversiveis[topo] + 1, lanceDeDama ? lancesDeDamas[topo] + 1 : 0);
+    }
+
+    /**
+     * Empilha a posição depois de um movimento gerado por GeradorMovimentos.
+     *
+     * @param dama A peça que moveu era dama antes do movimento.
+     */
+    public void registrar(long chave, long movimento, boolean dama) {
+        boolean captura = Movimento.isCaptura(movimento);
+        registrar(chave, captura || Movimento.isPromocao(movimento), dama && !captura);
+    }
+
+    /**
+     * Tira a última posição registrada.
+     */
+    public void desfazer() {
+        if (tamanho <= 1) {
+            throw new IllegalStateException("Não há lance para desfazer.");
+        }
+        tamanho--;
+    }
+
+    private void empilhar(long chave, int reversivel, int deDamas) {
+        if (tamanho == chaves.length) {
+            chaves = Arrays.copyOf(chaves, tamanho * 2);
+            reversiveis = Arrays.copyOf(reversiveis, tamanho * 2);
+            lancesDeDamas = Arrays.copyOf(lancesDeDamas, tamanho * 2);
+        }
+        chaves[tamanho] = chave;
+        reversiveis[tamanho] = reversivel;
+        lancesDeDamas[tamanho] = deDamas;
+        tamanho++;
+    }
+
+    /**
+     * Copia as posições e o limite de outra pilha.
+     */
+    public void copiarDe(HistoricoPosicoes outro) {
+        if (chaves.length < outro.tamanho) {
+            chaves = new long[outro.chaves.length];
+            reversiveis = new int[outro.chaves.length];
+            lancesDeDamas = new int[outro.chaves.length];
+        }
+        System.arraycopy(outro.chaves, 0, chaves, 0, outro.tamanho);
+        System.arraycopy(outro.reversiveis, 0, reversiveis, 0, outro.tamanho);
+        System.arraycopy(outro.lancesDeDamas, 0, lancesDeDamas, 0, outro.tamanho);
+        tamanho = outro.tamanho;
+        limiteLancesDeDamas = outro.limiteLancesDeDamas;
+    }
+
+    /**
+     * Quantas vezes a posição atual já tinha aparecido, com a mesma cor na vez.
+     */
+    public int repeticoes() {
+        int topo = tamanho - 1;
+        long chave = chaves[topo];
+        int vezes = 0;
+        for (int i = topo - 2; i >= topo - reversiveis[topo]; i -= 2) {
+            if (chaves[i] == chave) {
+                vezes++;
+            }
+        }
+        return vezes;
+    }
+
+    /**
+     * A posição atual já tinha aparecido? Para na primeira repetição (usado pela busca,
+     * onde voltar a uma posição já basta para o empate).
+     */
+    public boolean isRepetida() {
+        int topo = tamanho - 1;
+        long chave = chaves[topo];
+        for (int i = topo - 2; i >= topo - reversiveis[topo]; i -= 2) {
+            if (chaves[i] == chave) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A sequência de lances só de damas, sem captura, chegou ao limite?
+     */
+    public boolean isLimiteLancesDeDamas() {
+        return limiteLancesDeDamas > 0 && lancesDeDamas[tamanho - 1] >= limiteLancesDeDamas;
+    }
+
+    /**
+     * Lances só de damas que ainda faltam para o limite; Integer.MAX_VALUE com a regra desligada.
+     */
+    public int lancesDeDamasRestantes() {
+        return limiteLancesDeDamas == 0 ? Integer.MAX_VALUE : limiteLancesDeDamas - lancesDeDamas[tamanho - 1];
+    }
+
+    /**
+     * A partida está empatada: a posição atual apareceu pela terceira vez ou os lances
+     * só de damas chegaram ao limite.
+     */
+    public boolean isEmpate() {
+        return isLimiteLancesDeDamas() || repeticoes() >= 2;
+    }
+
+    /**
+     * @param limite Lances seguidos (dos dois lados) só de damas, sem captura, que empatam; 0 desliga a regra.
+     */
+    public void setLimiteLancesDeDamas(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("Limite de lances de damas inválido: " + limite);
+        }
+        this.limiteLancesDeDamas = limite;
+    }
+
+    public int getLimiteLancesDeDamas() {
+        return limiteLancesDeDamas;
+    }
+
+    /**
+     * Posições na pilha, contando a inicial.
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Chave da posição atual (a última registrada).
+     */
+    public long getChaveAtual() {
+        return chaves[tamanho - 1];
+    }
+}
@@ -0,0 +1,77 @@
+package modelo;
+
+import java.util.Arrays;
+
+/**
+ * Buffer reutilizável de movimentos codificados (ver Movimento).
+ * Limpar e preencher de novo não aloca nada; os arrays só crescem se a capacidade estourar.
+ */
+public class ListaMovimentos {
+
+    private static final int CAPACIDADE_INICIAL = 128;
+
+    private long[] movimentos = new long[CAPACIDADE_INICIAL];
+    private long[] caminhos = new long[CAPACIDADE_INICIAL];
+    private int tamanho = 0;
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    public long get(int i) {
+        return movimentos[i];
+    }
+
+    /**
+     * Caminho do movimento i, com as casas de pouso de cada salto.
+     */
+    public long getCaminho(int i) {
+        return caminhos[i];
+    }
+
+    public void limpar() {
+        tamanho = 0;
+    }
+
+    /**
+     * Descarta os movimentos a partir da posição dada.
+     */
+    public void truncar(int tamanho) {
+        this.tamanho = Math.min(this.tamanho, tamanho);
+    }
+
+    public void set(int i, long movimento, long caminho) {
+        movimentos[i] = movimento;
+        caminhos[i] = caminho;
+    }
+
+    public void adicionar(long movimento, long caminho) {
+        if (tamanho == movimentos.length) {
+            movimentos = Arrays.copyOf(movimentos, tamanho * 2);
+            caminhos = Arrays.copyOf(caminhos, tamanho * 2);
+        }
+        movimentos[tamanho] = movimento;
+        caminhos[tamanho] = caminho;
+        tamanho++;
+    }
+
+    /**
+     * Verifica se o movimento está na lista a partir da posição inicio.
+     */
+    public boolean contem(long movimento, int inicio) {
+        for (int i = inicio; i < tamanho; i++) {
+            if (movimentos[i] == movimento) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean contem(long movimento) {
+        return contem(movimento, 0);
+    }
+}
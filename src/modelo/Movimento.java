@@ -0,0 +1,77 @@
+package modelo;
+
+/**
+ * Codificação de um movimento completo em um long, sem objetos.
+ *
+ * Bits 0-4: casa de origem; bits 5-9: casa de destino; bit 10: promoção a dama;
+ * bits 32-63: máscara das peças capturadas (zero em um movimento simples).
+ * As casas são os índices de TabuleiroBits.
+ *
+ * O caminho de uma sequência de capturas (as casas onde a peça pousa a cada salto)
+ * vai em um long separado: até 12 casas de 5 bits e, nos bits 60-63, o número de saltos.
+ */
+public final class Movimento {
+
+    private static final long BIT_PROMOCAO = 1L << 10;
+
+    private Movimento() {
+    }
+
+    public static long simples(int origem, int destino, boolean promocao) {
+        return origem | (destino << 5) | (promocao ? BIT_PROMOCAO : 0L);
+    }
+
+    public static long captura(int origem, int destino, int capturadas, boolean promocao) {
+        return simples(origem, destino, promocao) | ((long) capturadas << 32);
+    }
+
+    public static int origem(long movimento) {
+        return (int) movimento & 31;
+    }
+
+    public static int destino(long movimento) {
+        return (int) (movimento >>> 5) & 31;
+    }
+
+    public static int capturadas(long movimento) {
+        return (int) (movimento >>> 32);
+    }
+
+    public static boolean isCaptura(long movimento) {
+        return (movimento >>> 32) != 0;
+    }
+
+    public static boolean isPromocao(long movimento) {
+        return (movimento & BIT_PROMOCAO) != 0;
+    }
+
+
+    // --- Caminho ---
+
+    public static int saltos(long caminho) {
+        return (int) (caminho >>> 60);
+    }
+
+    public static int casaDoCaminho(long caminho, int salto) {
+        return (int) (caminho >>> (5 * salto)) & 31;
+    }
+
+    /**
+     * Acrescenta uma casa ao final do caminho.
+     */
+    public static long comCasa(long caminho, int casa) {
+        int saltos = saltos(caminho);
+        long semContagem = caminho & ~(0xFL << 60);
+        return semContagem | ((long) casa << (5 * saltos)) | ((long) (saltos + 1) << 60);
+    }
+
+    /**
+     * Texto no formato de entrada do Jogo ("linhaOrigem colunaOrigem linhaDestino colunaDestino").
+     */
+    public static String paraTexto(long movimento) {
+        int origem = origem(movimento);
+        int destino = destino(movimento);
+        return TabuleiroBits.linha(origem) + " " + TabuleiroBits.coluna(origem) + " "
+            + TabuleiroBits.linha(destino) + " " + TabuleiroBits.coluna(destino);
+    }
+}
@@ -0,0 +1,55 @@
+package modelo;
+
+/**
+ * Codificação de um movimento do tabuleiro 10x10 em um long, como Movimento faz para o 8x8.
+ *
+ * Bits 0-49: máscara das peças capturadas (zero em um movimento simples); bits 50-55:
+ * casa de origem; bits 56-61: casa de destino; bit 62: promoção a dama. As casas são os
+ * índices 0 a 49 de TabuleiroBits10, não as posições das máscaras.
+ */
+public final class Movimento10 {
+
+    private static final long CAPTURADAS = (1L << TabuleiroBits10.CASAS) - 1;
+    private static final long BIT_PROMOCAO = 1L << 62;
+
+    private Movimento10() {
+    }
+
+    public static long simples(int origem, int destino, boolean promocao) {
+        return ((long) origem << 50) | ((long) destino << 56) | (promocao ? BIT_PROMOCAO : 0L);
+    }
+
+    public static long captura(int origem, int destino, long capturadas, boolean promocao) {
+        return simples(origem, destino, promocao) | capturadas;
+    }
+
+    public static int origem(long movimento) {
+        return (int) (movimento >>> 50) & 63;
+    }
+
+    public static int destino(long movimento) {
+        return (int) (movimento >>> 56) & 63;
+    }
+
+    public static long capturadas(long movimento) {
+        return movimento & CAPTURADAS;
+    }
+
+    public static boolean isCaptura(long movimento) {
+        return (movimento & CAPTURADAS) != 0;
+    }
+
+    public static boolean isPromocao(long movimento) {
+        return (movimento & BIT_PROMOCAO) != 0;
+    }
+
+    /**
+     * Texto no formato de entrada do Jogo ("linhaOrigem colunaOrigem linhaDestino colunaDestino").
+     */
+    public static String paraTexto(long movimento) {
+        int origem = origem(movimento);
+        int destino = destino(movimento);
+        return TabuleiroBits10.linha(origem) + " " + TabuleiroBits10.coluna(origem) + " "
+            + TabuleiroBits10.linha(destino) + " " + TabuleiroBits10.coluna(destino);
+    }
+}
@@ -0,0 +1,143 @@
+package modelo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contagem de nós da árvore de movimentos legais (perft), usada para validar o
+ * gerador de movimentos e medir sua velocidade.
+ *
+ * A árvore é percorrida em um único tabuleiro com fazerMovimento/desfazerMovimento;
+ * cada ply tem a sua lista de movimentos, alocada uma vez, e a contagem em si não
+ * aloca nada. No último ply os movimentos são só contados.
+ */
+public class Perft {
+
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+
+    private final TabuleiroBits posicao = new TabuleiroBits();
+    private final ListaMovimentos[] listas = new ListaMovimentos[PROFUNDIDADE_MAXIMA + 1];
+    private final GeradorMovimentos gerador = new GeradorMovimentos();
+
+    private long ultimosNos = 0;
+    private long ultimoTempoNanos = 0;
+
+    /**
+     * Perft a partir de uma posição em bits.
+     */
+    public Perft(TabuleiroBits posicao) {
+        for (int i = 0; i <= PROFUNDIDADE_MAXIMA; i++) {
+            listas[i] = new ListaMovimentos();
+        }
+        this.posicao.copiarDe(posicao);
+    }
+
+    /**
+     * Perft a partir das casas escuras de um Tabuleiro, com a cor dada jogando.
+     */
+    public Perft(Tabuleiro tabuleiro, Peca.Cor vez) {
+        this(tabuleiro.paraBits());
+        posicao.setVezDasBrancas(vez == Peca.Cor.BRANCA);
+    }
+
+    /**
+     * Conta as folhas da árvore de movimentos legais na profundidade dada.
+     */
+    public long perft(int profundidade) {
+        validarProfundidade(profundidade);
+        long inicio = System.nanoTime();
+        long nos = profundidade == 0 ? 1 : contar(0, profundidade);
+        registrar(nos, inicio);
+        return nos;
+    }
+
+    /**
+     * Perft separado por movimento da raiz.
+     *
+     * @return Para cada movimento (no formato de entrada do Jogo), o número de folhas abaixo dele.
+     */
+    public Map<String, Long> divide(int profundidade) {
+        validarProfundidade(profundidade);
+        if (profundidade < 1) {
+            throw new IllegalArgumentException("divide precisa de profundidade >= 1.");
+        }
+        long inicio = System.nanoTime();
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        ListaMovimentos raiz = listas[0];
+        gerador.gerar(posicao, raiz);
+        long total = 0;
+        for (int i = 0; i < raiz.tamanho(); i++) {
+            long movimento = raiz.get(i);
+            posicao.fazerMovimento(movimento);
+            long nos = profundidade == 1 ? 1 : contar(1, profundidade - 1);
+            posicao.desfazerMovimento();
+            resultado.merge(textoDoMovimento(movimento, raiz.getCaminho(i)), nos, Long::sum);
+            total += nos;
+        }
+        registrar(total, inicio);
+        return resultado;
+    }
+
+    private long contar(int ply, int profundidade) {
+        ListaMovimentos lista = listas[ply];
+        int quantidade = gerador.gerar(posicao, lista);
+        if (profundidade == 1) {
+            return quantidade;
+        }
+        long nos = 0;
+        for (int i = 0; i < quantidade; i++) {
+            posicao.fazerMovimento(lista.get(i));
+            nos += contar(ply + 1, profundidade - 1);
+            posicao.desfazerMovimento();
+        }
+        return nos;
+    }
+
+    private void validarProfundidade(int profundidade) {
+        if (profundidade < 0 || profundidade > PROFUNDIDADE_MAXIMA) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 0 e " + PROFUNDIDADE_MAXIMA + ".");
+        }
+    }
+
+    private void registrar(long nos, long inicio) {
+        ultimosNos = nos;
+        ultimoTempoNanos = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Movimento com todas as casas do caminho, para distinguir sequências com o mesmo destino.
+     */
+    private static String textoDoMovimento(long movimento, long caminho) {
+        StringBuilder texto = new StringBuilder(Movimento.paraTexto(movimento));
+        if (Movimento.saltos(caminho) > 1) {
+            texto.append(" (");
+            for (int s = 0; s < Movimento.saltos(caminho); s++) {
+                int casa = Movimento.casaDoCaminho(caminho, s);
+                if (s > 0) {
+                    texto.append(' ');
+                }
+                texto.append(TabuleiroBits.linha(casa)).append(',').append(TabuleiroBits.coluna(casa));
+            }
+            texto.append(')');
+        }
+        return texto.toString();
+    }
+
+    public long getUltimosNos() {
+        return ultimosNos;
+    }
+
+    public long getUltimoTempoNanos() {
+        return ultimoTempoNanos;
+    }
+
+    /**
+     * Velocidade da última contagem, em nós por segundo.
+     */
+    public double getNosPorSegundo() {
+        if (ultimoTempoNanos == 0) {
+            return 0;
+        }
+        return ultimosNos * 1_000_000_000.0 / ultimoTempoNanos;
+    }
+}
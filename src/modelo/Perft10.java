@@ -0,0 +1,73 @@
+package modelo;
+
+/**
+ * Perft do tabuleiro 10x10 (ver Perft). TabuleiroBits10 não tem desfazer, então cada
+ * ply copia a posição do anterior; as posições e as listas são alocadas uma vez.
+ */
+public class Perft10 {
+
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+
+    private final TabuleiroBits10[] posicoes = new TabuleiroBits10[PROFUNDIDADE_MAXIMA + 1];
+    private final ListaMovimentos[] listas = new ListaMovimentos[PROFUNDIDADE_MAXIMA + 1];
+    private final GeradorMovimentos10 gerador = new GeradorMovimentos10();
+
+    private long ultimosNos = 0;
+    private long ultimoTempoNanos = 0;
+
+    public Perft10(TabuleiroBits10 posicao) {
+        for (int i = 0; i <= PROFUNDIDADE_MAXIMA; i++) {
+            posicoes[i] = new TabuleiroBits10();
+            listas[i] = new ListaMovimentos();
+        }
+        posicoes[0].copiarDe(posicao);
+    }
+
+    /**
+     * Conta as folhas da árvore de movimentos legais na profundidade dada.
+     */
+    public long perft(int profundidade) {
+        if (profundidade < 0 || profundidade > PROFUNDIDADE_MAXIMA) {
+            throw new IllegalArgumentException("Profundidade deve estar entre 0 e " + PROFUNDIDADE_MAXIMA + ".");
+        }
+        long inicio = System.nanoTime();
+        long nos = profundidade == 0 ? 1 : contar(0, profundidade);
+        ultimosNos = nos;
+        ultimoTempoNanos = System.nanoTime() - inicio;
+        return nos;
+    }
+
+    private long contar(int ply, int profundidade) {
+        ListaMovimentos lista = listas[ply];
+        int quantidade = gerador.gerar(posicoes[ply], lista);
+        if (profundidade == 1) {
+            return quantidade;
+        }
+        long nos = 0;
+        TabuleiroBits10 filho = posicoes[ply + 1];
+        for (int i = 0; i < quantidade; i++) {
+            filho.copiarDe(posicoes[ply]);
+            filho.aplicar(lista.get(i));
+            nos += contar(ply + 1, profundidade - 1);
+        }
+        return nos;
+    }
+
+    public long getUltimosNos() {
+        return ultimosNos;
+    }
+
+    public long getUltimoTempoNanos() {
+        return ultimoTempoNanos;
+    }
+
+    /**
+     * Velocidade da última contagem, em nós por segundo.
+     */
+    public double getNosPorSegundo() {
+        if (ultimoTempoNanos == 0) {
+            return 0;
+        }
+        return ultimosNos * 1_000_000_000.0 / ultimoTempoNanos;
+    }
+}
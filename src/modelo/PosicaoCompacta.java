@@ -0,0 +1,152 @@
+package modelo;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Uma posição (as 32 casas escuras e a vez) em dois longs, imutável e comparável por
+ * valor: chave de bases de posições, conteúdo de mensagens e registro de arquivos de
+ * análise.
+ *
+ * Cada casa ocupa 3 bits, um em cada plano: peça branca, peça preta e dama, com os
+ * mesmos índices do TabuleiroBits. O primeiro long tem as brancas nos 32 bits baixos e
+ * as pretas nos 32 altos; o segundo tem as damas nos 32 bits baixos e, no bit 32, a vez
+ * das pretas. Os demais bits são zero, então cada posição tem uma única codificação.
+ *
+ * codificarCores, codificarDamas, decodificar e ler(ByteBuffer, TabuleiroBits) não
+ * alocam nada; o objeto só é criado por quem quer guardar a posição.
+ */
+public final class PosicaoCompacta {
+
+    /** Tamanho em escrever/ler: brancas, pretas e damas (4 bytes cada) e a vez (1 byte). */
+    public static final int BYTES = 13;
+
+    private static final long VEZ_DAS_PRETAS = 1L << 32;
+
+    private final long cores;
+    private final long damas;
+
+    /**
+     * @throws IllegalArgumentException Se os dois longs não formam uma posição válida.
+     */
+    public PosicaoCompacta(long cores, long damas) {
+        validar(cores, damas);
+        this.cores = cores;
+        this.damas = damas;
+    }
+
+    public static PosicaoCompacta de(TabuleiroBits posicao) {
+        return new PosicaoCompacta(codificarCores(posicao), codificarDamas(posicao));
+    }
+
+    public static long codificarCores(TabuleiroBits posicao) {
+        return (posicao.getBrancas() & 0xFFFFFFFFL) | ((long) posicao.getPretas() << 32);
+    }
+
+    public static long codificarDamas(TabuleiroBits posicao) {
+        return (posicao.getDamas() & 0xFFFFFFFFL) | (posicao.isVezDasBrancas() ? 0L : VEZ_DAS_PRETAS);
+    }
+
+    /**
+     * Monta em destino a posição dos dois longs.
+     *
+     * @throws IllegalArgumentException Se os dois longs não formam uma posição válida.
+     */
+    public static void decodificar(long cores, long damas, TabuleiroBits destino) {
+        validar(cores, damas);
+        destino.definir((int) cores, (int) (cores >>> 32), (int) damas, (damas & VEZ_DAS_PRETAS) == 0);
+    }
+
+    private static void validar(long cores, long damas) {
+        int brancas = (int) cores;
+        int pretas = (int) (cores >>> 32);
+        if ((brancas & pretas) != 0 || ((int) damas & ~(brancas | pretas)) != 0
+                || (damas & ~(VEZ_DAS_PRETAS | 0xFFFFFFFFL)) != 0) {
+            throw new IllegalArgumentException(String.format("Posição compacta inválida: %016x %016x", cores, damas));
+        }
+    }
+
+    public long getCores() {
+        return cores;
+    }
+
+    public long getDamas() {
+        return damas;
+    }
+
+    public boolean isVezDasBrancas() {
+        return (damas & VEZ_DAS_PRETAS) == 0;
+    }
+
+    public void paraBits(TabuleiroBits destino) {
+        decodificar(cores, damas, destino);
+    }
+
+    public TabuleiroBits paraBits() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        paraBits(posicao);
+        return posicao;
+    }
+
+    // --- Binário: BYTES bytes, na ordem do ByteBuffer ---
+
+    public void escrever(ByteBuffer destino) {
+        destino.putInt((int) cores).putInt((int) (cores >>> 32)).putInt((int) damas)
+            .put((byte) (isVezDasBrancas() ? 0 : 1));
+    }
+
+    public static PosicaoCompacta ler(ByteBuffer origem) {
+        long cores = (origem.getInt() & 0xFFFFFFFFL) | ((long) origem.getInt() << 32);
+        long damas = origem.getInt() & 0xFFFFFFFFL;
+        return new PosicaoCompacta(cores, damas | lerVez(origem));
+    }
+
+    /**
+     * Lê BYTES bytes direto em destino, sem criar o objeto.
+     */
+    public static void ler(ByteBuffer origem, TabuleiroBits destino) {
+        long cores = (origem.getInt() & 0xFFFFFFFFL) | ((long) origem.getInt() << 32);
+        long damas = origem.getInt() & 0xFFFFFFFFL;
+        decodificar(cores, damas | lerVez(origem), destino);
+    }
+
+    private static long lerVez(ByteBuffer origem) {
+        byte vez = origem.get();
+        if (vez != 0 && vez != 1) {
+            throw new IllegalArgumentException("Vez inválida na posição compacta: " + vez);
+        }
+        return vez == 0 ? 0L : VEZ_DAS_PRETAS;
+    }
+
+    // --- Texto: 25 dígitos hexadecimais (9 do segundo long e 16 do primeiro) ---
+
+    public static PosicaoCompacta deTexto(String texto) {
+        if (texto.length() != 25) {
+            throw new IllegalArgumentException("Posição compacta inválida: " + texto);
+        }
+        try {
+            return new PosicaoCompacta(Long.parseUnsignedLong(texto.substring(9), 16),
+                Long.parseLong(texto.substring(0, 9), 16));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Posição compacta inválida: " + texto, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%09x%016x", damas, cores);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (!(outro instanceof PosicaoCompacta)) {
+            return false;
+        }
+        PosicaoCompacta posicao = (PosicaoCompacta) outro;
+        return cores == posicao.cores && damas == posicao.damas;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cores * 0x9E3779B97F4A7C15L ^ damas);
+    }
+}
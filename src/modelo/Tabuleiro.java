@@ -2,15 +2,41 @@ package modelo;
 
 import modelo.Casa;
 import modelo.Peca;
+import util.HistogramaLatencia;
+import util.Metricas;
 import util.MovimentoInvalidoException;
 import java.util.List;
 import java.util.ArrayList;
 
-public class Tabuleiro {
+public final class Tabuleiro {
 
     public static final int TAMANHO = 8;
+    public static final int LINHAS_INICIAIS = 3;
+
+    private final int tamanho;
+    private final int linhasIniciais;
     private Casa[][] casas;
 
+    // Espelho em bits das casas escuras do 8x8 (null no 10x10). As regras consultam as
+    // máscaras em vez de percorrer as casas.
+    private final TabuleiroBits bits;
+
+    // Espelho das casas escuras do 10x10 (null no 8x8). As regras do 10x10 percorrem as
+    // casas; o espelho serve ao motor (GeradorMovimentos10) e a temMovimentoLegal.
+    private final TabuleiroBits10 bits10;
+
+    // Peças colocadas em casas claras (só acontece em montagens manuais) ficam fora das máscaras
+    private int brancasEmCasasClaras = 0;
+    private int pretasEmCasasClaras = 0;
+
+    private GeradorMovimentos gerador;
+
+    // Peças (casas escuras) que têm captura disponível, de cada cor. Só as peças nas diagonais
+    // das casas alteradas desde a última consulta são reavaliadas (ver getPecasComCaptura).
+    private int brancasComCaptura = 0;
+    private int pretasComCaptura = 0;
+    private int casasAlteradas = -1;
+
 
     /**
      * Construtor do Tabuleiro.
@@ -18,19 +44,262 @@ public class Tabuleiro {
      */
 
     public Tabuleiro() {
-        casas = new Casa[TAMANHO][TAMANHO];
+        this(TAMANHO, LINHAS_INICIAIS);
+    }
+
+    /**
+     * Tabuleiro 8x8 ou 10x10 (damas internacionais), com as linhas dadas de peças para
+     * cada lado. As regras são as mesmas nos dois tamanhos.
+     *
+     * @param tamanho 8 ou 10.
+     * @param linhasIniciais Linhas de peças de cada lado, de 1 a tamanho / 2 - 1.
+     * @throws IllegalArgumentException Se o tamanho ou as linhas não são válidos.
+     */
+    public Tabuleiro(int tamanho, int linhasIniciais) {
+        if (tamanho != TAMANHO && tamanho != TabuleiroBits10.TAMANHO) {
+            throw new IllegalArgumentException("Tamanho deve ser " + TAMANHO + " ou " + TabuleiroBits10.TAMANHO
+                + ": " + tamanho);
+        }
+        if (linhasIniciais < 1 || linhasIniciais > tamanho / 2 - 1) {
+            throw new IllegalArgumentException("Linhas iniciais devem estar entre 1 e " + (tamanho / 2 - 1)
+                + ": " + linhasIniciais);
+        }
+        this.tamanho = tamanho;
+        this.linhasIniciais = linhasIniciais;
+        this.bits = tamanho == TAMANHO ? new TabuleiroBits() : null;
+        this.bits10 = tamanho == TAMANHO ? null : new TabuleiroBits10();
+        casas = new Casa[tamanho][tamanho];
+        for (int linha = 0; linha < tamanho; linha++) {
+            for (int coluna = 0; coluna < tamanho; coluna++) {
+                casas[linha][coluna] = new Casa(linha, coluna, this);
+            }
+        }
+        inicializarPecas();
+    }
+
+    /**
+     * Tabuleiro do tamanho dado com as linhas iniciais de costume: 3 no 8x8, 4 no 10x10.
+     */
+    public Tabuleiro(int tamanho) {
+        this(tamanho, tamanho / 2 - 1);
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public int getLinhasIniciais() {
+        return linhasIniciais;
+    }
+
+    /**
+     * Chamado por Casa.setPeca para manter as máscaras de bits sincronizadas com as casas.
+     * Só o espelho do tamanho do tabuleiro existe e é atualizado.
+     */
+    void casaAlterada(Casa casa, Peca anterior) {
+        Peca nova = casa.getPeca();
+        int indice;
+        if (bits != null) {
+            if ((indice = TabuleiroBits.indice(casa.getLinha(), casa.getColuna())) >= 0) {
+                casasAlteradas |= 1 << indice;
+                if (nova == null) {
+                    bits.remover(indice);
+                } else {
+                    bits.colocar(indice, nova.getCor(), nova instanceof Dama);
+                }
+                return;
+            }
+        } else if ((indice = TabuleiroBits10.indice(casa.getLinha(), casa.getColuna())) >= 0) {
+            if (nova == null) {
+                bits10.remover(indice);
+            } else {
+                bits10.colocar(indice, nova.getCor(), nova instanceof Dama);
+            }
+            return;
+        }
+
+        if (anterior != null) {
+            contarPecaEmCasaClara(anterior.getCor(), -1);
+        }
+        if (nova != null) {
+            contarPecaEmCasaClara(nova.getCor(), 1);
+        }
+    }
+
+    private void contarPecaEmCasaClara(Peca.Cor cor, int delta) {
+        if (cor == Peca.Cor.BRANCA) {
+            brancasEmCasasClaras += delta;
+        } else {
+            pretasEmCasasClaras += delta;
+        }
+    }
+
+    /**
+     * Retorna uma cópia do estado das casas escuras em máscaras de bits.
+     *
+     * @return Uma cópia independente; alterá-la não afeta este tabuleiro.
+     * @throws IllegalStateException Se o tabuleiro é 10x10 (ver paraBits10).
+     */
+    public TabuleiroBits paraBits() {
+        exigirOitoPorOito();
+        return bits.copiar();
+    }
+
+    /**
+     * Cópia das casas escuras do tabuleiro 10x10 em máscaras de bits, com as brancas na vez.
+     *
+     * @throws IllegalStateException Se o tabuleiro é 8x8 (ver paraBits).
+     */
+    public TabuleiroBits10 paraBits10() {
+        if (bits10 == null) {
+            throw new IllegalStateException("O tabuleiro é " + tamanho + "x" + tamanho + "; use paraBits.");
+        }
+        return bits10.copiar();
+    }
+
+    // Operações sobre o espelho de 32 casas (TabuleiroBits)
+    private void exigirOitoPorOito() {
+        if (tamanho != TAMANHO) {
+            throw new IllegalStateException("Operação só disponível no tabuleiro " + TAMANHO + "x" + TAMANHO + ".");
+        }
+    }
+
+    /**
+     * A posição das casas escuras com a cor dada jogando, no formato compacto. Lê o
+     * espelho em bits direto, sem percorrer as casas.
+     *
+     * @throws IllegalStateException Se o tabuleiro não é 8x8 ou há peças em casas claras, que o
+     *         formato não representa.
+     */
+    public PosicaoCompacta compactar(Peca.Cor vez) {
+        exigirOitoPorOito();
+        if (temPecasEmCasasClaras()) {
+            throw new IllegalStateException("Peças em casas claras não cabem na posição compacta");
+        }
+        long damas = bits.getDamas() & 0xFFFFFFFFL;
+        return new PosicaoCompacta(PosicaoCompacta.codificarCores(bits),
+            vez == Peca.Cor.BRANCA ? damas : damas | (1L << 32));
+    }
+
+    /**
+     * Substitui todas as peças do tabuleiro pelas da posição em bits.
+     *
+     * @param posicao A posição a ser carregada.
+     */
+    public void carregar(TabuleiroBits posicao) {
+        exigirOitoPorOito();
         for (int linha = 0; linha < TAMANHO; linha++) {
             for (int coluna = 0; coluna < TAMANHO; coluna++) {
-                casas[linha][coluna] = new Casa(linha, coluna);
+                casas[linha][coluna].setPeca(null);
             }
         }
-        inicializarPecas();
+        for (int casa = 0; casa < TabuleiroBits.CASAS; casa++) {
+            if (posicao.isVazia(casa)) {
+                continue;
+            }
+            Peca.Cor cor = posicao.isBranca(casa) ? Peca.Cor.BRANCA : Peca.Cor.PRETA;
+            Peca peca = posicao.isDama(casa) ? new Dama(cor) : new PecaRegular(cor);
+            casas[TabuleiroBits.linha(casa)][TabuleiroBits.coluna(casa)].setPeca(peca);
+        }
+    }
+
+    /**
+     * Gera todos os movimentos legais da cor dada, com sequências de captura completas
+     * e captura obrigatória. Considera apenas as casas escuras.
+     *
+     * @param cor A cor que vai jogar.
+     * @param lista Buffer reutilizável onde os movimentos são escritos (ver Movimento).
+     * @return O número de movimentos gerados.
+     */
+    public int gerarMovimentos(Peca.Cor cor, ListaMovimentos lista) {
+        exigirOitoPorOito();
+        if (gerador == null) {
+            gerador = new GeradorMovimentos();
+        }
+        bits.setVezDasBrancas(cor == Peca.Cor.BRANCA);
+        return gerador.gerar(bits, lista);
+    }
+
+    /**
+     * Chave Zobrist das casas escuras com a cor dada jogando. É mantida incrementalmente
+     * a cada Casa.setPeca (movimento, captura e promoção), sem percorrer o tabuleiro.
+     *
+     * @param vez A cor que tem a vez.
+     * @return A chave de 64 bits da posição.
+     */
+    public long getChaveZobrist(Peca.Cor vez) {
+        exigirOitoPorOito();
+        long chave = bits.getChave();
+        if (bits.isVezDasBrancas() != (vez == Peca.Cor.BRANCA)) {
+            chave ^= Zobrist.VEZ_DAS_PRETAS;
+        }
+        return chave;
+    }
+
+    /**
+     * Peças da cor dada que podem capturar agora, como máscara de casas escuras
+     * (índices de TabuleiroBits).
+     *
+     * O resultado é mantido entre consultas: uma casa alterada só pode mudar as capturas
+     * das peças nas diagonais que passam por ela, então só essas são reavaliadas. O custo
+     * depende de quantas casas mudaram, não de quantas peças há no tabuleiro.
+     * Peças em casas claras não entram (ver temPecasEmCasasClaras). Só no 8x8.
+     *
+     * @param cor A cor das peças.
+     * @return A máscara das peças com captura.
+     */
+    public int getPecasComCaptura(Peca.Cor cor) {
+        exigirOitoPorOito();
+        if (casasAlteradas != 0) {
+            int afetadas = 0;
+            for (int c = casasAlteradas; c != 0; c &= c - 1) {
+                afetadas |= TabuleiroBits.DIAGONAIS[Integer.numberOfTrailingZeros(c)];
+            }
+            casasAlteradas = 0;
+            brancasComCaptura &= ~afetadas;
+            pretasComCaptura &= ~afetadas;
+            for (int pecas = afetadas & bits.ocupadas(); pecas != 0; pecas &= pecas - 1) {
+                int casa = Integer.numberOfTrailingZeros(pecas);
+                if (bits.getPossiveisCapturas(casa) != 0) {
+                    if (bits.isBranca(casa)) {
+                        brancasComCaptura |= 1 << casa;
+                    } else {
+                        pretasComCaptura |= 1 << casa;
+                    }
+                }
+            }
+        }
+        return cor == Peca.Cor.BRANCA ? brancasComCaptura : pretasComCaptura;
+    }
+
+    /**
+     * Há peças fora das casas escuras (só em montagens manuais)? Nesse caso as máscaras
+     * não representam o tabuleiro inteiro.
+     */
+    public boolean temPecasEmCasasClaras() {
+        return brancasEmCasasClaras + pretasEmCasasClaras > 0;
+    }
+
+    /**
+     * Casa escura de índice dado (ver TabuleiroBits).
+     */
+    public Casa getCasaEscura(int indice) {
+        return casaDoIndice(indice);
+    }
+
+    // Índice no espelho de 32 casas; -1 fora dele e em todas as casas do 10x10
+    private int indice(Casa casa) {
+        return tamanho == TAMANHO ? TabuleiroBits.indice(casa.getLinha(), casa.getColuna()) : -1;
+    }
+
+    private Casa casaDoIndice(int indice) {
+        return casas[TabuleiroBits.linha(indice)][TabuleiroBits.coluna(indice)];
     }
 
     private void inicializarPecas() {
         // Peças pretas
-        for (int linha = 0; linha < 3; linha++) {
-            for (int coluna = 0; coluna < TAMANHO; coluna++) {
+        for (int linha = 0; linha < linhasIniciais; linha++) {
+            for (int coluna = 0; coluna < tamanho; coluna++) {
                 if ((linha + coluna) % 2 != 0) {
                     casas[linha][coluna].setPeca(new PecaRegular(Peca.Cor.PRETA));
                 }
@@ -38,8 +307,8 @@ public class Tabuleiro {
         }
 
         // Peças brancas
-        for (int linha = 5; linha < TAMANHO; linha++) {
-            for (int coluna = 0; coluna < TAMANHO; coluna++) {
+        for (int linha = tamanho - linhasIniciais; linha < tamanho; linha++) {
+            for (int coluna = 0; coluna < tamanho; coluna++) {
                 if ((linha + coluna) % 2 != 0) {
                     casas[linha][coluna].setPeca(new PecaRegular(Peca.Cor.BRANCA));
                 }
@@ -49,14 +318,14 @@ public class Tabuleiro {
 
     public void mostrar() {
         System.out.print("  ");
-        for (int coluna = 0; coluna < TAMANHO; coluna++) {
+        for (int coluna = 0; coluna < tamanho; coluna++) {
             System.out.print(" " + coluna + " ");
         }
         System.out.println();
 
-        for (int linha = 0; linha < TAMANHO; linha++) {
+        for (int linha = 0; linha < tamanho; linha++) {
             System.out.print(linha + " ");
-            for (int coluna = 0; coluna < TAMANHO; coluna++) {
+            for (int coluna = 0; coluna < tamanho; coluna++) {
                 Peca peca = casas[linha][coluna].getPeca();
                 if (casas[linha][coluna].estaVazia()) {
                     System.out.print(" . ");
@@ -81,7 +350,7 @@ public class Tabuleiro {
     }
 
     public Casa getCasa(int linha, int coluna) {
-        if (linha >= 0 && linha < TAMANHO && coluna >= 0 && coluna < TAMANHO) {
+        if (linha >= 0 && linha < tamanho && coluna >= 0 && coluna < tamanho) {
             return casas[linha][coluna];
         } else {
 
@@ -113,7 +382,7 @@ public class Tabuleiro {
         // Verificar promoção ( Virar Dama)
         if (!(peca instanceof Dama) &&
             ((peca.getCor() == Peca.Cor.BRANCA && destino.getLinha() == 0) ||
-             (peca.getCor() == Peca.Cor.PRETA && destino.getLinha() == TAMANHO - 1))) {
+             (peca.getCor() == Peca.Cor.PRETA && destino.getLinha() == tamanho - 1))) {
 
             destino.setPeca(new Dama(peca.getCor()));
         }
@@ -150,13 +419,30 @@ public class Tabuleiro {
         if (!(pecaMovendo instanceof Dama) &&
 
             ((pecaMovendo.getCor() == Peca.Cor.BRANCA && destino.getLinha() == 0) ||
-             (pecaMovendo.getCor() == Peca.Cor.PRETA && destino.getLinha() == TAMANHO - 1))) {
+             (pecaMovendo.getCor() == Peca.Cor.PRETA && destino.getLinha() == tamanho - 1))) {
 
             destino.setPeca(new Dama(pecaMovendo.getCor()));
         }
     }
 
     public void moverPeca(Casa origem, Casa destino) throws MovimentoInvalidoException {
+        if (!Metricas.ATIVAS) {
+            mover(origem, destino);
+            return;
+        }
+        long inicio = HistogramaLatencia.iniciar();
+        boolean captura;
+        try {
+            captura = mover(origem, destino);
+        } catch (MovimentoInvalidoException e) {
+            Metricas.MOVER_INVALIDO.terminar(inicio);
+            throw e;
+        }
+        (captura ? Metricas.MOVER_CAPTURA : Metricas.MOVER_SIMPLES).terminar(inicio);
+    }
+
+    // moverPeca sem as métricas; true se foi uma captura
+    private boolean mover(Casa origem, Casa destino) throws MovimentoInvalidoException {
         if (origem == null || destino == null) {
             throw new MovimentoInvalidoException("Origem ou destino nulos.");
         }
@@ -165,6 +451,14 @@ public class Tabuleiro {
         }
 
         Peca peca = origem.getPeca();
+
+        // Casas escuras: as regras são resolvidas nas máscaras de bits
+        int indiceOrigem = indice(origem);
+        int indiceDestino = indice(destino);
+        if (indiceOrigem >= 0 && indiceDestino >= 0) {
+            return moverPecaCasasEscuras(origem, destino, indiceOrigem, indiceDestino);
+        }
+
         int deltaLinhaAbs = Math.abs(origem.getLinha() - destino.getLinha());
         int deltaColunaAbs = Math.abs(origem.getColuna() - destino.getColuna());
 
@@ -187,7 +481,7 @@ public class Tabuleiro {
                 int currC = origem.getColuna() + dirColuna;
 
                 while (currL != destino.getLinha() || currC != destino.getColuna()) {
-                    if (currL < 0 || currL >= TAMANHO || currC < 0 || currC >= TAMANHO) { // Should not happen if destino is valid
+                    if (currL < 0 || currL >= tamanho || currC < 0 || currC >= tamanho) { // Should not happen if destino is valid
                         break;
                     }
                     Casa casaAtualNoCaminho = getCasa(currL, currC);
@@ -203,7 +497,8 @@ public class Tabuleiro {
                 if (pecasEncontradasCount == 1 && pecaEncontradaNoCaminho != null &&
                     pecaEncontradaNoCaminho.getCor() != peca.getCor()) {
                     casaPecaCapturada = casaPecaEncontradaTemporaria;
-                } else {
+                } else if (pecasEncontradasCount > 0) {
+                    // Com o caminho vazio não há captura: a dama desliza e segue para a validação de movimento simples
                     throw new MovimentoInvalidoException("Tentativa de captura inválida (Dama): " +
                         "nenhuma peça inimiga encontrada ou mais de uma peça no caminho.");
                 }
@@ -213,8 +508,8 @@ public class Tabuleiro {
                 if (deltaLinhaAbs == 2) { // Standard jump distance for PecaRegular
                     int linhaIntermediaria = origem.getLinha() + dirLinha;
                     int colunaIntermediaria = origem.getColuna() + dirColuna;
-                     if (linhaIntermediaria >= 0 && linhaIntermediaria < TAMANHO &&
-                         colunaIntermediaria >= 0 && colunaIntermediaria < TAMANHO) {
+                     if (linhaIntermediaria >= 0 && linhaIntermediaria < tamanho &&
+                         colunaIntermediaria >= 0 && colunaIntermediaria < tamanho) {
                         casaPecaCapturada = getCasa(linhaIntermediaria, colunaIntermediaria);
                     }
                 }
@@ -226,7 +521,7 @@ public class Tabuleiro {
                 casaPecaCapturada.getPeca().getCor() != peca.getCor()) {
                 if (isCapturaValida(origem, casaPecaCapturada, destino)) {
                     executarMovimentoComCaptura(origem, destino, casaPecaCapturada);
-                    return;
+                    return true;
                 } else {
                     throw new MovimentoInvalidoException("Tentativa de captura inválida (isCapturaValida falhou).");
                 }
@@ -239,7 +534,44 @@ public class Tabuleiro {
 
         if (isMovimentoValido(origem, destino)) {
             executarMovimentoSimples(origem, destino);
-            return;
+            return false;
+        }
+
+        throw new MovimentoInvalidoException("Movimento inválido (não é captura válida nem movimento simples válido).");
+    }
+
+    /**
+     * moverPeca para origem e destino em casas escuras: as mesmas regras, resolvidas nas máscaras de bits.
+     */
+    private boolean moverPecaCasasEscuras(Casa origem, Casa destino, int indiceOrigem, int indiceDestino) throws MovimentoInvalidoException {
+        boolean isDama = bits.isDama(indiceOrigem);
+        int caminho = TabuleiroBits.ENTRE[indiceOrigem][indiceDestino];
+
+        int pecasNoCaminho = caminho & bits.ocupadas();
+
+        // Diagonal com distância > 1 é captura, exceto a dama deslizando com o caminho livre
+        if (caminho != TabuleiroBits.SEM_DIAGONAL && caminho != 0 && !(isDama && pecasNoCaminho == 0)) {
+            // Uma única peça no caminho; peça regular só salta a casa vizinha
+            boolean saltoPossivel = Integer.bitCount(pecasNoCaminho) == 1 && (isDama || pecasNoCaminho == caminho);
+            int indiceCapturada = Integer.numberOfTrailingZeros(pecasNoCaminho);
+
+            if (!saltoPossivel || bits.isBranca(indiceCapturada) == bits.isBranca(indiceOrigem)) {
+                if (isDama) {
+                    throw new MovimentoInvalidoException("Tentativa de captura inválida (Dama): " +
+                        "nenhuma peça inimiga encontrada ou mais de uma peça no caminho.");
+                }
+                throw new MovimentoInvalidoException("Peça regular: Salto inválido (sem peça inimiga para capturar ou intermediária fora do tabuleiro).");
+            }
+            if (!bits.isCapturaValida(indiceOrigem, indiceCapturada, indiceDestino)) {
+                throw new MovimentoInvalidoException("Tentativa de captura inválida (isCapturaValida falhou).");
+            }
+            executarMovimentoComCaptura(origem, destino, casaDoIndice(indiceCapturada));
+            return true;
+        }
+
+        if (bits.isMovimentoValido(indiceOrigem, indiceDestino)) {
+            executarMovimentoSimples(origem, destino);
+            return false;
         }
 
         throw new MovimentoInvalidoException("Movimento inválido (não é captura válida nem movimento simples válido).");
@@ -253,6 +585,12 @@ public class Tabuleiro {
             return false; // Peças só podem mover para casas vazias (captura é separada)
         }
 
+        int indiceOrigem = indice(origem);
+        int indiceDestino = indice(destino);
+        if (indiceOrigem >= 0 && indiceDestino >= 0) {
+            return bits.isMovimentoValido(indiceOrigem, indiceDestino);
+        }
+
         Peca peca = origem.getPeca();
         if (!peca.isMovimentoValido(this, origem, destino)) {
             return false;
@@ -272,7 +610,7 @@ public class Tabuleiro {
             int currentColuna = origem.getColuna() + stepColuna;
 
             while (currentLinha != destino.getLinha() || currentColuna != destino.getColuna()) {
-                if (currentLinha < 0 || currentLinha >= TAMANHO || currentColuna < 0 || currentColuna >= TAMANHO) {
+                if (currentLinha < 0 || currentLinha >= tamanho || currentColuna < 0 || currentColuna >= tamanho) {
 
                     return false;
                 }
@@ -302,6 +640,13 @@ public class Tabuleiro {
 
         if (pecaMovendo.getCor() == pecaCapturadaCorpo.getCor()) return false; // Captura sua propria cor
 
+        int indiceOrigem = indice(origem);
+        int indiceCapturada = indice(casaPecaCapturada);
+        int indiceDestino = indice(destino);
+        if (indiceOrigem >= 0 && indiceCapturada >= 0 && indiceDestino >= 0) {
+            return bits.isCapturaValida(indiceOrigem, indiceCapturada, indiceDestino);
+        }
+
         if (!(pecaMovendo instanceof Dama)) {
             // --- Logica para peças regulares ---
             // casaPecaCapturada diagonalmente a 1 unidade de distancia
@@ -353,7 +698,7 @@ public class Tabuleiro {
             int currL = origem.getLinha() + stepLinhaPath1;
             int currC = origem.getColuna() + stepColunaPath1;
             while ((currL != casaPecaCapturada.getLinha()) || (currC != casaPecaCapturada.getColuna())) {
-                if (currL < 0 || currL >= TAMANHO || currC < 0 || currC >= TAMANHO) return false; 
+                if (currL < 0 || currL >= tamanho || currC < 0 || currC >= tamanho) return false; 
                 if (!getCasa(currL, currC).estaVazia()) return false; 
                 currL += stepLinhaPath1;
                 currC += stepColunaPath1;
@@ -364,7 +709,7 @@ public class Tabuleiro {
             currL = casaPecaCapturada.getLinha() + stepLinhaPath2;
             currC = casaPecaCapturada.getColuna() + stepColunaPath2;
             while ((currL != destino.getLinha()) || (currC != destino.getColuna())) {
-                if (currL < 0 || currL >= TAMANHO || currC < 0 || currC >= TAMANHO) return false; 
+                if (currL < 0 || currL >= tamanho || currC < 0 || currC >= tamanho) return false; 
                 if (!getCasa(currL, currC).estaVazia()) return false; 
                 currL += stepLinhaPath2;
                 currC += stepColunaPath2;
@@ -375,11 +720,30 @@ public class Tabuleiro {
     }
 
     public List<Casa> getPossiveisCapturas(Casa origem) {
+        if (!Metricas.ATIVAS) {
+            return possiveisCapturas(origem);
+        }
+        long inicio = HistogramaLatencia.iniciar();
+        List<Casa> capturas = possiveisCapturas(origem);
+        Metricas.POSSIVEIS_CAPTURAS.terminar(inicio);
+        return capturas;
+    }
+
+    private List<Casa> possiveisCapturas(Casa origem) {
         List<Casa> capturas = new ArrayList<>();
         if (origem == null || origem.estaVazia()) {
             return capturas;
         }
 
+        int indiceOrigem = indice(origem);
+        if (indiceOrigem >= 0) {
+            // Diagonais partindo de uma casa escura só passam por casas escuras
+            for (int destinos = bits.getPossiveisCapturas(indiceOrigem); destinos != 0; destinos &= destinos - 1) {
+                capturas.add(casaDoIndice(Integer.numberOfTrailingZeros(destinos)));
+            }
+            return capturas;
+        }
+
         Peca peca = origem.getPeca();
 
         int[] deltaLinhaDirs = {-1, -1, 1, 1};
@@ -391,12 +755,12 @@ public class Tabuleiro {
                 int lCap = origem.getLinha() + deltaLinhaDirs[i];
                 int cCap = origem.getColuna() + deltaColunaDirs[i];
 
-                if (lCap >= 0 && lCap < TAMANHO && cCap >= 0 && cCap < TAMANHO) {
+                if (lCap >= 0 && lCap < tamanho && cCap >= 0 && cCap < tamanho) {
                     Casa casaPecaACapturar = getCasa(lCap, cCap);
                     if (casaPecaACapturar != null && !casaPecaACapturar.estaVazia() && casaPecaACapturar.getPeca().getCor() != peca.getCor()) {
                         int lDest = lCap + deltaLinhaDirs[i];
                         int cDest = cCap + deltaColunaDirs[i];
-                        if (lDest >= 0 && lDest < TAMANHO && cDest >= 0 && cDest < TAMANHO) {
+                        if (lDest >= 0 && lDest < tamanho && cDest >= 0 && cDest < tamanho) {
                             Casa destinoRegular = getCasa(lDest, cDest);
                             if (isCapturaValida(origem, casaPecaACapturar, destinoRegular)) {
                                 capturas.add(destinoRegular);
@@ -410,11 +774,11 @@ public class Tabuleiro {
                 int dirLinha = deltaLinhaDirs[d];
                 int dirColuna = deltaColunaDirs[d];
 
-                for (int i = 1; i < TAMANHO; i++) {
+                for (int i = 1; i < tamanho; i++) {
                     int lCap = origem.getLinha() + i * dirLinha;
                     int cCap = origem.getColuna() + i * dirColuna;
 
-                    if (lCap < 0 || lCap >= TAMANHO || cCap < 0 || cCap >= TAMANHO) {
+                    if (lCap < 0 || lCap >= tamanho || cCap < 0 || cCap >= tamanho) {
                         break; 
                     }
 
@@ -427,11 +791,11 @@ public class Tabuleiro {
                         break;
                     } else {
                         
-                        for (int j = 1; j < TAMANHO; j++) {
+                        for (int j = 1; j < tamanho; j++) {
                             int lDest = casaIntermedia.getLinha() + j * dirLinha;
                             int cDest = casaIntermedia.getColuna() + j * dirColuna;
 
-                            if (lDest < 0 || lDest >= TAMANHO || cDest < 0 || cDest >= TAMANHO) {
+                            if (lDest < 0 || lDest >= tamanho || cDest < 0 || cDest >= tamanho) {
                                 break; 
                             }
 
@@ -450,18 +814,49 @@ public class Tabuleiro {
         return capturas;
     }
 
+    /**
+     * Verifica se o jogador venceu ao terminar a sua jogada: o oponente ficou sem peças
+     * ou, bloqueado, sem nenhum movimento legal. Não percorre o tabuleiro.
+     *
+     * @param corJogadorAtual A cor de quem acabou de jogar.
+     * @return true se o oponente perdeu.
+     */
     public boolean verificarVitoria(Peca.Cor corJogadorAtual) {
         Peca.Cor corOponente = (corJogadorAtual == Peca.Cor.BRANCA) ? Peca.Cor.PRETA : Peca.Cor.BRANCA;
-        int contadorOponente = 0;
-        for (int i = 0; i < TAMANHO; i++) {
-            for (int j = 0; j < TAMANHO; j++) {
-                Casa casa = casas[i][j];
-                if (!casa.estaVazia() && casa.getPeca().getCor() == corOponente) {
-                    contadorOponente++;
-                }
-            }
+        return contarPecas(corOponente) == 0 || !temMovimentoLegal(corOponente);
+    }
+
+    /**
+     * Número de peças (regulares e damas) da cor, contando as de casas claras.
+     */
+    public int contarPecas(Peca.Cor cor) {
+        int escuras = bits10 == null ? Integer.bitCount(bits.pecasDe(cor)) : Long.bitCount(bits10.pecasDe(cor));
+        return escuras + (cor == Peca.Cor.BRANCA ? brancasEmCasasClaras : pretasEmCasasClaras);
+    }
+
+    /**
+     * Número de damas da cor nas casas escuras.
+     */
+    public int contarDamas(Peca.Cor cor) {
+        if (bits10 != null) {
+            return Long.bitCount(bits10.pecasDe(cor) & bits10.getDamas());
+        }
+        return Integer.bitCount(bits.pecasDe(cor) & bits.getDamas());
+    }
+
+    /**
+     * A cor tem algum movimento legal? Pára no primeiro que encontra (ver
+     * TabuleiroBits.temMovimento). Peças em casas claras ficam fora das máscaras, então
+     * com elas a resposta é sempre true.
+     *
+     * @param cor A cor que jogaria.
+     * @return true se existe pelo menos um movimento ou captura.
+     */
+    public boolean temMovimentoLegal(Peca.Cor cor) {
+        if ((cor == Peca.Cor.BRANCA ? brancasEmCasasClaras : pretasEmCasasClaras) > 0) {
+            return true;
         }
-        return contadorOponente == 0;
+        return bits10 == null ? bits.temMovimento(cor) : bits10.temMovimento(cor);
     }
 
 }
@@ -0,0 +1,599 @@
+package modelo;
+
+import java.util.Arrays;
+
+/**
+ * Representação compacta do tabuleiro em máscaras de bits.
+ *
+ * Somente as 32 casas escuras recebem peças, então cada uma vira um bit de um int.
+ * As casas são numeradas linha a linha, de cima para baixo: indice = linha * 4 + coluna / 2.
+ * Três máscaras guardam todo o estado: peças brancas, peças pretas e damas (de qualquer cor).
+ */
+public class TabuleiroBits {
+
+    public static final int CASAS = 32;
+
+    // Direções na mesma ordem usada em Tabuleiro.getPossiveisCapturas
+    public static final int NOROESTE = 0; // linha - 1, coluna - 1
+    public static final int NORDESTE = 1; // linha - 1, coluna + 1
+    public static final int SUDOESTE = 2; // linha + 1, coluna - 1
+    public static final int SUDESTE = 3;  // linha + 1, coluna + 1
+
+    /** Valor de ENTRE para pares de casas que não estão na mesma diagonal. */
+    static final int SEM_DIAGONAL = -1;
+
+    /** VIZINHO[direcao][casa]: casa vizinha naquela direção, ou -1 se sair do tabuleiro. */
+    static final int[][] VIZINHO = new int[4][CASAS];
+
+    /** ENTRE[origem][destino]: casas estritamente entre as duas, ou SEM_DIAGONAL. */
+    static final int[][] ENTRE = new int[CASAS][CASAS];
+
+    /** RAIO[direcao][casa]: casas da diagonal a partir da casa (sem ela) até a borda. */
+    static final int[][] RAIO = new int[4][CASAS];
+
+    /** DIAGONAIS[casa]: a casa e todas as casas das duas diagonais que passam por ela. */
+    static final int[] DIAGONAIS = new int[CASAS];
+
+    /** Casas da primeira linha (promoção das brancas) e da última (promoção das pretas). */
+    public static final int LINHA_PROMOCAO_BRANCAS = 0x0000000F;
+    public static final int LINHA_PROMOCAO_PRETAS = 0xF0000000;
+
+    // Máscaras para deslocar um conjunto inteiro de casas uma diagonal de uma vez
+    private static final int LINHAS_PARES = 0x0F0F0F0F;
+    private static final int LINHAS_IMPARES = 0xF0F0F0F0;
+    private static final int PRIMEIRA_COLUNA = 0x11111111;
+    private static final int ULTIMA_COLUNA = 0x88888888;
+
+    static {
+        int[] dl = {-1, -1, 1, 1};
+        int[] dc = {-1, 1, -1, 1};
+        for (int casa = 0; casa < CASAS; casa++) {
+            for (int d = 0; d < 4; d++) {
+                VIZINHO[d][casa] = indice(linha(casa) + dl[d], coluna(casa) + dc[d]);
+            }
+        }
+        for (int casa = 0; casa < CASAS; casa++) {
+            for (int outra = 0; outra < CASAS; outra++) {
+                ENTRE[casa][outra] = SEM_DIAGONAL;
+            }
+            for (int d = 0; d < 4; d++) {
+                int caminho = 0;
+                for (int atual = VIZINHO[d][casa]; atual >= 0; atual = VIZINHO[d][atual]) {
+                    ENTRE[casa][atual] = caminho;
+                    caminho |= 1 << atual;
+                }
+                RAIO[d][casa] = caminho;
+                DIAGONAIS[casa] |= caminho;
+            }
+            DIAGONAIS[casa] |= 1 << casa;
+        }
+    }
+
+    private int brancas;
+    private int pretas;
+    private int damas;
+    private boolean vezDasBrancas = true;
+
+    // Chave Zobrist da posição, atualizada a cada alteração (ver Zobrist)
+    private long chave = 0L;
+
+    // Valores por peça e casa (ver setValoresCasas) e a soma deles nas peças do
+    // tabuleiro, atualizada a cada alteração como a chave
+    private int[][] valoresCasas;
+    private int placar;
+
+    // Pilha de desfazer de fazerMovimento: o movimento, as damas capturadas e as
+    // diferenças da chave e do placar. Alocada no primeiro uso e reaproveitada depois.
+    private long[] pilhaMovimentos;
+    private int[] pilhaDamasCapturadas;
+    private long[] pilhaDiferencasChave;
+    private int[] pilhaDiferencasPlacar;
+    private int movimentosFeitos;
+
+
+    /**
+     * Cria um tabuleiro vazio.
+     */
+    public TabuleiroBits() {
+    }
+
+    /**
+     * Cria um tabuleiro na posição inicial: três linhas de peças para cada lado.
+     *
+     * @return O tabuleiro na posição inicial.
+     */
+    public static TabuleiroBits inicial() {
+        TabuleiroBits bits = new TabuleiroBits();
+        bits.pretas = 0x00000FFF;
+        bits.brancas = 0xFFF00000;
+        bits.chave = Zobrist.calcular(bits);
+        return bits;
+    }
+
+
+    // --- Conversão entre (linha, coluna) e índice de casa escura ---
+
+    /**
+     * Converte uma coordenada do tabuleiro 8x8 no índice da casa escura.
+     *
+     * @return O índice (0 a 31), ou -1 se a coordenada for uma casa clara ou estiver fora do tabuleiro.
+     */
+    public static int indice(int linha, int coluna) {
+        if (linha < 0 || linha >= Tabuleiro.TAMANHO || coluna < 0 || coluna >= Tabuleiro.TAMANHO) {
+            return -1;
+        }
+        if ((linha + coluna) % 2 == 0) {
+            return -1;
+        }
+        return linha * 4 + coluna / 2;
+    }
+
+    public static int linha(int casa) {
+        return casa >>> 2;
+    }
+
+    public static int coluna(int casa) {
+        int linha = casa >>> 2;
+        return ((casa & 3) << 1) + ((linha + 1) & 1);
+    }
+
+
+    // --- Estado ---
+
+    public int getBrancas() {
+        return brancas;
+    }
+
+    public int getPretas() {
+        return pretas;
+    }
+
+    public int getDamas() {
+        return damas;
+    }
+
+    public boolean isVezDasBrancas() {
+        return vezDasBrancas;
+    }
+
+    public void setVezDasBrancas(boolean vezDasBrancas) {
+        if (this.vezDasBrancas != vezDasBrancas) {
+            chave ^= Zobrist.VEZ_DAS_PRETAS;
+        }
+        this.vezDasBrancas = vezDasBrancas;
+    }
+
+    public Peca.Cor getVez() {
+        return vezDasBrancas ? Peca.Cor.BRANCA : Peca.Cor.PRETA;
+    }
+
+    /**
+     * Chave Zobrist da posição, incluindo quem tem a vez.
+     */
+    public long getChave() {
+        return chave;
+    }
+
+    /**
+     * Liga o placar incremental: cada peça vale valores[tipo][casa], com o tipo de
+     * Zobrist.tipo, do ponto de vista das brancas (as pretas com valores negativos).
+     * Mover, capturar e promover somam só as diferenças das casas envolvidas, então a
+     * avaliação não precisa percorrer as peças (ver motor.AvaliacaoPosicional).
+     *
+     * @param valores Tabela 4 x CASAS, que não deve mudar depois; null desliga o placar.
+     */
+    public void setValoresCasas(int[][] valores) {
+        this.valoresCasas = valores;
+        recalcularPlacar();
+    }
+
+    public int[][] getValoresCasas() {
+        return valoresCasas;
+    }
+
+    /**
+     * Soma dos valores das peças (ver setValoresCasas), ou 0 sem tabela.
+     */
+    public int getPlacar() {
+        return placar;
+    }
+
+    /**
+     * Calcula o placar do zero, percorrendo todas as peças. Usado para conferir o placar incremental.
+     */
+    public static int calcularPlacar(TabuleiroBits posicao, int[][] valores) {
+        int soma = 0;
+        for (int pecas = posicao.ocupadas(); pecas != 0; pecas &= pecas - 1) {
+            int casa = Integer.numberOfTrailingZeros(pecas);
+            soma += valores[Zobrist.tipo(posicao.isBranca(casa), posicao.isDama(casa))][casa];
+        }
+        return soma;
+    }
+
+    private void recalcularPlacar() {
+        placar = valoresCasas == null ? 0 : calcularPlacar(this, valoresCasas);
+    }
+
+    public int ocupadas() {
+        return brancas | pretas;
+    }
+
+    public int pecasDe(Peca.Cor cor) {
+        return cor == Peca.Cor.BRANCA ? brancas : pretas;
+    }
+
+    public boolean isVazia(int casa) {
+        return ((brancas | pretas) & (1 << casa)) == 0;
+    }
+
+    public boolean isBranca(int casa) {
+        return (brancas & (1 << casa)) != 0;
+    }
+
+    public boolean isDama(int casa) {
+        return (damas & (1 << casa)) != 0;
+    }
+
+    /**
+     * Coloca uma peça na casa, substituindo o que estiver lá.
+     */
+    public void colocar(int casa, Peca.Cor cor, boolean dama) {
+        remover(casa);
+        int bit = 1 << casa;
+        if (cor == Peca.Cor.BRANCA) {
+            brancas |= bit;
+        } else {
+            pretas |= bit;
+        }
+        if (dama) {
+            damas |= bit;
+        }
+        chave ^= Zobrist.PECA[Zobrist.tipo(cor == Peca.Cor.BRANCA, dama)][casa];
+        if (valoresCasas != null) {
+            placar += valoresCasas[Zobrist.tipo(cor == Peca.Cor.BRANCA, dama)][casa];
+        }
+    }
+
+    public void remover(int casa) {
+        int bit = 1 << casa;
+        if (((brancas | pretas) & bit) != 0) {
+            int tipo = Zobrist.tipo((brancas & bit) != 0, (damas & bit) != 0);
+            chave ^= Zobrist.PECA[tipo][casa];
+            if (valoresCasas != null) {
+                placar -= valoresCasas[tipo][casa];
+            }
+        }
+        brancas &= ~bit;
+        pretas &= ~bit;
+        damas &= ~bit;
+    }
+
+    public void limpar() {
+        movimentosFeitos = 0;
+        brancas = 0;
+        pretas = 0;
+        damas = 0;
+        chave = vezDasBrancas ? 0L : Zobrist.VEZ_DAS_PRETAS;
+        placar = 0;
+    }
+
+    /**
+     * Copia a posição (não a pilha de desfazer, que fica vazia). Os valores das casas
+     * continuam os deste tabuleiro, e o placar é recalculado com eles.
+     */
+    public void copiarDe(TabuleiroBits outro) {
+        this.movimentosFeitos = 0;
+        this.brancas = outro.brancas;
+        this.pretas = outro.pretas;
+        this.damas = outro.damas;
+        this.vezDasBrancas = outro.vezDasBrancas;
+        this.chave = outro.chave;
+        recalcularPlacar();
+    }
+
+    // Usado por PosicaoCompacta, que já validou as máscaras
+    void definir(int brancas, int pretas, int damas, boolean vezDasBrancas) {
+        this.movimentosFeitos = 0;
+        this.brancas = brancas;
+        this.pretas = pretas;
+        this.damas = damas;
+        this.vezDasBrancas = vezDasBrancas;
+        this.chave = Zobrist.calcular(this);
+        recalcularPlacar();
+    }
+
+    /**
+     * Cópia da posição com os mesmos valores das casas (ver setValoresCasas).
+     */
+    public TabuleiroBits copiar() {
+        TabuleiroBits copia = new TabuleiroBits();
+        copia.valoresCasas = valoresCasas;
+        copia.copiarDe(this);
+        return copia;
+    }
+
+
+    /**
+     * Desloca todas as casas da máscara uma casa na direção dada.
+     * Casas que sairiam do tabuleiro são descartadas.
+     */
+    public static int deslocar(int mascara, int direcao) {
+        switch (direcao) {
+            case NOROESTE:
+                return ((mascara & LINHAS_PARES) >>> 4) | ((mascara & LINHAS_IMPARES & ~PRIMEIRA_COLUNA) >>> 5);
+            case NORDESTE:
+                return ((mascara & LINHAS_PARES & ~ULTIMA_COLUNA) >>> 3) | ((mascara & LINHAS_IMPARES) >>> 4);
+            case SUDOESTE:
+                return ((mascara & LINHAS_PARES) << 4) | ((mascara & LINHAS_IMPARES & ~PRIMEIRA_COLUNA) << 3);
+            default:
+                return ((mascara & LINHAS_PARES & ~ULTIMA_COLUNA) << 5) | ((mascara & LINHAS_IMPARES) << 4);
+        }
+    }
+
+    /**
+     * Direção contrária (NOROESTE <-> SUDESTE, NORDESTE <-> SUDOESTE).
+     */
+    public static int oposta(int direcao) {
+        return 3 - direcao;
+    }
+
+    /**
+     * Executa um movimento gerado por GeradorMovimentos e passa a vez.
+     * Não valida nada: o movimento deve ser legal nesta posição.
+     */
+    public void aplicar(long movimento) {
+        int origem = Movimento.origem(movimento);
+        int destino = Movimento.destino(movimento);
+        int bitOrigem = 1 << origem;
+        int bitDestino = 1 << destino;
+        int capturadas = Movimento.capturadas(movimento);
+        boolean eraDama = (damas & bitOrigem) != 0;
+
+        int tipoInimigo = vezDasBrancas ? Zobrist.PECA_PRETA : Zobrist.PECA_BRANCA;
+        for (int c = capturadas; c != 0; c &= c - 1) {
+            int casa = Integer.numberOfTrailingZeros(c);
+            chave ^= Zobrist.PECA[tipoInimigo + ((damas >>> casa) & 1)][casa];
+        }
+        int tipoOrigem = Zobrist.tipo(vezDasBrancas, eraDama);
+        int tipoDestino = Zobrist.tipo(vezDasBrancas, eraDama || Movimento.isPromocao(movimento));
+        chave ^= Zobrist.PECA[tipoOrigem][origem] ^ Zobrist.PECA[tipoDestino][destino] ^ Zobrist.VEZ_DAS_PRETAS;
+        if (valoresCasas != null) {
+            // A promoção entra aqui: o destino já vale como dama
+            placar += valoresCasas[tipoDestino][destino] - valoresCasas[tipoOrigem][origem];
+            for (int c = capturadas; c != 0; c &= c - 1) {
+                int casa = Integer.numberOfTrailingZeros(c);
+                placar -= valoresCasas[tipoInimigo + ((damas >>> casa) & 1)][casa];
+            }
+        }
+
+        if (vezDasBrancas) {
+            brancas = (brancas & ~bitOrigem) | bitDestino;
+            pretas &= ~capturadas;
+        } else {
+            pretas = (pretas & ~bitOrigem) | bitDestino;
+            brancas &= ~capturadas;
+        }
+        damas &= ~(bitOrigem | capturadas);
+        if (eraDama || Movimento.isPromocao(movimento)) {
+            damas |= bitDestino;
+        }
+        vezDasBrancas = !vezDasBrancas;
+    }
+
+
+    /**
+     * Como aplicar, mas guarda o necessário para desfazerMovimento: a busca anda pela
+     * árvore em um único tabuleiro, sem copiar a posição a cada nó e sem alocar.
+     */
+    public void fazerMovimento(long movimento) {
+        if (pilhaMovimentos == null || movimentosFeitos == pilhaMovimentos.length) {
+            crescerPilha();
+        }
+        long chaveAntes = chave;
+        int placarAntes = placar;
+        pilhaMovimentos[movimentosFeitos] = movimento;
+        pilhaDamasCapturadas[movimentosFeitos] = damas & Movimento.capturadas(movimento);
+        aplicar(movimento);
+        pilhaDiferencasChave[movimentosFeitos] = chave ^ chaveAntes;
+        pilhaDiferencasPlacar[movimentosFeitos] = placar - placarAntes;
+        movimentosFeitos++;
+    }
+
+    /**
+     * Desfaz o último fazerMovimento ainda não desfeito.
+     */
+    public void desfazerMovimento() {
+        if (movimentosFeitos == 0) {
+            throw new IllegalStateException("Nenhum movimento para desfazer.");
+        }
+        movimentosFeitos--;
+        long movimento = pilhaMovimentos[movimentosFeitos];
+        int bitOrigem = 1 << Movimento.origem(movimento);
+        int bitDestino = 1 << Movimento.destino(movimento);
+        int capturadas = Movimento.capturadas(movimento);
+        // A promoção só é marcada em peça regular; fora isso, dama no destino era dama na origem
+        boolean eraDama = (damas & bitDestino) != 0 && !Movimento.isPromocao(movimento);
+
+        vezDasBrancas = !vezDasBrancas;
+        if (vezDasBrancas) {
+            brancas = (brancas & ~bitDestino) | bitOrigem;
+            pretas |= capturadas;
+        } else {
+            pretas = (pretas & ~bitDestino) | bitOrigem;
+            brancas |= capturadas;
+        }
+        damas = (damas & ~bitDestino) | pilhaDamasCapturadas[movimentosFeitos];
+        if (eraDama) {
+            damas |= bitOrigem;
+        }
+        chave ^= pilhaDiferencasChave[movimentosFeitos];
+        placar -= pilhaDiferencasPlacar[movimentosFeitos];
+    }
+
+    /**
+     * Quantos movimentos feitos com fazerMovimento ainda podem ser desfeitos.
+     */
+    public int getMovimentosFeitos() {
+        return movimentosFeitos;
+    }
+
+    private void crescerPilha() {
+        int capacidade = pilhaMovimentos == null ? 128 : pilhaMovimentos.length * 2;
+        pilhaMovimentos = pilhaMovimentos == null ? new long[capacidade] : Arrays.copyOf(pilhaMovimentos, capacidade);
+        pilhaDamasCapturadas = pilhaDamasCapturadas == null ? new int[capacidade]
+            : Arrays.copyOf(pilhaDamasCapturadas, capacidade);
+        pilhaDiferencasChave = pilhaDiferencasChave == null ? new long[capacidade]
+            : Arrays.copyOf(pilhaDiferencasChave, capacidade);
+        pilhaDiferencasPlacar = pilhaDiferencasPlacar == null ? new int[capacidade]
+            : Arrays.copyOf(pilhaDiferencasPlacar, capacidade);
+    }
+
+
+    // --- Regras ---
+
+    /**
+     * Primeira casa ocupada na diagonal a partir da casa, na direção dada.
+     * Ao longo de um raio os índices só crescem (direções para o sul) ou só decrescem
+     * (para o norte), então ela é o bit mais baixo ou o mais alto do raio ocupado.
+     *
+     * @return O índice da casa, ou -1 se o raio está livre até a borda.
+     */
+    static int primeiraOcupada(int casa, int direcao, int ocupadas) {
+        int bloqueio = RAIO[direcao][casa] & ocupadas;
+        if (bloqueio == 0) {
+            return -1;
+        }
+        return direcao >= SUDOESTE ? Integer.numberOfTrailingZeros(bloqueio) : 31 - Integer.numberOfLeadingZeros(bloqueio);
+    }
+
+    /**
+     * Casas livres da diagonal a partir da casa, na direção dada, até a primeira ocupada:
+     * os destinos de uma dama que desliza, ou os pousos depois da peça capturada.
+     */
+    static int casasLivres(int casa, int direcao, int ocupadas) {
+        int bloqueio = primeiraOcupada(casa, direcao, ocupadas);
+        return bloqueio < 0 ? RAIO[direcao][casa] : ENTRE[casa][bloqueio];
+    }
+
+    /**
+     * Equivalente a Tabuleiro.isMovimentoValido para casas escuras.
+     * Peças regulares andam uma casa em qualquer diagonal; damas andam qualquer
+     * distância desde que o caminho esteja livre.
+     */
+    public boolean isMovimentoValido(int origem, int destino) {
+        int ocupadas = brancas | pretas;
+        if ((ocupadas & (1 << origem)) == 0 || (ocupadas & (1 << destino)) != 0) {
+            return false;
+        }
+        int caminho = ENTRE[origem][destino];
+        if (caminho == SEM_DIAGONAL) {
+            return false;
+        }
+        if ((damas & (1 << origem)) != 0) {
+            return (caminho & ocupadas) == 0;
+        }
+        return caminho == 0; // peça regular: casas adjacentes
+    }
+
+    /**
+     * Equivalente a Tabuleiro.isCapturaValida para casas escuras.
+     * A única peça entre origem e destino deve ser a capturada, e ela deve ser inimiga.
+     * Para peças regulares o salto tem exatamente duas casas.
+     */
+    public boolean isCapturaValida(int origem, int capturada, int destino) {
+        int ocupadas = brancas | pretas;
+        int bitOrigem = 1 << origem;
+        int bitCapturada = 1 << capturada;
+        if ((ocupadas & bitOrigem) == 0 || (ocupadas & (1 << destino)) != 0) {
+            return false;
+        }
+        int inimigas = (brancas & bitOrigem) != 0 ? pretas : brancas;
+        if ((inimigas & bitCapturada) == 0) {
+            return false;
+        }
+        int caminho = ENTRE[origem][destino];
+        if (caminho == SEM_DIAGONAL) {
+            return false;
+        }
+        if ((damas & bitOrigem) != 0) {
+            return (caminho & ocupadas) == bitCapturada;
+        }
+        return caminho == bitCapturada;
+    }
+
+    /**
+     * Equivalente a Tabuleiro.getPossiveisCapturas para casas escuras.
+     *
+     * @return A máscara das casas onde a peça pode pousar depois de uma captura.
+     */
+    public int getPossiveisCapturas(int origem) {
+        int bitOrigem = 1 << origem;
+        int inimigas;
+        if ((brancas & bitOrigem) != 0) {
+            inimigas = pretas;
+        } else if ((pretas & bitOrigem) != 0) {
+            inimigas = brancas;
+        } else {
+            return 0;
+        }
+        int vazias = ~(brancas | pretas);
+        int destinos = 0;
+
+        if ((damas & bitOrigem) == 0) {
+            for (int d = 0; d < 4; d++) {
+                int meio = VIZINHO[d][origem];
+                if (meio >= 0 && (inimigas & (1 << meio)) != 0) {
+                    int destino = VIZINHO[d][meio];
+                    if (destino >= 0 && (vazias & (1 << destino)) != 0) {
+                        destinos |= 1 << destino;
+                    }
+                }
+            }
+        } else {
+            // A primeira peça de cada raio, se inimiga, e as casas livres depois dela
+            int ocupadas = brancas | pretas;
+            for (int d = 0; d < 4; d++) {
+                int alvo = primeiraOcupada(origem, d, ocupadas);
+                if (alvo >= 0 && (inimigas & (1 << alvo)) != 0) {
+                    destinos |= casasLivres(alvo, d, ocupadas);
+                }
+            }
+        }
+        return destinos;
+    }
+
+    /**
+     * Equivalente a Tabuleiro.verificarVitoria: vence quem deixou o oponente sem peças
+     * ou sem nenhum movimento legal.
+     */
+    public boolean verificarVitoria(Peca.Cor corJogadorAtual) {
+        Peca.Cor corOponente = corJogadorAtual == Peca.Cor.BRANCA ? Peca.Cor.PRETA : Peca.Cor.BRANCA;
+        return pecasDe(corOponente) == 0 || !temMovimento(corOponente);
+    }
+
+    /**
+     * O lado que tem a vez tem algum movimento legal?
+     */
+    public boolean temMovimento() {
+        return temMovimento(getVez());
+    }
+
+    /**
+     * A cor dada teria algum movimento legal se fosse a vez dela? Só operações sobre as
+     * máscaras, sem gerar movimentos: qualquer peça com uma casa vizinha livre pode andar
+     * (peças regulares andam em qualquer diagonal), e se todas as vizinhas estão
+     * ocupadas a única saída é capturar uma inimiga vizinha com a casa seguinte livre.
+     */
+    public boolean temMovimento(Peca.Cor cor) {
+        int minhas = pecasDe(cor);
+        int inimigas = (brancas | pretas) & ~minhas;
+        int vazias = ~(brancas | pretas);
+        for (int d = 0; d < 4; d++) {
+            int vizinhas = deslocar(minhas, d);
+            if ((vizinhas & vazias) != 0 || (deslocar(vizinhas & inimigas, d) & vazias) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,292 @@
+package modelo;
+
+/**
+ * Máscaras de bits do tabuleiro 10x10 (o das damas internacionais): 50 casas escuras,
+ * cinco por linha, numeradas linha a linha a partir do lado das pretas como no PDN:
+ * casa = linha * 5 + coluna / 2 (a casa 0 é a 1 do PDN).
+ *
+ * Cada máscara é um long com uma casa fantasma depois de cada par de linhas: a casa c
+ * ocupa o bit c + c / 10. Com esse espaçamento cada diagonal é sempre o mesmo
+ * deslocamento (-6, -5, +5 ou +6) e o que sai pela borda cai numa casa fantasma ou fora
+ * do tabuleiro, que a máscara TABULEIRO apaga. Os movimentos de todas as peças numa
+ * direção saem de um único deslocamento, como em TabuleiroBits.
+ *
+ * As regras são as mesmas do 8x8 (ver GeradorMovimentos10); mudam o tamanho e as
+ * linhas iniciais. Por ser uma classe à parte, o código do 8x8 não ganha nenhum teste
+ * de tamanho.
+ */
+public class TabuleiroBits10 {
+
+    public static final int TAMANHO = 10;
+    public static final int CASAS = 50;
+    public static final int LINHAS_INICIAIS = 4;
+
+    /** Posições usadas nas máscaras: as 50 casas e as cinco fantasmas. */
+    static final int BITS = 55;
+
+    /** Deslocamento de cada direção, na ordem de TabuleiroBits.NOROESTE a SUDESTE. */
+    static final int[] DESLOCAMENTO = {-6, -5, 5, 6};
+
+    /** VIZINHO[direcao][bit]: posição vizinha naquela direção, ou -1 se sair do tabuleiro. */
+    static final int[][] VIZINHO = new int[4][BITS];
+
+    /** As 50 casas, sem as fantasmas. */
+    public static final long TABULEIRO;
+
+    /** Casas da primeira linha (promoção das brancas) e da última (promoção das pretas). */
+    public static final long LINHA_PROMOCAO_BRANCAS;
+    public static final long LINHA_PROMOCAO_PRETAS;
+
+    static {
+        long tabuleiro = 0L;
+        for (int casa = 0; casa < CASAS; casa++) {
+            tabuleiro |= 1L << bit(casa);
+        }
+        TABULEIRO = tabuleiro;
+        LINHA_PROMOCAO_BRANCAS = linhas(0, 1);
+        LINHA_PROMOCAO_PRETAS = linhas(TAMANHO - 1, TAMANHO);
+        for (int d = 0; d < 4; d++) {
+            for (int b = 0; b < BITS; b++) {
+                int vizinho = b + DESLOCAMENTO[d];
+                boolean dentro = (TABULEIRO & (1L << b)) != 0
+                    && vizinho >= 0 && vizinho < BITS && (TABULEIRO & (1L << vizinho)) != 0;
+                VIZINHO[d][b] = dentro ? vizinho : -1;
+            }
+        }
+    }
+
+    private long brancas;
+    private long pretas;
+    private long damas;
+    private boolean vezDasBrancas = true;
+
+
+    /**
+     * Cria um tabuleiro vazio.
+     */
+    public TabuleiroBits10() {
+    }
+
+    /**
+     * Cria um tabuleiro na posição inicial: quatro linhas de peças para cada lado.
+     */
+    public static TabuleiroBits10 inicial() {
+        return inicial(LINHAS_INICIAIS);
+    }
+
+    /**
+     * Cria um tabuleiro com as linhas dadas de peças para cada lado.
+     *
+     * @throws IllegalArgumentException Se os dois lados não cabem sem se tocar.
+     */
+    public static TabuleiroBits10 inicial(int linhasIniciais) {
+        if (linhasIniciais < 1 || linhasIniciais > TAMANHO / 2 - 1) {
+            throw new IllegalArgumentException("Linhas iniciais devem estar entre 1 e " + (TAMANHO / 2 - 1)
+                + ": " + linhasIniciais);
+        }
+        TabuleiroBits10 bits = new TabuleiroBits10();
+        bits.pretas = linhas(0, linhasIniciais);
+        bits.brancas = linhas(TAMANHO - linhasIniciais, TAMANHO);
+        return bits;
+    }
+
+    private static long linhas(int primeira, int fim) {
+        long mascara = 0L;
+        for (int casa = primeira * 5; casa < fim * 5; casa++) {
+            mascara |= 1L << bit(casa);
+        }
+        return mascara;
+    }
+
+
+    // --- Conversão entre (linha, coluna), casa e posição nas máscaras ---
+
+    /**
+     * Converte uma coordenada do tabuleiro 10x10 no índice da casa escura.
+     *
+     * @return O índice (0 a 49), ou -1 se a coordenada for uma casa clara ou estiver fora do tabuleiro.
+     */
+    public static int indice(int linha, int coluna) {
+        if (linha < 0 || linha >= TAMANHO || coluna < 0 || coluna >= TAMANHO || (linha + coluna) % 2 == 0) {
+            return -1;
+        }
+        return linha * 5 + coluna / 2;
+    }
+
+    public static int linha(int casa) {
+        return casa / 5;
+    }
+
+    public static int coluna(int casa) {
+        return (casa % 5) * 2 + ((casa / 5 + 1) & 1);
+    }
+
+    /**
+     * Posição da casa nas máscaras.
+     */
+    public static int bit(int casa) {
+        return casa + casa / 10;
+    }
+
+    /**
+     * Casa de uma posição das máscaras (que não seja fantasma).
+     */
+    public static int casa(int bit) {
+        return bit - bit / 11;
+    }
+
+
+    // --- Estado ---
+
+    public long getBrancas() {
+        return brancas;
+    }
+
+    public long getPretas() {
+        return pretas;
+    }
+
+    public long getDamas() {
+        return damas;
+    }
+
+    public boolean isVezDasBrancas() {
+        return vezDasBrancas;
+    }
+
+    public void setVezDasBrancas(boolean vezDasBrancas) {
+        this.vezDasBrancas = vezDasBrancas;
+    }
+
+    public Peca.Cor getVez() {
+        return vezDasBrancas ? Peca.Cor.BRANCA : Peca.Cor.PRETA;
+    }
+
+    public long ocupadas() {
+        return brancas | pretas;
+    }
+
+    public long pecasDe(Peca.Cor cor) {
+        return cor == Peca.Cor.BRANCA ? brancas : pretas;
+    }
+
+    public boolean isVazia(int casa) {
+        return ((brancas | pretas) & (1L << bit(casa))) == 0;
+    }
+
+    public boolean isBranca(int casa) {
+        return (brancas & (1L << bit(casa))) != 0;
+    }
+
+    public boolean isDama(int casa) {
+        return (damas & (1L << bit(casa))) != 0;
+    }
+
+    /**
+     * Coloca uma peça na casa, substituindo o que estiver lá.
+     */
+    public void colocar(int casa, Peca.Cor cor, boolean dama) {
+        remover(casa);
+        long bit = 1L << bit(casa);
+        if (cor == Peca.Cor.BRANCA) {
+            brancas |= bit;
+        } else {
+            pretas |= bit;
+        }
+        if (dama) {
+            damas |= bit;
+        }
+    }
+
+    public void remover(int casa) {
+        long bit = ~(1L << bit(casa));
+        brancas &= bit;
+        pretas &= bit;
+        damas &= bit;
+    }
+
+    public void limpar() {
+        brancas = 0L;
+        pretas = 0L;
+        damas = 0L;
+    }
+
+    public void copiarDe(TabuleiroBits10 outro) {
+        this.brancas = outro.brancas;
+        this.pretas = outro.pretas;
+        this.damas = outro.damas;
+        this.vezDasBrancas = outro.vezDasBrancas;
+    }
+
+    public TabuleiroBits10 copiar() {
+        TabuleiroBits10 copia = new TabuleiroBits10();
+        copia.copiarDe(this);
+        return copia;
+    }
+
+
+    /**
+     * Desloca todas as casas da máscara uma casa na direção dada.
+     * Casas que sairiam do tabuleiro são descartadas.
+     */
+    public static long deslocar(long mascara, int direcao) {
+        int deslocamento = DESLOCAMENTO[direcao];
+        return (deslocamento < 0 ? mascara >>> -deslocamento : mascara << deslocamento) & TABULEIRO;
+    }
+
+    /**
+     * Executa um movimento gerado por GeradorMovimentos10 e passa a vez.
+     * Não valida nada: o movimento deve ser legal nesta posição.
+     */
+    public void aplicar(long movimento) {
+        long bitOrigem = 1L << bit(Movimento10.origem(movimento));
+        long bitDestino = 1L << bit(Movimento10.destino(movimento));
+        long capturadas = 0L;
+        for (long c = Movimento10.capturadas(movimento); c != 0; c &= c - 1) {
+            capturadas |= 1L << bit(Long.numberOfTrailingZeros(c));
+        }
+        boolean eraDama = (damas & bitOrigem) != 0;
+
+        if (vezDasBrancas) {
+            brancas = (brancas & ~bitOrigem) | bitDestino;
+            pretas &= ~capturadas;
+        } else {
+            pretas = (pretas & ~bitOrigem) | bitDestino;
+            brancas &= ~capturadas;
+        }
+        damas &= ~(bitOrigem | capturadas);
+        if (eraDama || Movimento10.isPromocao(movimento)) {
+            damas |= bitDestino;
+        }
+        vezDasBrancas = !vezDasBrancas;
+    }
+
+
+    // --- Regras ---
+
+    /**
+     * A cor dada teria algum movimento legal se fosse a vez dela? Como em
+     * TabuleiroBits.temMovimento: uma casa vizinha livre, ou uma inimiga vizinha com a
+     * casa seguinte livre.
+     */
+    public boolean temMovimento(Peca.Cor cor) {
+        long minhas = pecasDe(cor);
+        long inimigas = (brancas | pretas) & ~minhas;
+        long vazias = TABULEIRO & ~(brancas | pretas);
+        for (int d = 0; d < 4; d++) {
+            long vizinhas = deslocar(minhas, d);
+            if ((vizinhas & vazias) != 0 || (deslocar(vizinhas & inimigas, d) & vazias) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vence quem deixou o oponente sem peças ou sem nenhum movimento legal.
+     */
+    public boolean verificarVitoria(Peca.Cor corJogadorAtual) {
+        Peca.Cor corOponente = corJogadorAtual == Peca.Cor.BRANCA ? Peca.Cor.PRETA : Peca.Cor.BRANCA;
+        return pecasDe(corOponente) == 0 || !temMovimento(corOponente);
+    }
+}
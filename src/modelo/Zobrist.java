@@ -0,0 +1,66 @@
+package modelo;
+
+/**
+ * Números aleatórios para a chave Zobrist das posições.
+ *
+ * A chave de uma posição é o XOR de um número por peça (tipo e casa) e, quando é a
+ * vez das pretas, de VEZ_DAS_PRETAS. Mover, capturar ou promover uma peça muda a chave
+ * com poucos XORs, sem percorrer o tabuleiro.
+ *
+ * Os números saem de um gerador com semente fixa, então a mesma posição tem a mesma
+ * chave em qualquer execução (pode ser guardada em arquivo).
+ */
+public final class Zobrist {
+
+    public static final int PECA_BRANCA = 0;
+    public static final int DAMA_BRANCA = 1;
+    public static final int PECA_PRETA = 2;
+    public static final int DAMA_PRETA = 3;
+
+    /** PECA[tipo][casa] */
+    static final long[][] PECA = new long[4][TabuleiroBits.CASAS];
+
+    public static final long VEZ_DAS_PRETAS;
+
+    static {
+        long estado = 0x44616D6173L; // semente fixa
+        for (int tipo = 0; tipo < 4; tipo++) {
+            for (int casa = 0; casa < TabuleiroBits.CASAS; casa++) {
+                estado += 0x9E3779B97F4A7C15L;
+                PECA[tipo][casa] = misturar(estado);
+            }
+        }
+        estado += 0x9E3779B97F4A7C15L;
+        VEZ_DAS_PRETAS = misturar(estado);
+    }
+
+    private Zobrist() {
+    }
+
+    public static long peca(int tipo, int casa) {
+        return PECA[tipo][casa];
+    }
+
+    public static int tipo(boolean branca, boolean dama) {
+        return (branca ? PECA_BRANCA : PECA_PRETA) + (dama ? 1 : 0);
+    }
+
+    /**
+     * Calcula a chave do zero, percorrendo todas as peças. Usado para conferir a chave incremental.
+     */
+    public static long calcular(TabuleiroBits posicao) {
+        long chave = posicao.isVezDasBrancas() ? 0L : VEZ_DAS_PRETAS;
+        for (int pecas = posicao.ocupadas(); pecas != 0; pecas &= pecas - 1) {
+            int casa = Integer.numberOfTrailingZeros(pecas);
+            chave ^= PECA[tipo(posicao.isBranca(casa), posicao.isDama(casa))][casa];
+        }
+        return chave;
+    }
+
+    // Finalizador do SplitMix64
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
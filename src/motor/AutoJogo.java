@@ -0,0 +1,196 @@
+package motor;
+
+import modelo.GeradorMovimentos;
+import modelo.HistoricoPosicoes;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Joga partidas em lote, o computador contra ele mesmo (busca de profundidade fixa) ou
+ * movimentos sorteados dos dois lados, em várias threads, e agrega as estatísticas em
+ * EstatisticasAutoJogo.
+ *
+ * Cada partida depende só da sua semente, derivada da semente do lote e do número da
+ * partida: a mesma semente dá as mesmas partidas e as mesmas estatísticas com qualquer
+ * número de threads, e uma partida pode ser refeita sozinha com reproduzir. Por isso a
+ * busca não usa tabela de transposição (que carregaria informação entre partidas) e é
+ * limitada por profundidade, não por tempo.
+ *
+ * A partida empata pela terceira repetição da mesma posição ou pelo limite de lances só
+ * de damas (ver HistoricoPosicoes), e a busca conhece as posições anteriores da partida.
+ *
+ * Cada thread tem o seu TabuleiroBits, gerador e busca; as threads só compartilham o
+ * contador da próxima partida e os contadores das estatísticas.
+ */
+public class AutoJogo {
+
+    public static final int EMPATE = 0;
+    public static final int VITORIA_BRANCAS = 1;
+    public static final int VITORIA_PRETAS = 2;
+
+    // Com as regras de empate as partidas terminam; o limite é só uma garantia
+    public static final int LANCES_MAXIMOS = 300;
+
+    // Lances sorteados no começo das partidas do computador, para que não sejam todas iguais
+    public static final int LANCES_ALEATORIOS = 6;
+
+    private static final TabuleiroBits INICIAL = TabuleiroBits.inicial();
+
+    private final int threads;
+    private final int profundidade;
+    private final Supplier<? extends Avaliacao> avaliacao;
+
+    /**
+     * @param threads Threads que jogam as partidas.
+     * @param profundidade Profundidade da busca de cada lance, ou 0 para sortear todos os lances.
+     * @param avaliacao Cria a avaliação de cada thread.
+     */
+    public AutoJogo(int threads, int profundidade, Supplier<? extends Avaliacao> avaliacao) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser pelo menos 1: " + threads);
+        }
+        if (profundidade < 0) {
+            throw new IllegalArgumentException("Profundidade inválida: " + profundidade);
+        }
+        this.threads = threads;
+        this.profundidade = profundidade;
+        this.avaliacao = avaliacao;
+    }
+
+    public AutoJogo(int threads, int profundidade) {
+        this(threads, profundidade, AvaliacaoMaterial::new);
+    }
+
+    /**
+     * Joga as partidas 0 a partidas - 1 do lote.
+     *
+     * @param partidas Quantas partidas jogar.
+     * @param semente Semente do lote.
+     * @return As estatísticas somadas de todas as partidas.
+     */
+    public EstatisticasAutoJogo jogar(long partidas, long semente) {
+        EstatisticasAutoJogo estatisticas = new EstatisticasAutoJogo();
+        AtomicLong proxima = new AtomicLong();
+        List<Callable<Void>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(() -> {
+                Trabalhador trabalhador = new Trabalhador();
+                EstatisticasAutoJogo.Partida partida = new EstatisticasAutoJogo.Partida();
+                long indice;
+                while ((indice = proxima.getAndIncrement()) < partidas) {
+                    trabalhador.jogarPartida(sementeDaPartida(semente, indice), partida, null);
+                    estatisticas.somar(partida);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Void> futuro : executor.invokeAll(tarefas)) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lote interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao jogar o lote", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Refaz uma partida do lote.
+     *
+     * @return Os movimentos jogados, em ordem.
+     */
+    public long[] reproduzir(long semente, long indice) {
+        long[] lances = new long[LANCES_MAXIMOS];
+        EstatisticasAutoJogo.Partida partida = new EstatisticasAutoJogo.Partida();
+        new Trabalhador().jogarPartida(sementeDaPartida(semente, indice), partida, lances);
+        return Arrays.copyOf(lances, partida.lances);
+    }
+
+    // Mistura (splitmix64) para que partidas vizinhas tenham sementes sem relação
+    static long sementeDaPartida(long semente, long indice) {
+        long z = semente + (indice + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Estado de uma thread: posição, listas e busca próprias.
+     */
+    private class Trabalhador {
+        private final GeradorMovimentos gerador = new GeradorMovimentos();
+        private final ListaMovimentos lista = new ListaMovimentos();
+        private final TabuleiroBits posicao = new TabuleiroBits();
+        private final HistoricoPosicoes posicoes = new HistoricoPosicoes();
+        private final Busca busca = profundidade > 0 ? new Busca(avaliacao.get()) : null;
+        private long aleatorio;
+
+        void jogarPartida(long semente, EstatisticasAutoJogo.Partida partida, long[] lances) {
+            aleatorio = semente;
+            partida.limpar();
+            posicao.copiarDe(INICIAL);
+            posicoes.iniciar(posicao.getChave());
+            while (partida.lances < LANCES_MAXIMOS) {
+                gerador.gerar(posicao, lista);
+                if (lista.estaVazia()) {
+                    // Sem peças ou bloqueado: perde quem tem a vez
+                    partida.resultado = posicao.isVezDasBrancas() ? VITORIA_PRETAS : VITORIA_BRANCAS;
+                    return;
+                }
+
+                long movimento;
+                if (busca == null || partida.lances < LANCES_ALEATORIOS) {
+                    movimento = lista.get(sortear(lista.tamanho()));
+                } else {
+                    movimento = busca.buscar(posicao, posicoes, profundidade, 0).getMovimento();
+                }
+
+                if (Movimento.isCaptura(movimento)) {
+                    partida.registrarCaptura(Integer.bitCount(Movimento.capturadas(movimento)));
+                }
+                if (Movimento.isPromocao(movimento)) {
+                    partida.registrarPromocao(posicao.isVezDasBrancas());
+                }
+                if (lances != null) {
+                    lances[partida.lances] = movimento;
+                }
+                boolean dama = posicao.isDama(Movimento.origem(movimento));
+                posicao.aplicar(movimento);
+                posicoes.registrar(posicao.getChave(), movimento, dama);
+                partida.lances++;
+                if (posicoes.isEmpate()) {
+                    partida.resultado = EMPATE;
+                    return;
+                }
+            }
+        }
+
+        // splitmix64; o viés do resto é desprezível para listas de até algumas dezenas
+        private int sortear(int limite) {
+            aleatorio += 0x9E3779B97F4A7C15L;
+            long z = aleatorio;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z ^= z >>> 31;
+            return (int) ((z >>> 1) % limite);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package motor;
+
+import modelo.TabuleiroBits;
+
+/**
+ * Função de avaliação usada pela busca.
+ */
+public interface Avaliacao {
+
+    /**
+     * Avalia a posição do ponto de vista de quem tem a vez: positivo é bom para quem vai jogar.
+     * Deve ficar bem abaixo de Busca.VITORIA em valor absoluto.
+     */
+    int avaliar(TabuleiroBits posicao);
+
+    /**
+     * Chamado uma vez pela Busca com o tabuleiro em que ela anda, antes de qualquer
+     * busca: uma avaliação incremental liga ali o que precisa (ver AvaliacaoPosicional).
+     */
+    default void preparar(TabuleiroBits posicao) {
+    }
+}
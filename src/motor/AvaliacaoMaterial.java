@@ -0,0 +1,37 @@
+package motor;
+
+import modelo.TabuleiroBits;
+
+/**
+ * Avaliação simples: material (peça regular e dama) e um bônus pequeno por avanço
+ * das peças regulares em direção à linha de promoção.
+ */
+public class AvaliacaoMaterial implements Avaliacao {
+
+    public static final int VALOR_PECA = 100;
+    public static final int VALOR_DAMA = 300;
+    private static final int BONUS_AVANCO = 2;
+
+    @Override
+    public int avaliar(TabuleiroBits posicao) {
+        int brancas = posicao.getBrancas();
+        int pretas = posicao.getPretas();
+        int damas = posicao.getDamas();
+
+        int pontos = VALOR_PECA * (Integer.bitCount(brancas & ~damas) - Integer.bitCount(pretas & ~damas))
+            + VALOR_DAMA * (Integer.bitCount(brancas & damas) - Integer.bitCount(pretas & damas))
+            + BONUS_AVANCO * (avanco(brancas & ~damas, true) - avanco(pretas & ~damas, false));
+
+        return posicao.isVezDasBrancas() ? pontos : -pontos;
+    }
+
+    // Soma de quantas linhas cada peça já andou desde o próprio lado
+    private static int avanco(int pecas, boolean brancas) {
+        int total = 0;
+        for (; pecas != 0; pecas &= pecas - 1) {
+            int linha = TabuleiroBits.linha(Integer.numberOfTrailingZeros(pecas));
+            total += brancas ? 7 - linha : linha;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package motor;
+
+import modelo.TabuleiroBits;
+
+/**
+ * Avaliação com material, tabelas por casa, guarda da última linha, tempo e
+ * mobilidade, com os pesos de PesosAvaliacao.
+ *
+ * Material e tabelas vêm do placar incremental do TabuleiroBits (ver
+ * TabuleiroBits.setValoresCasas): preparar liga o placar no tabuleiro da Busca, e mover,
+ * capturar e promover atualizam só as casas envolvidas. Numa folha restam a guarda (peças
+ * regulares ainda na própria última linha, que impedem a promoção do oponente), a
+ * mobilidade (casas livres vizinhas das peças) e o tempo (bônus de quem tem a vez), todos
+ * com poucas operações de máscara.
+ *
+ * Num tabuleiro sem o placar ligado, material e tabelas são calculados do zero.
+ */
+public class AvaliacaoPosicional implements Avaliacao {
+
+    private final PesosAvaliacao pesos;
+    private final int[][] valores;
+
+    public AvaliacaoPosicional(PesosAvaliacao pesos) {
+        this.pesos = pesos;
+        this.valores = pesos.valoresCasas();
+    }
+
+    public AvaliacaoPosicional() {
+        this(PesosAvaliacao.padrao());
+    }
+
+    public PesosAvaliacao getPesos() {
+        return pesos;
+    }
+
+    @Override
+    public void preparar(TabuleiroBits posicao) {
+        posicao.setValoresCasas(valores);
+    }
+
+    @Override
+    public int avaliar(TabuleiroBits posicao) {
+        int brancas = posicao.getBrancas();
+        int pretas = posicao.getPretas();
+        int damas = posicao.getDamas();
+        int vazias = ~(brancas | pretas);
+
+        int pontos = posicao.getValoresCasas() == valores ? posicao.getPlacar()
+            : TabuleiroBits.calcularPlacar(posicao, valores);
+        // A última linha das brancas é a de promoção das pretas, e vice-versa
+        pontos += pesos.getGuarda() * (Integer.bitCount(brancas & ~damas & TabuleiroBits.LINHA_PROMOCAO_PRETAS)
+            - Integer.bitCount(pretas & ~damas & TabuleiroBits.LINHA_PROMOCAO_BRANCAS));
+        pontos += pesos.getMobilidade() * (mobilidade(brancas, vazias) - mobilidade(pretas, vazias));
+
+        return (posicao.isVezDasBrancas() ? pontos : -pontos) + pesos.getTempo();
+    }
+
+    // Casas livres vizinhas das peças, contadas por direção
+    private static int mobilidade(int pecas, int vazias) {
+        int total = 0;
+        for (int direcao = 0; direcao < 4; direcao++) {
+            total += Integer.bitCount(TabuleiroBits.deslocar(pecas, direcao) & vazias);
+        }
+        return total;
+    }
+}
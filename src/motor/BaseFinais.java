@@ -0,0 +1,131 @@
+package motor;
+
+import modelo.TabuleiroBits;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base de finais: o resultado (vitória, empate ou derrota para quem tem a vez) de todas
+ * as posições com poucas peças, gerado por GeradorBaseFinais.
+ *
+ * Cada assinatura de material tem um arquivo no diretório da base, com 2 bits por
+ * posição na ordem do IndiceFinais. Os arquivos são mapeados em memória (somente
+ * leitura) na primeira consulta: sondar lê direto do mapeamento, sem cópias no heap.
+ * Pode ser consultada por várias threads ao mesmo tempo.
+ *
+ * A geração não conhece a repetição nem o limite de lances de damas (HistoricoPosicoes):
+ * uma vitória da base pode precisar de mais lances só de damas do que a partida ainda
+ * permite e acabar em empate. O empate da base vale sempre, porque as regras de empate
+ * só acrescentam empates. A Busca não confia em vitória ou derrota da base perto do
+ * limite (ver Busca.MARGEM_BASE_FINAIS). A geração também usa as capturas livres: com a
+ * lei da maioria os resultados não valem, e a Busca e o Jogo deixam de consultar a base.
+ */
+public class BaseFinais {
+
+    public static final int DESCONHECIDO = -1;
+    public static final int EMPATE = 0;
+    public static final int VITORIA = 1;
+    public static final int DERROTA = 2;
+
+    // Cabeçalho de cada arquivo: "DBF1" e a assinatura
+    static final int MAGICO = 0x44424631;
+    static final int TAMANHO_CABECALHO = 8;
+
+    private static final ByteBuffer AUSENTE = ByteBuffer.allocate(0);
+
+    private final Path diretorio;
+    private final int maximoPecas;
+    private final ConcurrentHashMap<Integer, ByteBuffer> arquivos = new ConcurrentHashMap<>();
+
+    /**
+     * @param diretorio Diretório com os arquivos .dbf.
+     */
+    public BaseFinais(Path diretorio) {
+        this(diretorio, maiorArquivo(diretorio));
+    }
+
+    // Usado pelo GeradorBaseFinais, que consulta só os arquivos já gerados
+    BaseFinais(Path diretorio, int maximoPecas) {
+        this.diretorio = diretorio;
+        this.maximoPecas = maximoPecas;
+    }
+
+    private static int maiorArquivo(Path diretorio) {
+        int maximo = 1;
+        try (DirectoryStream<Path> arquivosDbf = Files.newDirectoryStream(diretorio, "*.dbf")) {
+            for (Path arquivo : arquivosDbf) {
+                String nome = arquivo.getFileName().toString();
+                int pecas = 0;
+                for (int i = 0; i < 4; i++) {
+                    pecas += nome.charAt(i) - '0';
+                }
+                maximo = Math.max(maximo, pecas);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler a base de finais em " + diretorio, e);
+        }
+        return maximo;
+    }
+
+    /**
+     * Maior número de peças (dos dois lados) com arquivo na base.
+     */
+    public int getMaximoPecas() {
+        return maximoPecas;
+    }
+
+    /**
+     * Resultado da posição para quem tem a vez.
+     *
+     * @return VITORIA, EMPATE, DERROTA, ou DESCONHECIDO se a base não tem o material.
+     */
+    public int sondar(TabuleiroBits posicao) {
+        int minhas = posicao.isVezDasBrancas() ? posicao.getBrancas() : posicao.getPretas();
+        if (minhas == 0) {
+            return DERROTA;
+        }
+        if (minhas == posicao.ocupadas()) {
+            return VITORIA;
+        }
+        if (Integer.bitCount(posicao.ocupadas()) > maximoPecas) {
+            return DESCONHECIDO;
+        }
+        int assinatura = IndiceFinais.assinatura(posicao);
+        ByteBuffer valores = arquivos.computeIfAbsent(assinatura, this::mapear);
+        if (valores == AUSENTE) {
+            return DESCONHECIDO;
+        }
+        return ler(valores, TAMANHO_CABECALHO, IndiceFinais.indice(posicao));
+    }
+
+    static int ler(ByteBuffer valores, int inicio, long indice) {
+        int b = valores.get(inicio + (int) (indice >>> 2));
+        return (b >>> (2 * (int) (indice & 3))) & 3;
+    }
+
+    private ByteBuffer mapear(int assinatura) {
+        Path arquivo = diretorio.resolve(IndiceFinais.nomeArquivo(assinatura));
+        if (!Files.exists(arquivo)) {
+            return AUSENTE;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            // O mapeamento continua válido depois de fechar o canal
+            MappedByteBuffer mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            long esperado = TAMANHO_CABECALHO + (IndiceFinais.tamanho(assinatura) + 3) / 4;
+            if (canal.size() != esperado || mapeado.getInt(0) != MAGICO || mapeado.getInt(4) != assinatura) {
+                throw new IllegalStateException("Arquivo da base de finais inválido: " + arquivo);
+            }
+            return mapeado;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível mapear " + arquivo, e);
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package motor;
+
+import modelo.GeradorMovimentos;
+import modelo.HistoricoPosicoes;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+import util.Metricas;
+import java.util.Arrays;
+
+/**
+ * Busca negamax com poda alfa-beta e aprofundamento iterativo sobre TabuleiroBits.
+ *
+ * Cada iteração começa pela variante principal da anterior. Se o tempo acabar no meio
+ * de uma iteração, vale o resultado da última iteração completa. A árvore é percorrida
+ * em um único tabuleiro com fazerMovimento/desfazerMovimento, e cada ply tem a sua
+ * lista de movimentos, alocada uma vez; a busca não aloca por nó.
+ *
+ * Ordem dos movimentos em cada nó: o da variante principal anterior (ou o da tabela),
+ * depois as capturas pelo material ganho, os dois killers do ply (movimentos simples
+ * que já causaram corte em nós irmãos) e os demais pela tabela de histórico, indexada
+ * por cor, origem e destino. Killers e histórico são arrays primitivos, zerados a cada
+ * busca para que o resultado dependa só da posição.
+ *
+ * Na profundidade zero a busca só para em posição quieta: se quem tem a vez tem
+ * captura (obrigatória), a quiescência segue as sequências de captura até não haver
+ * mais nenhuma, sem avaliar no meio de uma troca. Como cada captura tira peças do
+ * tabuleiro, essa extensão é sempre curta. Os nós dela são contados também à parte
+ * (getNosQuiescencia).
+ *
+ * Ficar sem movimentos (sem peças ou bloqueado) é derrota. Voltar a uma posição do
+ * caminho desde a raiz, ou da partida antes dela (ver buscar com HistoricoPosicoes),
+ * vale zero, como o limite de lances só de damas: para a busca, uma repetição já é o
+ * empate que o adversário pode forçar. A pilha de posições é atualizada a cada lance
+ * da árvore; a procura volta só até a última captura ou promoção.
+ *
+ * Com uma TabelaTransposicao, posições já buscadas com profundidade suficiente (por
+ * outra ordem de movimentos) são resolvidas pela tabela, e o melhor movimento gravado
+ * é tentado primeiro. A tabela pode ser compartilhada entre várias Buscas.
+ *
+ * Com uma BaseFinais, posições com poucas peças têm o resultado exato da base: vitória
+ * e derrota valem VITORIA_BASE (somada à avaliação, para a busca ainda preferir as
+ * posições que progridem) e empate vale zero. A base ignora o limite de lances de damas,
+ * então a menos de MARGEM_BASE_FINAIS lances do limite só o empate da base é usado.
+ * Com a lei da maioria a base não é consultada: ela foi gerada com as capturas livres.
+ */
+public class Busca {
+
+    public static final int INFINITO = 1_000_000;
+    public static final int VITORIA = 100_000;
+    public static final int PLY_MAXIMO = 128;
+    public static final int VITORIA_BASE = VITORIA / 2;
+
+    /**
+     * Lances só de damas que devem faltar para o limite para a busca aceitar vitória ou
+     * derrota da BaseFinais; mais perto disso a posição é buscada normalmente.
+     */
+    public static final int MARGEM_BASE_FINAIS = HistoricoPosicoes.LANCES_DE_DAMAS_PADRAO / 2;
+
+    // Verifica o relógio a cada 1024 nós
+    private static final long MASCARA_RELOGIO = 1023;
+
+    // Notas da ordenação: cada faixa fica acima de tudo o que pode vir depois dela
+    private static final int NOTA_PRIMEIRO = Integer.MAX_VALUE;
+    private static final int NOTA_CAPTURA = 1 << 30;
+    private static final int NOTA_KILLER = 1 << 29;
+    // Ao passar disso o histórico inteiro é dividido por dois
+    private static final int LIMITE_HISTORICO = 1 << 20;
+
+    private final Avaliacao avaliacao;
+    private final TabelaTransposicao tabela;
+    private BaseFinais baseFinais;
+    private final GeradorMovimentos gerador = new GeradorMovimentos();
+    private final TabuleiroBits posicao = new TabuleiroBits();
+    private final ListaMovimentos[] listas = new ListaMovimentos[PLY_MAXIMO + 1];
+
+    // Variante principal triangular: pv[ply] guarda a melhor linha a partir daquele ply
+    private final long[][] pv = new long[PLY_MAXIMO + 1][PLY_MAXIMO + 1];
+    private final int[] tamanhoPv = new int[PLY_MAXIMO + 1];
+    private long[] pvAnterior = new long[0];
+
+    // Ordenação: nota de cada movimento da lista do ply e a ordem de visita (índices na lista)
+    private final int[][] notas = new int[PLY_MAXIMO + 1][];
+    private final int[][] ordem = new int[PLY_MAXIMO + 1][];
+    private final long[][] killers = new long[PLY_MAXIMO + 1][2];
+    // historico[cor * 1024 + origem * 32 + destino]
+    private final int[] historico = new int[2 * TabuleiroBits.CASAS * TabuleiroBits.CASAS];
+    // Desligado, a ordem é só a variante principal e depois a ordem gerada (para medir)
+    boolean heuristicasOrdenacao = true;
+    // Desligada, a profundidade zero avalia direto, mesmo no meio de capturas (para medir)
+    boolean quiescencia = true;
+    // Desligada, repetições e o limite de lances de damas não empatam (para medir)
+    boolean deteccaoEmpates = true;
+
+    // Posições da partida até a raiz e do caminho da busca desde ela
+    private final HistoricoPosicoes posicoes = new HistoricoPosicoes();
+
+    private long nos;
+    private long nosQuiescencia;
+    // Somados às Metricas no fim da busca, para não tocar contadores compartilhados por nó
+    private long sondagens;
+    private long acertos;
+    private long prazoNanos;
+    private boolean interrompida;
+    // Pedido de parada vindo de outra thread (ver BuscaParalela); lido junto com o relógio
+    private volatile boolean pararSolicitado;
+
+    /**
+     * @param tabela Tabela de transposição, ou null para buscar sem tabela.
+     */
+    public Busca(Avaliacao avaliacao, TabelaTransposicao tabela) {
+        this.avaliacao = avaliacao;
+        this.tabela = tabela;
+        avaliacao.preparar(posicao);
+        for (int i = 0; i <= PLY_MAXIMO; i++) {
+            listas[i] = new ListaMovimentos();
+            notas[i] = new int[64];
+            ordem[i] = new int[64];
+        }
+    }
+
+    public Busca(Avaliacao avaliacao) {
+        this(avaliacao, null);
+    }
+
+    public Busca() {
+        this(new AvaliacaoMaterial());
+    }
+
+    /**
+     * Busca o melhor movimento para quem tem a vez.
+     *
+     * @param raiz A posição a ser analisada (não é alterada).
+     * @param profundidadeMaxima Profundidade da última iteração.
+     * @param tempoMs Tempo máximo em milissegundos; 0 para sem limite.
+     * @return O resultado da última iteração completa.
+     */
+    public ResultadoBusca buscar(TabuleiroBits raiz, int profundidadeMaxima, long tempoMs) {
+        return buscar(raiz, null, profundidadeMaxima, tempoMs);
+    }
+
+    /**
+     * Como buscar(raiz, profundidadeMaxima, tempoMs), contando as posições da partida
+     * que levaram à raiz para as repetições e o limite de lances de damas.
+     *
+     * @param partida As posições da partida, terminando na raiz (não é alterada), ou null.
+     */
+    public ResultadoBusca buscar(TabuleiroBits raiz, HistoricoPosicoes partida, int profundidadeMaxima, long tempoMs) {
+        pararSolicitado = false;
+        if (tabela != null) {
+            tabela.novaBusca();
+        }
+        return buscar(raiz, partida, 1, profundidadeMaxima, tempoMs);
+    }
+
+    /**
+     * Como buscar(raiz, partida, profundidadeMaxima, tempoMs), começando o aprofundamento
+     * em profundidadeInicial. Não começa uma nova geração da tabela nem limpa um pedido
+     * de parada: na BuscaParalela isso é feito uma vez, antes de soltar as threads.
+     */
+    ResultadoBusca buscar(TabuleiroBits raiz, HistoricoPosicoes partida, int profundidadeInicial, int profundidadeMaxima,
+            long tempoMs) {
+        long inicio = System.nanoTime();
+        // Um histórico que não termina na raiz não é desta posição: vale só a raiz
+        if (partida != null && partida.getChaveAtual() == raiz.getChave()) {
+            posicoes.copiarDe(partida);
+        } else {
+            posicoes.iniciar(raiz.getChave());
+        }
+        sondagens = 0;
+        acertos = 0;
+        for (long[] killersDoPly : killers) {
+            Arrays.fill(killersDoPly, 0L);
+        }
+        Arrays.fill(historico, 0);
+        ResultadoBusca resultado = aprofundar(raiz, profundidadeInicial, profundidadeMaxima, tempoMs, inicio);
+        if (Metricas.ATIVAS) {
+            Metricas.registrarBusca(nos, System.nanoTime() - inicio, sondagens, acertos);
+        }
+        return resultado;
+    }
+
+    private ResultadoBusca aprofundar(TabuleiroBits raiz, int profundidadeInicial, int profundidadeMaxima, long tempoMs,
+            long inicio) {
+        prazoNanos = tempoMs > 0 ? inicio + tempoMs * 1_000_000L : Long.MAX_VALUE;
+        interrompida = false;
+        nos = 0;
+        nosQuiescencia = 0;
+        pvAnterior = new long[0];
+        profundidadeMaxima = Math.min(profundidadeMaxima, PLY_MAXIMO - 1);
+
+        posicao.copiarDe(raiz);
+        ListaMovimentos movimentosRaiz = listas[0];
+        gerador.gerar(posicao, movimentosRaiz);
+        if (movimentosRaiz.estaVazia()) {
+            return new ResultadoBusca(0L, 0L, -VITORIA, 0, 0, System.nanoTime() - inicio, new long[0]);
+        }
+
+        // Sem escolha: não há o que buscar
+        ResultadoBusca resultado = new ResultadoBusca(movimentosRaiz.get(0), movimentosRaiz.getCaminho(0),
+            0, 0, 0, 0, new long[] {movimentosRaiz.get(0)});
+        if (movimentosRaiz.tamanho() == 1) {
+            return resultado;
+        }
+
+        for (int profundidade = Math.min(profundidadeInicial, profundidadeMaxima); profundidade <= profundidadeMaxima; profundidade++) {
+            EventoIteracaoBusca evento = new EventoIteracaoBusca();
+            evento.begin();
+            long nosAntes = nos;
+            long nosQuiescenciaAntes = nosQuiescencia;
+            int pontuacao = negamax(0, profundidade, -INFINITO, INFINITO);
+            evento.profundidade = profundidade;
+            evento.nos = nos - nosAntes;
+            evento.nosQuiescencia = nosQuiescencia - nosQuiescenciaAntes;
+            evento.pontuacao = pontuacao;
+            evento.interrompida = interrompida;
+            evento.commit();
+            if (interrompida) {
+                break;
+            }
+            pvAnterior = Arrays.copyOf(pv[0], tamanhoPv[0]);
+            int indice = indiceNaRaiz(pvAnterior[0]);
+            resultado = new ResultadoBusca(pvAnterior[0], movimentosRaiz.getCaminho(indice), pontuacao, profundidade,
+                nos, System.nanoTime() - inicio, pvAnterior);
+
+            // Vitória forçada encontrada: aprofundar não muda nada
+            if (Math.abs(pontuacao) > VITORIA - PLY_MAXIMO) {
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    public long getNos() {
+        return nos;
+    }
+
+    /**
+     * Nós da última busca visitados pela quiescência, além da profundidade pedida
+     * (também contados em getNos).
+     */
+    public long getNosQuiescencia() {
+        return nosQuiescencia;
+    }
+
+    /**
+     * Pede que a busca em andamento (em outra thread) termine assim que possível.
+     */
+    public void parar() {
+        pararSolicitado = true;
+    }
+
+    /**
+     * @param baseFinais Base de finais consultada durante a busca, ou null.
+     */
+    public void setBaseFinais(BaseFinais baseFinais) {
+        this.baseFinais = baseFinais;
+    }
+
+    /**
+     * Joga pela lei da maioria (ver GeradorMovimentos.setLeiDaMaioria). Com uma tabela
+     * compartilhada, todas as Buscas devem usar as mesmas regras. A BaseFinais é gerada
+     * com as capturas livres, então com a lei da maioria ela não é consultada.
+     */
+    public void setLeiDaMaioria(boolean leiDaMaioria) {
+        gerador.setLeiDaMaioria(leiDaMaioria);
+    }
+
+    void rearmar() {
+        pararSolicitado = false;
+    }
+
+    private int negamax(int ply, int profundidade, int alfa, int beta) {
+        tamanhoPv[ply] = 0;
+        nos++;
+        if ((nos & MASCARA_RELOGIO) == 0 && (pararSolicitado || System.nanoTime() > prazoNanos)) {
+            interrompida = true;
+        }
+        if (interrompida) {
+            return 0;
+        }
+
+        if (deteccaoEmpates && ply > 0 && (posicoes.isRepetida() || posicoes.isLimiteLancesDeDamas())) {
+            return 0;
+        }
+
+        if (baseFinais != null && ply > 0 && !gerador.isLeiDaMaioria() && Integer.bitCount(posicao.ocupadas()) <= baseFinais.getMaximoPecas()) {
+            int resultado = baseFinais.sondar(posicao);
+            boolean longeDoLimite = !deteccaoEmpates || posicoes.lancesDeDamasRestantes() >= MARGEM_BASE_FINAIS;
+            if (resultado == BaseFinais.VITORIA && longeDoLimite) {
+                return VITORIA_BASE + avaliacao.avaliar(posicao);
+            }
+            if (resultado == BaseFinais.DERROTA && longeDoLimite) {
+                return -VITORIA_BASE + avaliacao.avaliar(posicao);
+            }
+            if (resultado == BaseFinais.EMPATE) {
+                return 0;
+            }
+        }
+
+        if (profundidade == 0 || ply >= PLY_MAXIMO) {
+            return quiescencia(ply, alfa, beta);
+        }
+
+        int movimentoTabela = 0;
+        if (tabela != null) {
+            long dados = tabela.sondar(posicao.getChave());
+            sondagens++;
+            if (dados != TabelaTransposicao.AUSENTE) {
+                acertos++;
+                movimentoTabela = TabelaTransposicao.movimentoCompactado(dados);
+                // Na raiz é preciso o movimento, não só a pontuação
+                if (ply > 0 && TabelaTransposicao.profundidade(dados) >= profundidade) {
+                    int pontuacao = daTabela(TabelaTransposicao.pontuacao(dados), ply);
+                    int limite = TabelaTransposicao.limite(dados);
+                    if (limite == TabelaTransposicao.EXATO
+                            || (limite == TabelaTransposicao.INFERIOR && pontuacao >= beta)
+                            || (limite == TabelaTransposicao.SUPERIOR && pontuacao <= alfa)) {
+                        return pontuacao;
+                    }
+                }
+            }
+        }
+
+        ListaMovimentos lista = listas[ply];
+        if (ply > 0) {
+            gerador.gerar(posicao, lista);
+        }
+        int quantidade = lista.tamanho();
+        if (quantidade == 0) {
+            return -VITORIA + ply;
+        }
+
+        int primeiro = ply < pvAnterior.length ? indiceNaLista(lista, pvAnterior[ply]) : -1;
+        if (primeiro < 0 && movimentoTabela != 0) {
+            primeiro = indiceCompactado(lista, movimentoTabela);
+        }
+        pontuar(ply, lista, primeiro);
+        int alfaOriginal = alfa;
+        long melhorMovimento = 0;
+        int melhor = -INFINITO;
+        for (int n = 0; n < quantidade; n++) {
+            long movimento = lista.get(proximo(ply, n, quantidade));
+            boolean dama = posicao.isDama(Movimento.origem(movimento));
+            posicao.fazerMovimento(movimento);
+            posicoes.registrar(posicao.getChave(), movimento, dama);
+            int pontuacao = -negamax(ply + 1, profundidade - 1, -beta, -alfa);
+            posicoes.desfazer();
+            posicao.desfazerMovimento();
+            if (interrompida) {
+                return 0;
+            }
+            if (pontuacao > melhor) {
+                melhor = pontuacao;
+                melhorMovimento = movimento;
+                atualizarPv(ply, movimento);
+                if (pontuacao > alfa) {
+                    alfa = pontuacao;
+                    if (alfa >= beta) {
+                        if (!Movimento.isCaptura(movimento)) {
+                            registrarCorte(ply, profundidade, movimento);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (tabela != null) {
+            int limite = melhor <= alfaOriginal ? TabelaTransposicao.SUPERIOR
+                : melhor >= beta ? TabelaTransposicao.INFERIOR : TabelaTransposicao.EXATO;
+            tabela.gravar(posicao.getChave(), profundidade, limite, paraTabela(melhor, ply), melhorMovimento);
+        }
+        return melhor;
+    }
+
+    /**
+     * Folha da busca: avalia se a posição é quieta; senão busca só as capturas, que são
+     * obrigatórias (quem tem a vez não pode ficar com a avaliação sem capturar). Uma
+     * posição quieta sem nenhum movimento é derrota, como no negamax.
+     */
+    private int quiescencia(int ply, int alfa, int beta) {
+        int minhas = posicao.isVezDasBrancas() ? posicao.getBrancas() : posicao.getPretas();
+        if (minhas == 0) {
+            return -VITORIA + ply;
+        }
+        ListaMovimentos lista = listas[ply];
+        lista.limpar();
+        if (!quiescencia || ply >= PLY_MAXIMO || !gerador.gerarCapturas(posicao, lista)) {
+            // Sem capturas: quem também não tem movimento simples está bloqueado e perde
+            if (!posicao.temMovimento()) {
+                return -VITORIA + ply;
+            }
+            return avaliacao.avaliar(posicao);
+        }
+
+        pontuar(ply, lista, -1);
+        int quantidade = lista.tamanho();
+        int melhor = -INFINITO;
+        for (int n = 0; n < quantidade; n++) {
+            long movimento = lista.get(proximo(ply, n, quantidade));
+            nos++;
+            nosQuiescencia++;
+            if ((nos & MASCARA_RELOGIO) == 0 && (pararSolicitado || System.nanoTime() > prazoNanos)) {
+                interrompida = true;
+                return 0;
+            }
+            posicao.fazerMovimento(movimento);
+            int pontuacao = -quiescencia(ply + 1, -beta, -alfa);
+            posicao.desfazerMovimento();
+            if (interrompida) {
+                return 0;
+            }
+            if (pontuacao > melhor) {
+                melhor = pontuacao;
+                if (pontuacao > alfa) {
+                    alfa = pontuacao;
+                    if (alfa >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return melhor;
+    }
+
+    // Vitórias são gravadas contando a distância a partir da posição, não da raiz
+    private static int paraTabela(int pontuacao, int ply) {
+        if (pontuacao > VITORIA - PLY_MAXIMO) {
+            return pontuacao + ply;
+        }
+        if (pontuacao < -VITORIA + PLY_MAXIMO) {
+            return pontuacao - ply;
+        }
+        return pontuacao;
+    }
+
+    private static int daTabela(int pontuacao, int ply) {
+        if (pontuacao > VITORIA - PLY_MAXIMO) {
+            return pontuacao - ply;
+        }
+        if (pontuacao < -VITORIA + PLY_MAXIMO) {
+            return pontuacao + ply;
+        }
+        return pontuacao;
+    }
+
+    /**
+     * Dá uma nota a cada movimento da lista do ply; proximo visita em ordem decrescente.
+     * Com captura obrigatória a lista é toda de capturas, ordenadas pelo material ganho.
+     */
+    private void pontuar(int ply, ListaMovimentos lista, int primeiro) {
+        int quantidade = lista.tamanho();
+        if (notas[ply].length < quantidade) {
+            notas[ply] = new int[quantidade];
+            ordem[ply] = new int[quantidade];
+        }
+        int[] nota = notas[ply];
+        int[] indices = ordem[ply];
+        int base = posicao.isVezDasBrancas() ? 0 : TabuleiroBits.CASAS * TabuleiroBits.CASAS;
+        int damas = posicao.getDamas();
+        for (int i = 0; i < quantidade; i++) {
+            indices[i] = i;
+            long movimento = lista.get(i);
+            if (i == primeiro) {
+                nota[i] = NOTA_PRIMEIRO;
+            } else if (!heuristicasOrdenacao) {
+                nota[i] = -i;
+            } else if (Movimento.isCaptura(movimento)) {
+                int capturadas = Movimento.capturadas(movimento);
+                nota[i] = NOTA_CAPTURA + AvaliacaoMaterial.VALOR_DAMA * Integer.bitCount(capturadas & damas)
+                    + AvaliacaoMaterial.VALOR_PECA * Integer.bitCount(capturadas & ~damas)
+                    + (Movimento.isPromocao(movimento) ? AvaliacaoMaterial.VALOR_DAMA - AvaliacaoMaterial.VALOR_PECA : 0);
+            } else if (movimento == killers[ply][0]) {
+                nota[i] = NOTA_KILLER + 1;
+            } else if (movimento == killers[ply][1]) {
+                nota[i] = NOTA_KILLER;
+            } else {
+                nota[i] = historico[base + Movimento.origem(movimento) * TabuleiroBits.CASAS + Movimento.destino(movimento)];
+            }
+        }
+    }
+
+    /**
+     * Índice na lista do n-ésimo movimento a visitar: seleção do maior entre os que
+     * faltam. Só ordena o que é visitado, e um corte cedo poupa o resto.
+     */
+    private int proximo(int ply, int n, int quantidade) {
+        int[] nota = notas[ply];
+        int[] indices = ordem[ply];
+        int melhor = n;
+        for (int j = n + 1; j < quantidade; j++) {
+            if (nota[indices[j]] > nota[indices[melhor]]) {
+                melhor = j;
+            }
+        }
+        int indice = indices[melhor];
+        indices[melhor] = indices[n];
+        indices[n] = indice;
+        return indice;
+    }
+
+    // Movimento simples que causou corte: vira killer do ply e ganha histórico
+    private void registrarCorte(int ply, int profundidade, long movimento) {
+        if (killers[ply][0] != movimento) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = movimento;
+        }
+        int i = (posicao.isVezDasBrancas() ? 0 : TabuleiroBits.CASAS * TabuleiroBits.CASAS)
+            + Movimento.origem(movimento) * TabuleiroBits.CASAS + Movimento.destino(movimento);
+        historico[i] += profundidade * profundidade;
+        if (historico[i] > LIMITE_HISTORICO) {
+            for (int j = 0; j < historico.length; j++) {
+                historico[j] >>= 1;
+            }
+        }
+    }
+
+    private void atualizarPv(int ply, long movimento) {
+        pv[ply][0] = movimento;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, tamanhoPv[ply + 1]);
+        tamanhoPv[ply] = tamanhoPv[ply + 1] + 1;
+    }
+
+    private static int indiceNaLista(ListaMovimentos lista, long movimento) {
+        for (int i = 0; i < lista.tamanho(); i++) {
+            if (lista.get(i) == movimento) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indiceCompactado(ListaMovimentos lista, int compactado) {
+        for (int i = 0; i < lista.tamanho(); i++) {
+            if (TabelaTransposicao.compactar(lista.get(i)) == compactado) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indiceNaRaiz(long movimento) {
+        return Math.max(0, indiceNaLista(listas[0], movimento));
+    }
+}
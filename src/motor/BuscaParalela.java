@@ -0,0 +1,130 @@
+package motor;
+
+import modelo.HistoricoPosicoes;
+import modelo.TabuleiroBits;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Busca em várias threads sobre uma TabelaTransposicao compartilhada ("Lazy SMP").
+ *
+ * A thread que chama buscar faz a busca principal, que dá o resultado. As threads
+ * auxiliares buscam a mesma posição ao mesmo tempo, metade delas uma profundidade à
+ * frente, e só se comunicam pela tabela: o que uma já resolveu a outra encontra lá.
+ * Cada thread tem a sua Busca, com as suas próprias cópias da posição e listas de
+ * movimentos; nenhuma compartilha o Tabuleiro nem as Casas.
+ */
+public class BuscaParalela implements AutoCloseable {
+
+    private final TabelaTransposicao tabela;
+    private final Busca[] buscas;
+    private final ExecutorService auxiliares;
+
+    /**
+     * @param avaliacoes Cria uma Avaliacao por thread.
+     * @param tabela Tabela compartilhada pelas threads.
+     * @param threads Número total de threads, contando a que chama buscar.
+     */
+    public BuscaParalela(Supplier<? extends Avaliacao> avaliacoes, TabelaTransposicao tabela, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser pelo menos 1: " + threads);
+        }
+        this.tabela = tabela;
+        this.buscas = new Busca[threads];
+        for (int i = 0; i < threads; i++) {
+            buscas[i] = new Busca(avaliacoes.get(), tabela);
+        }
+        this.auxiliares = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, tarefa -> {
+            Thread thread = new Thread(tarefa, "busca-auxiliar");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Busca o melhor movimento usando todas as threads.
+     *
+     * @return O resultado da busca principal, com os nós somados de todas as threads.
+     */
+    public ResultadoBusca buscar(TabuleiroBits raiz, int profundidadeMaxima, long tempoMs) {
+        return buscar(raiz, null, profundidadeMaxima, tempoMs);
+    }
+
+    /**
+     * Como buscar(raiz, profundidadeMaxima, tempoMs), com as posições da partida até a
+     * raiz (ver Busca.buscar). Cada thread copia a pilha; ela não é alterada.
+     */
+    public ResultadoBusca buscar(TabuleiroBits raiz, HistoricoPosicoes partida, int profundidadeMaxima, long tempoMs) {
+        tabela.novaBusca();
+        for (Busca busca : buscas) {
+            busca.rearmar();
+        }
+
+        List<Future<ResultadoBusca>> futuros = new ArrayList<>();
+        for (int i = 1; i < buscas.length; i++) {
+            Busca auxiliar = buscas[i];
+            int profundidadeInicial = 1 + (i & 1);
+            futuros.add(auxiliares.submit(() -> auxiliar.buscar(raiz, partida, profundidadeInicial, profundidadeMaxima, tempoMs)));
+        }
+
+        ResultadoBusca principal;
+        try {
+            principal = buscas[0].buscar(raiz, partida, 1, profundidadeMaxima, tempoMs);
+        } finally {
+            for (int i = 1; i < buscas.length; i++) {
+                buscas[i].parar();
+            }
+        }
+
+        // getNos conta também a iteração que ficou pela metade
+        long nos = buscas[0].getNos();
+        for (int i = 0; i < futuros.size(); i++) {
+            try {
+                futuros.get(i).get();
+                nos += buscas[i + 1].getNos();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Busca interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha em uma thread auxiliar da busca", e.getCause());
+            }
+        }
+        return new ResultadoBusca(principal.getMovimento(), principal.getCaminho(), principal.getPontuacao(),
+            principal.getProfundidade(), nos, principal.getTempoNanos(), principal.getVariantePrincipal());
+    }
+
+    /**
+     * @param baseFinais Base de finais consultada por todas as threads, ou null.
+     */
+    public void setBaseFinais(BaseFinais baseFinais) {
+        for (Busca busca : buscas) {
+            busca.setBaseFinais(baseFinais);
+        }
+    }
+
+    public void setLeiDaMaioria(boolean leiDaMaioria) {
+        for (Busca busca : buscas) {
+            busca.setLeiDaMaioria(leiDaMaioria);
+        }
+    }
+
+    public int getThreads() {
+        return buscas.length;
+    }
+
+    public TabelaTransposicao getTabela() {
+        return tabela;
+    }
+
+    @Override
+    public void close() {
+        if (auxiliares != null) {
+            auxiliares.shutdownNow();
+        }
+    }
+}
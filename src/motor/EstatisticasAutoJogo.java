@@ -0,0 +1,188 @@
+package motor;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores agregados das partidas do AutoJogo. Cada thread soma os números de uma
+ * partida inteira de uma vez (LongAdder, sem locks); as somas não dependem da ordem em
+ * que as partidas terminam, então a mesma semente dá sempre as mesmas estatísticas.
+ *
+ * Histogramas: comprimento das partidas e lance das promoções em faixas de
+ * FAIXA_LANCES lances (a última faixa acumula o resto), e tamanho das capturas pelo
+ * número de peças capturadas em um movimento.
+ */
+public class EstatisticasAutoJogo {
+
+    public static final int FAIXA_LANCES = 10;
+    public static final int FAIXAS = 30;
+    public static final int MAXIMO_CAPTURADAS = 12;
+
+    private final LongAdder partidas = new LongAdder();
+    private final LongAdder vitoriasBrancas = new LongAdder();
+    private final LongAdder vitoriasPretas = new LongAdder();
+    private final LongAdder empates = new LongAdder();
+    private final LongAdder lances = new LongAdder();
+    private final LongAdder promocoesBrancas = new LongAdder();
+    private final LongAdder promocoesPretas = new LongAdder();
+    private final LongAdder[] comprimentos = criar(FAIXAS);
+    private final LongAdder[] capturas = criar(MAXIMO_CAPTURADAS + 1);
+    private final LongAdder[] lancesPromocao = criar(FAIXAS);
+
+    private static LongAdder[] criar(int tamanho) {
+        LongAdder[] contadores = new LongAdder[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            contadores[i] = new LongAdder();
+        }
+        return contadores;
+    }
+
+    /**
+     * Números de uma partida, acumulados pela thread que a joga e somados no fim.
+     */
+    static class Partida {
+        int resultado;
+        int lances;
+        int promocoesBrancas;
+        int promocoesPretas;
+        final int[] capturas = new int[MAXIMO_CAPTURADAS + 1];
+        final int[] lancesPromocao = new int[FAIXAS];
+
+        void limpar() {
+            resultado = AutoJogo.EMPATE;
+            lances = 0;
+            promocoesBrancas = 0;
+            promocoesPretas = 0;
+            Arrays.fill(capturas, 0);
+            Arrays.fill(lancesPromocao, 0);
+        }
+
+        void registrarCaptura(int capturadas) {
+            capturas[Math.min(capturadas, MAXIMO_CAPTURADAS)]++;
+        }
+
+        void registrarPromocao(boolean brancas) {
+            if (brancas) {
+                promocoesBrancas++;
+            } else {
+                promocoesPretas++;
+            }
+            lancesPromocao[faixa(lances)]++;
+        }
+    }
+
+    static int faixa(int lances) {
+        return Math.min(lances / FAIXA_LANCES, FAIXAS - 1);
+    }
+
+    void somar(Partida partida) {
+        partidas.increment();
+        if (partida.resultado == AutoJogo.VITORIA_BRANCAS) {
+            vitoriasBrancas.increment();
+        } else if (partida.resultado == AutoJogo.VITORIA_PRETAS) {
+            vitoriasPretas.increment();
+        } else {
+            empates.increment();
+        }
+        lances.add(partida.lances);
+        comprimentos[faixa(partida.lances)].increment();
+        promocoesBrancas.add(partida.promocoesBrancas);
+        promocoesPretas.add(partida.promocoesPretas);
+        for (int i = 1; i <= MAXIMO_CAPTURADAS; i++) {
+            if (partida.capturas[i] != 0) {
+                capturas[i].add(partida.capturas[i]);
+            }
+        }
+        for (int i = 0; i < FAIXAS; i++) {
+            if (partida.lancesPromocao[i] != 0) {
+                lancesPromocao[i].add(partida.lancesPromocao[i]);
+            }
+        }
+    }
+
+    public long getPartidas() {
+        return partidas.sum();
+    }
+
+    public long getVitoriasBrancas() {
+        return vitoriasBrancas.sum();
+    }
+
+    public long getVitoriasPretas() {
+        return vitoriasPretas.sum();
+    }
+
+    public long getEmpates() {
+        return empates.sum();
+    }
+
+    public long getLances() {
+        return lances.sum();
+    }
+
+    public long getPromocoesBrancas() {
+        return promocoesBrancas.sum();
+    }
+
+    public long getPromocoesPretas() {
+        return promocoesPretas.sum();
+    }
+
+    /**
+     * Partidas com comprimento na faixa [faixa * FAIXA_LANCES, (faixa + 1) * FAIXA_LANCES).
+     */
+    public long getComprimentos(int faixa) {
+        return comprimentos[faixa].sum();
+    }
+
+    /**
+     * Movimentos que capturaram exatamente essa quantidade de peças (a última posição
+     * acumula MAXIMO_CAPTURADAS ou mais).
+     */
+    public long getCapturas(int capturadas) {
+        return capturas[capturadas].sum();
+    }
+
+    /**
+     * Promoções feitas no lance da faixa, dos dois lados.
+     */
+    public long getLancesPromocao(int faixa) {
+        return lancesPromocao[faixa].sum();
+    }
+
+    /**
+     * Relatório de várias linhas com taxas, médias e histogramas.
+     */
+    public String relatorio() {
+        long total = Math.max(1, getPartidas());
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("Partidas: %d (brancas %.1f%%, pretas %.1f%%, empates %.1f%%)%n", getPartidas(),
+            100.0 * getVitoriasBrancas() / total, 100.0 * getVitoriasPretas() / total, 100.0 * getEmpates() / total));
+        texto.append(String.format("Lances por partida: %.1f%n", (double) getLances() / total));
+        texto.append(String.format("Promoções por partida: brancas %.2f, pretas %.2f%n",
+            (double) getPromocoesBrancas() / total, (double) getPromocoesPretas() / total));
+        texto.append("Comprimento (lances):");
+        histograma(texto, comprimentos);
+        texto.append("Lance das promoções:");
+        histograma(texto, lancesPromocao);
+        texto.append("Peças por captura:");
+        for (int i = 1; i <= MAXIMO_CAPTURADAS; i++) {
+            long quantidade = capturas[i].sum();
+            if (quantidade != 0) {
+                texto.append(' ').append(i).append(i == MAXIMO_CAPTURADAS ? "+" : "").append('=').append(quantidade);
+            }
+        }
+        return texto.append(System.lineSeparator()).toString();
+    }
+
+    private static void histograma(StringBuilder texto, LongAdder[] faixas) {
+        for (int i = 0; i < faixas.length; i++) {
+            long quantidade = faixas[i].sum();
+            if (quantidade != 0) {
+                texto.append(' ').append(i * FAIXA_LANCES).append(i == faixas.length - 1 ? "+" : "")
+                    .append('=').append(quantidade);
+            }
+        }
+        texto.append(System.lineSeparator());
+    }
+}
@@ -0,0 +1,33 @@
+package motor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de cada iteração do aprofundamento iterativo da Busca: a profundidade, os
+ * nós visitados só nessa iteração (e quantos deles na quiescência) e a pontuação. Uma
+ * iteração interrompida pelo tempo também é registrada, marcada como tal.
+ */
+@Name("damas.IteracaoBusca")
+@Label("Iteração da busca")
+@Category({"Damas", "Motor"})
+@Description("Uma profundidade do aprofundamento iterativo")
+class EventoIteracaoBusca extends jdk.jfr.Event {
+
+    @Label("Profundidade")
+    int profundidade;
+
+    @Label("Nós")
+    long nos;
+
+    @Label("Nós da quiescência")
+    long nosQuiescencia;
+
+    @Label("Pontuação")
+    int pontuacao;
+
+    @Label("Interrompida")
+    boolean interrompida;
+}
@@ -0,0 +1,313 @@
+package motor;
+
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.TabuleiroBits;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Gera a base de finais (BaseFinais) com todas as posições de até N peças.
+ *
+ * As assinaturas de material são resolvidas em ordem: menos peças primeiro e, com o
+ * mesmo número de peças, menos peças regulares primeiro. Assim toda captura e toda
+ * promoção levam a uma assinatura já gravada em disco, e só os movimentos simples sem
+ * promoção ficam dentro da assinatura que está sendo resolvida.
+ *
+ * Dentro de uma assinatura o resultado é obtido por passagens sucessivas até não mudar
+ * mais nada: uma posição é vitória se algum movimento leva a uma derrota do adversário
+ * e derrota se todos levam a vitórias dele (ou se não há movimentos). Cada passagem
+ * estende os resultados conhecidos em um lance, como na análise retrógrada; o que
+ * sobra no fim é empate. Vitórias e derrotas nunca mudam depois de marcadas, então as
+ * threads dividem as posições em blocos sem sincronização e o estado no meio da
+ * geração é sempre válido.
+ *
+ * Retomada: cada assinatura pronta vai para o seu arquivo e não é gerada de novo; a
+ * assinatura em andamento é gravada em um arquivo .parcial de tempos em tempos, de onde
+ * a geração continua se for interrompida.
+ */
+public class GeradorBaseFinais {
+
+    // Posições por bloco de trabalho; múltiplo de 4 para que cada byte tenha um só dono
+    private static final int BLOCO = 1 << 14;
+
+    /**
+     * Cada assinatura cabe em um byte[] e BaseFinais mapeia o arquivo inteiro de uma vez:
+     * com 8 peças há assinaturas acima de 2 GB; a maior de 7 peças tem cerca de 1,06 GB.
+     */
+    public static final int MAXIMO_PECAS = 7;
+
+    private final Path diretorio;
+    private final int maximoPecas;
+    private final int threads;
+    private long intervaloParcialMs = 60_000;
+    private Consumer<String> progresso = mensagem -> { };
+
+    /**
+     * @param diretorio Onde os arquivos da base são gravados.
+     * @param maximoPecas Número máximo de peças, somando os dois lados (até MAXIMO_PECAS).
+     * @param threads Threads usadas em cada passagem.
+     */
+    public GeradorBaseFinais(Path diretorio, int maximoPecas, int threads) {
+        if (maximoPecas < 2 || maximoPecas > MAXIMO_PECAS) {
+            throw new IllegalArgumentException("Número de peças deve estar entre 2 e " + MAXIMO_PECAS + ": " + maximoPecas);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads deve ser pelo menos 1: " + threads);
+        }
+        this.diretorio = diretorio;
+        this.maximoPecas = maximoPecas;
+        this.threads = threads;
+    }
+
+    /**
+     * Intervalo mínimo entre duas gravações do arquivo .parcial (0 grava a cada passagem).
+     */
+    public void setIntervaloParcialMs(long intervaloParcialMs) {
+        this.intervaloParcialMs = intervaloParcialMs;
+    }
+
+    public void setProgresso(Consumer<String> progresso) {
+        this.progresso = progresso;
+    }
+
+    /**
+     * Gera as assinaturas que ainda não têm arquivo no diretório.
+     *
+     * @return Quantas assinaturas foram resolvidas nesta execução.
+     */
+    public int gerar() throws IOException {
+        Files.createDirectories(diretorio);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            int resolvidas = 0;
+            for (int assinatura : assinaturas(maximoPecas)) {
+                if (!Files.exists(diretorio.resolve(IndiceFinais.nomeArquivo(assinatura)))) {
+                    resolver(assinatura, executor);
+                    resolvidas++;
+                }
+            }
+            return resolvidas;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Todas as assinaturas com pelo menos uma peça de cada lado e até maximoPecas peças,
+     * na ordem em que precisam ser resolvidas.
+     */
+    static List<Integer> assinaturas(int maximoPecas) {
+        List<Integer> assinaturas = new ArrayList<>();
+        for (int pb = 0; pb <= maximoPecas; pb++) {
+            for (int db = 0; pb + db <= maximoPecas; db++) {
+                for (int pp = 0; pb + db + pp <= maximoPecas; pp++) {
+                    for (int dp = 0; pb + db + pp + dp <= maximoPecas; dp++) {
+                        if (pb + db > 0 && pp + dp > 0) {
+                            assinaturas.add(IndiceFinais.assinatura(pb, db, pp, dp));
+                        }
+                    }
+                }
+            }
+        }
+        assinaturas.sort(Comparator.comparingInt(IndiceFinais::totalPecas)
+            .thenComparingInt(a -> IndiceFinais.pecasBrancas(a) + IndiceFinais.pecasPretas(a)));
+        return assinaturas;
+    }
+
+    /**
+     * Bytes do arquivo de uma assinatura (quatro posições por byte).
+     *
+     * @throws IllegalArgumentException Se a assinatura não cabe em um array.
+     */
+    static int bytesDaAssinatura(int assinatura) {
+        long bytes = (IndiceFinais.tamanho(assinatura) + 3) / 4;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Assinatura grande demais para a base: "
+                + IndiceFinais.nomeArquivo(assinatura) + " (" + bytes + " bytes)");
+        }
+        return (int) bytes;
+    }
+
+    private void resolver(int assinatura, ExecutorService executor) throws IOException {
+        String nome = IndiceFinais.nomeArquivo(assinatura);
+        Path arquivo = diretorio.resolve(nome);
+        Path parcial = diretorio.resolve(nome + ".parcial");
+        long tamanho = IndiceFinais.tamanho(assinatura);
+        byte[] valores = new byte[bytesDaAssinatura(assinatura)];
+        if (Files.exists(parcial)) {
+            ler(parcial, assinatura, valores);
+            progresso.accept(nome + ": retomando de " + parcial.getFileName());
+        }
+
+        BaseFinais anteriores = new BaseFinais(diretorio, IndiceFinais.totalPecas(assinatura));
+        long ultimaGravacao = System.currentTimeMillis();
+        for (int passagem = 1; ; passagem++) {
+            long alteradas = passagem(assinatura, valores, anteriores, executor);
+            progresso.accept(String.format("%s: passagem %d, %d de %d posições resolvidas", nome, passagem,
+                alteradas, tamanho));
+            if (alteradas == 0) {
+                break;
+            }
+            if (System.currentTimeMillis() - ultimaGravacao >= intervaloParcialMs) {
+                gravar(parcial, assinatura, valores);
+                ultimaGravacao = System.currentTimeMillis();
+            }
+        }
+        gravar(arquivo, assinatura, valores);
+        Files.deleteIfExists(parcial);
+    }
+
+    // Uma passagem sobre todas as posições ainda não resolvidas; devolve quantas foram resolvidas
+    private long passagem(int assinatura, byte[] valores, BaseFinais anteriores, ExecutorService executor)
+            throws IOException {
+        long tamanho = IndiceFinais.tamanho(assinatura);
+        AtomicLong proximoBloco = new AtomicLong();
+        AtomicLong alteradas = new AtomicLong();
+        List<Callable<Void>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(() -> {
+                Trabalhador trabalhador = new Trabalhador(assinatura, valores, anteriores);
+                long inicio;
+                while ((inicio = proximoBloco.getAndIncrement() * BLOCO) < tamanho) {
+                    alteradas.addAndGet(trabalhador.resolverBloco(inicio, Math.min(tamanho, inicio + BLOCO)));
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> futuro : executor.invokeAll(tarefas)) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Geração interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao gerar " + IndiceFinais.nomeArquivo(assinatura), e.getCause());
+        }
+        return alteradas.get();
+    }
+
+    /**
+     * Estado de uma thread durante uma passagem: posições e listas próprias.
+     */
+    private static class Trabalhador {
+        private final int assinatura;
+        private final byte[] valores;
+        private final ByteBuffer leitura;
+        private final BaseFinais anteriores;
+        private final GeradorMovimentos gerador = new GeradorMovimentos();
+        private final ListaMovimentos lista = new ListaMovimentos();
+        private final TabuleiroBits posicao = new TabuleiroBits();
+        private final TabuleiroBits filho = new TabuleiroBits();
+
+        Trabalhador(int assinatura, byte[] valores, BaseFinais anteriores) {
+            this.assinatura = assinatura;
+            this.valores = valores;
+            this.leitura = ByteBuffer.wrap(valores);
+            this.anteriores = anteriores;
+        }
+
+        long resolverBloco(long inicio, long fim) {
+            long alteradas = 0;
+            for (long indice = inicio; indice < fim; indice++) {
+                if (BaseFinais.ler(leitura, 0, indice) != BaseFinais.EMPATE) {
+                    continue;
+                }
+                int resultado = resolver(indice);
+                if (resultado != BaseFinais.EMPATE) {
+                    int i = (int) (indice >>> 2);
+                    valores[i] = (byte) (valores[i] | (resultado << (2 * (int) (indice & 3))));
+                    alteradas++;
+                }
+            }
+            return alteradas;
+        }
+
+        // VITORIA ou DERROTA se já dá para saber com o que está resolvido, senão EMPATE
+        private int resolver(long indice) {
+            IndiceFinais.posicao(assinatura, indice, posicao);
+            gerador.gerar(posicao, lista);
+            boolean todosPerdem = true;
+            for (int i = 0; i < lista.tamanho(); i++) {
+                filho.copiarDe(posicao);
+                filho.aplicar(lista.get(i));
+                int doAdversario = valor(filho);
+                if (doAdversario == BaseFinais.DERROTA) {
+                    return BaseFinais.VITORIA;
+                }
+                if (doAdversario != BaseFinais.VITORIA) {
+                    todosPerdem = false;
+                }
+            }
+            // Sem movimentos também é derrota
+            return todosPerdem ? BaseFinais.DERROTA : BaseFinais.EMPATE;
+        }
+
+        private int valor(TabuleiroBits filho) {
+            if (IndiceFinais.assinatura(filho) == assinatura) {
+                return BaseFinais.ler(leitura, 0, IndiceFinais.indice(filho));
+            }
+            int valor = anteriores.sondar(filho);
+            if (valor == BaseFinais.DESCONHECIDO) {
+                throw new IllegalStateException("Assinatura ainda não gerada: " + IndiceFinais.nomeArquivo(
+                    IndiceFinais.assinatura(filho)));
+            }
+            return valor;
+        }
+    }
+
+    private static void ler(Path arquivo, int assinatura, byte[] valores) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(BaseFinais.TAMANHO_CABECALHO);
+            lerTudo(canal, cabecalho);
+            if (canal.size() != BaseFinais.TAMANHO_CABECALHO + valores.length
+                    || cabecalho.getInt(0) != BaseFinais.MAGICO || cabecalho.getInt(4) != assinatura) {
+                throw new IOException("Arquivo parcial inválido: " + arquivo);
+            }
+            lerTudo(canal, ByteBuffer.wrap(valores));
+        }
+    }
+
+    private static void lerTudo(FileChannel canal, ByteBuffer destino) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino) < 0) {
+                throw new IOException("Fim inesperado do arquivo");
+            }
+        }
+    }
+
+    // Grava em um temporário e renomeia, para nunca deixar um arquivo pela metade
+    private static void gravar(Path destino, int assinatura, byte[] valores) throws IOException {
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(BaseFinais.TAMANHO_CABECALHO);
+            cabecalho.putInt(BaseFinais.MAGICO).putInt(assinatura).flip();
+            while (cabecalho.hasRemaining()) {
+                canal.write(cabecalho);
+            }
+            ByteBuffer dados = ByteBuffer.wrap(valores);
+            while (dados.hasRemaining()) {
+                canal.write(dados);
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,184 @@
+package motor;
+
+import modelo.Peca;
+import modelo.TabuleiroBits;
+
+/**
+ * Índice perfeito das posições de um mesmo material, usado pela base de finais.
+ *
+ * O material (assinatura) é o número de peças regulares e de damas de cada lado,
+ * 4 bits cada: peças brancas, damas brancas, peças pretas, damas pretas. Dentro de uma
+ * assinatura cada posição tem um índice de 0 a tamanho - 1, sem buracos: as peças
+ * brancas são ranqueadas entre as 32 casas, as pretas entre as casas que sobraram,
+ * depois as damas brancas e por fim as pretas (sistema numérico combinatório). O bit
+ * mais baixo do índice é a vez (1 = pretas).
+ */
+final class IndiceFinais {
+
+    // COMBINACOES[n][k] = n escolhe k (zero se k > n)
+    private static final long[][] COMBINACOES = new long[TabuleiroBits.CASAS + 1][TabuleiroBits.CASAS + 1];
+
+    static {
+        for (int n = 0; n <= TabuleiroBits.CASAS; n++) {
+            COMBINACOES[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                COMBINACOES[n][k] = COMBINACOES[n - 1][k - 1] + COMBINACOES[n - 1][k];
+            }
+        }
+    }
+
+    private IndiceFinais() {
+    }
+
+    static int assinatura(int pecasBrancas, int damasBrancas, int pecasPretas, int damasPretas) {
+        return pecasBrancas | (damasBrancas << 4) | (pecasPretas << 8) | (damasPretas << 12);
+    }
+
+    static int assinatura(TabuleiroBits posicao) {
+        int damas = posicao.getDamas();
+        return assinatura(Integer.bitCount(posicao.getBrancas() & ~damas), Integer.bitCount(posicao.getBrancas() & damas),
+            Integer.bitCount(posicao.getPretas() & ~damas), Integer.bitCount(posicao.getPretas() & damas));
+    }
+
+    static int pecasBrancas(int assinatura) {
+        return assinatura & 0xF;
+    }
+
+    static int damasBrancas(int assinatura) {
+        return (assinatura >>> 4) & 0xF;
+    }
+
+    static int pecasPretas(int assinatura) {
+        return (assinatura >>> 8) & 0xF;
+    }
+
+    static int damasPretas(int assinatura) {
+        return (assinatura >>> 12) & 0xF;
+    }
+
+    static int totalPecas(int assinatura) {
+        return pecasBrancas(assinatura) + damasBrancas(assinatura) + pecasPretas(assinatura) + damasPretas(assinatura);
+    }
+
+    /**
+     * Número de posições da assinatura, contando as duas vezes.
+     */
+    static long tamanho(int assinatura) {
+        int a = pecasBrancas(assinatura);
+        int b = pecasPretas(assinatura);
+        int c = damasBrancas(assinatura);
+        int d = damasPretas(assinatura);
+        int n = TabuleiroBits.CASAS;
+        return 2 * COMBINACOES[n][a] * COMBINACOES[n - a][b] * COMBINACOES[n - a - b][c] * COMBINACOES[n - a - b - c][d];
+    }
+
+    /**
+     * Índice da posição dentro da sua assinatura.
+     */
+    static long indice(TabuleiroBits posicao) {
+        int assinatura = assinatura(posicao);
+        int damas = posicao.getDamas();
+        int pecasBrancas = posicao.getBrancas() & ~damas;
+        int pecasPretas = posicao.getPretas() & ~damas;
+        int damasBrancas = posicao.getBrancas() & damas;
+        int damasPretas = posicao.getPretas() & damas;
+
+        int n = TabuleiroBits.CASAS;
+        int a = pecasBrancas(assinatura);
+        int b = pecasPretas(assinatura);
+        int c = damasBrancas(assinatura);
+        int d = damasPretas(assinatura);
+
+        long indice = ranquear(pecasBrancas, 0);
+        indice = indice * COMBINACOES[n - a][b] + ranquear(pecasPretas, pecasBrancas);
+        int ocupadas = pecasBrancas | pecasPretas;
+        indice = indice * COMBINACOES[n - a - b][c] + ranquear(damasBrancas, ocupadas);
+        ocupadas |= damasBrancas;
+        indice = indice * COMBINACOES[n - a - b - c][d] + ranquear(damasPretas, ocupadas);
+        return indice * 2 + (posicao.isVezDasBrancas() ? 0 : 1);
+    }
+
+    /**
+     * Monta em destino a posição de índice dado (inverso de indice).
+     */
+    static void posicao(int assinatura, long indice, TabuleiroBits destino) {
+        int n = TabuleiroBits.CASAS;
+        int a = pecasBrancas(assinatura);
+        int b = pecasPretas(assinatura);
+        int c = damasBrancas(assinatura);
+        int d = damasPretas(assinatura);
+
+        boolean vezDasBrancas = (indice & 1) == 0;
+        indice >>>= 1;
+        long combinacoesD = COMBINACOES[n - a - b - c][d];
+        long rankD = indice % combinacoesD;
+        indice /= combinacoesD;
+        long combinacoesC = COMBINACOES[n - a - b][c];
+        long rankC = indice % combinacoesC;
+        indice /= combinacoesC;
+        long combinacoesB = COMBINACOES[n - a][b];
+        long rankB = indice % combinacoesB;
+        long rankA = indice / combinacoesB;
+
+        int pecasBrancas = desranquear(rankA, a, 0);
+        int pecasPretas = desranquear(rankB, b, pecasBrancas);
+        int ocupadas = pecasBrancas | pecasPretas;
+        int damasBrancas = desranquear(rankC, c, ocupadas);
+        int damasPretas = desranquear(rankD, d, ocupadas | damasBrancas);
+
+        destino.limpar();
+        colocarTodas(destino, pecasBrancas, Peca.Cor.BRANCA, false);
+        colocarTodas(destino, pecasPretas, Peca.Cor.PRETA, false);
+        colocarTodas(destino, damasBrancas, Peca.Cor.BRANCA, true);
+        colocarTodas(destino, damasPretas, Peca.Cor.PRETA, true);
+        destino.setVezDasBrancas(vezDasBrancas);
+    }
+
+    /**
+     * Nome do arquivo da assinatura: os quatro números, na ordem da assinatura.
+     */
+    static String nomeArquivo(int assinatura) {
+        return "" + pecasBrancas(assinatura) + damasBrancas(assinatura) + pecasPretas(assinatura)
+            + damasPretas(assinatura) + ".dbf";
+    }
+
+    // Posição das peças entre as casas não ocupadas, no sistema numérico combinatório
+    private static long ranquear(int pecas, int ocupadas) {
+        long rank = 0;
+        int i = 1;
+        for (int m = pecas; m != 0; m &= m - 1, i++) {
+            int casa = Integer.numberOfTrailingZeros(m);
+            int compacta = casa - Integer.bitCount(ocupadas & ((1 << casa) - 1));
+            rank += COMBINACOES[compacta][i];
+        }
+        return rank;
+    }
+
+    private static int desranquear(long rank, int quantidade, int ocupadas) {
+        int livres = ~ocupadas;
+        int pecas = 0;
+        int compacta = Integer.bitCount(livres) - 1;
+        for (int i = quantidade; i >= 1; i--) {
+            while (COMBINACOES[compacta][i] > rank) {
+                compacta--;
+            }
+            rank -= COMBINACOES[compacta][i];
+            pecas |= 1 << enesimaCasa(livres, compacta);
+            compacta--;
+        }
+        return pecas;
+    }
+
+    private static int enesimaCasa(int mascara, int n) {
+        for (int i = 0; i < n; i++) {
+            mascara &= mascara - 1;
+        }
+        return Integer.numberOfTrailingZeros(mascara);
+    }
+
+    private static void colocarTodas(TabuleiroBits destino, int casas, Peca.Cor cor, boolean dama) {
+        for (; casas != 0; casas &= casas - 1) {
+            destino.colocar(Integer.numberOfTrailingZeros(casas), cor, dama);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package motor;
+
+import modelo.HistoricoPosicoes;
+import modelo.Jogador;
+import modelo.Peca.Cor;
+import modelo.Tabuleiro;
+import modelo.TabuleiroBits;
+import java.util.function.Supplier;
+
+/**
+ * Jogador controlado pelo motor de busca.
+ * Pode ocupar qualquer um dos lados do Jogo.
+ */
+public class JogadorComputador extends Jogador {
+
+    public static final int TAMANHO_TABELA_MB = 16;
+
+    private final BuscaParalela busca;
+    private final long tempoPorJogadaMs;
+    private final int profundidadeMaxima;
+    private ResultadoBusca ultimoResultado;
+
+    /**
+     * @param avaliacoes Cria a Avaliacao de cada thread da busca.
+     * @param threads Threads da busca (1 para buscar só na thread do jogo).
+     */
+    public JogadorComputador(String nome, Cor corPecas, Supplier<? extends Avaliacao> avaliacoes, long tempoPorJogadaMs,
+                             int profundidadeMaxima, int threads) {
+        super(nome, corPecas);
+        this.busca = new BuscaParalela(avaliacoes, new TabelaTransposicao(TAMANHO_TABELA_MB), threads);
+        this.tempoPorJogadaMs = tempoPorJogadaMs;
+        this.profundidadeMaxima = profundidadeMaxima;
+    }
+
+    public JogadorComputador(String nome, Cor corPecas, Avaliacao avaliacao, long tempoPorJogadaMs, int profundidadeMaxima) {
+        this(nome, corPecas, () -> avaliacao, tempoPorJogadaMs, profundidadeMaxima, 1);
+    }
+
+    public JogadorComputador(String nome, Cor corPecas, long tempoPorJogadaMs, int threads) {
+        this(nome, corPecas, AvaliacaoMaterial::new, tempoPorJogadaMs, Busca.PLY_MAXIMO - 1, threads);
+    }
+
+    public JogadorComputador(String nome, Cor corPecas, long tempoPorJogadaMs) {
+        this(nome, corPecas, tempoPorJogadaMs, 1);
+    }
+
+    /**
+     * Escolhe o movimento completo (com todos os saltos de uma sequência de captura)
+     * para a posição atual do tabuleiro.
+     */
+    public ResultadoBusca escolherMovimento(Tabuleiro tabuleiro) {
+        return escolherMovimento(tabuleiro, null);
+    }
+
+    /**
+     * Como escolherMovimento(tabuleiro), evitando (ou buscando) os empates por repetição
+     * e por lances de damas.
+     *
+     * @param partida As posições da partida até a atual, ou null.
+     */
+    public ResultadoBusca escolherMovimento(Tabuleiro tabuleiro, HistoricoPosicoes partida) {
+        TabuleiroBits posicao = tabuleiro.paraBits();
+        posicao.setVezDasBrancas(getCorPecas() == Cor.BRANCA);
+        ultimoResultado = busca.buscar(posicao, partida, profundidadeMaxima, tempoPorJogadaMs);
+        return ultimoResultado;
+    }
+
+    public void setBaseFinais(BaseFinais baseFinais) {
+        busca.setBaseFinais(baseFinais);
+    }
+
+    /**
+     * Joga pela lei da maioria; com ela a base de finais não é consultada (ver Busca.setLeiDaMaioria).
+     */
+    public void setLeiDaMaioria(boolean leiDaMaioria) {
+        busca.setLeiDaMaioria(leiDaMaioria);
+    }
+
+    public ResultadoBusca getUltimoResultado() {
+        return ultimoResultado;
+    }
+}
@@ -0,0 +1,191 @@
+package motor;
+
+import modelo.TabuleiroBits;
+import modelo.Zobrist;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Pesos da AvaliacaoPosicional, que podem vir de um arquivo de propriedades para
+ * ajustar a avaliação sem recompilar:
+ *
+ * <pre>
+ * peca = 100
+ * dama = 300
+ * guarda = 6
+ * tempo = 5
+ * mobilidade = 2
+ * tabela.peca = 32 números separados por espaço ou vírgula
+ * tabela.dama = 32 números
+ * </pre>
+ *
+ * As tabelas são bônus por casa (0 a 31, como em TabuleiroBits) para as peças
+ * brancas; as pretas usam a casa espelhada (31 - casa). Chaves ausentes ficam com o
+ * valor padrão.
+ */
+public final class PesosAvaliacao {
+
+    // Peça regular: duas por linha avançada, mais o centro
+    private static final int[] TABELA_PECA_PADRAO = {
+        14, 14, 14, 14,
+        12, 14, 14, 12,
+        10, 12, 12, 10,
+         8, 10, 10,  8,
+         6,  8,  8,  6,
+         4,  6,  6,  4,
+         2,  2,  2,  2,
+         0,  0,  0,  0,
+    };
+
+    // Dama: melhor nas diagonais longas do centro que nas bordas
+    private static final int[] TABELA_DAMA_PADRAO = {
+        0, 0, 0, 0,
+        0, 4, 4, 4,
+        4, 8, 8, 0,
+        0, 8, 12, 4,
+        4, 12, 8, 0,
+        0, 8, 8, 4,
+        4, 4, 4, 0,
+        0, 0, 0, 0,
+    };
+
+    private final int peca;
+    private final int dama;
+    private final int guarda;
+    private final int tempo;
+    private final int mobilidade;
+    private final int[] tabelaPeca;
+    private final int[] tabelaDama;
+
+    public PesosAvaliacao(int peca, int dama, int guarda, int tempo, int mobilidade, int[] tabelaPeca,
+            int[] tabelaDama) {
+        if (tabelaPeca.length != TabuleiroBits.CASAS || tabelaDama.length != TabuleiroBits.CASAS) {
+            throw new IllegalArgumentException("As tabelas devem ter " + TabuleiroBits.CASAS + " casas.");
+        }
+        this.peca = peca;
+        this.dama = dama;
+        this.guarda = guarda;
+        this.tempo = tempo;
+        this.mobilidade = mobilidade;
+        this.tabelaPeca = tabelaPeca.clone();
+        this.tabelaDama = tabelaDama.clone();
+    }
+
+    public static PesosAvaliacao padrao() {
+        return new PesosAvaliacao(AvaliacaoMaterial.VALOR_PECA, AvaliacaoMaterial.VALOR_DAMA, 6, 5, 2,
+            TABELA_PECA_PADRAO, TABELA_DAMA_PADRAO);
+    }
+
+    /**
+     * Lê os pesos de um arquivo de propriedades (ver a descrição da classe).
+     *
+     * @throws UncheckedIOException Se o arquivo não pode ser lido.
+     * @throws IllegalArgumentException Se algum valor não é um número ou uma tabela não tem 32 casas.
+     */
+    public static PesosAvaliacao carregar(Path arquivo) {
+        Properties propriedades = new Properties();
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            propriedades.load(leitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler os pesos em " + arquivo, e);
+        }
+        PesosAvaliacao padrao = padrao();
+        return new PesosAvaliacao(
+            inteiro(propriedades, "peca", padrao.peca),
+            inteiro(propriedades, "dama", padrao.dama),
+            inteiro(propriedades, "guarda", padrao.guarda),
+            inteiro(propriedades, "tempo", padrao.tempo),
+            inteiro(propriedades, "mobilidade", padrao.mobilidade),
+            tabela(propriedades, "tabela.peca", padrao.tabelaPeca),
+            tabela(propriedades, "tabela.dama", padrao.tabelaDama));
+    }
+
+    private static int inteiro(Properties propriedades, String chave, int padrao) {
+        String valor = propriedades.getProperty(chave);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Peso inválido em " + chave + ": " + valor, e);
+        }
+    }
+
+    private static int[] tabela(Properties propriedades, String chave, int[] padrao) {
+        String valor = propriedades.getProperty(chave);
+        if (valor == null) {
+            return padrao;
+        }
+        String[] partes = valor.trim().split("[\\s,]+");
+        if (partes.length != TabuleiroBits.CASAS) {
+            throw new IllegalArgumentException(chave + " deve ter " + TabuleiroBits.CASAS + " valores, tem "
+                + partes.length + ".");
+        }
+        int[] tabela = new int[TabuleiroBits.CASAS];
+        for (int i = 0; i < partes.length; i++) {
+            try {
+                tabela[i] = Integer.parseInt(partes[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido em " + chave + ": " + partes[i], e);
+            }
+        }
+        return tabela;
+    }
+
+    /**
+     * Material e tabelas juntos, no formato de TabuleiroBits.setValoresCasas: valor de
+     * cada tipo de peça em cada casa, positivo para as brancas e negativo para as pretas.
+     */
+    public int[][] valoresCasas() {
+        int[][] valores = new int[4][TabuleiroBits.CASAS];
+        for (int casa = 0; casa < TabuleiroBits.CASAS; casa++) {
+            int espelhada = TabuleiroBits.CASAS - 1 - casa;
+            valores[Zobrist.PECA_BRANCA][casa] = peca + tabelaPeca[casa];
+            valores[Zobrist.DAMA_BRANCA][casa] = dama + tabelaDama[casa];
+            valores[Zobrist.PECA_PRETA][casa] = -(peca + tabelaPeca[espelhada]);
+            valores[Zobrist.DAMA_PRETA][casa] = -(dama + tabelaDama[espelhada]);
+        }
+        return valores;
+    }
+
+    public int getPeca() {
+        return peca;
+    }
+
+    public int getDama() {
+        return dama;
+    }
+
+    public int getGuarda() {
+        return guarda;
+    }
+
+    public int getTempo() {
+        return tempo;
+    }
+
+    public int getMobilidade() {
+        return mobilidade;
+    }
+
+    public int[] getTabelaPeca() {
+        return tabelaPeca.clone();
+    }
+
+    public int[] getTabelaDama() {
+        return tabelaDama.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "peca=" + peca + " dama=" + dama + " guarda=" + guarda + " tempo=" + tempo + " mobilidade=" + mobilidade
+            + " tabela.peca=" + Arrays.toString(tabelaPeca) + " tabela.dama=" + Arrays.toString(tabelaDama);
+    }
+}
@@ -0,0 +1,83 @@
+package motor;
+
+import modelo.Movimento;
+
+/**
+ * Resultado da última iteração completa de uma busca.
+ */
+public class ResultadoBusca {
+
+    private final long movimento;
+    private final long caminho;
+    private final int pontuacao;
+    private final int profundidade;
+    private final long nos;
+    private final long tempoNanos;
+    private final long[] variantePrincipal;
+
+    public ResultadoBusca(long movimento, long caminho, int pontuacao, int profundidade, long nos, long tempoNanos,
+                          long[] variantePrincipal) {
+        this.movimento = movimento;
+        this.caminho = caminho;
+        this.pontuacao = pontuacao;
+        this.profundidade = profundidade;
+        this.nos = nos;
+        this.tempoNanos = tempoNanos;
+        this.variantePrincipal = variantePrincipal;
+    }
+
+    /**
+     * Melhor movimento encontrado (ver Movimento), ou 0 se não há movimentos.
+     */
+    public long getMovimento() {
+        return movimento;
+    }
+
+    /**
+     * Casas de pouso de cada salto do melhor movimento.
+     */
+    public long getCaminho() {
+        return caminho;
+    }
+
+    public int getPontuacao() {
+        return pontuacao;
+    }
+
+    public int getProfundidade() {
+        return profundidade;
+    }
+
+    public long getNos() {
+        return nos;
+    }
+
+    public long getTempoNanos() {
+        return tempoNanos;
+    }
+
+    public long[] getVariantePrincipal() {
+        return variantePrincipal.clone();
+    }
+
+    public double getNosPorSegundo() {
+        return tempoNanos == 0 ? 0 : nos * 1e9 / tempoNanos;
+    }
+
+    public boolean temMovimento() {
+        return movimento != 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder pv = new StringBuilder();
+        for (long m : variantePrincipal) {
+            if (pv.length() > 0) {
+                pv.append(" | ");
+            }
+            pv.append(Movimento.paraTexto(m));
+        }
+        return String.format("profundidade %d, pontuação %d, %d nós, %.0f nós/s, pv: %s",
+            profundidade, pontuacao, nos, getNosPorSegundo(), pv);
+    }
+}
@@ -0,0 +1,169 @@
+package motor;
+
+import modelo.Movimento;
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição de tamanho fixo, indexada pela chave Zobrist da posição.
+ *
+ * Cada balde tem duas entradas: a primeira só é substituída por uma busca mais profunda
+ * (ou de uma busca anterior); a segunda é sempre substituída. Cada entrada ocupa dois
+ * longs: a chave com XOR dos dados e os dados. Não há locks: várias threads podem
+ * sondar e gravar ao mesmo tempo. Uma entrada escrita pela metade por duas threads
+ * não passa na verificação da chave e é tratada como ausente.
+ *
+ * Dados (um long): bits 0-31 movimento compactado, bits 32-51 pontuação (±2^19),
+ * bits 52-59 profundidade, bits 60-61 tipo de limite, bits 62-63 geração.
+ */
+public class TabelaTransposicao {
+
+    public static final int EXATO = 1;
+    public static final int INFERIOR = 2;  // pontuação >= valor gravado (corte beta)
+    public static final int SUPERIOR = 3;  // pontuação <= valor gravado (nenhum movimento passou de alfa)
+
+    /** Resultado de sondar uma posição que não está na tabela. */
+    public static final long AUSENTE = 0L;
+
+    private static final int LONGS_POR_BALDE = 4;
+    private static final int BYTES_POR_BALDE = LONGS_POR_BALDE * Long.BYTES;
+    private static final int DESLOCAMENTO_PONTUACAO = 1 << 19;
+
+    final long[] entradas;
+    private final int mascaraBaldes;
+    private int geracao;
+
+    /**
+     * @param megabytes Tamanho da tabela; o número de baldes é arredondado para baixo
+     *                  até uma potência de dois.
+     */
+    public TabelaTransposicao(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Tamanho da tabela deve ser de pelo menos 1 MB: " + megabytes);
+        }
+        long baldes = Long.highestOneBit(megabytes * 1024L * 1024L / BYTES_POR_BALDE);
+        baldes = Math.min(baldes, Integer.MAX_VALUE / LONGS_POR_BALDE + 1L);
+        this.entradas = new long[(int) (baldes * LONGS_POR_BALDE)];
+        this.mascaraBaldes = (int) baldes - 1;
+    }
+
+    /**
+     * Procura a posição nas duas entradas do seu balde.
+     *
+     * @return Os dados da entrada (ler com movimentoCompactado, pontuacao, profundidade e limite),
+     *         ou AUSENTE.
+     */
+    public long sondar(long chave) {
+        int i = balde(chave);
+        long dados = entradas[i + 1];
+        if ((entradas[i] ^ dados) == chave && dados != AUSENTE) {
+            return dados;
+        }
+        dados = entradas[i + 3];
+        if ((entradas[i + 2] ^ dados) == chave && dados != AUSENTE) {
+            return dados;
+        }
+        return AUSENTE;
+    }
+
+    /**
+     * Grava o resultado da busca de uma posição.
+     *
+     * @param limite EXATO, INFERIOR ou SUPERIOR.
+     * @param movimento Melhor movimento encontrado, ou 0.
+     */
+    public void gravar(long chave, int profundidade, int limite, int pontuacao, long movimento) {
+        long dados = (compactar(movimento) & 0xFFFFFFFFL)
+            | ((long) (pontuacao + DESLOCAMENTO_PONTUACAO) << 32)
+            | ((long) Math.min(profundidade, 255) << 52)
+            | ((long) limite << 60)
+            | ((long) geracao << 62);
+
+        int i = balde(chave);
+        long existente = entradas[i + 1];
+        boolean mesmaPosicao = (entradas[i] ^ existente) == chave;
+        if (mesmaPosicao || existente == AUSENTE || geracao(existente) != geracao
+                || profundidade >= profundidade(existente)) {
+            entradas[i] = chave ^ dados;
+            entradas[i + 1] = dados;
+        } else {
+            entradas[i + 2] = chave ^ dados;
+            entradas[i + 3] = dados;
+        }
+    }
+
+    /**
+     * Marca o início de uma nova busca: entradas de buscas anteriores passam a poder ser
+     * substituídas por qualquer profundidade. Chamar com nenhuma thread buscando.
+     */
+    public void novaBusca() {
+        geracao = (geracao + 1) & 3;
+    }
+
+    public void limpar() {
+        Arrays.fill(entradas, 0L);
+        geracao = 0;
+    }
+
+    public int getBaldes() {
+        return mascaraBaldes + 1;
+    }
+
+    /**
+     * Ocupação aproximada em milésimos, contando as entradas da busca atual nos
+     * primeiros mil baldes.
+     */
+    public int getOcupacao() {
+        int amostra = Math.min(1000, getBaldes());
+        int ocupadas = 0;
+        for (int b = 0; b < amostra; b++) {
+            for (int e = 1; e < LONGS_POR_BALDE; e += 2) {
+                long dados = entradas[b * LONGS_POR_BALDE + e];
+                if (dados != AUSENTE && geracao(dados) == geracao) {
+                    ocupadas++;
+                }
+            }
+        }
+        return ocupadas * 1000 / (2 * amostra);
+    }
+
+    private int balde(long chave) {
+        return ((int) (chave >>> 32) & mascaraBaldes) * LONGS_POR_BALDE;
+    }
+
+
+    // --- Leitura dos dados de uma entrada ---
+
+    public static int movimentoCompactado(long dados) {
+        return (int) dados;
+    }
+
+    public static int pontuacao(long dados) {
+        return (int) ((dados >>> 32) & 0xFFFFF) - DESLOCAMENTO_PONTUACAO;
+    }
+
+    public static int profundidade(long dados) {
+        return (int) (dados >>> 52) & 0xFF;
+    }
+
+    public static int limite(long dados) {
+        return (int) (dados >>> 60) & 3;
+    }
+
+    private static int geracao(long dados) {
+        return (int) (dados >>> 62);
+    }
+
+    /**
+     * Movimento em 32 bits: origem, destino e promoção (16 bits baixos) e as peças
+     * capturadas dobradas em 16 bits. Basta para reconhecer o movimento entre os
+     * movimentos legais da mesma posição. Zero continua sendo "sem movimento".
+     */
+    public static int compactar(long movimento) {
+        if (movimento == 0) {
+            return 0;
+        }
+        int capturadas = Movimento.capturadas(movimento);
+        int dobradas = (capturadas ^ (capturadas >>> 16)) & 0xFFFF;
+        return ((int) movimento & 0xFFFF) | (dobradas << 16);
+    }
+}
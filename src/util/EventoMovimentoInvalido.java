@@ -0,0 +1,21 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de cada MovimentoInvalidoException criada, com a mensagem e a pilha de
+ * onde veio (Tabuleiro ou Jogo). É instantâneo: o custo que interessa é o da exceção,
+ * que aparece na linha do tempo junto com o GC e as amostras de alocação.
+ */
+@Name("damas.MovimentoInvalido")
+@Label("Movimento inválido")
+@Category({"Damas", "Regras"})
+@Description("Jogada recusada pelas regras")
+class EventoMovimentoInvalido extends jdk.jfr.Event {
+
+    @Label("Mensagem")
+    String mensagem;
+}
@@ -0,0 +1,158 @@
+package util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contagem de chamadas e distribuição das suas latências em faixas de potências de dois
+ * de nanossegundos: a faixa i tem as durações de 2^(i-1) a 2^i - 1 (a faixa 0 é a
+ * duração zero).
+ *
+ * Todas as chamadas são contadas, mas só uma em AMOSTRAGEM é cronometrada: duas leituras
+ * do relógio custam mais que as operações medidas. A média e os percentis vêm dessas
+ * amostras. O uso é
+ *
+ * <pre>
+ * long inicio = HistogramaLatencia.iniciar();
+ * ... operação ...
+ * histograma.terminar(inicio);
+ * </pre>
+ *
+ * Cada faixa e as somas são LongAdders: threads que registram ao mesmo tempo caem em
+ * células diferentes e não disputam a mesma linha de cache. Registrar não aloca nem
+ * toma lock; ler soma as células, então a leitura é aproximada enquanto há registros.
+ */
+public final class HistogramaLatencia {
+
+    /** Faixas: a última recebe tudo a partir de 2^39 ns (cerca de nove minutos). */
+    public static final int FAIXAS = 41;
+
+    /** Uma chamada em AMOSTRAGEM é cronometrada (potência de dois). */
+    public static final int AMOSTRAGEM = 64;
+
+    private static final long SEM_AMOSTRA = Long.MIN_VALUE;
+
+    private final String nome;
+    private final LongAdder[] faixas = new LongAdder[FAIXAS];
+    private final LongAdder somaNanos = new LongAdder();
+    private final LongAdder contagem = new LongAdder();
+
+    public HistogramaLatencia(String nome) {
+        this.nome = nome;
+        for (int i = 0; i < FAIXAS; i++) {
+            faixas[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Começo de uma operação: o relógio se ela foi sorteada para a amostra, ou um valor
+     * que terminar reconhece como não cronometrado.
+     */
+    public static long iniciar() {
+        return (ThreadLocalRandom.current().nextInt() & (AMOSTRAGEM - 1)) == 0 ? System.nanoTime() : SEM_AMOSTRA;
+    }
+
+    /**
+     * Conta a operação começada em iniciar e, se ela foi sorteada, registra a duração.
+     */
+    public void terminar(long inicio) {
+        contagem.increment();
+        if (inicio != SEM_AMOSTRA) {
+            registrarAmostra(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Conta uma operação já cronometrada e registra a duração.
+     */
+    public void registrar(long nanos) {
+        contagem.increment();
+        registrarAmostra(nanos);
+    }
+
+    private void registrarAmostra(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        faixas[Math.min(64 - Long.numberOfLeadingZeros(nanos), FAIXAS - 1)].increment();
+        somaNanos.add(nanos);
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Operações contadas, cronometradas ou não.
+     */
+    public long getContagem() {
+        return contagem.sum();
+    }
+
+    /**
+     * Operações cronometradas, de onde vêm a média e os percentis.
+     */
+    public long getAmostras() {
+        long total = 0;
+        for (LongAdder faixa : faixas) {
+            total += faixa.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Soma das durações cronometradas.
+     */
+    public long getSomaNanos() {
+        return somaNanos.sum();
+    }
+
+    public double getMediaNanos() {
+        long amostras = getAmostras();
+        return amostras == 0 ? 0 : getSomaNanos() / (double) amostras;
+    }
+
+    /**
+     * Limite superior da faixa onde cai o percentil dado: a latência real é no máximo esse valor.
+     *
+     * @param percentil De 0 a 100.
+     * @return Nanossegundos, ou 0 sem registros.
+     */
+    public long getPercentilNanos(double percentil) {
+        long[] contagens = new long[FAIXAS];
+        long total = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens[i] = faixas[i].sum();
+            total += contagens[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = (long) Math.ceil(total * Math.min(Math.max(percentil, 0), 100) / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= Math.max(alvo, 1)) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public void zerar() {
+        for (LongAdder faixa : faixas) {
+            faixa.reset();
+        }
+        somaNanos.reset();
+        contagem.reset();
+    }
+
+    /**
+     * Uma linha: nome, contagem, média e percentis 50 e 99.
+     */
+    @Override
+    public String toString() {
+        return String.format("%-24s %12d  média %9.0f ns  p50 <= %9d ns  p99 <= %9d ns", nome, getContagem(),
+            getMediaNanos(), getPercentilNanos(50), getPercentilNanos(99));
+    }
+}
@@ -0,0 +1,245 @@
+package util;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Contadores e latências das regras e do motor, comuns ao processo inteiro: moverPeca
+ * (simples, captura e inválido), getPossiveisCapturas, capturas obrigatórias do Jogo,
+ * nós da busca e acertos na tabela de transposição.
+ *
+ * Tudo é LongAdder (ver HistogramaLatencia), então registrar de muitas threads ao mesmo
+ * tempo, como no ServidorJogos, não cria disputa. Todas as chamadas são contadas, mas as
+ * latências são amostradas (uma chamada em HistogramaLatencia.AMOSTRAGEM). A busca
+ * acumula nós e sondagens em campos próprios e só soma aqui no fim de cada busca, então
+ * o laço da busca não é tocado.
+ *
+ * Com -Ddamas.metricas=false, ATIVAS é false e o JIT elimina os registros por completo.
+ *
+ * Os valores podem ser lidos por JMX (registrarMBean) ou em texto (relatorio,
+ * relatarPeriodicamente).
+ */
+public final class Metricas implements MetricasMBean {
+
+    public static final boolean ATIVAS = !"false".equals(System.getProperty("damas.metricas"));
+
+    public static final String NOME_MBEAN = "damas:type=Metricas";
+
+    public static final HistogramaLatencia MOVER_SIMPLES = new HistogramaLatencia("moverPeca simples");
+    public static final HistogramaLatencia MOVER_CAPTURA = new HistogramaLatencia("moverPeca captura");
+    public static final HistogramaLatencia MOVER_INVALIDO = new HistogramaLatencia("moverPeca inválido");
+    public static final HistogramaLatencia POSSIVEIS_CAPTURAS = new HistogramaLatencia("getPossiveisCapturas");
+    public static final HistogramaLatencia CAPTURAS_OBRIGATORIAS = new HistogramaLatencia("capturas obrigatórias");
+
+    private static final LongAdder BUSCAS = new LongAdder();
+    private static final LongAdder NOS_BUSCA = new LongAdder();
+    private static final LongAdder TEMPO_BUSCA_NANOS = new LongAdder();
+    private static final LongAdder SONDAGENS_TABELA = new LongAdder();
+    private static final LongAdder ACERTOS_TABELA = new LongAdder();
+
+    private static final Metricas INSTANCIA = new Metricas();
+
+    private Metricas() {
+    }
+
+    /**
+     * Soma uma busca terminada: os nós visitados, o tempo e as sondagens da tabela.
+     */
+    public static void registrarBusca(long nos, long nanos, long sondagens, long acertos) {
+        BUSCAS.increment();
+        NOS_BUSCA.add(nos);
+        TEMPO_BUSCA_NANOS.add(nanos);
+        SONDAGENS_TABELA.add(sondagens);
+        ACERTOS_TABELA.add(acertos);
+    }
+
+    /**
+     * Registra o MBean na plataforma. Chamar de novo não faz nada.
+     */
+    public static synchronized void registrarMBean() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nome = new ObjectName(NOME_MBEAN);
+            if (!servidor.isRegistered(nome)) {
+                servidor.registerMBean(INSTANCIA, nome);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar " + NOME_MBEAN, e);
+        }
+    }
+
+    /**
+     * Escreve o relatório a cada intervalo numa thread daemon.
+     *
+     * @return O agendador; shutdown para parar.
+     */
+    public static ScheduledExecutorService relatarPeriodicamente(long segundos, PrintStream saida) {
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "relatorio-metricas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleAtFixedRate(() -> saida.print(relatorio()), segundos, segundos, TimeUnit.SECONDS);
+        return agendador;
+    }
+
+    /**
+     * Todas as métricas em texto, uma por linha.
+     */
+    public static String relatorio() {
+        StringBuilder texto = new StringBuilder();
+        for (HistogramaLatencia histograma : new HistogramaLatencia[] {
+                MOVER_SIMPLES, MOVER_CAPTURA, MOVER_INVALIDO, POSSIVEIS_CAPTURAS, CAPTURAS_OBRIGATORIAS}) {
+            texto.append(histograma).append('\n');
+        }
+        texto.append(String.format("%-24s %12d  %.0f nós/s em %d buscas%n", "nós da busca",
+            NOS_BUSCA.sum(), INSTANCIA.getNosPorSegundo(), BUSCAS.sum()));
+        texto.append(String.format("%-24s %12d  %.1f%% de acertos%n", "sondagens da tabela",
+            SONDAGENS_TABELA.sum(), 100 * INSTANCIA.getTaxaAcertosTabela()));
+        return texto.toString();
+    }
+
+    public static void zerarTudo() {
+        MOVER_SIMPLES.zerar();
+        MOVER_CAPTURA.zerar();
+        MOVER_INVALIDO.zerar();
+        POSSIVEIS_CAPTURAS.zerar();
+        CAPTURAS_OBRIGATORIAS.zerar();
+        BUSCAS.reset();
+        NOS_BUSCA.reset();
+        TEMPO_BUSCA_NANOS.reset();
+        SONDAGENS_TABELA.reset();
+        ACERTOS_TABELA.reset();
+    }
+
+
+    // --- MetricasMBean ---
+
+    @Override
+    public long getMovimentosSimples() {
+        return MOVER_SIMPLES.getContagem();
+    }
+
+    @Override
+    public double getMoverSimplesMediaNanos() {
+        return MOVER_SIMPLES.getMediaNanos();
+    }
+
+    @Override
+    public long getMoverSimplesP99Nanos() {
+        return MOVER_SIMPLES.getPercentilNanos(99);
+    }
+
+    @Override
+    public long getMovimentosComCaptura() {
+        return MOVER_CAPTURA.getContagem();
+    }
+
+    @Override
+    public double getMoverCapturaMediaNanos() {
+        return MOVER_CAPTURA.getMediaNanos();
+    }
+
+    @Override
+    public long getMoverCapturaP99Nanos() {
+        return MOVER_CAPTURA.getPercentilNanos(99);
+    }
+
+    @Override
+    public long getMovimentosInvalidos() {
+        return MOVER_INVALIDO.getContagem();
+    }
+
+    @Override
+    public double getMoverInvalidoMediaNanos() {
+        return MOVER_INVALIDO.getMediaNanos();
+    }
+
+    @Override
+    public long getMoverInvalidoP99Nanos() {
+        return MOVER_INVALIDO.getPercentilNanos(99);
+    }
+
+    @Override
+    public long getConsultasPossiveisCapturas() {
+        return POSSIVEIS_CAPTURAS.getContagem();
+    }
+
+    @Override
+    public double getPossiveisCapturasMediaNanos() {
+        return POSSIVEIS_CAPTURAS.getMediaNanos();
+    }
+
+    @Override
+    public long getPossiveisCapturasP99Nanos() {
+        return POSSIVEIS_CAPTURAS.getPercentilNanos(99);
+    }
+
+    @Override
+    public long getConsultasCapturasObrigatorias() {
+        return CAPTURAS_OBRIGATORIAS.getContagem();
+    }
+
+    @Override
+    public double getCapturasObrigatoriasMediaNanos() {
+        return CAPTURAS_OBRIGATORIAS.getMediaNanos();
+    }
+
+    @Override
+    public long getCapturasObrigatoriasP99Nanos() {
+        return CAPTURAS_OBRIGATORIAS.getPercentilNanos(99);
+    }
+
+    @Override
+    public long getBuscas() {
+        return BUSCAS.sum();
+    }
+
+    @Override
+    public long getNosBusca() {
+        return NOS_BUSCA.sum();
+    }
+
+    /**
+     * Nós por segundo de busca, somando o tempo de todas as buscas (várias threads
+     * buscando ao mesmo tempo contam o tempo de cada uma).
+     */
+    @Override
+    public double getNosPorSegundo() {
+        long nanos = TEMPO_BUSCA_NANOS.sum();
+        return nanos == 0 ? 0 : NOS_BUSCA.sum() * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public long getSondagensTabela() {
+        return SONDAGENS_TABELA.sum();
+    }
+
+    @Override
+    public long getAcertosTabela() {
+        return ACERTOS_TABELA.sum();
+    }
+
+    @Override
+    public double getTaxaAcertosTabela() {
+        long sondagens = SONDAGENS_TABELA.sum();
+        return sondagens == 0 ? 0 : ACERTOS_TABELA.sum() / (double) sondagens;
+    }
+
+    @Override
+    public String getRelatorio() {
+        return relatorio();
+    }
+
+    @Override
+    public void zerar() {
+        zerarTudo();
+    }
+}
@@ -0,0 +1,54 @@
+package util;
+
+/**
+ * Interface JMX de Metricas (registrada como "damas:type=Metricas"). Os nomes dos
+ * atributos vêm dos getters: MovimentosSimples, MoverSimplesP99Nanos, TaxaAcertosTabela...
+ */
+public interface MetricasMBean {
+
+    long getMovimentosSimples();
+
+    double getMoverSimplesMediaNanos();
+
+    long getMoverSimplesP99Nanos();
+
+    long getMovimentosComCaptura();
+
+    double getMoverCapturaMediaNanos();
+
+    long getMoverCapturaP99Nanos();
+
+    long getMovimentosInvalidos();
+
+    double getMoverInvalidoMediaNanos();
+
+    long getMoverInvalidoP99Nanos();
+
+    long getConsultasPossiveisCapturas();
+
+    double getPossiveisCapturasMediaNanos();
+
+    long getPossiveisCapturasP99Nanos();
+
+    long getConsultasCapturasObrigatorias();
+
+    double getCapturasObrigatoriasMediaNanos();
+
+    long getCapturasObrigatoriasP99Nanos();
+
+    long getBuscas();
+
+    long getNosBusca();
+
+    double getNosPorSegundo();
+
+    long getSondagensTabela();
+
+    long getAcertosTabela();
+
+    double getTaxaAcertosTabela();
+
+    String getRelatorio();
+
+    void zerar();
+}
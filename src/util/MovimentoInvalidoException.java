@@ -3,5 +3,11 @@ package util;
 public class MovimentoInvalidoException extends Exception{
     public MovimentoInvalidoException(String msg) {
         super(msg);
+        // Sem gravação JFR ativa o evento não custa nada
+        EventoMovimentoInvalido evento = new EventoMovimentoInvalido();
+        if (evento.shouldCommit()) {
+            evento.mensagem = msg;
+            evento.commit();
+        }
     }
 }
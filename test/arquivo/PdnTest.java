@@ -0,0 +1,127 @@
+package arquivo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import modelo.Movimento;
+import modelo.Peca;
+import modelo.TabuleiroBits;
+import motor.AutoJogo;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+class PdnTest {
+
+    private static LeitorPdn leitor(String texto) {
+        return new LeitorPdn(Channels.newChannel(new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void testLerPartidasComentadas() throws IOException {
+        String texto = "[Event \"Teste\"]\n[White \"Ana \\\"A\\\" Souza\"]\n[Black \"João\"]\n[Result \"0-2\"]\n\n"
+            + "1. 22-18 {abertura} 11-15 2. 18x11 (2. 21-17? 15x22) 8x15 $1 3. 21-17! 0-2\n\n"
+            + "[Event \"Ilegal\"]\n1. 22-19 11-15 *\n"
+            + "[FEN \"W:WK30:B1\"]\n1. 30-23 1-5 1-1\n";
+        try (LeitorPdn leitor = leitor(texto)) {
+            PartidaPdn partida = new PartidaPdn();
+
+            assertTrue(leitor.proxima(partida));
+            assertNull(partida.getErro());
+            assertEquals("Ana \"A\" Souza", partida.getEtiqueta("White"));
+            assertEquals("João", partida.getEtiqueta("Black"));
+            assertEquals(PartidaPdn.VITORIA_PRETAS, partida.getResultado());
+            assertEquals(5, partida.getQuantidade());
+            assertTrue(Movimento.isCaptura(partida.getMovimento(2)));
+            assertEquals(TabuleiroBits.indice(3, 4), Movimento.destino(partida.getMovimento(3)));
+
+            assertTrue(leitor.proxima(partida));
+            assertNotNull(partida.getErro());
+            assertEquals(0, partida.getQuantidade());
+
+            assertTrue(leitor.proxima(partida));
+            assertNull(partida.getErro());
+            assertEquals(PartidaPdn.EMPATE, partida.getResultado());
+            TabuleiroBits fim = partida.getPosicaoFinal();
+            assertTrue(fim.isDama(22));
+            assertTrue(fim.isBranca(22));
+            assertFalse(fim.isVazia(4));
+
+            assertFalse(leitor.proxima(partida));
+        }
+    }
+
+    @Test
+    void testGravarELerDeVolta() throws IOException {
+        AutoJogo autoJogo = new AutoJogo(1, 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PartidaPdn partida = new PartidaPdn();
+        long[][] lances = new long[300][];
+        try (EscritorPdn escritor = new EscritorPdn(Channels.newChannel(bytes))) {
+            for (int i = 0; i < lances.length; i++) {
+                lances[i] = autoJogo.reproduzir(3, i);
+                partida.limpar();
+                partida.setEtiqueta("Round", Integer.toString(i + 1));
+                for (long movimento : lances[i]) {
+                    partida.adicionar(movimento);
+                }
+                partida.setResultado(i % 2 == 0 ? PartidaPdn.VITORIA_BRANCAS : PartidaPdn.SEM_RESULTADO);
+                escritor.escrever(partida);
+            }
+
+            // Uma partida a partir de uma posição montada, com as pretas começando
+            partida.limpar();
+            TabuleiroBits inicio = partida.getInicio();
+            inicio.limpar();
+            inicio.colocar(TabuleiroBits.indice(3, 2), Peca.Cor.PRETA, true);
+            inicio.colocar(TabuleiroBits.indice(5, 0), Peca.Cor.BRANCA, false);
+            inicio.setVezDasBrancas(false);
+            partida.adicionar(Movimento.simples(TabuleiroBits.indice(3, 2), TabuleiroBits.indice(2, 1), false));
+            escritor.escrever(partida);
+        }
+
+        try (LeitorPdn leitor = leitor(bytes.toString(StandardCharsets.UTF_8))) {
+            for (int i = 0; i < lances.length; i++) {
+                assertTrue(leitor.proxima(partida));
+                assertNull(partida.getErro(), "Partida " + (i + 1));
+                assertEquals(Integer.toString(i + 1), partida.getEtiqueta("Round"));
+                assertArrayEquals(lances[i], partida.getMovimentos());
+                assertEquals(i % 2 == 0 ? PartidaPdn.VITORIA_BRANCAS : PartidaPdn.SEM_RESULTADO, partida.getResultado());
+            }
+            assertTrue(leitor.proxima(partida));
+            assertNull(partida.getErro());
+            assertEquals("B:W21:BK14", partida.getEtiqueta("FEN"));
+            assertEquals(1, partida.getQuantidade());
+            assertFalse(leitor.proxima(partida));
+        }
+    }
+
+    @Test
+    void testCapturasComMesmaOrigemEDestino() throws IOException {
+        // No lance 27 desta partida há duas capturas 10x19: uma direta e outra de dois saltos
+        long[] lances = new AutoJogo(1, 0).reproduzir(1, 654);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PartidaPdn partida = new PartidaPdn();
+        for (long movimento : lances) {
+            partida.adicionar(movimento);
+        }
+        try (EscritorPdn escritor = new EscritorPdn(Channels.newChannel(bytes))) {
+            escritor.escrever(partida);
+        }
+        try (LeitorPdn leitor = leitor(bytes.toString(StandardCharsets.UTF_8))) {
+            assertTrue(leitor.proxima(partida));
+            assertNull(partida.getErro());
+            assertArrayEquals(lances, partida.getMovimentos());
+        }
+    }
+
+    @Test
+    void testFenIdaEVolta() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        PartidaPdn.lerFen("B:W21-24,K32:BK1,5-6", posicao);
+        assertFalse(posicao.isVezDasBrancas());
+        assertEquals("B:W21,22,23,24,K32:BK1,5,6", PartidaPdn.paraFen(posicao));
+        assertThrows(IllegalArgumentException.class, () -> PartidaPdn.lerFen("W:W33", posicao));
+    }
+}
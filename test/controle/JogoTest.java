@@ -1,7 +1,22 @@
 package controle;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
+import modelo.Casa;
+import modelo.Dama;
+import modelo.Jogador;
+import modelo.Peca;
+import modelo.PecaRegular;
+import modelo.Tabuleiro;
+import modelo.TabuleiroBits;
+import motor.BaseFinais;
+import motor.GeradorBaseFinais;
+import util.MovimentoInvalidoException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 // Potentially need to mock Scanner or provide input streams for more complex tests later
 // For now, we'll just test basic setup.
 
@@ -17,4 +32,156 @@ class JogoTest {
         // We can add assertions if Jogo exposes its state (e.g., players, current player)
         // after initialization but before starting the loop.
     }
+
+    @Test
+    void testCapturasObrigatoriasSoDasPecasQuePodemCapturar() throws MovimentoInvalidoException {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        Jogo jogo = new Jogo(tabuleiro);
+        Jogador brancas = new Jogador("Brancas", Peca.Cor.BRANCA);
+        Jogador pretas = new Jogador("Pretas", Peca.Cor.PRETA);
+        assertTrue(jogo.encontrarCapturasObrigatorias(brancas).isEmpty());
+
+        // 5,2 -> 4,3 e 2,5 -> 3,4: as peças ficam frente a frente
+        tabuleiro.moverPeca(tabuleiro.getCasa(5, 2), tabuleiro.getCasa(4, 3));
+        tabuleiro.moverPeca(tabuleiro.getCasa(2, 5), tabuleiro.getCasa(3, 4));
+
+        Map<Casa, List<Casa>> capturas = jogo.encontrarCapturasObrigatorias(brancas);
+        assertEquals(1, capturas.size());
+        assertEquals(List.of(tabuleiro.getCasa(2, 5)), capturas.get(tabuleiro.getCasa(4, 3)));
+        assertEquals(List.of(tabuleiro.getCasa(5, 2)),
+            jogo.encontrarCapturasObrigatorias(pretas).get(tabuleiro.getCasa(3, 4)));
+
+        // Com uma peça em casa clara o Jogo volta a varrer o tabuleiro inteiro
+        tabuleiro.getCasa(3, 3).setPeca(new PecaRegular(Peca.Cor.PRETA));
+        assertTrue(jogo.encontrarCapturasObrigatorias(brancas).containsKey(tabuleiro.getCasa(4, 3)));
+    }
+
+    @Test
+    void testJogarSemConsole() throws MovimentoInvalidoException {
+        Jogo jogo = new Jogo();
+        jogo.novaPartida();
+        assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(5, 2, 4, 3));
+        assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(2, 5, 3, 4));
+        assertEquals(Peca.Cor.BRANCA, jogo.getJogadorAtual().getCorPecas());
+
+        // A captura é obrigatória; a jogada recusada não muda nada
+        assertThrows(MovimentoInvalidoException.class, () -> jogo.jogar(5, 0, 4, 1));
+        assertFalse(jogo.getTabuleiro().getCasa(5, 0).estaVazia());
+        assertEquals(1, jogo.getCapturasObrigatorias().size());
+
+        assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(4, 3, 2, 5));
+        assertTrue(jogo.getTabuleiro().getCasa(3, 4).estaVazia());
+        assertEquals(Peca.Cor.PRETA, jogo.getJogadorAtual().getCorPecas());
+        assertNull(jogo.getVencedor());
+    }
+
+    @Test
+    void testLeiDaMaioriaExigeACapturaComMaisPecas() throws MovimentoInvalidoException {
+        // (5,0) captura três peças por (3,2), (1,4) e (3,6); (6,5) captura só (5,6), e em
+        // (3,2) saltar (2,1) encerraria a sequência com duas
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(5, 0), Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits.indice(6, 5), Peca.Cor.BRANCA, false);
+        for (int[] preta : new int[][] {{4, 1}, {2, 1}, {2, 3}, {2, 5}, {5, 6}}) {
+            posicao.colocar(TabuleiroBits.indice(preta[0], preta[1]), Peca.Cor.PRETA, false);
+        }
+        Jogo jogo = new Jogo();
+        jogo.novaPartida();
+        jogo.getTabuleiro().carregar(posicao);
+        jogo.setLeiDaMaioria(true);
+
+        assertEquals(1, jogo.getCapturasObrigatorias().size());
+        assertThrows(MovimentoInvalidoException.class, () -> jogo.jogar(6, 5, 4, 7));
+        assertEquals(Jogo.ResultadoJogada.CONTINUA_CAPTURA, jogo.jogar(5, 0, 3, 2));
+        assertThrows(MovimentoInvalidoException.class, () -> jogo.jogar(3, 2, 1, 0));
+        assertFalse(jogo.getTabuleiro().getCasa(2, 1).estaVazia());
+        assertEquals(Jogo.ResultadoJogada.CONTINUA_CAPTURA, jogo.jogar(3, 2, 1, 4));
+        assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(1, 4, 3, 6));
+        assertTrue(jogo.getTabuleiro().getCasa(2, 5).estaVazia());
+
+        // Sem a lei, qualquer captura vale
+        jogo.novaPartida();
+        jogo.getTabuleiro().carregar(posicao);
+        jogo.setLeiDaMaioria(false);
+        assertEquals(2, jogo.getCapturasObrigatorias().size());
+        assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(6, 5, 4, 7));
+    }
+
+    @Test
+    void testTerceiraRepeticaoEmpata() throws MovimentoInvalidoException {
+        // As duas damas vão e voltam: a posição montada volta depois de quatro lances e
+        // pela terceira vez depois de oito
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(0, 1), Peca.Cor.PRETA, true);
+        Jogo jogo = new Jogo();
+        jogo.novaPartida();
+        jogo.getTabuleiro().carregar(posicao);
+
+        int[][] lances = {{7, 0, 6, 1}, {0, 1, 1, 2}, {6, 1, 7, 0}, {1, 2, 0, 1}};
+        for (int i = 0; i < 7; i++) {
+            int[] lance = lances[i % 4];
+            assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(lance[0], lance[1], lance[2], lance[3]));
+        }
+        assertEquals(Jogo.ResultadoJogada.EMPATE, jogo.jogar(1, 2, 0, 1));
+        assertTrue(jogo.isEmpate());
+        assertNull(jogo.getVencedor());
+        assertThrows(MovimentoInvalidoException.class, () -> jogo.jogar(7, 0, 6, 1));
+
+        jogo.novaPartida();
+        assertFalse(jogo.isEmpate());
+    }
+
+    @Test
+    void testLimiteDeLancesDeDamasEmpata() throws MovimentoInvalidoException {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(0, 1), Peca.Cor.PRETA, true);
+        Jogo jogo = new Jogo();
+        jogo.novaPartida();
+        jogo.getTabuleiro().carregar(posicao);
+        jogo.setLimiteLancesDeDamas(3);
+
+        assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(7, 0, 6, 1));
+        assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(0, 1, 1, 2));
+        assertEquals(Jogo.ResultadoJogada.EMPATE, jogo.jogar(6, 1, 5, 0));
+        assertTrue(jogo.getTabuleiro().getCasa(5, 0).getPeca() instanceof Dama);
+    }
+
+    @Test
+    void testDamaNaoDeslizaNoMeioDaSequencia() throws MovimentoInvalidoException {
+        // A dama salta (6,1) e, em (5,2), ainda tem (4,3) para capturar: deslizar para
+        // (7,4) pela diagonal livre encerraria a vez com a captura pendente
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(6, 1), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(4, 3), Peca.Cor.PRETA, false);
+        Jogo jogo = new Jogo();
+        jogo.novaPartida();
+        jogo.getTabuleiro().carregar(posicao);
+
+        assertEquals(Jogo.ResultadoJogada.CONTINUA_CAPTURA, jogo.jogar(7, 0, 5, 2));
+        assertThrows(MovimentoInvalidoException.class, () -> jogo.jogar(5, 2, 7, 4));
+        assertFalse(jogo.getTabuleiro().getCasa(5, 2).estaVazia());
+        assertEquals(Peca.Cor.BRANCA, jogo.getJogadorAtual().getCorPecas());
+        assertEquals(jogo.getTabuleiro().getCasa(5, 2), jogo.getPecaEmSequencia());
+        assertEquals(Jogo.ResultadoJogada.VITORIA, jogo.jogar(5, 2, 3, 4));
+    }
+
+    @Test
+    void testBaseFinaisNaoValeComLeiDaMaioria(@TempDir Path diretorio) throws IOException {
+        new GeradorBaseFinais(diretorio, 2, 1).gerar();
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(5, 2), Peca.Cor.PRETA, true);
+        Jogo jogo = new Jogo();
+        jogo.novaPartida();
+        jogo.getTabuleiro().carregar(posicao);
+
+        assertEquals(BaseFinais.DESCONHECIDO, jogo.getResultadoBaseFinais());
+        jogo.setBaseFinais(new BaseFinais(diretorio));
+        assertEquals(BaseFinais.VITORIA, jogo.getResultadoBaseFinais());
+        jogo.setLeiDaMaioria(true);
+        assertEquals(BaseFinais.DESCONHECIDO, jogo.getResultadoBaseFinais());
+    }
 }
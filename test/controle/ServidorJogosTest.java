@@ -0,0 +1,127 @@
+package controle;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import modelo.Peca;
+import modelo.TabuleiroBits;
+
+class ServidorJogosTest {
+
+    @Test
+    void testDamaNaoDeslizaComCapturaPendente() throws IOException {
+        // Depois de capturar (6,1) a dama ainda deve capturar (4,3): o deslize para (7,4) é recusado
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(6, 1), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(4, 3), Peca.Cor.PRETA, false);
+        try (ServidorJogos servidor = new ServidorJogos(0)) {
+            Jogo jogo = new Jogo();
+            jogo.novaPartida();
+            jogo.getTabuleiro().carregar(posicao);
+
+            assertEquals("OK CONTINUA", servidor.responder(jogo, "JOGAR 7 0 5 2"));
+            assertTrue(servidor.responder(jogo, "JOGAR 5 2 7 4").startsWith("ERRO "));
+            assertEquals("OK BRANCA", servidor.responder(jogo, "VEZ"));
+            assertEquals("OK VITORIA", servidor.responder(jogo, "JOGAR 5 2 3 4"));
+        }
+    }
+
+    @Test
+    void testComandosDeUmaSessao() throws IOException {
+        try (ServidorJogos servidor = new ServidorJogos(0)) {
+            Jogo jogo = new Jogo();
+            jogo.novaPartida();
+
+            assertEquals("OK BRANCA", servidor.responder(jogo, "VEZ"));
+            assertEquals("OK PROXIMO", servidor.responder(jogo, "JOGAR 5 2 4 3"));
+            assertEquals("OK PRETA", servidor.responder(jogo, "VEZ"));
+            assertTrue(servidor.responder(jogo, "JOGAR 5 0 4 1").startsWith("ERRO "));
+            assertTrue(servidor.responder(jogo, "JOGAR 2 x 3 4").startsWith("ERRO "));
+            assertTrue(servidor.responder(jogo, "PASSAR").startsWith("ERRO "));
+            assertEquals("OK PROXIMO", servidor.responder(jogo, "JOGAR 2 5 3 4"));
+            assertEquals(".p.p.p.p/p.p.p.p./.p.p...p/....p.../...b..../b...b.b./.b.b.b.b/b.b.b.b.",
+                servidor.responder(jogo, "TABULEIRO").substring(3));
+            assertEquals(2, servidor.getJogadas());
+
+            assertEquals("OK", servidor.responder(jogo, "NOVO"));
+            assertEquals("OK BRANCA", servidor.responder(jogo, "VEZ"));
+
+            assertEquals("OK", servidor.responder(jogo, "NOVO 10"));
+            assertEquals(10, servidor.responder(jogo, "TABULEIRO").split("/").length);
+            assertEquals("OK PROXIMO", servidor.responder(jogo, "JOGAR 6 1 5 0"));
+            assertTrue(servidor.responder(jogo, "NOVO 10 5").startsWith("ERRO "));
+            assertEquals("OK PRETA", servidor.responder(jogo, "VEZ"));
+        }
+    }
+
+    @Test
+    void testSessoesIsoladasPorConexao() throws IOException {
+        try (ServidorJogos servidor = new ServidorJogos(0);
+             Socket primeira = new Socket("localhost", servidor.getPorta());
+             Socket segunda = new Socket("localhost", servidor.getPorta())) {
+            servidor.iniciar();
+            PrintWriter saidaPrimeira = new PrintWriter(primeira.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader entradaPrimeira = new BufferedReader(
+                new InputStreamReader(primeira.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter saidaSegunda = new PrintWriter(segunda.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader entradaSegunda = new BufferedReader(
+                new InputStreamReader(segunda.getInputStream(), StandardCharsets.UTF_8));
+
+            // Vários comandos de uma vez; as respostas vêm na mesma ordem
+            saidaPrimeira.print("JOGAR 5 2 4 3\nVEZ\n");
+            saidaPrimeira.flush();
+            assertEquals("OK PROXIMO", entradaPrimeira.readLine());
+            assertEquals("OK PRETA", entradaPrimeira.readLine());
+
+            saidaSegunda.println("VEZ");
+            assertEquals("OK BRANCA", entradaSegunda.readLine());
+
+            saidaPrimeira.println("SAIR");
+            assertEquals("OK", entradaPrimeira.readLine());
+            assertNull(entradaPrimeira.readLine());
+        }
+    }
+
+    @Test
+    void testLinhaLongaEncerraSoASuaSessao() throws IOException {
+        try (ServidorJogos servidor = new ServidorJogos(0);
+             Socket abusiva = new Socket("localhost", servidor.getPorta());
+             Socket normal = new Socket("localhost", servidor.getPorta())) {
+            servidor.iniciar();
+            PrintWriter saidaAbusiva = new PrintWriter(abusiva.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader entradaAbusiva = new BufferedReader(
+                new InputStreamReader(abusiva.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter saidaNormal = new PrintWriter(normal.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader entradaNormal = new BufferedReader(
+                new InputStreamReader(normal.getInputStream(), StandardCharsets.UTF_8));
+
+            // Sem quebra de linha: o servidor responde ao passar do limite e fecha a conexão
+            saidaAbusiva.print("x".repeat(ServidorJogos.MAXIMO_LINHA + 1));
+            saidaAbusiva.flush();
+            assertTrue(entradaAbusiva.readLine().startsWith("ERRO "));
+            assertNull(entradaAbusiva.readLine());
+
+            saidaNormal.println("VEZ");
+            assertEquals("OK BRANCA", entradaNormal.readLine());
+            saidaNormal.println("JOGAR 5 2 4 3");
+            assertEquals("OK PROXIMO", entradaNormal.readLine());
+        }
+    }
+
+    @Test
+    void testLerLinhaComLimite() throws IOException {
+        char[] buffer = new char[4];
+        BufferedReader entrada = new BufferedReader(new StringReader("VEZ\r\nSAIR\nLONGA\nfim"));
+        assertEquals(3, ServidorJogos.lerLinha(entrada, buffer));
+        assertEquals("VEZ", new String(buffer, 0, 3));
+        assertEquals(4, ServidorJogos.lerLinha(entrada, buffer));
+        assertTrue(ServidorJogos.lerLinha(entrada, buffer) < -1);
+    }
+}
@@ -0,0 +1,90 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class EnumeradorCapturasTest {
+
+    private static int casa(int linha, int coluna) {
+        return TabuleiroBits.indice(linha, coluna);
+    }
+
+    // Movimentos distintos da lista: caminhos com o mesmo resultado contam uma vez
+    private static Set<Long> movimentos(ListaMovimentos lista) {
+        Set<Long> movimentos = new HashSet<>();
+        for (int i = 0; i < lista.tamanho(); i++) {
+            movimentos.add(lista.get(i));
+        }
+        return movimentos;
+    }
+
+    // Posição sorteada com peças regulares e damas dos dois lados
+    private static TabuleiroBits sortear(Random aleatorio) {
+        TabuleiroBits posicao = new TabuleiroBits();
+        for (int c = 0; c < TabuleiroBits.CASAS; c++) {
+            int sorteio = aleatorio.nextInt(10);
+            if (sorteio < 4) {
+                posicao.colocar(c, sorteio < 2 ? Peca.Cor.BRANCA : Peca.Cor.PRETA, sorteio % 2 == 1 && aleatorio.nextInt(3) == 0);
+            }
+        }
+        posicao.setVezDasBrancas(aleatorio.nextBoolean());
+        return posicao;
+    }
+
+    @Test
+    void testMesmasCapturasDoGerador() {
+        Random aleatorio = new Random(23);
+        EnumeradorCapturas enumerador = new EnumeradorCapturas();
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        GeradorMovimentos geradorMaioria = new GeradorMovimentos();
+        geradorMaioria.setLeiDaMaioria(true);
+        ListaMovimentos caminhos = new ListaMovimentos();
+        ListaMovimentos capturas = new ListaMovimentos();
+        int comCaptura = 0;
+        for (int i = 0; i < 5000; i++) {
+            TabuleiroBits posicao = sortear(aleatorio);
+
+            int quantidade = enumerador.enumerar(posicao, caminhos, false);
+            capturas.limpar();
+            assertEquals(gerador.gerarCapturas(posicao, capturas), quantidade > 0);
+            assertEquals(movimentos(capturas), movimentos(caminhos));
+            if (quantidade > 0) {
+                comCaptura++;
+            }
+
+            enumerador.enumerar(posicao, caminhos, true);
+            capturas.limpar();
+            geradorMaioria.gerarCapturas(posicao, capturas);
+            assertEquals(movimentos(capturas), movimentos(caminhos));
+            for (int j = 0; j < caminhos.tamanho(); j++) {
+                assertEquals(enumerador.getMaximo(), Integer.bitCount(Movimento.capturadas(caminhos.get(j))));
+                assertEquals(enumerador.getMaximo(), Movimento.saltos(caminhos.getCaminho(j)));
+            }
+        }
+        assertTrue(comCaptura > 1000, "Poucas capturas testadas: " + comCaptura);
+    }
+
+    @Test
+    void testDamaComCaminhosDiferentesParaAsMesmasPecas() {
+        // A dama em (7,0) captura (5,2) e (2,5) na mesma diagonal, pousando em (4,3) ou
+        // (3,4) entre os saltos e em (1,6) ou (0,7) no fim: quatro caminhos, dois movimentos
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(5, 2), Peca.Cor.PRETA, false);
+        posicao.colocar(casa(2, 5), Peca.Cor.PRETA, false);
+
+        EnumeradorCapturas enumerador = new EnumeradorCapturas();
+        ListaMovimentos caminhos = new ListaMovimentos();
+        assertEquals(4, enumerador.enumerar(posicao, caminhos, false));
+        assertEquals(2, movimentos(caminhos).size());
+        assertEquals(2, enumerador.getMaximo());
+
+        enumerador.enumerar(posicao, caminhos, true);
+        for (int i = 0; i < caminhos.tamanho(); i++) {
+            assertEquals((1 << casa(5, 2)) | (1 << casa(2, 5)), Movimento.capturadas(caminhos.get(i)));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package modelo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+class GeradorMovimentosTest {
+    private GeradorMovimentos gerador;
+    private ListaMovimentos lista;
+
+    @BeforeEach
+    void setUp() {
+        gerador = new GeradorMovimentos();
+        lista = new ListaMovimentos();
+    }
+
+    private static int casa(int linha, int coluna) {
+        return TabuleiroBits.indice(linha, coluna);
+    }
+
+    @Test
+    void testDeslocarIgualTabelaDeVizinhos() {
+        for (int d = 0; d < 4; d++) {
+            for (int c = 0; c < TabuleiroBits.CASAS; c++) {
+                int vizinho = TabuleiroBits.VIZINHO[d][c];
+                int esperado = vizinho < 0 ? 0 : 1 << vizinho;
+                assertEquals(esperado, TabuleiroBits.deslocar(1 << c, d), "direção " + d + ", casa " + c);
+            }
+        }
+    }
+
+    @Test
+    void testRaiosIguaisAPercorrerAsDiagonais() {
+        Random aleatorio = new Random(24);
+        for (int i = 0; i < 2000; i++) {
+            int ocupadas = aleatorio.nextInt() & aleatorio.nextInt();
+            for (int d = 0; d < 4; d++) {
+                for (int c = 0; c < TabuleiroBits.CASAS; c++) {
+                    int livres = 0;
+                    int atual = TabuleiroBits.VIZINHO[d][c];
+                    while (atual >= 0 && (ocupadas & (1 << atual)) == 0) {
+                        livres |= 1 << atual;
+                        atual = TabuleiroBits.VIZINHO[d][atual];
+                    }
+                    assertEquals(atual, TabuleiroBits.primeiraOcupada(c, d, ocupadas), "direção " + d + ", casa " + c);
+                    assertEquals(livres, TabuleiroBits.casasLivres(c, d, ocupadas), "direção " + d + ", casa " + c);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPosicaoInicial() {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        assertEquals(7, gerador.gerar(inicial, lista));
+        for (int i = 0; i < lista.tamanho(); i++) {
+            assertEquals(5, TabuleiroBits.linha(Movimento.origem(lista.get(i))));
+            assertFalse(Movimento.isCaptura(lista.get(i)));
+        }
+
+        inicial.setVezDasBrancas(false);
+        assertEquals(7, gerador.gerar(inicial, lista));
+    }
+
+    @Test
+    void testCapturaObrigatoriaComSequenciaCompleta() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(5, 0), Peca.Cor.BRANCA, false);
+        posicao.colocar(casa(4, 1), Peca.Cor.PRETA, false);
+        posicao.colocar(casa(2, 3), Peca.Cor.PRETA, false);
+        posicao.colocar(casa(7, 6), Peca.Cor.BRANCA, false); // tem movimento simples, mas a captura é obrigatória
+
+        assertEquals(1, gerador.gerar(posicao, lista));
+        long movimento = lista.get(0);
+        assertEquals(casa(5, 0), Movimento.origem(movimento));
+        assertEquals(casa(1, 4), Movimento.destino(movimento));
+        assertEquals((1 << casa(4, 1)) | (1 << casa(2, 3)), Movimento.capturadas(movimento));
+        assertFalse(Movimento.isPromocao(movimento));
+
+        long caminho = lista.getCaminho(0);
+        assertEquals(2, Movimento.saltos(caminho));
+        assertEquals(casa(3, 2), Movimento.casaDoCaminho(caminho, 0));
+        assertEquals(casa(1, 4), Movimento.casaDoCaminho(caminho, 1));
+    }
+
+    @Test
+    void testPromocaoNoMeioDaSequenciaContinuaComoDama() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(2, 1), Peca.Cor.BRANCA, false);
+        posicao.colocar(casa(1, 2), Peca.Cor.PRETA, false);
+        posicao.colocar(casa(3, 6), Peca.Cor.PRETA, false);
+
+        assertEquals(1, gerador.gerar(posicao, lista));
+        long movimento = lista.get(0);
+        assertEquals(casa(4, 7), Movimento.destino(movimento));
+        assertTrue(Movimento.isPromocao(movimento));
+
+        posicao.aplicar(movimento);
+        assertTrue(posicao.isDama(casa(4, 7)));
+        assertEquals(0, posicao.getPretas());
+        assertFalse(posicao.isVezDasBrancas());
+    }
+
+    @Test
+    void testCapturasSimplesIguaisAoTabuleiro() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.carregar(new TabuleiroBits());
+        tabuleiro.getCasa(3, 2).setPeca(new Dama(Peca.Cor.BRANCA));
+        tabuleiro.getCasa(5, 4).setPeca(new PecaRegular(Peca.Cor.PRETA));
+        tabuleiro.getCasa(1, 0).setPeca(new PecaRegular(Peca.Cor.PRETA));
+        tabuleiro.getCasa(0, 5).setPeca(new PecaRegular(Peca.Cor.PRETA)); // fora de alcance
+
+        tabuleiro.gerarMovimentos(Peca.Cor.BRANCA, lista);
+        // Depois de capturar (5,4) pousando em (6,5) ou (7,6) não há mais nada; (1,0) não tem casa de pouso
+        assertEquals(tabuleiro.getPossiveisCapturas(tabuleiro.getCasa(3, 2)).size(), lista.tamanho());
+        for (int i = 0; i < lista.tamanho(); i++) {
+            long movimento = lista.get(i);
+            Casa destino = tabuleiro.getCasa(TabuleiroBits.linha(Movimento.destino(movimento)),
+                TabuleiroBits.coluna(Movimento.destino(movimento)));
+            assertTrue(tabuleiro.getPossiveisCapturas(tabuleiro.getCasa(3, 2)).contains(destino));
+        }
+    }
+
+    @Test
+    void testDamaDesliza() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(7, 0), Peca.Cor.BRANCA, true);
+        assertEquals(7, gerador.gerar(posicao, lista)); // toda a diagonal principal
+    }
+
+    @Test
+    void testSemPecasSemMovimentos() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(0, 1), Peca.Cor.PRETA, false);
+        assertEquals(0, gerador.gerar(posicao, lista));
+    }
+}
@@ -0,0 +1,96 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoricoPosicoesTest {
+
+    private static final long A = 0x1111L;
+    private static final long B = 0x2222L;
+    private static final long C = 0x3333L;
+    private static final long D = 0x4444L;
+
+    @Test
+    void testTerceiraRepeticaoEmpata() {
+        // A e C com as brancas na vez, B e D com as pretas: as damas vão e voltam
+        HistoricoPosicoes posicoes = new HistoricoPosicoes();
+        posicoes.iniciar(A);
+        for (long chave : new long[] {B, C, D}) {
+            posicoes.registrar(chave, false, true);
+        }
+        posicoes.registrar(A, false, true);
+        assertEquals(1, posicoes.repeticoes());
+        assertTrue(posicoes.isRepetida());
+        assertFalse(posicoes.isEmpate());
+
+        for (long chave : new long[] {B, C, D, A}) {
+            posicoes.registrar(chave, false, true);
+        }
+        assertEquals(2, posicoes.repeticoes());
+        assertTrue(posicoes.isEmpate());
+
+        posicoes.desfazer();
+        assertEquals(D, posicoes.getChaveAtual());
+        assertEquals(1, posicoes.repeticoes());
+        assertFalse(posicoes.isEmpate());
+    }
+
+    @Test
+    void testCapturaOuPromocaoEncerraAProcura() {
+        HistoricoPosicoes posicoes = new HistoricoPosicoes();
+        posicoes.iniciar(A);
+        posicoes.registrar(B, false, false);
+        // Uma captura no meio: a mesma chave depois dela não é repetição das anteriores
+        posicoes.registrar(A, true, false);
+        assertEquals(0, posicoes.repeticoes());
+        posicoes.registrar(B, false, false);
+        posicoes.registrar(A, false, false);
+        assertEquals(1, posicoes.repeticoes());
+
+        // Mesma chave com a outra cor na vez (distância ímpar) nunca conta
+        posicoes.iniciar(A);
+        posicoes.registrar(A, false, false);
+        assertFalse(posicoes.isRepetida());
+    }
+
+    @Test
+    void testLimiteDeLancesDeDamas() {
+        HistoricoPosicoes posicoes = new HistoricoPosicoes();
+        posicoes.setLimiteLancesDeDamas(4);
+        posicoes.iniciar(A);
+        posicoes.registrar(B, false, true);
+        posicoes.registrar(C, false, true);
+        // Um lance de peça regular recomeça a contagem
+        posicoes.registrar(D, false, false);
+        for (long chave = 10; chave < 13; chave++) {
+            posicoes.registrar(chave, false, true);
+            assertFalse(posicoes.isLimiteLancesDeDamas());
+        }
+        assertEquals(1, posicoes.lancesDeDamasRestantes());
+        posicoes.registrar(13, false, true);
+        assertTrue(posicoes.isLimiteLancesDeDamas());
+        assertTrue(posicoes.isEmpate());
+
+        HistoricoPosicoes copia = new HistoricoPosicoes();
+        copia.copiarDe(posicoes);
+        assertEquals(4, copia.getLimiteLancesDeDamas());
+        assertTrue(copia.isEmpate());
+
+        posicoes.setLimiteLancesDeDamas(0);
+        assertFalse(posicoes.isEmpate());
+        assertEquals(Integer.MAX_VALUE, posicoes.lancesDeDamasRestantes());
+        assertThrows(IllegalArgumentException.class, () -> posicoes.setLimiteLancesDeDamas(-1));
+    }
+
+    @Test
+    void testCresceAlemDaCapacidadeInicial() {
+        HistoricoPosicoes posicoes = new HistoricoPosicoes();
+        posicoes.setLimiteLancesDeDamas(0);
+        posicoes.iniciar(0);
+        for (int i = 1; i <= 1000; i++) {
+            posicoes.registrar(i % 4, false, true);
+        }
+        assertEquals(1001, posicoes.getTamanho());
+        assertEquals(250, posicoes.repeticoes());
+    }
+}
@@ -0,0 +1,179 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.*;
+import util.MovimentoInvalidoException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class PerftTest {
+
+    // Contagens conhecidas a partir da posição inicial, brancas jogando, profundidades 1 a 10
+    private static final long[] PERFT_INICIAL = {
+        7L, 49L, 340L, 1983L, 12914L, 84049L, 546568L, 3508482L, 23894507L, 163371768L
+    };
+
+    @Test
+    void testPerftPosicaoInicialAteProfundidade8() {
+        Perft perft = new Perft(TabuleiroBits.inicial());
+        for (int profundidade = 1; profundidade <= 8; profundidade++) {
+            assertEquals(PERFT_INICIAL[profundidade - 1], perft.perft(profundidade), "perft(" + profundidade + ")");
+        }
+        assertTrue(perft.getNosPorSegundo() > 0);
+    }
+
+    // As duas últimas levam alguns segundos; rode com -Dperft.completo=true
+    @Test
+    @EnabledIfSystemProperty(named = "perft.completo", matches = "true")
+    void testPerftPosicaoInicialProfundidades9e10() {
+        Perft perft = new Perft(TabuleiroBits.inicial());
+        assertEquals(PERFT_INICIAL[8], perft.perft(9));
+        assertEquals(PERFT_INICIAL[9], perft.perft(10));
+    }
+
+    @Test
+    void testPerftDoTabuleiro() {
+        Perft perft = new Perft(new Tabuleiro(), Peca.Cor.BRANCA);
+        assertEquals(PERFT_INICIAL[3], perft.perft(4));
+    }
+
+    @Test
+    void testDivideSomaIgualAoPerft() {
+        Perft perft = new Perft(TabuleiroBits.inicial());
+        Map<String, Long> divide = perft.divide(5);
+        assertEquals(7, divide.size());
+        assertEquals(PERFT_INICIAL[4], divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(PERFT_INICIAL[4], perft.getUltimosNos());
+    }
+
+    @Test
+    void testPerftIgualReferenciaPosicaoInicial() throws MovimentoInvalidoException {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        for (int profundidade = 1; profundidade <= 4; profundidade++) {
+            assertEquals(perftReferencia(inicial, profundidade), new Perft(inicial).perft(profundidade));
+        }
+    }
+
+    @Test
+    void testPerftIgualReferenciaComDamas() throws MovimentoInvalidoException {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(5, 2), Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits.indice(6, 5), Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits.indice(0, 7), Peca.Cor.PRETA, true);
+        posicao.colocar(TabuleiroBits.indice(2, 3), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(3, 4), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(1, 2), Peca.Cor.PRETA, false);
+
+        for (int profundidade = 1; profundidade <= 4; profundidade++) {
+            assertEquals(perftReferencia(posicao, profundidade), new Perft(posicao).perft(profundidade),
+                "perft(" + profundidade + ")");
+        }
+    }
+
+    @Test
+    void testPerftIgualReferenciaSequenciasLongas() throws MovimentoInvalidoException {
+        // Peças pretas espalhadas para que a dama branca tenha várias sequências de captura
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 2), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(6, 7), Peca.Cor.BRANCA, false);
+        int[][] pretas = {{5, 4}, {3, 4}, {2, 1}, {4, 1}, {2, 5}, {1, 2}};
+        for (int[] p : pretas) {
+            posicao.colocar(TabuleiroBits.indice(p[0], p[1]), Peca.Cor.PRETA, false);
+        }
+        posicao.setVezDasBrancas(true);
+
+        for (int profundidade = 1; profundidade <= 4; profundidade++) {
+            assertEquals(perftReferencia(posicao, profundidade), new Perft(posicao).perft(profundidade),
+                "perft(" + profundidade + ")");
+        }
+    }
+
+
+    // --- Referência: a mesma contagem feita só pela API de Tabuleiro e Casa ---
+
+    private long perftReferencia(TabuleiroBits posicao, int profundidade) throws MovimentoInvalidoException {
+        if (profundidade == 0) {
+            return 1;
+        }
+        List<TabuleiroBits> filhos = movimentosReferencia(posicao);
+        if (profundidade == 1) {
+            return filhos.size();
+        }
+        long nos = 0;
+        for (TabuleiroBits filho : filhos) {
+            nos += perftReferencia(filho, profundidade - 1);
+        }
+        return nos;
+    }
+
+    private List<TabuleiroBits> movimentosReferencia(TabuleiroBits posicao) throws MovimentoInvalidoException {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.carregar(posicao);
+        Peca.Cor vez = posicao.getVez();
+
+        // Posições resultantes, sem repetição (caminhos diferentes com o mesmo resultado contam uma vez)
+        Map<String, TabuleiroBits> resultados = new LinkedHashMap<>();
+        for (int linha = 0; linha < Tabuleiro.TAMANHO; linha++) {
+            for (int coluna = 0; coluna < Tabuleiro.TAMANHO; coluna++) {
+                Casa origem = tabuleiro.getCasa(linha, coluna);
+                if (origem.estaVazia() || origem.getPeca().getCor() != vez) {
+                    continue;
+                }
+                for (Casa destino : tabuleiro.getPossiveisCapturas(origem)) {
+                    continuarSequencia(posicao, linha, coluna, destino.getLinha(), destino.getColuna(), resultados);
+                }
+            }
+        }
+        if (!resultados.isEmpty()) {
+            return new ArrayList<>(resultados.values());
+        }
+
+        for (int linha = 0; linha < Tabuleiro.TAMANHO; linha++) {
+            for (int coluna = 0; coluna < Tabuleiro.TAMANHO; coluna++) {
+                Casa origem = tabuleiro.getCasa(linha, coluna);
+                if (origem.estaVazia() || origem.getPeca().getCor() != vez) {
+                    continue;
+                }
+                for (int l = 0; l < Tabuleiro.TAMANHO; l++) {
+                    for (int c = 0; c < Tabuleiro.TAMANHO; c++) {
+                        if (tabuleiro.isMovimentoValido(origem, tabuleiro.getCasa(l, c))) {
+                            Tabuleiro copia = new Tabuleiro();
+                            copia.carregar(posicao);
+                            copia.moverPeca(copia.getCasa(linha, coluna), copia.getCasa(l, c));
+                            adicionarResultado(copia, !posicao.isVezDasBrancas(), resultados);
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(resultados.values());
+    }
+
+    private void continuarSequencia(TabuleiroBits antes, int linhaOrigem, int colunaOrigem, int linhaDestino, int colunaDestino,
+                                    Map<String, TabuleiroBits> resultados) throws MovimentoInvalidoException {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.carregar(antes);
+        tabuleiro.moverPeca(tabuleiro.getCasa(linhaOrigem, colunaOrigem), tabuleiro.getCasa(linhaDestino, colunaDestino));
+
+        List<Casa> proximas = tabuleiro.getPossiveisCapturas(tabuleiro.getCasa(linhaDestino, colunaDestino));
+        if (proximas.isEmpty()) {
+            adicionarResultado(tabuleiro, !antes.isVezDasBrancas(), resultados);
+            return;
+        }
+        TabuleiroBits depois = tabuleiro.paraBits();
+        depois.setVezDasBrancas(antes.isVezDasBrancas());
+        for (Casa proxima : proximas) {
+            continuarSequencia(depois, linhaDestino, colunaDestino, proxima.getLinha(), proxima.getColuna(), resultados);
+        }
+    }
+
+    private void adicionarResultado(Tabuleiro tabuleiro, boolean vezDasBrancas, Map<String, TabuleiroBits> resultados) {
+        TabuleiroBits bits = tabuleiro.paraBits();
+        bits.setVezDasBrancas(vezDasBrancas);
+        resultados.put(bits.getBrancas() + "," + bits.getPretas() + "," + bits.getDamas(), bits);
+    }
+}
@@ -0,0 +1,98 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+class PosicaoCompactaTest {
+
+    // Posição qualquer: cada casa vazia, branca ou preta, às vezes dama
+    private static TabuleiroBits sortear(Random aleatorio) {
+        TabuleiroBits posicao = new TabuleiroBits();
+        for (int casa = 0; casa < TabuleiroBits.CASAS; casa++) {
+            int sorteio = aleatorio.nextInt(3);
+            if (sorteio > 0) {
+                posicao.colocar(casa, sorteio == 1 ? Peca.Cor.BRANCA : Peca.Cor.PRETA, aleatorio.nextInt(4) == 0);
+            }
+        }
+        posicao.setVezDasBrancas(aleatorio.nextBoolean());
+        return posicao;
+    }
+
+    private static void assertMesmaPosicao(TabuleiroBits esperada, TabuleiroBits obtida) {
+        assertEquals(esperada.getBrancas(), obtida.getBrancas());
+        assertEquals(esperada.getPretas(), obtida.getPretas());
+        assertEquals(esperada.getDamas(), obtida.getDamas());
+        assertEquals(esperada.isVezDasBrancas(), obtida.isVezDasBrancas());
+        assertEquals(esperada.getChave(), obtida.getChave());
+    }
+
+    @Test
+    void testIdaEVolta() {
+        Random aleatorio = new Random(16);
+        ByteBuffer buffer = ByteBuffer.allocate(PosicaoCompacta.BYTES);
+        TabuleiroBits lida = new TabuleiroBits();
+        for (int i = 0; i < 1000; i++) {
+            TabuleiroBits posicao = sortear(aleatorio);
+            PosicaoCompacta compacta = PosicaoCompacta.de(posicao);
+            assertMesmaPosicao(posicao, compacta.paraBits());
+
+            buffer.clear();
+            compacta.escrever(buffer);
+            assertEquals(PosicaoCompacta.BYTES, buffer.position());
+            buffer.flip();
+            assertEquals(compacta, PosicaoCompacta.ler(buffer));
+            buffer.rewind();
+            PosicaoCompacta.ler(buffer, lida);
+            assertMesmaPosicao(posicao, lida);
+
+            String texto = compacta.toString();
+            assertEquals(25, texto.length());
+            assertEquals(compacta, PosicaoCompacta.deTexto(texto));
+        }
+    }
+
+    @Test
+    void testIgualdadePorValor() {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        PosicaoCompacta a = PosicaoCompacta.de(inicial);
+        PosicaoCompacta b = new PosicaoCompacta(a.getCores(), a.getDamas());
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertTrue(a.isVezDasBrancas());
+
+        inicial.setVezDasBrancas(false);
+        PosicaoCompacta pretas = PosicaoCompacta.de(inicial);
+        assertNotEquals(a, pretas);
+        assertFalse(pretas.isVezDasBrancas());
+    }
+
+    @Test
+    void testRejeitaPosicoesInvalidas() {
+        // Casa 0 branca e preta ao mesmo tempo
+        assertThrows(IllegalArgumentException.class, () -> new PosicaoCompacta(1L | (1L << 32), 0));
+        // Dama numa casa vazia
+        assertThrows(IllegalArgumentException.class, () -> new PosicaoCompacta(1L, 2L));
+        // Bits além da vez
+        assertThrows(IllegalArgumentException.class, () -> new PosicaoCompacta(1L, 1L << 33));
+        assertThrows(IllegalArgumentException.class, () -> PosicaoCompacta.deTexto("123"));
+        assertThrows(IllegalArgumentException.class, () -> PosicaoCompacta.deTexto("zzzzzzzzzzzzzzzzzzzzzzzzz"));
+
+        ByteBuffer buffer = ByteBuffer.allocate(PosicaoCompacta.BYTES);
+        buffer.putInt(1).putInt(0).putInt(0).put((byte) 2).flip();
+        assertThrows(IllegalArgumentException.class, () -> PosicaoCompacta.ler(buffer));
+    }
+
+    @Test
+    void testTabuleiroCompacta() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        PosicaoCompacta compacta = tabuleiro.compactar(Peca.Cor.PRETA);
+        assertFalse(compacta.isVezDasBrancas());
+        assertEquals(tabuleiro.paraBits().getBrancas(), compacta.paraBits().getBrancas());
+        assertEquals(tabuleiro.paraBits().getPretas(), compacta.paraBits().getPretas());
+
+        tabuleiro.getCasa(0, 0).setPeca(new PecaRegular(Peca.Cor.BRANCA));
+        assertThrows(IllegalStateException.class, () -> tabuleiro.compactar(Peca.Cor.BRANCA));
+    }
+}
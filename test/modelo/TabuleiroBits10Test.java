@@ -0,0 +1,164 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+class TabuleiroBits10Test {
+
+    @Test
+    void testIndiceIdaEVolta() {
+        for (int casa = 0; casa < TabuleiroBits10.CASAS; casa++) {
+            int linha = TabuleiroBits10.linha(casa);
+            int coluna = TabuleiroBits10.coluna(casa);
+            assertNotEquals(0, (linha + coluna) % 2, "Casa " + casa + " deveria ser escura");
+            assertEquals(casa, TabuleiroBits10.indice(linha, coluna));
+            assertEquals(casa, TabuleiroBits10.casa(TabuleiroBits10.bit(casa)));
+        }
+        assertEquals(50, Long.bitCount(TabuleiroBits10.TABULEIRO));
+        assertEquals(-1, TabuleiroBits10.indice(0, 0));
+        assertEquals(-1, TabuleiroBits10.indice(10, 1));
+    }
+
+    @Test
+    void testDeslocamentosSeguemAsDiagonais() {
+        int[] dl = {-1, -1, 1, 1};
+        int[] dc = {-1, 1, -1, 1};
+        for (int casa = 0; casa < TabuleiroBits10.CASAS; casa++) {
+            for (int d = 0; d < 4; d++) {
+                int esperado = TabuleiroBits10.indice(TabuleiroBits10.linha(casa) + dl[d], TabuleiroBits10.coluna(casa) + dc[d]);
+                long deslocada = TabuleiroBits10.deslocar(1L << TabuleiroBits10.bit(casa), d);
+                if (esperado < 0) {
+                    assertEquals(0L, deslocada, "Casa " + casa + ", direção " + d);
+                } else {
+                    assertEquals(1L << TabuleiroBits10.bit(esperado), deslocada, "Casa " + casa + ", direção " + d);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPosicaoInicialIgualAoTabuleiro() {
+        TabuleiroBits10 inicial = TabuleiroBits10.inicial();
+        TabuleiroBits10 doTabuleiro = new Tabuleiro(10).paraBits10();
+        assertEquals(inicial.getBrancas(), doTabuleiro.getBrancas());
+        assertEquals(inicial.getPretas(), doTabuleiro.getPretas());
+        assertEquals(20, Long.bitCount(inicial.getBrancas()));
+        assertEquals(20, Long.bitCount(inicial.getPretas()));
+
+        assertEquals(15, Long.bitCount(TabuleiroBits10.inicial(3).getBrancas()));
+        assertThrows(IllegalArgumentException.class, () -> TabuleiroBits10.inicial(5));
+    }
+
+    @Test
+    void testPerftInicial() {
+        Perft10 perft = new Perft10(TabuleiroBits10.inicial());
+        assertEquals(9, perft.perft(1));
+        assertEquals(81, perft.perft(2));
+    }
+
+    // Posição em bits copiada para um Tabuleiro 10x10
+    private static Tabuleiro paraTabuleiro(TabuleiroBits10 posicao) {
+        Tabuleiro tabuleiro = new Tabuleiro(10);
+        for (int casa = 0; casa < TabuleiroBits10.CASAS; casa++) {
+            Peca peca = null;
+            if (!posicao.isVazia(casa)) {
+                Peca.Cor cor = posicao.isBranca(casa) ? Peca.Cor.BRANCA : Peca.Cor.PRETA;
+                peca = posicao.isDama(casa) ? new Dama(cor) : new PecaRegular(cor);
+            }
+            tabuleiro.getCasa(TabuleiroBits10.linha(casa), TabuleiroBits10.coluna(casa)).setPeca(peca);
+        }
+        return tabuleiro;
+    }
+
+    @Test
+    void testGeradorConcordaComTabuleiro() {
+        // Partidas sorteadas: em cada posição o gerador e as regras do Tabuleiro (que
+        // percorrem as casas no 10x10) devem ver os mesmos movimentos simples, as mesmas
+        // peças com captura e o mesmo fim de partida
+        Random aleatorio = new Random(10);
+        GeradorMovimentos10 gerador = new GeradorMovimentos10();
+        ListaMovimentos lista = new ListaMovimentos();
+        int posicoesComCaptura = 0;
+        for (int partida = 0; partida < 20; partida++) {
+            TabuleiroBits10 posicao = TabuleiroBits10.inicial();
+            for (int lance = 0; lance < 200; lance++) {
+                Tabuleiro tabuleiro = paraTabuleiro(posicao);
+                Peca.Cor vez = posicao.getVez();
+                assertEquals(posicao.getBrancas(), tabuleiro.paraBits10().getBrancas());
+                assertEquals(posicao.getDamas(), tabuleiro.paraBits10().getDamas());
+
+                int quantidade = gerador.gerar(posicao, lista);
+                assertEquals(quantidade > 0, tabuleiro.temMovimentoLegal(vez));
+                assertEquals(quantidade > 0, posicao.temMovimento(vez));
+
+                Set<String> esperados = new HashSet<>();
+                Set<Integer> comCaptura = new HashSet<>();
+                for (int origem = 0; origem < TabuleiroBits10.CASAS; origem++) {
+                    Casa casaOrigem = tabuleiro.getCasa(TabuleiroBits10.linha(origem), TabuleiroBits10.coluna(origem));
+                    if (casaOrigem.estaVazia() || casaOrigem.getPeca().getCor() != vez) {
+                        continue;
+                    }
+                    if (!tabuleiro.getPossiveisCapturas(casaOrigem).isEmpty()) {
+                        comCaptura.add(origem);
+                    }
+                    for (int destino = 0; destino < TabuleiroBits10.CASAS; destino++) {
+                        Casa casaDestino = tabuleiro.getCasa(TabuleiroBits10.linha(destino), TabuleiroBits10.coluna(destino));
+                        if (tabuleiro.isMovimentoValido(casaOrigem, casaDestino)) {
+                            esperados.add(origem + "-" + destino);
+                        }
+                    }
+                }
+
+                Set<String> gerados = new HashSet<>();
+                Set<Integer> origensDeCaptura = new HashSet<>();
+                for (int i = 0; i < quantidade; i++) {
+                    long movimento = lista.get(i);
+                    if (Movimento10.isCaptura(movimento)) {
+                        origensDeCaptura.add(Movimento10.origem(movimento));
+                    } else {
+                        gerados.add(Movimento10.origem(movimento) + "-" + Movimento10.destino(movimento));
+                    }
+                }
+                assertEquals(comCaptura, origensDeCaptura);
+                if (comCaptura.isEmpty()) {
+                    assertEquals(esperados, gerados);
+                } else {
+                    posicoesComCaptura++;
+                }
+
+                if (quantidade == 0) {
+                    break;
+                }
+                posicao.aplicar(lista.get(aleatorio.nextInt(quantidade)));
+            }
+        }
+        assertTrue(posicoesComCaptura > 100, "Poucas capturas testadas: " + posicoesComCaptura);
+    }
+
+    @Test
+    void testCapturaComPromocaoNoMeio() {
+        // Peça branca na casa 11 (linha 2) salta a 6 e pousa na 0, na linha de promoção, e
+        // continua como dama pela diagonal até capturar a 22
+        TabuleiroBits10 posicao = new TabuleiroBits10();
+        int origem = TabuleiroBits10.indice(2, 3);
+        posicao.colocar(origem, Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits10.indice(1, 2), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits10.indice(4, 5), Peca.Cor.PRETA, false);
+
+        ListaMovimentos lista = new ListaMovimentos();
+        new GeradorMovimentos10().gerar(posicao, lista);
+        boolean duasCapturas = false;
+        for (int i = 0; i < lista.tamanho(); i++) {
+            long movimento = lista.get(i);
+            assertTrue(Movimento10.isCaptura(movimento));
+            if (Long.bitCount(Movimento10.capturadas(movimento)) == 2) {
+                duasCapturas = true;
+                assertTrue(Movimento10.isPromocao(movimento));
+            }
+        }
+        assertTrue(duasCapturas);
+    }
+}
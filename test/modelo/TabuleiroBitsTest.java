@@ -0,0 +1,164 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import util.MovimentoInvalidoException;
+
+class TabuleiroBitsTest {
+
+    @Test
+    void testIndiceIdaEVolta() {
+        for (int casa = 0; casa < TabuleiroBits.CASAS; casa++) {
+            int linha = TabuleiroBits.linha(casa);
+            int coluna = TabuleiroBits.coluna(casa);
+            assertNotEquals(0, (linha + coluna) % 2, "Casa " + casa + " deveria ser escura");
+            assertEquals(casa, TabuleiroBits.indice(linha, coluna));
+        }
+        assertEquals(-1, TabuleiroBits.indice(0, 0)); // casa clara
+        assertEquals(-1, TabuleiroBits.indice(8, 1)); // fora do tabuleiro
+    }
+
+    @Test
+    void testPosicaoInicialIgualAoTabuleiro() {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        TabuleiroBits doTabuleiro = new Tabuleiro().paraBits();
+        assertEquals(inicial.getBrancas(), doTabuleiro.getBrancas());
+        assertEquals(inicial.getPretas(), doTabuleiro.getPretas());
+        assertEquals(0, doTabuleiro.getDamas());
+        assertEquals(12, Integer.bitCount(inicial.getBrancas()));
+        assertEquals(12, Integer.bitCount(inicial.getPretas()));
+    }
+
+    @Test
+    void testMascarasAcompanhamAsCasas() throws MovimentoInvalidoException {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.moverPeca(tabuleiro.getCasa(5, 0), tabuleiro.getCasa(4, 1));
+        TabuleiroBits bits = tabuleiro.paraBits();
+        assertTrue(bits.isVazia(TabuleiroBits.indice(5, 0)));
+        assertTrue(bits.isBranca(TabuleiroBits.indice(4, 1)));
+
+        tabuleiro.getCasa(4, 1).setPeca(new Dama(Peca.Cor.PRETA));
+        bits = tabuleiro.paraBits();
+        assertFalse(bits.isBranca(TabuleiroBits.indice(4, 1)));
+        assertTrue(bits.isDama(TabuleiroBits.indice(4, 1)));
+    }
+
+    @Test
+    void testCapturaDamaPelasMascaras() {
+        TabuleiroBits bits = new TabuleiroBits();
+        int origem = TabuleiroBits.indice(7, 0);
+        int inimiga = TabuleiroBits.indice(4, 3);
+        bits.colocar(origem, Peca.Cor.BRANCA, true);
+        bits.colocar(inimiga, Peca.Cor.PRETA, false);
+        bits.colocar(TabuleiroBits.indice(1, 6), Peca.Cor.BRANCA, false); // bloqueia (1,6)
+
+        int esperado = (1 << TabuleiroBits.indice(3, 4)) | (1 << TabuleiroBits.indice(2, 5));
+        assertEquals(esperado, bits.getPossiveisCapturas(origem));
+        assertTrue(bits.isCapturaValida(origem, inimiga, TabuleiroBits.indice(2, 5)));
+        assertFalse(bits.isCapturaValida(origem, inimiga, TabuleiroBits.indice(1, 6)));
+    }
+
+    @Test
+    void testCarregarPosicao() {
+        TabuleiroBits bits = new TabuleiroBits();
+        bits.colocar(TabuleiroBits.indice(3, 2), Peca.Cor.PRETA, true);
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.carregar(bits);
+
+        assertTrue(tabuleiro.getCasa(3, 2).getPeca() instanceof Dama);
+        assertTrue(tabuleiro.getCasa(5, 0).estaVazia());
+        assertTrue(tabuleiro.verificarVitoria(Peca.Cor.PRETA));
+        assertFalse(tabuleiro.verificarVitoria(Peca.Cor.BRANCA));
+    }
+
+    @Test
+    void testOponenteBloqueadoPerde() {
+        // A peça preta no canto só alcança (6,1), e o salto cai em (5,2), ocupada
+        TabuleiroBits bits = new TabuleiroBits();
+        bits.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.PRETA, false);
+        bits.colocar(TabuleiroBits.indice(6, 1), Peca.Cor.BRANCA, false);
+        bits.colocar(TabuleiroBits.indice(5, 2), Peca.Cor.BRANCA, false);
+        assertFalse(bits.temMovimento(Peca.Cor.PRETA));
+        assertTrue(bits.temMovimento(Peca.Cor.BRANCA));
+        assertTrue(bits.verificarVitoria(Peca.Cor.BRANCA));
+        assertFalse(bits.verificarVitoria(Peca.Cor.PRETA));
+
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.carregar(bits);
+        assertEquals(1, tabuleiro.contarPecas(Peca.Cor.PRETA));
+        assertFalse(tabuleiro.temMovimentoLegal(Peca.Cor.PRETA));
+        assertTrue(tabuleiro.verificarVitoria(Peca.Cor.BRANCA));
+
+        // Liberada a casa de pouso, a captura volta a existir
+        tabuleiro.getCasa(5, 2).setPeca(null);
+        assertTrue(tabuleiro.temMovimentoLegal(Peca.Cor.PRETA));
+        assertFalse(tabuleiro.verificarVitoria(Peca.Cor.BRANCA));
+    }
+
+    @Test
+    void testTemMovimentoConcordaComOGerador() {
+        java.util.Random aleatorio = new java.util.Random(11);
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        ListaMovimentos lista = new ListaMovimentos();
+        TabuleiroBits bits = new TabuleiroBits();
+        int bloqueadas = 0;
+        for (int n = 0; n < 20000; n++) {
+            bits.limpar();
+            int pecas = 1 + aleatorio.nextInt(24);
+            for (int i = 0; i < pecas; i++) {
+                bits.colocar(aleatorio.nextInt(TabuleiroBits.CASAS),
+                    aleatorio.nextBoolean() ? Peca.Cor.BRANCA : Peca.Cor.PRETA, aleatorio.nextInt(4) == 0);
+            }
+            bits.setVezDasBrancas(aleatorio.nextBoolean());
+            gerador.gerar(bits, lista);
+            assertEquals(lista.tamanho() > 0, bits.temMovimento());
+            if (lista.tamanho() == 0) {
+                bloqueadas++;
+            }
+        }
+        assertTrue(bloqueadas > 0);
+    }
+
+    @Test
+    void testDesfazerVoltaExatamenteAPosicao() {
+        // Partidas aleatórias (com capturas, promoções e damas) jogadas e desfeitas
+        java.util.Random aleatorio = new java.util.Random(42);
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        ListaMovimentos lista = new ListaMovimentos();
+        // Valores quaisquer por peça e casa: o placar incremental deve seguir junto
+        int[][] valores = new int[4][TabuleiroBits.CASAS];
+        for (int[] valoresDoTipo : valores) {
+            for (int casa = 0; casa < TabuleiroBits.CASAS; casa++) {
+                valoresDoTipo[casa] = aleatorio.nextInt(2001) - 1000;
+            }
+        }
+        for (int partida = 0; partida < 50; partida++) {
+            TabuleiroBits posicao = TabuleiroBits.inicial();
+            posicao.setValoresCasas(valores);
+            java.util.List<TabuleiroBits> anteriores = new java.util.ArrayList<>();
+            while (anteriores.size() < 200 && gerador.gerar(posicao, lista) > 0) {
+                anteriores.add(posicao.copiar());
+                posicao.fazerMovimento(lista.get(aleatorio.nextInt(lista.tamanho())));
+                assertEquals(Zobrist.calcular(posicao), posicao.getChave());
+                assertEquals(TabuleiroBits.calcularPlacar(posicao, valores), posicao.getPlacar());
+            }
+            assertEquals(anteriores.size(), posicao.getMovimentosFeitos());
+            for (int i = anteriores.size() - 1; i >= 0; i--) {
+                posicao.desfazerMovimento();
+                TabuleiroBits esperada = anteriores.get(i);
+                assertEquals(esperada.getBrancas(), posicao.getBrancas());
+                assertEquals(esperada.getPretas(), posicao.getPretas());
+                assertEquals(esperada.getDamas(), posicao.getDamas());
+                assertEquals(esperada.isVezDasBrancas(), posicao.isVezDasBrancas());
+                assertEquals(esperada.getChave(), posicao.getChave());
+                assertEquals(esperada.getPlacar(), posicao.getPlacar());
+            }
+        }
+    }
+
+    @Test
+    void testDesfazerSemMovimentoFeito() {
+        TabuleiroBits posicao = TabuleiroBits.inicial();
+        assertThrows(IllegalStateException.class, posicao::desfazerMovimento);
+    }
+}
@@ -708,6 +708,57 @@ class TabuleiroTest {
     }
 
 
+    @Test
+    void testMoverPecaDamaDeslizaVariasCasasSemCaptura() throws MovimentoInvalidoException {
+        limparTabuleiro();
+        Casa origem = tabuleiro.getCasa(7, 0);
+        Casa destino = tabuleiro.getCasa(4, 3);
+        Peca dama = new Dama(Peca.Cor.BRANCA);
+        origem.setPeca(dama);
+
+        tabuleiro.moverPeca(origem, destino);
+
+        assertTrue(origem.estaVazia());
+        assertSame(dama, destino.getPeca());
+    }
+
+    @Test
+    void testVerificarVitoriaContaPecasEmCasasClaras() {
+        limparTabuleiro();
+        tabuleiro.getCasa(3, 3).setPeca(new PecaRegular(Peca.Cor.PRETA)); // casa clara
+        assertFalse(tabuleiro.verificarVitoria(Peca.Cor.BRANCA));
+        tabuleiro.getCasa(3, 3).setPeca(null);
+        assertTrue(tabuleiro.verificarVitoria(Peca.Cor.BRANCA));
+    }
+
+
+    @Test
+    void testPecasComCapturaAcompanhamAlteracoes() {
+        // Alterações aleatórias nas casas escuras; a máscara mantida deve bater com a varredura completa
+        java.util.Random aleatorio = new java.util.Random(7);
+        for (int passo = 0; passo < 2000; passo++) {
+            int casa = aleatorio.nextInt(TabuleiroBits.CASAS);
+            int sorteio = aleatorio.nextInt(5);
+            Peca.Cor cor = sorteio % 2 == 0 ? Peca.Cor.BRANCA : Peca.Cor.PRETA;
+            Peca peca = sorteio == 4 ? null : sorteio < 2 ? new PecaRegular(cor) : new Dama(cor);
+            tabuleiro.getCasaEscura(casa).setPeca(peca);
+
+            if (passo % 3 == 0) {
+                for (Peca.Cor c : Peca.Cor.values()) {
+                    int esperado = 0;
+                    for (int i = 0; i < TabuleiroBits.CASAS; i++) {
+                        Casa origem = tabuleiro.getCasaEscura(i);
+                        if (!origem.estaVazia() && origem.getPeca().getCor() == c
+                                && !tabuleiro.getPossiveisCapturas(origem).isEmpty()) {
+                            esperado |= 1 << i;
+                        }
+                    }
+                    assertEquals(esperado, tabuleiro.getPecasComCaptura(c), "passo " + passo);
+                }
+            }
+        }
+    }
+
      @Test
     void testInicializacaoTabuleiro() { // Test from previous version, still relevant
         Tabuleiro t = new Tabuleiro(); // Uses @BeforeEach tabuleiro, or make a new one
@@ -718,4 +769,30 @@ class TabuleiroTest {
         assertEquals(Peca.Cor.BRANCA, t.getCasa(5, 0).getPeca().getCor());
         assertTrue(t.getCasa(3,0).estaVazia());
     }
+
+    @Test
+    void testTamanhoELinhasConfiguraveis() throws MovimentoInvalidoException {
+        Tabuleiro dez = new Tabuleiro(10);
+        assertEquals(10, dez.getTamanho());
+        assertEquals(4, dez.getLinhasIniciais());
+        assertEquals(20, dez.contarPecas(Peca.Cor.BRANCA));
+        assertEquals(20, dez.contarPecas(Peca.Cor.PRETA));
+        assertFalse(dez.temPecasEmCasasClaras());
+        assertThrows(IllegalStateException.class, dez::paraBits);
+
+        // Peça preta chega à última linha do 10x10 e vira dama
+        dez.getCasa(9, 0).setPeca(null);
+        dez.getCasa(8, 1).setPeca(new PecaRegular(Peca.Cor.PRETA));
+        dez.moverPeca(dez.getCasa(8, 1), dez.getCasa(9, 0));
+        assertTrue(dez.getCasa(9, 0).getPeca() instanceof Dama);
+        assertEquals(1, dez.contarDamas(Peca.Cor.PRETA));
+
+        Tabuleiro duasLinhas = new Tabuleiro(8, 2);
+        assertEquals(8, duasLinhas.contarPecas(Peca.Cor.BRANCA));
+        assertTrue(duasLinhas.getCasa(5, 0).estaVazia());
+        assertEquals(Peca.Cor.BRANCA, duasLinhas.getCasa(6, 1).getPeca().getCor());
+
+        assertThrows(IllegalArgumentException.class, () -> new Tabuleiro(12, 3));
+        assertThrows(IllegalArgumentException.class, () -> new Tabuleiro(8, 4));
+    }
 }
@@ -0,0 +1,79 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import util.MovimentoInvalidoException;
+
+class ZobristTest {
+
+    private final GeradorMovimentos gerador = new GeradorMovimentos();
+
+    // Percorre a árvore conferindo a chave incremental contra a calculada do zero
+    private void conferirArvore(TabuleiroBits posicao, int profundidade) {
+        assertEquals(Zobrist.calcular(posicao), posicao.getChave());
+        if (profundidade == 0) {
+            return;
+        }
+        ListaMovimentos lista = new ListaMovimentos();
+        gerador.gerar(posicao, lista);
+        for (int i = 0; i < lista.tamanho(); i++) {
+            TabuleiroBits filho = posicao.copiar();
+            filho.aplicar(lista.get(i));
+            conferirArvore(filho, profundidade - 1);
+        }
+    }
+
+    @Test
+    void testChaveIncrementalPosicaoInicial() {
+        conferirArvore(TabuleiroBits.inicial(), 4);
+    }
+
+    @Test
+    void testChaveIncrementalComCapturasEPromocao() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(2, 1), Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits.indice(1, 2), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(3, 6), Peca.Cor.PRETA, true);
+        posicao.colocar(TabuleiroBits.indice(5, 2), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(7, 4), Peca.Cor.BRANCA, true);
+        conferirArvore(posicao, 5);
+    }
+
+    @Test
+    void testVezMudaAChave() {
+        TabuleiroBits posicao = TabuleiroBits.inicial();
+        long brancasJogam = posicao.getChave();
+        posicao.setVezDasBrancas(false);
+        assertNotEquals(brancasJogam, posicao.getChave());
+        assertEquals(brancasJogam ^ Zobrist.VEZ_DAS_PRETAS, posicao.getChave());
+    }
+
+    @Test
+    void testTransposicaoTemMesmaChave() throws MovimentoInvalidoException {
+        Tabuleiro a = new Tabuleiro();
+        a.moverPeca(a.getCasa(5, 0), a.getCasa(4, 1));
+        a.moverPeca(a.getCasa(2, 1), a.getCasa(3, 0));
+        a.moverPeca(a.getCasa(5, 6), a.getCasa(4, 7));
+
+        Tabuleiro b = new Tabuleiro();
+        b.moverPeca(b.getCasa(5, 6), b.getCasa(4, 7));
+        b.moverPeca(b.getCasa(2, 1), b.getCasa(3, 0));
+        b.moverPeca(b.getCasa(5, 0), b.getCasa(4, 1));
+
+        assertEquals(a.getChaveZobrist(Peca.Cor.PRETA), b.getChaveZobrist(Peca.Cor.PRETA));
+        assertNotEquals(a.getChaveZobrist(Peca.Cor.PRETA), a.getChaveZobrist(Peca.Cor.BRANCA));
+        assertNotEquals(new Tabuleiro().getChaveZobrist(Peca.Cor.PRETA), a.getChaveZobrist(Peca.Cor.PRETA));
+    }
+
+    @Test
+    void testTabuleiroAcompanhaPromocao() throws MovimentoInvalidoException {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.carregar(new TabuleiroBits());
+        tabuleiro.getCasa(1, 0).setPeca(new PecaRegular(Peca.Cor.BRANCA));
+        tabuleiro.moverPeca(tabuleiro.getCasa(1, 0), tabuleiro.getCasa(0, 1));
+
+        TabuleiroBits esperado = new TabuleiroBits();
+        esperado.colocar(TabuleiroBits.indice(0, 1), Peca.Cor.BRANCA, true);
+        assertEquals(esperado.getChave(), tabuleiro.getChaveZobrist(Peca.Cor.BRANCA));
+    }
+}
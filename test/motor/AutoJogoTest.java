@@ -0,0 +1,55 @@
+package motor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import modelo.GeradorMovimentos;
+import modelo.HistoricoPosicoes;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+
+class AutoJogoTest {
+
+    @Test
+    void testMesmaSementeMesmasEstatisticas() {
+        EstatisticasAutoJogo umaThread = new AutoJogo(1, 0).jogar(2000, 42);
+        EstatisticasAutoJogo variasThreads = new AutoJogo(4, 0).jogar(2000, 42);
+        assertEquals(umaThread.relatorio(), variasThreads.relatorio());
+        assertEquals(2000, umaThread.getPartidas());
+        assertEquals(2000, umaThread.getVitoriasBrancas() + umaThread.getVitoriasPretas() + umaThread.getEmpates());
+        assertTrue(umaThread.getCapturas(1) > 0);
+
+        assertNotEquals(umaThread.relatorio(), new AutoJogo(1, 0).jogar(2000, 43).relatorio());
+    }
+
+    @Test
+    void testPartidasDoMotorReprodutiveis() {
+        AutoJogo autoJogo = new AutoJogo(2, 2);
+        assertEquals(new AutoJogo(1, 2).jogar(20, 7).relatorio(), autoJogo.jogar(20, 7).relatorio());
+        assertArrayEquals(autoJogo.reproduzir(7, 5), new AutoJogo(1, 2).reproduzir(7, 5));
+    }
+
+    @Test
+    void testReproduzirDaPartidasLegais() {
+        AutoJogo autoJogo = new AutoJogo(1, 0);
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        ListaMovimentos lista = new ListaMovimentos();
+        for (long indice = 0; indice < 50; indice++) {
+            long[] lances = autoJogo.reproduzir(1, indice);
+            TabuleiroBits posicao = TabuleiroBits.inicial();
+            HistoricoPosicoes posicoes = new HistoricoPosicoes();
+            posicoes.iniciar(posicao.getChave());
+            for (long movimento : lances) {
+                assertFalse(posicoes.isEmpate());
+                gerador.gerar(posicao, lista);
+                assertTrue(lista.contem(movimento));
+                boolean dama = posicao.isDama(Movimento.origem(movimento));
+                posicao.aplicar(movimento);
+                posicoes.registrar(posicao.getChave(), movimento, dama);
+            }
+            // Terminou porque quem tem a vez não pode jogar, por empate ou no limite
+            gerador.gerar(posicao, lista);
+            assertTrue(lista.estaVazia() || posicoes.isEmpate() || lances.length == AutoJogo.LANCES_MAXIMOS);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package motor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.Peca;
+import modelo.TabuleiroBits;
+
+class AvaliacaoPosicionalTest {
+
+    // Mesma posição com as cores trocadas e o tabuleiro girado
+    private static TabuleiroBits espelhar(TabuleiroBits posicao) {
+        TabuleiroBits espelhada = new TabuleiroBits();
+        for (int casa = 0; casa < TabuleiroBits.CASAS; casa++) {
+            if (!posicao.isVazia(casa)) {
+                Peca.Cor cor = posicao.isBranca(casa) ? Peca.Cor.PRETA : Peca.Cor.BRANCA;
+                espelhada.colocar(TabuleiroBits.CASAS - 1 - casa, cor, posicao.isDama(casa));
+            }
+        }
+        espelhada.setVezDasBrancas(!posicao.isVezDasBrancas());
+        return espelhada;
+    }
+
+    @Test
+    void testIncrementalIgualAoCalculadoESimetrica() {
+        AvaliacaoPosicional avaliacao = new AvaliacaoPosicional();
+        AvaliacaoPosicional semPlacar = new AvaliacaoPosicional();
+        assertEquals(avaliacao.getPesos().getTempo(), avaliacao.avaliar(TabuleiroBits.inicial()));
+
+        Random aleatorio = new Random(21);
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        ListaMovimentos lista = new ListaMovimentos();
+        for (int partida = 0; partida < 20; partida++) {
+            TabuleiroBits posicao = new TabuleiroBits();
+            posicao.copiarDe(TabuleiroBits.inicial());
+            avaliacao.preparar(posicao);
+            while (posicao.getMovimentosFeitos() < 150 && gerador.gerar(posicao, lista) > 0) {
+                posicao.fazerMovimento(lista.get(aleatorio.nextInt(lista.tamanho())));
+                int valor = avaliacao.avaliar(posicao);
+                TabuleiroBits semTabela = new TabuleiroBits();
+                semTabela.copiarDe(posicao);
+                assertEquals(semPlacar.avaliar(semTabela), valor);
+                assertEquals(valor, avaliacao.avaliar(espelhar(posicao)));
+            }
+        }
+    }
+
+    @Test
+    void testPesosDoArquivo() throws Exception {
+        Path arquivo = Files.createTempFile("pesos", ".properties");
+        try {
+            Files.writeString(arquivo, "dama = 500\ntempo=0\ntabela.peca = " + "1, ".repeat(31) + "1\n");
+            PesosAvaliacao pesos = PesosAvaliacao.carregar(arquivo);
+            assertEquals(500, pesos.getDama());
+            assertEquals(0, pesos.getTempo());
+            assertEquals(AvaliacaoMaterial.VALOR_PECA, pesos.getPeca());
+            assertEquals(1, pesos.getTabelaPeca()[31]);
+            assertArrayEquals(PesosAvaliacao.padrao().getTabelaDama(), pesos.getTabelaDama());
+
+            // Uma dama branca a mais: 500 mais a tabela da casa
+            TabuleiroBits posicao = new TabuleiroBits();
+            posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+            posicao.colocar(TabuleiroBits.indice(0, 7), Peca.Cor.PRETA, false);
+            posicao.colocar(TabuleiroBits.indice(1, 6), Peca.Cor.BRANCA, false);
+            int semDama = new AvaliacaoPosicional(pesos).avaliar(posicao);
+            posicao.remover(TabuleiroBits.indice(7, 0));
+            assertEquals(500 + pesos.getTabelaDama()[TabuleiroBits.indice(7, 0)]
+                + pesos.getMobilidade() * 1, semDama - new AvaliacaoPosicional(pesos).avaliar(posicao));
+
+            Files.writeString(arquivo, "tabela.dama = 1 2 3\n");
+            assertThrows(IllegalArgumentException.class, () -> PesosAvaliacao.carregar(arquivo));
+            Files.writeString(arquivo, "guarda = muito\n");
+            assertThrows(IllegalArgumentException.class, () -> PesosAvaliacao.carregar(arquivo));
+        } finally {
+            Files.delete(arquivo);
+        }
+        assertThrows(UncheckedIOException.class, () -> PesosAvaliacao.carregar(arquivo));
+    }
+
+    @Test
+    void testBuscaComAvaliacaoPosicional() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(5, 0), Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits.indice(4, 1), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(2, 3), Peca.Cor.PRETA, false);
+        posicao.colocar(TabuleiroBits.indice(7, 6), Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits.indice(6, 5), Peca.Cor.PRETA, false);
+
+        ResultadoBusca resultado = new Busca(new AvaliacaoPosicional()).buscar(posicao, 6, 0);
+        assertEquals(TabuleiroBits.indice(1, 4), modelo.Movimento.destino(resultado.getMovimento()));
+        assertTrue(resultado.getPontuacao() > 0);
+    }
+}
@@ -0,0 +1,198 @@
+package motor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import modelo.GeradorMovimentos;
+import modelo.HistoricoPosicoes;
+import modelo.ListaMovimentos;
+import modelo.Peca;
+import modelo.TabuleiroBits;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class BaseFinaisTest {
+
+    @TempDir
+    static Path diretorio;
+
+    private static BaseFinais base;
+
+    @BeforeAll
+    static void gerarBase() throws IOException {
+        assertEquals(GeradorBaseFinais.assinaturas(3).size(), new GeradorBaseFinais(diretorio, 3, 2).gerar());
+        base = new BaseFinais(diretorio);
+    }
+
+    private static int casa(int linha, int coluna) {
+        return TabuleiroBits.indice(linha, coluna);
+    }
+
+    @Test
+    void testIndiceIdaEVolta() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        for (int assinatura : new int[] {IndiceFinais.assinatura(1, 1, 1, 0), IndiceFinais.assinatura(2, 0, 1, 1)}) {
+            long tamanho = IndiceFinais.tamanho(assinatura);
+            for (long indice = 0; indice < tamanho; indice += 7) {
+                IndiceFinais.posicao(assinatura, indice, posicao);
+                assertEquals(assinatura, IndiceFinais.assinatura(posicao));
+                assertEquals(indice, IndiceFinais.indice(posicao));
+            }
+        }
+        assertEquals(2L * 32 * 31 * 30 / 2, IndiceFinais.tamanho(IndiceFinais.assinatura(2, 0, 0, 1)));
+    }
+
+    @Test
+    void testAssinaturasEmOrdemDeDependencia() {
+        int anterior = 0;
+        for (int assinatura : GeradorBaseFinais.assinaturas(4)) {
+            int chave = IndiceFinais.totalPecas(assinatura) * 16
+                + IndiceFinais.pecasBrancas(assinatura) + IndiceFinais.pecasPretas(assinatura);
+            assertTrue(chave >= anterior);
+            anterior = chave;
+        }
+    }
+
+    @Test
+    void testAssinaturasCabemEmUmArray() {
+        for (int assinatura : GeradorBaseFinais.assinaturas(GeradorBaseFinais.MAXIMO_PECAS)) {
+            assertEquals((IndiceFinais.tamanho(assinatura) + 3) / 4, GeradorBaseFinais.bytesDaAssinatura(assinatura));
+        }
+        // Com 8 peças já há assinaturas acima de 2 GB
+        assertThrows(IllegalArgumentException.class,
+            () -> GeradorBaseFinais.bytesDaAssinatura(IndiceFinais.assinatura(2, 2, 2, 2)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new GeradorBaseFinais(diretorio, GeradorBaseFinais.MAXIMO_PECAS + 1, 1));
+    }
+
+    @Test
+    void testResultadosConsistentesComOsMovimentos() {
+        GeradorMovimentos gerador = new GeradorMovimentos();
+        ListaMovimentos lista = new ListaMovimentos();
+        TabuleiroBits posicao = new TabuleiroBits();
+        TabuleiroBits filho = new TabuleiroBits();
+        int[] contagem = new int[3];
+
+        for (int assinatura : GeradorBaseFinais.assinaturas(3)) {
+            long tamanho = IndiceFinais.tamanho(assinatura);
+            for (long indice = 0; indice < tamanho; indice++) {
+                IndiceFinais.posicao(assinatura, indice, posicao);
+                int resultado = base.sondar(posicao);
+                contagem[resultado]++;
+
+                gerador.gerar(posicao, lista);
+                boolean algumaDerrota = false;
+                boolean todasVitorias = true;
+                for (int i = 0; i < lista.tamanho(); i++) {
+                    filho.copiarDe(posicao);
+                    filho.aplicar(lista.get(i));
+                    int doAdversario = base.sondar(filho);
+                    algumaDerrota |= doAdversario == BaseFinais.DERROTA;
+                    todasVitorias &= doAdversario == BaseFinais.VITORIA;
+                }
+                int esperado = algumaDerrota ? BaseFinais.VITORIA
+                    : todasVitorias ? BaseFinais.DERROTA : BaseFinais.EMPATE;
+                assertEquals(esperado, resultado, IndiceFinais.nomeArquivo(assinatura) + " índice " + indice);
+            }
+        }
+        assertTrue(contagem[BaseFinais.VITORIA] > 0);
+        assertTrue(contagem[BaseFinais.DERROTA] > 0);
+        assertTrue(contagem[BaseFinais.EMPATE] > 0);
+    }
+
+    @Test
+    void testCapturaDaUltimaPecaEVitoria() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(5, 2), Peca.Cor.PRETA, true);
+        assertEquals(BaseFinais.VITORIA, base.sondar(posicao));
+
+        posicao.colocar(casa(7, 2), Peca.Cor.BRANCA, false);
+        posicao.colocar(casa(2, 1), Peca.Cor.PRETA, false);
+        assertEquals(BaseFinais.DESCONHECIDO, base.sondar(posicao));
+    }
+
+    @Test
+    void testRetomaDoArquivoParcial(@TempDir Path outro) throws IOException {
+        for (int assinatura : GeradorBaseFinais.assinaturas(3)) {
+            String nome = IndiceFinais.nomeArquivo(assinatura);
+            Files.copy(diretorio.resolve(nome), outro.resolve(nome));
+        }
+        String nome = IndiceFinais.nomeArquivo(IndiceFinais.assinatura(1, 1, 0, 1));
+        byte[] completo = Files.readAllBytes(outro.resolve(nome));
+
+        // Uma geração interrompida: sem o arquivo final, com um parcial de onde continuar
+        byte[] parcial = completo.clone();
+        for (int i = BaseFinais.TAMANHO_CABECALHO; i < parcial.length; i += 2) {
+            parcial[i] = 0;
+        }
+        Files.delete(outro.resolve(nome));
+        Files.write(outro.resolve(nome + ".parcial"), parcial);
+
+        assertEquals(1, new GeradorBaseFinais(outro, 3, 1).gerar());
+        assertArrayEquals(completo, Files.readAllBytes(outro.resolve(nome)));
+        assertFalse(Files.exists(outro.resolve(nome + ".parcial")));
+    }
+
+    @Test
+    void testDamaPresaNoCantoPerde() {
+        // Toda casa da dama branca está na grande diagonal, ao alcance da dama preta
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(0, 7), Peca.Cor.PRETA, true);
+        assertEquals(BaseFinais.DERROTA, base.sondar(posicao));
+    }
+
+    @Test
+    void testBuscaUsaBase() {
+        // Duas damas contra uma peça: vitória, mas longe demais para a busca ver sozinha
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(4, 3), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(7, 6), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(1, 0), Peca.Cor.PRETA, false);
+        assertEquals(BaseFinais.VITORIA, base.sondar(posicao));
+
+        // Sem a quiescência: com ela a busca acha um sacrifício da dama seguido de recaptura
+        Busca busca = new Busca();
+        busca.quiescencia = false;
+        assertTrue(busca.buscar(posicao, 2, 0).getPontuacao() < Busca.VITORIA_BASE);
+        busca.setBaseFinais(base);
+        ResultadoBusca comBase = busca.buscar(posicao, 2, 0);
+        assertTrue(comBase.getPontuacao() > Busca.VITORIA_BASE / 2, comBase.toString());
+
+        // A base foi gerada com as capturas livres: com a lei da maioria ela não vale
+        busca.setLeiDaMaioria(true);
+        assertTrue(busca.buscar(posicao, 2, 0).getPontuacao() < Busca.VITORIA_BASE / 2);
+    }
+
+    @Test
+    void testVitoriaDaBaseIgnoradaPertoDoLimiteDeLancesDeDamas() {
+        // Só damas: a vitória da base pode não caber nos lances que ainda faltam até o limite
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(1, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(1, 6), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(7, 0), Peca.Cor.PRETA, true);
+        assertEquals(BaseFinais.VITORIA, base.sondar(posicao));
+
+        HistoricoPosicoes partida = new HistoricoPosicoes();
+        partida.iniciar(posicao.getChave());
+        Busca busca = new Busca();
+        busca.quiescencia = false;
+        busca.setBaseFinais(base);
+        assertTrue(busca.buscar(posicao, partida, 2, 0).getPontuacao() > Busca.VITORIA_BASE / 2);
+
+        partida.iniciar(1L);
+        int lances = HistoricoPosicoes.LANCES_DE_DAMAS_PADRAO - Busca.MARGEM_BASE_FINAIS / 2;
+        for (int lance = 1; lance < lances; lance++) {
+            partida.registrar(1L + lance, false, true);
+        }
+        partida.registrar(posicao.getChave(), false, true);
+        assertTrue(partida.lancesDeDamasRestantes() < Busca.MARGEM_BASE_FINAIS);
+        assertTrue(busca.buscar(posicao, partida, 2, 0).getPontuacao() < Busca.VITORIA_BASE / 2);
+
+        busca.deteccaoEmpates = false;
+        assertTrue(busca.buscar(posicao, partida, 2, 0).getPontuacao() > Busca.VITORIA_BASE / 2);
+    }
+}
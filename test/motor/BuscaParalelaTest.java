@@ -0,0 +1,59 @@
+package motor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.Peca;
+import modelo.TabuleiroBits;
+
+class BuscaParalelaTest {
+
+    @Test
+    void testMovimentoLegalComVariasThreads() {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        try (BuscaParalela busca = new BuscaParalela(AvaliacaoMaterial::new, new TabelaTransposicao(4), 4)) {
+            ResultadoBusca resultado = busca.buscar(inicial, 8, 0);
+
+            ListaMovimentos legais = new ListaMovimentos();
+            new GeradorMovimentos().gerar(inicial, legais);
+            assertTrue(legais.contem(resultado.getMovimento()));
+            assertEquals(8, resultado.getProfundidade());
+            assertTrue(resultado.getNos() > 0);
+        }
+    }
+
+    @Test
+    void testEncontraVitoriaForcada() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(TabuleiroBits.indice(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(TabuleiroBits.indice(7, 2), Peca.Cor.BRANCA, false);
+        posicao.colocar(TabuleiroBits.indice(0, 7), Peca.Cor.PRETA, false);
+
+        try (BuscaParalela busca = new BuscaParalela(AvaliacaoMaterial::new, new TabelaTransposicao(4), 3)) {
+            ResultadoBusca resultado = busca.buscar(posicao, 12, 0);
+            assertTrue(resultado.getPontuacao() > Busca.VITORIA - Busca.PLY_MAXIMO, resultado.toString());
+        }
+    }
+
+    @Test
+    void testThreadsAuxiliaresParamComAPrincipal() {
+        try (BuscaParalela busca = new BuscaParalela(AvaliacaoMaterial::new, new TabelaTransposicao(4), 4)) {
+            long inicio = System.nanoTime();
+            ResultadoBusca resultado = busca.buscar(TabuleiroBits.inicial(), Busca.PLY_MAXIMO, 200);
+            long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+            assertTrue(decorridoMs < 1500, "Levou " + decorridoMs + " ms");
+            assertTrue(resultado.temMovimento());
+
+            // A mesma instância pode buscar de novo
+            assertNotEquals(0L, Movimento.destino(busca.buscar(TabuleiroBits.inicial(), 4, 0).getMovimento()));
+        }
+    }
+
+    @Test
+    void testNumeroDeThreadsInvalido() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new BuscaParalela(AvaliacaoMaterial::new, new TabelaTransposicao(1), 0));
+    }
+}
@@ -0,0 +1,158 @@
+package motor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import modelo.GeradorMovimentos;
+import modelo.HistoricoPosicoes;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.Peca;
+import modelo.Tabuleiro;
+import modelo.TabuleiroBits;
+
+class BuscaTest {
+
+    private static int casa(int linha, int coluna) {
+        return TabuleiroBits.indice(linha, coluna);
+    }
+
+    @Test
+    void testPrefereCapturaQueGanhaMaisMaterial() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(5, 0), Peca.Cor.BRANCA, false);  // captura (4,1) e (2,3)
+        posicao.colocar(casa(7, 6), Peca.Cor.BRANCA, false);  // captura só (6,5)
+        posicao.colocar(casa(4, 1), Peca.Cor.PRETA, false);
+        posicao.colocar(casa(2, 3), Peca.Cor.PRETA, false);
+        posicao.colocar(casa(6, 5), Peca.Cor.PRETA, false);
+
+        ResultadoBusca resultado = new Busca().buscar(posicao, 6, 0);
+        assertEquals(casa(1, 4), Movimento.destino(resultado.getMovimento()));
+        assertTrue(resultado.getPontuacao() > 0);
+    }
+
+    @Test
+    void testEncontraVitoriaForcada() {
+        // Qualquer movimento das pretas deixa a peça ao alcance da dama branca
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(7, 2), Peca.Cor.BRANCA, false);
+        posicao.colocar(casa(0, 7), Peca.Cor.PRETA, false);
+
+        ResultadoBusca resultado = new Busca().buscar(posicao, 12, 0);
+        assertTrue(resultado.getPontuacao() > Busca.VITORIA - Busca.PLY_MAXIMO, resultado.toString());
+    }
+
+    @Test
+    void testAvaliacaoDoPontoDeVistaDeQuemJoga() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(0, 1), Peca.Cor.PRETA, false);
+
+        Avaliacao avaliacao = new AvaliacaoMaterial();
+        int brancasJogam = avaliacao.avaliar(posicao);
+        posicao.setVezDasBrancas(false);
+        assertTrue(brancasJogam > 0);
+        assertEquals(-brancasJogam, avaliacao.avaliar(posicao));
+    }
+
+    @Test
+    void testMovimentoLegalNaPosicaoInicial() {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        ResultadoBusca resultado = new Busca().buscar(inicial, 6, 0);
+
+        ListaMovimentos legais = new ListaMovimentos();
+        new GeradorMovimentos().gerar(inicial, legais);
+        assertTrue(legais.contem(resultado.getMovimento()));
+        assertEquals(6, resultado.getProfundidade());
+        assertEquals(resultado.getMovimento(), resultado.getVariantePrincipal()[0]);
+        assertTrue(resultado.getVariantePrincipal().length >= 1);
+        assertTrue(resultado.getNos() > 0);
+    }
+
+    @Test
+    void testRespeitaLimiteDeTempo() {
+        long inicio = System.nanoTime();
+        ResultadoBusca resultado = new Busca().buscar(TabuleiroBits.inicial(), Busca.PLY_MAXIMO, 200);
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+        assertTrue(decorridoMs < 1000, "Levou " + decorridoMs + " ms");
+        assertTrue(resultado.temMovimento());
+    }
+
+    @Test
+    void testSemMovimentosEDerrota() {
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(0, 1), Peca.Cor.PRETA, false);
+        ResultadoBusca resultado = new Busca().buscar(posicao, 4, 0);
+        assertFalse(resultado.temMovimento());
+        assertEquals(-Busca.VITORIA, resultado.getPontuacao());
+    }
+
+    @Test
+    void testJogadorComputadorUsaCorDoJogador() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        JogadorComputador pretas = new JogadorComputador("Computador", Peca.Cor.PRETA, new AvaliacaoMaterial(), 0, 3);
+        ResultadoBusca resultado = pretas.escolherMovimento(tabuleiro);
+        assertEquals(2, TabuleiroBits.linha(Movimento.origem(resultado.getMovimento())));
+    }
+
+    @Test
+    void testQuiescenciaVeCapturaAlemDoHorizonte() {
+        // Os dois lances da peça branca caem em capturas: na profundidade 1 só a
+        // quiescência vê que a peça se perde, e com ela a partida
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(5, 0), Peca.Cor.BRANCA, false);
+        posicao.colocar(casa(3, 2), Peca.Cor.PRETA, false);
+        posicao.colocar(casa(7, 2), Peca.Cor.PRETA, false);
+
+        Busca busca = new Busca();
+        busca.quiescencia = false;
+        assertTrue(busca.buscar(posicao, 1, 0).getPontuacao() > -Busca.VITORIA / 2);
+        assertEquals(0, busca.getNosQuiescencia());
+
+        busca.quiescencia = true;
+        ResultadoBusca resultado = busca.buscar(posicao, 1, 0);
+        assertEquals(-Busca.VITORIA + 2, resultado.getPontuacao());
+        assertEquals(2, busca.getNosQuiescencia());
+        assertEquals(1 + 2 + 2, resultado.getNos());
+    }
+
+    @Test
+    void testLimiteDeLancesDeDamasValeEmpate() {
+        // Duas damas contra uma, sem capturas à vista: com material a mais as brancas
+        // ganham pontos, mas se a partida já está a um lance do limite de lances de
+        // damas, qualquer lance empata
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(7, 0), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(7, 2), Peca.Cor.BRANCA, true);
+        posicao.colocar(casa(0, 1), Peca.Cor.PRETA, true);
+
+        HistoricoPosicoes partida = new HistoricoPosicoes();
+        partida.iniciar(1L);
+        for (int lance = 1; lance < HistoricoPosicoes.LANCES_DE_DAMAS_PADRAO - 1; lance++) {
+            partida.registrar(1L + lance, false, true);
+        }
+        partida.registrar(posicao.getChave(), false, true);
+
+        Busca busca = new Busca();
+        assertTrue(busca.buscar(posicao, 3, 0).getPontuacao() > 0);
+        assertEquals(0, busca.buscar(posicao, partida, 3, 0).getPontuacao());
+
+        busca.deteccaoEmpates = false;
+        assertTrue(busca.buscar(posicao, partida, 3, 0).getPontuacao() > 0);
+        assertEquals(HistoricoPosicoes.LANCES_DE_DAMAS_PADRAO, partida.getTamanho());
+    }
+
+    @Test
+    void testBloqueioNoHorizonteEVitoria() {
+        // A peça preta no canto só pode ir para (6,1); ocupada pela branca, com (5,2)
+        // também ocupada para não haver captura, as pretas ficam sem movimentos
+        TabuleiroBits posicao = new TabuleiroBits();
+        posicao.colocar(casa(5, 0), Peca.Cor.BRANCA, false);
+        posicao.colocar(casa(5, 2), Peca.Cor.BRANCA, false);
+        posicao.colocar(casa(7, 0), Peca.Cor.PRETA, false);
+
+        ResultadoBusca resultado = new Busca().buscar(posicao, 1, 0);
+        assertEquals(Movimento.simples(casa(5, 0), casa(6, 1), false), resultado.getMovimento());
+        assertTrue(resultado.getPontuacao() > Busca.VITORIA / 2, resultado.toString());
+    }
+}
@@ -0,0 +1,129 @@
+package motor;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import modelo.GeradorMovimentos;
+import modelo.ListaMovimentos;
+import modelo.Movimento;
+import modelo.TabuleiroBits;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TabelaTransposicaoTest {
+
+    @Test
+    void testGravarESondar() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        long chave = 0x123456789ABCDEF0L;
+        long movimento = Movimento.captura(9, 18, 1 << 13, false);
+
+        assertEquals(TabelaTransposicao.AUSENTE, tabela.sondar(chave));
+        tabela.gravar(chave, 7, TabelaTransposicao.INFERIOR, -4321, movimento);
+
+        long dados = tabela.sondar(chave);
+        assertEquals(TabelaTransposicao.compactar(movimento), TabelaTransposicao.movimentoCompactado(dados));
+        assertEquals(-4321, TabelaTransposicao.pontuacao(dados));
+        assertEquals(7, TabelaTransposicao.profundidade(dados));
+        assertEquals(TabelaTransposicao.INFERIOR, TabelaTransposicao.limite(dados));
+        assertEquals(TabelaTransposicao.AUSENTE, tabela.sondar(chave ^ 1));
+    }
+
+    @Test
+    void testTamanhoEmMegabytes() {
+        assertEquals(1 << 15, new TabelaTransposicao(1).getBaldes());
+        assertEquals(1 << 17, new TabelaTransposicao(5).getBaldes());
+        assertThrows(IllegalArgumentException.class, () -> new TabelaTransposicao(0));
+    }
+
+    @Test
+    void testEntradaMaisProfundaNaoESubstituida() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        // Mesmo balde (mesmos bits altos), posições diferentes
+        long profunda = 0x0000000500000001L;
+        long rasa = 0x0000000500000002L;
+        long outraRasa = 0x0000000500000003L;
+
+        tabela.gravar(profunda, 10, TabelaTransposicao.EXATO, 50, 0);
+        tabela.gravar(rasa, 2, TabelaTransposicao.EXATO, 20, 0);
+        assertEquals(50, TabelaTransposicao.pontuacao(tabela.sondar(profunda)));
+        assertEquals(20, TabelaTransposicao.pontuacao(tabela.sondar(rasa)));
+
+        // A entrada de substituição sempre aceita a última
+        tabela.gravar(outraRasa, 1, TabelaTransposicao.EXATO, 30, 0);
+        assertNotEquals(TabelaTransposicao.AUSENTE, tabela.sondar(profunda));
+        assertEquals(TabelaTransposicao.AUSENTE, tabela.sondar(rasa));
+        assertEquals(30, TabelaTransposicao.pontuacao(tabela.sondar(outraRasa)));
+
+        // Numa busca nova a entrada antiga pode ser substituída
+        tabela.novaBusca();
+        tabela.gravar(rasa, 1, TabelaTransposicao.EXATO, 20, 0);
+        assertEquals(TabelaTransposicao.AUSENTE, tabela.sondar(profunda));
+    }
+
+    @Test
+    void testEntradaInconsistenteETratadaComoAusente() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        long chave = 0x0000000700000042L;
+        tabela.gravar(chave, 3, TabelaTransposicao.EXATO, 10, 0);
+
+        // Simula uma escrita pela metade: dados que não correspondem à chave gravada
+        int i = 7 * 4;
+        tabela.entradas[i + 1] ^= 1L << 40;
+        assertEquals(TabelaTransposicao.AUSENTE, tabela.sondar(chave));
+    }
+
+    @Test
+    void testMovimentoCompactadoIdentificaMovimentoLegal() {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        ListaMovimentos lista = new ListaMovimentos();
+        new GeradorMovimentos().gerar(inicial, lista);
+        for (int i = 0; i < lista.tamanho(); i++) {
+            for (int j = 0; j < lista.tamanho(); j++) {
+                boolean iguais = TabelaTransposicao.compactar(lista.get(i)) == TabelaTransposicao.compactar(lista.get(j));
+                assertEquals(i == j, iguais);
+            }
+        }
+    }
+
+    @Test
+    void testAcessoConcorrenteNuncaDevolveDadosDeOutraChave() throws InterruptedException {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        AtomicInteger erros = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int semente = t;
+            threads.add(new Thread(() -> {
+                for (int n = 0; n < 200_000; n++) {
+                    // Poucos baldes, para forçar colisões entre as threads
+                    long chave = ((long) (n & 7) << 32) | (n * 31L + semente);
+                    tabela.gravar(chave, n & 15, TabelaTransposicao.EXATO, (int) (chave % 1000), 0);
+                    long outra = chave ^ 8;
+                    long dados = tabela.sondar(outra);
+                    if (dados != TabelaTransposicao.AUSENTE && TabelaTransposicao.pontuacao(dados) != (int) (outra % 1000)) {
+                        erros.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, erros.get());
+    }
+
+    @Test
+    void testTabelaReduzNosDaBusca() {
+        TabuleiroBits inicial = TabuleiroBits.inicial();
+        ResultadoBusca semTabela = new Busca(new AvaliacaoMaterial()).buscar(inicial, 9, 0);
+        ResultadoBusca comTabela = new Busca(new AvaliacaoMaterial(), new TabelaTransposicao(4)).buscar(inicial, 9, 0);
+
+        ListaMovimentos legais = new ListaMovimentos();
+        new GeradorMovimentos().gerar(inicial, legais);
+        assertTrue(legais.contem(comTabela.getMovimento()));
+        assertTrue(comTabela.getNos() < semTabela.getNos(), comTabela.getNos() + " >= " + semTabela.getNos());
+    }
+}
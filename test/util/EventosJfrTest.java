@@ -0,0 +1,63 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import controle.Jogo;
+import modelo.TabuleiroBits;
+import motor.AvaliacaoMaterial;
+import motor.Busca;
+
+class EventosJfrTest {
+
+    @Test
+    void testJogadaBuscaEMovimentoInvalido() throws Exception {
+        Path arquivo = Files.createTempFile("damas", ".jfr");
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("damas.Jogada");
+            gravacao.enable("damas.IteracaoBusca");
+            gravacao.enable("damas.MovimentoInvalido").withStackTrace();
+            gravacao.start();
+
+            Jogo jogo = new Jogo();
+            jogo.novaPartida();
+            assertEquals(Jogo.ResultadoJogada.PROXIMO_JOGADOR, jogo.jogar(5, 2, 4, 3));
+            assertThrows(MovimentoInvalidoException.class, () -> jogo.jogar(2, 5, 4, 5));
+            new Busca(new AvaliacaoMaterial(), null).buscar(TabuleiroBits.inicial(), 4, 0);
+
+            gravacao.stop();
+            gravacao.dump(arquivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo);
+        Files.delete(arquivo);
+
+        List<RecordedEvent> jogadas = eventos.stream()
+            .filter(e -> e.getEventType().getName().equals("damas.Jogada")).toList();
+        assertEquals(1, jogadas.size());
+        RecordedEvent jogada = jogadas.get(0);
+        assertEquals("BRANCA", jogada.getString("cor"));
+        assertEquals(5, jogada.getInt("linhaOrigem"));
+        assertEquals(3, jogada.getInt("colunaDestino"));
+        assertFalse(jogada.getBoolean("captura"));
+        assertEquals("PROXIMO_JOGADOR", jogada.getString("resultado"));
+
+        List<RecordedEvent> iteracoes = eventos.stream()
+            .filter(e -> e.getEventType().getName().equals("damas.IteracaoBusca")).toList();
+        assertEquals(List.of(1, 2, 3, 4), iteracoes.stream().map(e -> e.getInt("profundidade")).toList());
+        assertTrue(iteracoes.stream().allMatch(e -> e.getLong("nos") > 0 && !e.getBoolean("interrompida")));
+
+        List<RecordedEvent> invalidos = eventos.stream()
+            .filter(e -> e.getEventType().getName().equals("damas.MovimentoInvalido")).toList();
+        assertEquals(1, invalidos.size());
+        assertNotNull(invalidos.get(0).getString("mensagem"));
+        // A pilha mostra quem recusou a jogada
+        assertTrue(invalidos.get(0).getStackTrace().getFrames().stream()
+            .anyMatch(f -> f.getMethod().getType().getName().equals("controle.Jogo")));
+    }
+}
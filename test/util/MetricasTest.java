@@ -0,0 +1,88 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import modelo.Tabuleiro;
+import modelo.TabuleiroBits;
+import motor.Busca;
+import motor.AvaliacaoMaterial;
+import motor.TabelaTransposicao;
+
+class MetricasTest {
+
+    @Test
+    void testHistogramaPercentis() {
+        HistogramaLatencia histograma = new HistogramaLatencia("teste");
+        assertEquals(0, histograma.getPercentilNanos(50));
+        for (int i = 0; i < 99; i++) {
+            histograma.registrar(100);
+        }
+        histograma.registrar(1_000_000);
+        assertEquals(100, histograma.getContagem());
+        assertEquals(100, histograma.getAmostras());
+        assertEquals((99 * 100 + 1_000_000) / 100.0, histograma.getMediaNanos(), 1e-9);
+        // 100 ns cai na faixa 64-127; 1 ms na faixa até 2^20 - 1
+        assertEquals(127, histograma.getPercentilNanos(50));
+        assertEquals(127, histograma.getPercentilNanos(99));
+        assertEquals((1L << 20) - 1, histograma.getPercentilNanos(100));
+
+        // Fora da amostra a chamada só é contada
+        for (int i = 0; i < 10 * HistogramaLatencia.AMOSTRAGEM; i++) {
+            histograma.terminar(HistogramaLatencia.iniciar());
+        }
+        assertEquals(100 + 10 * HistogramaLatencia.AMOSTRAGEM, histograma.getContagem());
+        assertTrue(histograma.getAmostras() < 100 + 10 * HistogramaLatencia.AMOSTRAGEM);
+
+        histograma.zerar();
+        assertEquals(0, histograma.getContagem());
+    }
+
+    @Test
+    void testRegrasERegistros() throws MovimentoInvalidoException {
+        long simples = Metricas.MOVER_SIMPLES.getContagem();
+        long capturas = Metricas.MOVER_CAPTURA.getContagem();
+        long invalidos = Metricas.MOVER_INVALIDO.getContagem();
+        long consultas = Metricas.POSSIVEIS_CAPTURAS.getContagem();
+
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.moverPeca(tabuleiro.getCasa(5, 2), tabuleiro.getCasa(4, 3));
+        tabuleiro.moverPeca(tabuleiro.getCasa(2, 5), tabuleiro.getCasa(3, 4));
+        assertThrows(MovimentoInvalidoException.class,
+            () -> tabuleiro.moverPeca(tabuleiro.getCasa(5, 0), tabuleiro.getCasa(3, 2)));
+        assertFalse(tabuleiro.getPossiveisCapturas(tabuleiro.getCasa(4, 3)).isEmpty());
+        tabuleiro.moverPeca(tabuleiro.getCasa(4, 3), tabuleiro.getCasa(2, 5));
+
+        if (!Metricas.ATIVAS) {
+            return;
+        }
+        assertEquals(simples + 2, Metricas.MOVER_SIMPLES.getContagem());
+        assertEquals(capturas + 1, Metricas.MOVER_CAPTURA.getContagem());
+        assertEquals(invalidos + 1, Metricas.MOVER_INVALIDO.getContagem());
+        assertEquals(consultas + 1, Metricas.POSSIVEIS_CAPTURAS.getContagem());
+    }
+
+    @Test
+    void testBuscaEMBean() throws Exception {
+        Metricas.registrarMBean();
+        Metricas.registrarMBean(); // a segunda vez não faz nada
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nome = new ObjectName(Metricas.NOME_MBEAN);
+        long nos = (Long) servidor.getAttribute(nome, "NosBusca");
+        long sondagens = (Long) servidor.getAttribute(nome, "SondagensTabela");
+
+        Busca busca = new Busca(new AvaliacaoMaterial(), new TabelaTransposicao(1));
+        long visitados = busca.buscar(TabuleiroBits.inicial(), 6, 0).getNos();
+
+        if (!Metricas.ATIVAS) {
+            return;
+        }
+        assertEquals(nos + visitados, (Long) servidor.getAttribute(nome, "NosBusca"));
+        assertTrue((Long) servidor.getAttribute(nome, "SondagensTabela") > sondagens);
+        double taxa = (Double) servidor.getAttribute(nome, "TaxaAcertosTabela");
+        assertTrue(taxa > 0 && taxa <= 1, "taxa " + taxa);
+        assertTrue(((String) servidor.getAttribute(nome, "Relatorio")).contains("moverPeca captura"));
+    }
+}